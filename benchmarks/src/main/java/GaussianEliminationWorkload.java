@@ -0,0 +1,55 @@
+import benchmarks.SolverWorkload;
+
+/**
+ * GaussianElimination.solve() on a system produced by MatrixGenerator
+ */
+public class GaussianEliminationWorkload implements SolverWorkload {
+    private DenseMatrix system;
+    private TraceLevel traceLevel;
+    private double flops;
+
+    @Override
+    public void prepare(String kind, int size, String variant, long seed) {
+        // kind names a MatrixGenerator.Structure; CONDITIONED uses the default condition number
+        MatrixGenerator generator = new MatrixGenerator(seed);
+        this.system = generator.dense(MatrixGenerator.Structure.valueOf(kind), size).getAugmentedMatrix();
+        this.traceLevel = TraceLevel.valueOf(variant);
+        this.flops = eliminationFlops(size);
+
+        double[] solution = solveOnce();
+        if (solution == null || solution.length != size) {
+            throw new IllegalStateException(kind + " system of size " + size + " has no unique solution");
+        }
+    }
+
+    @Override
+    public Object solve() {
+        return solveOnce();
+    }
+
+    private double[] solveOnce() {
+        // The constructor copies the matrix, so every call starts from the same system
+        GaussianElimination solver = new GaussianElimination(system);
+        solver.setTraceLevel(traceLevel);
+        return solver.solve();
+    }
+
+    @Override
+    public double flops() {
+        return flops;
+    }
+
+    /**
+     * Forward elimination on an n x (n + 1) augmented matrix followed by back substitution
+     */
+    private static double eliminationFlops(int n) {
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            double rowsBelow = n - k - 1;
+            double columnsRight = n - k;
+            // One division for the factor and a multiply-add per remaining column
+            total += rowsBelow * (1 + 2 * columnsRight);
+        }
+        return total + (double) n * n;
+    }
+}
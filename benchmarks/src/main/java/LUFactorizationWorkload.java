@@ -0,0 +1,51 @@
+import benchmarks.SolverWorkload;
+
+/**
+ * Factor and solve with LUFactorization (variant DOUBLE) or MixedPrecisionLU (variant MIXED)
+ */
+public class LUFactorizationWorkload implements SolverWorkload {
+    private DenseMatrix matrix;
+    private double[] rightHandSide;
+    private boolean mixed;
+    private double flops;
+
+    @Override
+    public void prepare(String kind, int size, String variant, long seed) {
+        GeneratedSystem<DenseMatrix> system = new MatrixGenerator(seed).dense(MatrixGenerator.Structure.valueOf(kind), size);
+        this.matrix = system.getMatrix().copy();
+        this.rightHandSide = system.getRightHandSide();
+        switch (variant) {
+            case "DOUBLE":
+                mixed = false;
+                break;
+            case "MIXED":
+                mixed = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown precision " + variant);
+        }
+        this.flops = 2.0 / 3.0 * size * (double) size * size + 2.0 * size * size;
+
+        double error = system.solutionError(solveOnce());
+        if (!(error < 1e-8)) {
+            throw new IllegalStateException(kind + " system of size " + size + " solved with error " + error);
+        }
+    }
+
+    @Override
+    public Object solve() {
+        return solveOnce();
+    }
+
+    private double[] solveOnce() {
+        if (mixed) {
+            return MixedPrecisionLU.factor(matrix).solve(rightHandSide);
+        }
+        return LUFactorization.factor(matrix).solve(rightHandSide);
+    }
+
+    @Override
+    public double flops() {
+        return flops;
+    }
+}
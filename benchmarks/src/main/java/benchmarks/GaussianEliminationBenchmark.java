@@ -0,0 +1,88 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of GaussianElimination.solve() by size, matrix structure, trace level and row kernel
+ * Besides ops/s, the "gflop" counter reports GFLOP/s; run with -prof gc for allocation per op
+ * kernel=SCALAR forces the plain Java row kernel, so the Vector API speedup can be measured directly
+ *
+ *   java -jar benchmarks/target/benchmarks.jar GaussianEliminationBenchmark -prof gc
+ *   java -jar benchmarks/target/benchmarks.jar GaussianEliminationBenchmark -p kernel=SCALAR,VECTOR -p trace=OFF
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx4g"})
+public class GaussianEliminationBenchmark {
+
+    @Param({"4", "16", "64", "256", "1024", "4096"})
+    public int size;
+
+    @Param({"RANDOM", "DIAGONALLY_DOMINANT", "SYMMETRIC_POSITIVE_DEFINITE", "CONDITIONED"})
+    public String kind;
+
+    @Param({"OFF", "FULL"})
+    public String trace;
+
+    @Param({"VECTOR", "SCALAR"})
+    public String kernel;
+
+    private SolverWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Every parameter combination runs in a fresh fork, so the kernel is picked before any solver class loads
+        boolean vector = kernel.equals("VECTOR");
+        System.setProperty("linearsolver.vector", Boolean.toString(vector));
+        if (isVectorized() != vector) {
+            throw new IllegalStateException("Row kernel " + kernel + " is not available in this JVM");
+        }
+        workload = SolverWorkload.load("GaussianEliminationWorkload");
+        workload.prepare(kind, size, trace, 42);
+    }
+
+    private static boolean isVectorized() {
+        try {
+            return (Boolean) Class.forName("RowKernels").getMethod("isVectorized").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot query the row kernel", e);
+        }
+    }
+
+    @Benchmark
+    public Object solve(FlopCounter counter) {
+        counter.gflop += workload.flops() * 1e-9;
+        return workload.solve();
+    }
+
+    /**
+     * Accumulates the work done per iteration so that JMH reports it as a rate next to ops/s
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class FlopCounter {
+        public double gflop;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            gflop = 0;
+        }
+    }
+}
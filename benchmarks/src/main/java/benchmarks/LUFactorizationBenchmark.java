@@ -0,0 +1,54 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factor-and-solve throughput of the double LUFactorization against the float MixedPrecisionLU
+ * The "gflop" counter reports GFLOP/s of the factorization and one solve
+ *
+ *   java -jar benchmarks/target/benchmarks.jar LUFactorizationBenchmark -p size=2048
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx4g"})
+public class LUFactorizationBenchmark {
+
+    @Param({"256", "1024", "2048", "4096"})
+    public int size;
+
+    @Param({"RANDOM", "DIAGONALLY_DOMINANT", "CONDITIONED"})
+    public String kind;
+
+    @Param({"DOUBLE", "MIXED"})
+    public String precision;
+
+    private SolverWorkload workload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = SolverWorkload.load("LUFactorizationWorkload");
+        workload.prepare(kind, size, precision, 42);
+    }
+
+    @Benchmark
+    public Object solve(GaussianEliminationBenchmark.FlopCounter counter) {
+        counter.gflop += workload.flops() * 1e-9;
+        return workload.solve();
+    }
+}
@@ -0,0 +1,36 @@
+package benchmarks;
+
+/**
+ * One prepared system and the solver call being measured
+ * The solver classes live in the default package, which named packages cannot import and which JMH
+ * refuses for benchmark classes, so each workload is a default-package class loaded by name
+ */
+public interface SolverWorkload {
+
+    /**
+     * Generates the n x n system of the given kind (a MatrixGenerator.Structure name)
+     * variant selects what the workload measures, e.g. the trace level or the precision
+     */
+    void prepare(String kind, int size, String variant, long seed);
+
+    /**
+     * Solves a fresh copy of the prepared system and returns something derived from the result
+     */
+    Object solve();
+
+    /**
+     * Floating-point operations performed by one solve()
+     */
+    double flops();
+
+    /**
+     * Instantiates the default-package workload with the given class name
+     */
+    static SolverWorkload load(String className) {
+        try {
+            return (SolverWorkload) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load workload " + className, e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * LU factorization with partial pivoting restricted to a band, in O(n * lower * (lower + upper)) time
+ * Row swaps can push U up to lower + upper diagonals above the main one, so each working row keeps
+ * lower extra slots; multipliers stay where they were computed, as in LAPACK's gbtrf
+ */
+public class BandedLU {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    private final int n;
+    private final int lower;
+    // Last stored diagonal above the main one: upper bandwidth plus the room needed by row swaps
+    private final int reach;
+    private final int width;
+    // Row i stores columns i - lower ... i + reach; multipliers of step k sit in column k of rows below k
+    private final double[] data;
+    // pivot[k] is the row swapped with row k at step k
+    private final int[] pivot;
+    private final boolean singular;
+    private int swapCount;
+
+    private BandedLU(BandedMatrix matrix) {
+        this.n = matrix.size();
+        this.lower = matrix.getLowerBandwidth();
+        this.reach = Math.min(Math.max(0, n - 1), lower + matrix.getUpperBandwidth());
+        this.width = lower + reach + 1;
+        this.data = new double[Math.multiplyExact(n, width)];
+        double[] band = matrix.getData();
+        int bandWidth = matrix.getWidth();
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(band, i * bandWidth, data, i * width, bandWidth);
+        }
+        this.pivot = new int[n];
+        this.singular = !decompose();
+    }
+
+    public static BandedLU factor(BandedMatrix matrix) {
+        return new BandedLU(matrix);
+    }
+
+    private int index(int row, int col) {
+        return row * width + col - row + lower;
+    }
+
+    private boolean decompose() {
+        for (int k = 0; k < n; k++) {
+            int lastRow = Math.min(n - 1, k + lower);
+            int lastCol = Math.min(n - 1, k + reach);
+
+            int pivotRow = k;
+            double maxVal = Math.abs(data[index(k, k)]);
+            for (int i = k + 1; i <= lastRow; i++) {
+                double value = Math.abs(data[index(i, k)]);
+                if (value > maxVal) {
+                    maxVal = value;
+                    pivotRow = i;
+                }
+            }
+            pivot[k] = pivotRow;
+            if (maxVal < EPSILON) {
+                return false;
+            }
+            if (pivotRow != k) {
+                int a = index(k, 0);
+                int b = index(pivotRow, 0);
+                for (int j = k; j <= lastCol; j++) {
+                    double temp = data[a + j];
+                    data[a + j] = data[b + j];
+                    data[b + j] = temp;
+                }
+                swapCount++;
+            }
+
+            int pivotStart = index(k, 0);
+            double pivotValue = data[pivotStart + k];
+            for (int i = k + 1; i <= lastRow; i++) {
+                int rowStart = index(i, 0);
+                double factor = data[rowStart + k] / pivotValue;
+                data[rowStart + k] = factor;
+                if (factor == 0) continue;
+                for (int j = k + 1; j <= lastCol; j++) {
+                    data[rowStart + j] -= factor * data[pivotStart + j];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if a pivot smaller than EPSILON was met; such a factorization cannot solve systems
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Solves A * x = b in O(n * (lower + upper))
+     */
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        if (singular) {
+            throw new IllegalStateException("Matrix is singular; the system has no unique solution");
+        }
+
+        // Replay the swaps and multipliers in the order they were applied
+        double[] x = b.clone();
+        for (int k = 0; k < n; k++) {
+            if (pivot[k] != k) {
+                double temp = x[k];
+                x[k] = x[pivot[k]];
+                x[pivot[k]] = temp;
+            }
+            double xk = x[k];
+            if (xk == 0) continue;
+            for (int i = k + 1; i <= Math.min(n - 1, k + lower); i++) {
+                x[i] -= data[index(i, k)] * xk;
+            }
+        }
+
+        // Back substitution with the banded U
+        for (int i = n - 1; i >= 0; i--) {
+            int rowStart = index(i, 0);
+            double sum = x[i];
+            for (int j = i + 1; j <= Math.min(n - 1, i + reach); j++) {
+                sum -= data[rowStart + j] * x[j];
+            }
+            x[i] = sum / data[rowStart + i];
+        }
+        return x;
+    }
+
+    public double determinant() {
+        if (singular) {
+            return 0;
+        }
+        double det = swapCount % 2 == 0 ? 1 : -1;
+        for (int i = 0; i < n; i++) {
+            det *= data[index(i, i)];
+        }
+        return det;
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Square band matrix holding only the diagonals from -lower to +upper
+ * Row i stores columns i - lower ... i + upper contiguously, so element (i, j) lives at
+ * data[i * width + (j - i + lower)] with width = lower + upper + 1
+ * Memory is O(n * (lower + upper)) instead of O(n^2)
+ */
+public class BandedMatrix implements LinearOperator {
+    private final int n;
+    private final int lower;
+    private final int upper;
+    private final int width;
+    private final double[] data;
+
+    public BandedMatrix(int n, int lower, int upper) {
+        if (n < 0 || lower < 0 || upper < 0) {
+            throw new IllegalArgumentException("Size and bandwidths must be non-negative");
+        }
+        this.n = n;
+        this.lower = Math.min(lower, Math.max(0, n - 1));
+        this.upper = Math.min(upper, Math.max(0, n - 1));
+        this.width = this.lower + this.upper + 1;
+        this.data = new double[Math.multiplyExact(n, width)];
+    }
+
+    /**
+     * Copies the band of the first n columns of a matrix with n rows (a trailing constant column is ignored)
+     */
+    public static BandedMatrix fromArray(double[][] matrix, int lower, int upper) {
+        int n = matrix.length;
+        BandedMatrix result = new BandedMatrix(n, lower, upper);
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - result.lower);
+            int to = Math.min(n - 1, i + result.upper);
+            System.arraycopy(matrix[i], from, result.data, result.index(i, from), to - from + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Returns {lower, upper}: the farthest nonzero diagonal below and above the main diagonal
+     * among the first cols columns; each row is scanned from both ends and stops at the band found so far
+     * Only exact zeros are outside the band, so fromArray with the detected widths never drops an entry
+     */
+    public static int[] detectBandwidth(double[][] matrix, int cols) {
+        int lower = 0;
+        int upper = 0;
+        for (int i = 0; i < matrix.length; i++) {
+            double[] row = matrix[i];
+            for (int j = 0; j < Math.min(i - lower, cols); j++) {
+                if (row[j] != 0) {
+                    lower = i - j;
+                    break;
+                }
+            }
+            for (int j = cols - 1; j > i + upper; j--) {
+                if (row[j] != 0) {
+                    upper = j - i;
+                    break;
+                }
+            }
+        }
+        return new int[] {lower, upper};
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    public int getLowerBandwidth() {
+        return lower;
+    }
+
+    public int getUpperBandwidth() {
+        return upper;
+    }
+
+    /**
+     * Backing array, row i starting at i * getWidth()
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean inBand(int row, int col) {
+        return col - row >= -lower && col - row <= upper;
+    }
+
+    public double get(int row, int col) {
+        return inBand(row, col) ? data[index(row, col)] : 0.0;
+    }
+
+    public void set(int row, int col, double value) {
+        if (!inBand(row, col)) {
+            throw new IllegalArgumentException("Entry (" + row + ", " + col + ") is outside the band");
+        }
+        data[index(row, col)] = value;
+    }
+
+    private int index(int row, int col) {
+        return row * width + col - row + lower;
+    }
+
+    /**
+     * Computes y = A * x
+     */
+    public void multiply(double[] x, double[] y) {
+        for (int i = 0; i < n; i++) {
+            int from = Math.max(0, i - lower);
+            int to = Math.min(n - 1, i + upper);
+            int start = index(i, 0);
+            double sum = 0.0;
+            for (int j = from; j <= to; j++) {
+                sum += data[start + j] * x[j];
+            }
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        multiply(x, y);
+    }
+}
@@ -0,0 +1,332 @@
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Non-interactive mode of the CLI: solves every system found in the given files (or "-" for standard
+ * input) in one JVM and writes one machine-readable line per system
+ * Output is JSON Lines by default, or CSV (index,source,status,x1,x2,...) with --format=csv
+ * The status is "unique", "inconsistent", "infinite", "least-squares", "error" or "singular"; "singular" marks a
+ * sparse system SparseLU found singular that has more than DENSE_LIMIT unknowns, too many to expand to dense
+ * storage and tell inconsistent from infinite, and carries no solution
+ * With --exact every system is solved by ExactSolver and solutions are written as fractions ("1/3")
+ * With --least-squares systems with more equations than unknowns get their best fit from LeastSquaresSolver,
+ * reported with status "least-squares" and, in JSON, the residual norm ||A * x - b||
+ * A system that cannot be solved (too large, or not representable under --exact) gets status "error",
+ * with the reason in JSON, and the remaining systems are still solved
+ */
+public final class BatchCommand {
+    // Sparse input with more unknowns than this is factored by SparseLU instead of dense elimination
+    private static final int SPARSE_THRESHOLD = 200;
+    // Largest singular sparse system expanded to dense storage to tell inconsistent from infinite
+    private static final int DENSE_LIMIT = 4000;
+
+    private static final String UNIQUE = "unique";
+    private static final String INCONSISTENT = "inconsistent";
+    private static final String INFINITE = "infinite";
+    private static final String SINGULAR = "singular";
+    private static final String LEAST_SQUARES = "least-squares";
+    private static final String ERROR = "error";
+
+    private final boolean csv;
+    private final boolean exact;
+    private final boolean leastSquares;
+    private final Writer out;
+    private int systemCount;
+
+    private BatchCommand(boolean csv, boolean exact, boolean leastSquares, Writer out) {
+        this.csv = csv;
+        this.exact = exact;
+        this.leastSquares = leastSquares;
+        this.out = out;
+    }
+
+    /**
+     * Runs the batch mode and returns the process exit code (0 when every input was read successfully,
+     * even if some systems were reported with status "error")
+     */
+    public static int run(String[] args, InputStream stdin, OutputStream stdout, PrintStream stderr) throws IOException {
+        boolean csv = false;
+        boolean exact = false;
+        boolean leastSquares = false;
+        int firstInput = 0;
+        for (; firstInput < args.length && args[firstInput].startsWith("--"); firstInput++) {
+            String option = args[firstInput];
+            if (option.equals("--format=csv")) {
+                csv = true;
+            } else if (option.equals("--format=json")) {
+                csv = false;
+            } else if (option.equals("--exact")) {
+                exact = true;
+            } else if (option.equals("--least-squares")) {
+                leastSquares = true;
+            } else if (option.equals("--help")) {
+                printUsage(stderr);
+                return 0;
+            } else {
+                stderr.println("Unknown option " + option);
+                printUsage(stderr);
+                return 2;
+            }
+        }
+        if (firstInput == args.length) {
+            printUsage(stderr);
+            return 2;
+        }
+        if (exact && leastSquares) {
+            stderr.println("--exact and --least-squares cannot be combined");
+            return 2;
+        }
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8), 1 << 16);
+        BatchCommand command = new BatchCommand(csv, exact, leastSquares, out);
+        int exitCode = 0;
+        for (int a = firstInput; a < args.length; a++) {
+            String input = args[a];
+            try (SystemReader reader = open(input, stdin)) {
+                command.solveAll(reader, input);
+            } catch (NoSuchFileException e) {
+                stderr.println(input + ": file not found");
+                exitCode = 1;
+            } catch (IOException | IllegalArgumentException e) {
+                // Read and parse errors end the file; failures of single systems are reported by solveAll
+                stderr.println(input + ": " + e.getMessage());
+                exitCode = 1;
+            }
+        }
+        out.flush();
+        return exitCode;
+    }
+
+    private static void printUsage(PrintStream stderr) {
+        stderr.println("Usage: LinearSystemSolverCLI [--format=json|csv] [--exact | --least-squares] <file|-> ...");
+        stderr.println("Each file holds augmented matrices [A | b] in Matrix Market (array or coordinate) or CSV form.");
+    }
+
+    private static SystemReader open(String input, InputStream stdin) throws IOException {
+        if (input.equals("-")) {
+            // Standard input stays open for the caller
+            return new SystemReader(new ByteParser(new NonClosingInputStream(stdin)));
+        }
+        Path path = Paths.get(input);
+        return new SystemReader(new ByteParser(FileChannel.open(path, StandardOpenOption.READ)));
+    }
+
+    private void solveAll(SystemReader reader, String source) throws IOException {
+        LinearSystem system;
+        while ((system = reader.next()) != null) {
+            systemCount++;
+            Outcome outcome;
+            try {
+                outcome = solveOne(system);
+            } catch (IllegalArgumentException | IllegalStateException | ArithmeticException e) {
+                outcome = new Outcome(ERROR, null);
+                outcome.message = e.getMessage();
+            }
+            write(source, system.getVariableCount(), outcome);
+        }
+    }
+
+    private Outcome solveOne(LinearSystem system) {
+        if (exact) {
+            return solveExact(system);
+        }
+        int variables = system.getVariableCount();
+        if (leastSquares && variables > 0 && system.getEquationCount() > variables) {
+            return solveLeastSquares(system);
+        }
+        return solve(system);
+    }
+
+    private static Outcome solve(LinearSystem system) {
+        int n = system.getEquationCount();
+        if (system.isSparse() && n == system.getVariableCount() && n > SPARSE_THRESHOLD) {
+            SparseLU lu = SparseLU.factor(system.getCoefficients());
+            if (!lu.isSingular()) {
+                return new Outcome(UNIQUE, lu.solve(system.getConstants()));
+            }
+            if (n > DENSE_LIMIT) {
+                return new Outcome(SINGULAR, null);
+            }
+        } else if (system.isSparse() && (long) n * system.getVariableCount() > (long) DENSE_LIMIT * DENSE_LIMIT) {
+            throw new IllegalArgumentException("System " + n + "x" + system.getVariableCount()
+                    + " is too large for dense elimination");
+        }
+
+        double[] solution = SolverSelector.solve(system.getAugmentedMatrix());
+        if (solution == null) {
+            return new Outcome(INFINITE, null);
+        }
+        if (solution.length == 0) {
+            return new Outcome(INCONSISTENT, null);
+        }
+        return new Outcome(UNIQUE, solution);
+    }
+
+    private static Outcome solveExact(LinearSystem system) {
+        int n = system.getEquationCount();
+        if ((long) n * system.getVariableCount() > (long) DENSE_LIMIT * DENSE_LIMIT) {
+            throw new IllegalArgumentException("System " + n + "x" + system.getVariableCount()
+                    + " is too large for exact elimination");
+        }
+        ExactResult result = new ExactSolver(system.getAugmentedMatrix()).solve();
+        switch (result.getStatus()) {
+            case INCONSISTENT:
+                return new Outcome(INCONSISTENT, null);
+            case INFINITE:
+                return new Outcome(INFINITE, null);
+            default:
+                return new Outcome(result.getParticularSolution());
+        }
+    }
+
+    private static Outcome solveLeastSquares(LinearSystem system) {
+        int variables = system.getVariableCount();
+        if (system.isSparse() && (long) system.getEquationCount() * variables > (long) DENSE_LIMIT * DENSE_LIMIT) {
+            throw new IllegalArgumentException("System " + system.getEquationCount() + "x" + variables
+                    + " is too large for dense least squares");
+        }
+        LeastSquaresSolver solver = new LeastSquaresSolver(variables);
+        solver.addRows(system.getAugmentedMatrix());
+        double[] solution = solver.solve();
+        if (solution == null) {
+            // Dependent columns leave infinitely many best fits
+            return new Outcome(INFINITE, null);
+        }
+        Outcome outcome = new Outcome(LEAST_SQUARES, solution);
+        outcome.residual = solver.getResidualNorm();
+        return outcome;
+    }
+
+    private void write(String source, int variables, Outcome outcome) throws IOException {
+        String status = outcome.status;
+        double[] solution = outcome.solution;
+        StringBuilder line = new StringBuilder(32 + 24 * (solution == null ? 0 : solution.length));
+        if (csv) {
+            line.append(systemCount).append(',');
+            appendCsvText(line, source);
+            line.append(',').append(status);
+            if (solution != null) {
+                for (double value : solution) {
+                    line.append(',').append(value);
+                }
+            } else if (outcome.exactSolution != null) {
+                for (BigRational value : outcome.exactSolution) {
+                    line.append(',').append(value);
+                }
+            }
+        } else {
+            line.append("{\"system\":").append(systemCount).append(",\"source\":");
+            appendJsonText(line, source);
+            line.append(",\"variables\":").append(variables).append(",\"status\":\"").append(status).append('"');
+            if (solution != null) {
+                line.append(",\"solution\":[");
+                for (int i = 0; i < solution.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    // JSON has no NaN or Infinity
+                    if (Double.isFinite(solution[i])) {
+                        line.append(solution[i]);
+                    } else {
+                        line.append("null");
+                    }
+                }
+                line.append(']');
+                if (!Double.isNaN(outcome.residual)) {
+                    line.append(",\"residual\":").append(outcome.residual);
+                }
+            } else if (outcome.exactSolution != null) {
+                // Fractions are not JSON numbers, so every entry is written as a string
+                line.append(",\"solution\":[");
+                for (int i = 0; i < outcome.exactSolution.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    line.append('"').append(outcome.exactSolution[i]).append('"');
+                }
+                line.append(']');
+            }
+            if (outcome.message != null) {
+                line.append(",\"message\":");
+                appendJsonText(line, outcome.message);
+            }
+            line.append('}');
+        }
+        line.append('\n');
+        out.append(line);
+    }
+
+    private static void appendJsonText(StringBuilder line, String text) {
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    private static void appendCsvText(StringBuilder line, String text) {
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0) {
+            line.append(text);
+        } else {
+            line.append('"').append(text.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /**
+     * Status of one system and its solution, which is null unless the status is unique or least-squares
+     */
+    private static final class Outcome {
+        final String status;
+        final double[] solution;
+        final BigRational[] exactSolution;
+        // Residual norm of a least-squares solution, NaN otherwise
+        double residual = Double.NaN;
+        // Why the system could not be solved, null unless the status is error
+        String message;
+
+        Outcome(String status, double[] solution) {
+            this.status = status;
+            this.solution = solution;
+            this.exactSolution = null;
+        }
+
+        Outcome(BigRational[] exactSolution) {
+            this.status = UNIQUE;
+            this.solution = null;
+            this.exactSolution = exactSolution;
+        }
+    }
+
+    /**
+     * Lets the reader close its channel without closing System.in
+     */
+    private static final class NonClosingInputStream extends FilterInputStream {
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // Leave the underlying stream open
+        }
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solves many small independent linear systems of the same shape packed into one primitive array
+ * System s occupies equations * (variables + 1) consecutive doubles holding its augmented matrix row by row
+ * Each worker thread reuses its own scratch matrix, so solving allocates nothing per system
+ */
+public class BatchSolver {
+    /** Status code: the system has exactly one solution */
+    public static final byte UNIQUE = 0;
+    /** Status code: the system is inconsistent and has no solution */
+    public static final byte INCONSISTENT = 1;
+    /** Status code: the system has infinitely many solutions */
+    public static final byte INFINITE = 2;
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    private final int equations;
+    private final int variables;
+    private final int width;
+    private final int systemSize;
+    private final ThreadLocal<double[]> scratch;
+
+    public BatchSolver(int equations, int variables) {
+        if (equations < 1 || variables < 1) {
+            throw new IllegalArgumentException("Systems need at least one equation and one variable");
+        }
+        this.equations = equations;
+        this.variables = variables;
+        this.width = variables + 1;
+        this.systemSize = equations * width;
+        this.scratch = ThreadLocal.withInitial(() -> new double[systemSize]);
+    }
+
+    /**
+     * Number of doubles one packed system occupies
+     */
+    public int getSystemSize() {
+        return systemSize;
+    }
+
+    /**
+     * Solves count systems on the calling thread
+     */
+    public void solve(double[] systems, int count, double[] solutions, byte[] status) {
+        solve(systems, count, solutions, status, null);
+    }
+
+    /**
+     * Solves count systems, spreading them across the pool (null runs serially)
+     * Solution s is written to solutions[s * variables ...]; entries are NaN unless status[s] is UNIQUE
+     */
+    public void solve(double[] systems, int count, double[] solutions, byte[] status, ForkJoinPool pool) {
+        if ((long) count * systemSize > systems.length) {
+            throw new IllegalArgumentException("Input holds fewer than " + count + " systems");
+        }
+        if ((long) count * variables > solutions.length || count > status.length) {
+            throw new IllegalArgumentException("Output arrays are too small for " + count + " systems");
+        }
+        long flopsPerSystem = 2L * equations * variables * width;
+        RowRangeTask.run(pool, 0, count, flopsPerSystem, (from, to) -> {
+            double[] a = scratch.get();
+            for (int s = from; s < to; s++) {
+                status[s] = solveOne(systems, s, a, solutions);
+            }
+        });
+    }
+
+    /**
+     * Gaussian elimination on one system, with the same pivoting and EPSILON rules as GaussianElimination
+     */
+    private byte solveOne(double[] systems, int index, double[] a, double[] solutions) {
+        System.arraycopy(systems, index * systemSize, a, 0, systemSize);
+
+        // Pivot rows only advance when a column yields a pivot, so after the sweep rank is the pivot count
+        int rank = 0;
+        for (int pivotColumn = 0; pivotColumn < variables && rank < equations; pivotColumn++) {
+            int maxRow = rank;
+            double maxVal = Math.abs(a[rank * width + pivotColumn]);
+            for (int i = rank + 1; i < equations; i++) {
+                double value = Math.abs(a[i * width + pivotColumn]);
+                if (value > maxVal) {
+                    maxVal = value;
+                    maxRow = i;
+                }
+            }
+            if (maxVal < EPSILON) continue;
+
+            if (maxRow != rank) {
+                swapRows(a, rank, maxRow);
+            }
+
+            int pivotStart = rank * width;
+            double pivotValue = a[pivotStart + pivotColumn];
+            for (int i = rank + 1; i < equations; i++) {
+                int rowStart = i * width;
+                double factor = a[rowStart + pivotColumn] / pivotValue;
+                if (Math.abs(factor) < EPSILON) continue;
+                for (int j = pivotColumn; j < width; j++) {
+                    double value = a[rowStart + j] - factor * a[pivotStart + j];
+                    a[rowStart + j] = Math.abs(value) < EPSILON ? 0 : value;
+                }
+            }
+            rank++;
+        }
+
+        // Rows below the rank have no coefficients left; a nonzero constant there is a contradiction
+        int solutionStart = index * variables;
+        boolean inconsistent = false;
+        for (int i = rank; i < equations; i++) {
+            if (Math.abs(a[i * width + variables]) >= EPSILON) {
+                inconsistent = true;
+            }
+        }
+        if (inconsistent || rank < variables) {
+            for (int j = 0; j < variables; j++) {
+                solutions[solutionStart + j] = Double.NaN;
+            }
+            return inconsistent ? INCONSISTENT : INFINITE;
+        }
+
+        for (int i = variables - 1; i >= 0; i--) {
+            int rowStart = i * width;
+            double sum = 0.0;
+            for (int j = i + 1; j < variables; j++) {
+                sum += a[rowStart + j] * solutions[solutionStart + j];
+            }
+            solutions[solutionStart + i] = (a[rowStart + variables] - sum) / a[rowStart + i];
+        }
+        return UNIQUE;
+    }
+
+    private void swapRows(double[] a, int row1, int row2) {
+        int start1 = row1 * width;
+        int start2 = row2 * width;
+        for (int j = 0; j < width; j++) {
+            double temp = a[start1 + j];
+            a[start1 + j] = a[start2 + j];
+            a[start2 + j] = temp;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Immutable exact fraction p / q of arbitrary size, always in lowest terms with q > 0
+ */
+public final class BigRational implements Comparable<BigRational> {
+    public static final BigRational ZERO = new BigRational(BigInteger.ZERO, BigInteger.ONE);
+    public static final BigRational ONE = new BigRational(BigInteger.ONE, BigInteger.ONE);
+    // Enough decimal digits that rounding the quotient to a double is exact in all but tie cases
+    private static final MathContext PRECISION = new MathContext(25);
+
+    private final BigInteger numerator;
+    private final BigInteger denominator;
+
+    private BigRational(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Returns numerator / denominator reduced to lowest terms
+     * Throws ArithmeticException if the denominator is zero
+     */
+    public static BigRational of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Zero denominator");
+        }
+        if (numerator.signum() == 0) {
+            return ZERO;
+        }
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger gcd = numerator.gcd(denominator);
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+        return new BigRational(numerator, denominator);
+    }
+
+    public static BigRational of(BigInteger value) {
+        return new BigRational(value, BigInteger.ONE);
+    }
+
+    public static BigRational valueOf(long value) {
+        return of(BigInteger.valueOf(value));
+    }
+
+    /**
+     * Returns the fraction a decimal reader means by this double: 0.1 becomes 1/10, not the nearest binary value
+     * Uses the shortest decimal string that rounds to the double, as Double.toString does
+     */
+    public static BigRational valueOf(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Cannot represent " + value + " as a fraction");
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 0x1p53) {
+            return valueOf((long) value);
+        }
+        BigDecimal decimal = BigDecimal.valueOf(value);
+        if (decimal.scale() <= 0) {
+            return of(decimal.toBigIntegerExact());
+        }
+        return of(decimal.unscaledValue(), BigInteger.TEN.pow(decimal.scale()));
+    }
+
+    public BigInteger getNumerator() {
+        return numerator;
+    }
+
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    public boolean isInteger() {
+        return denominator.equals(BigInteger.ONE);
+    }
+
+    public int signum() {
+        return numerator.signum();
+    }
+
+    public BigRational negate() {
+        return new BigRational(numerator.negate(), denominator);
+    }
+
+    public BigRational add(BigRational other) {
+        if (denominator.equals(other.denominator)) {
+            return of(numerator.add(other.numerator), denominator);
+        }
+        return of(numerator.multiply(other.denominator).add(other.numerator.multiply(denominator)),
+                denominator.multiply(other.denominator));
+    }
+
+    public BigRational subtract(BigRational other) {
+        return add(other.negate());
+    }
+
+    public BigRational multiply(BigRational other) {
+        return of(numerator.multiply(other.numerator), denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Throws ArithmeticException when dividing by zero
+     */
+    public BigRational divide(BigRational other) {
+        return of(numerator.multiply(other.denominator), denominator.multiply(other.numerator));
+    }
+
+    /**
+     * Nearest double (to within the last bit) for display and for comparison with floating-point solvers
+     */
+    public double doubleValue() {
+        if (isInteger()) {
+            return numerator.doubleValue();
+        }
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator), PRECISION).doubleValue();
+    }
+
+    @Override
+    public int compareTo(BigRational other) {
+        return numerator.multiply(other.denominator).compareTo(other.numerator.multiply(denominator));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof BigRational)) {
+            return false;
+        }
+        BigRational that = (BigRational) other;
+        return numerator.equals(that.numerator) && denominator.equals(that.denominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numerator.hashCode() + denominator.hashCode();
+    }
+
+    /**
+     * "p" for integers, otherwise "p/q"
+     */
+    @Override
+    public String toString() {
+        return isInteger() ? numerator.toString() : numerator + "/" + denominator;
+    }
+}
@@ -0,0 +1,319 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Buffered tokenizer that reads numbers straight from the bytes of a channel
+ * No Scanner, no String per token: digits are accumulated into a long and converted with the exact
+ * fast path (Clinger) when the mantissa fits in 53 bits and the power of ten is at most 22;
+ * anything else falls back to Double.parseDouble on the captured token
+ */
+public class ByteParser implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] bytes = buffer.array();
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private int line = 1;
+    // Bytes of the number being parsed, kept for the slow path and error messages
+    private byte[] token = new byte[32];
+    private int tokenLength;
+
+    public ByteParser(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public ByteParser(InputStream in) {
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * 1-based number of the line being read
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Next byte without consuming it, or -1 at the end of the input
+     */
+    public int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return bytes[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c >= 0) {
+            position++;
+            if (c == '\n') {
+                line++;
+            }
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        buffer.clear();
+        int count;
+        do {
+            count = channel.read(buffer);
+        } while (count == 0);
+        if (count < 0) {
+            endOfInput = true;
+            position = limit = 0;
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+
+    /**
+     * Consumes the next byte if it equals c
+     */
+    public boolean skip(int c) throws IOException {
+        if (peek() == c) {
+            read();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips spaces, tabs and carriage returns, stopping at a line break
+     */
+    public void skipBlanks() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t' || c == '\r') {
+            position++;
+        }
+    }
+
+    /**
+     * Skips blanks and line breaks
+     */
+    public void skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t' || c == '\r' || c == '\n') {
+            read();
+        }
+    }
+
+    /**
+     * True if only blanks remain before the next line break or the end of the input
+     */
+    public boolean atLineEnd() throws IOException {
+        skipBlanks();
+        int c = peek();
+        return c == '\n' || c < 0;
+    }
+
+    /**
+     * Consumes the rest of the current line, including its line break
+     */
+    public void skipLine() throws IOException {
+        int c;
+        while ((c = read()) >= 0 && c != '\n') {
+            // discard
+        }
+    }
+
+    /**
+     * Returns the rest of the current line without its line break, or null at the end of the input
+     */
+    public String readLine() throws IOException {
+        if (peek() < 0) {
+            return null;
+        }
+        tokenLength = 0;
+        int c;
+        while ((c = read()) >= 0 && c != '\n') {
+            if (c != '\r') {
+                append(c);
+            }
+        }
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an optionally signed decimal integer after skipping blanks
+     */
+    public int readInt() throws IOException {
+        skipBlanks();
+        tokenLength = 0;
+        boolean negative = false;
+        int c = peek();
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            append(read());
+        }
+        long value = 0;
+        int digits = 0;
+        while ((c = peek()) >= '0' && c <= '9') {
+            append(read());
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw error("Integer out of range");
+            }
+            digits++;
+        }
+        if (digits == 0) {
+            throw error("Expected an integer");
+        }
+        requireDelimiter();
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Reads a decimal number (optional sign, fraction and exponent) after skipping blanks
+     * NaN and Infinity are accepted through the slow path
+     */
+    public double readDouble() throws IOException {
+        skipBlanks();
+        tokenLength = 0;
+        boolean negative = false;
+        int c = peek();
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            append(read());
+            c = peek();
+        }
+        if (c == 'N' || c == 'I' || c == 'n' || c == 'i') {
+            return slowPath();
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        boolean truncated = false;
+        while ((c = peek()) >= '0' && c <= '9') {
+            append(read());
+            anyDigits = true;
+            if (significantDigits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    significantDigits++;
+                }
+            } else {
+                exponent++;
+                truncated |= c != '0';
+            }
+        }
+        if (c == '.') {
+            append(read());
+            while ((c = peek()) >= '0' && c <= '9') {
+                append(read());
+                anyDigits = true;
+                if (significantDigits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) {
+                        significantDigits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= c != '0';
+                }
+            }
+        }
+        if (!anyDigits) {
+            throw error("Expected a number");
+        }
+        if (c == 'e' || c == 'E') {
+            append(read());
+            boolean negativeExponent = false;
+            c = peek();
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                append(read());
+            }
+            int value = 0;
+            int digits = 0;
+            while ((c = peek()) >= '0' && c <= '9') {
+                append(read());
+                // Saturate: anything this large over- or underflows anyway
+                value = Math.min(value * 10 + (c - '0'), 100_000);
+                digits++;
+            }
+            if (digits == 0) {
+                throw error("Expected an exponent");
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        requireDelimiter();
+
+        if (!truncated && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            // Both operands are exact doubles, so one correctly rounded operation gives the exact result
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return parseToken();
+    }
+
+    private double slowPath() throws IOException {
+        int c;
+        while ((c = peek()) >= 0 && !isDelimiter(c)) {
+            append(read());
+        }
+        return parseToken();
+    }
+
+    private double parseToken() throws IOException {
+        String text = new String(token, 0, tokenLength, StandardCharsets.ISO_8859_1);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + text + "'");
+        }
+    }
+
+    private void requireDelimiter() throws IOException {
+        int c = peek();
+        if (c >= 0 && !isDelimiter(c)) {
+            append(read());
+            throw error("Invalid number '" + new String(token, 0, tokenLength, StandardCharsets.ISO_8859_1) + "'");
+        }
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == ',' || c == ';';
+    }
+
+    private void append(int c) {
+        if (tokenLength == token.length) {
+            token = Arrays.copyOf(token, 2 * tokenLength);
+        }
+        token[tokenLength++] = (byte) c;
+    }
+
+    /**
+     * Parse error tagged with the current line number
+     */
+    public IOException error(String message) {
+        return new IOException("Line " + line + ": " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.Arrays;
+
+/**
+ * O(n^2) estimate of the 1-norm condition number from existing LU factors (Hager's method with
+ * Higham's refinements, as in LAPACK's dlacon)
+ * ||A^-1||_1 is estimated from a handful of solves with A and A', so the cost is a few triangular
+ * solves instead of the O(n^3) needed to form the inverse; the estimate is a lower bound that is
+ * almost always within a factor of 3 of the true value
+ */
+public final class ConditionEstimator {
+    // Iterations of the power-like sweep; dlacon uses 5
+    private static final int MAX_ITERATIONS = 5;
+
+    /**
+     * Solves a system with fixed coefficients for the given right-hand side, returning a new vector
+     */
+    public interface Solver {
+        double[] solve(double[] b);
+    }
+
+    private ConditionEstimator() {
+    }
+
+    /**
+     * Estimates ||A^-1||_1 given solvers for A * x = b and A' * x = b
+     */
+    public static double estimateInverseNorm(int n, Solver solve, Solver solveTranspose) {
+        if (n == 0) {
+            return 0;
+        }
+        double[] x = new double[n];
+        Arrays.fill(x, 1.0 / n);
+        double[] y = solve.solve(x);
+        double estimate = norm1(y);
+        if (n == 1) {
+            return estimate;
+        }
+
+        double[] signs = signs(y);
+        int j = argMaxAbs(solveTranspose.solve(signs));
+        for (int iteration = 2; iteration <= MAX_ITERATIONS; iteration++) {
+            // y = A^-1 e_j is column j of the inverse
+            double[] unit = new double[n];
+            unit[j] = 1;
+            y = solve.solve(unit);
+            double previous = estimate;
+            estimate = norm1(y);
+            double[] nextSigns = signs(y);
+            if (Arrays.equals(nextSigns, signs) || estimate <= previous) {
+                estimate = Math.max(estimate, previous);
+                break;
+            }
+            signs = nextSigns;
+            double[] z = solveTranspose.solve(signs);
+            int last = j;
+            j = argMaxAbs(z);
+            if (Math.abs(z[last]) == Math.abs(z[j])) {
+                break;
+            }
+        }
+
+        // Higham's extra test vector with alternating signs and growing magnitudes catches the cases
+        // where the sweep above stalls on a poor local maximum
+        double[] alternating = new double[n];
+        for (int i = 0; i < n; i++) {
+            alternating[i] = (i % 2 == 0 ? 1 : -1) * (1 + (double) i / (n - 1));
+        }
+        double alternative = 2 * norm1(solve.solve(alternating)) / (3.0 * n);
+        return Math.max(estimate, alternative);
+    }
+
+    /**
+     * 1-norm (largest absolute column sum) of the coefficients of an augmented or square matrix
+     */
+    static double norm1(double[] data, int offset, int stride, int rows, int cols) {
+        double[] columnSums = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            int rowStart = offset + i * stride;
+            for (int j = 0; j < cols; j++) {
+                columnSums[j] += Math.abs(data[rowStart + j]);
+            }
+        }
+        double norm = 0;
+        for (double sum : columnSums) {
+            norm = Math.max(norm, sum);
+        }
+        return norm;
+    }
+
+    // ========== PACKED LU SOLVES ==========
+
+    /**
+     * Solves A * x = b with packed factors P * A = L * U: U on and above the diagonal, unit-lower L below,
+     * logical row i of the factors starting at rowStarts[i] and holding row rowOrder[i] of A
+     */
+    static double[] solve(double[] data, int[] rowStarts, int[] rowOrder, double[] b) {
+        int n = rowStarts.length;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            int rowStart = rowStarts[i];
+            double sum = b[rowOrder[i]];
+            for (int j = 0; j < i; j++) {
+                sum -= data[rowStart + j] * x[j];
+            }
+            x[i] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int rowStart = rowStarts[i];
+            double sum = x[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= data[rowStart + j] * x[j];
+            }
+            x[i] = sum / data[rowStart + i];
+        }
+        return x;
+    }
+
+    /**
+     * Solves A' * x = b with the same packed factors: U' * w = b, then L' * v = w, then x = P' * v
+     * Both sweeps run row by row (column-oriented updates), so the row-major factors are read in order
+     */
+    static double[] solveTranspose(double[] data, int[] rowStarts, int[] rowOrder, double[] b) {
+        int n = rowStarts.length;
+        double[] w = b.clone();
+        for (int i = 0; i < n; i++) {
+            int rowStart = rowStarts[i];
+            double value = w[i] / data[rowStart + i];
+            w[i] = value;
+            for (int j = i + 1; j < n; j++) {
+                w[j] -= data[rowStart + j] * value;
+            }
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int rowStart = rowStarts[i];
+            double value = w[i];
+            for (int j = 0; j < i; j++) {
+                w[j] -= data[rowStart + j] * value;
+            }
+        }
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[rowOrder[i]] = w[i];
+        }
+        return x;
+    }
+
+    private static double norm1(double[] vector) {
+        double sum = 0;
+        for (double value : vector) {
+            sum += Math.abs(value);
+        }
+        return sum;
+    }
+
+    private static double[] signs(double[] vector) {
+        double[] signs = new double[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            signs[i] = vector[i] >= 0 ? 1 : -1;
+        }
+        return signs;
+    }
+
+    private static int argMaxAbs(double[] vector) {
+        int best = 0;
+        for (int i = 1; i < vector.length; i++) {
+            if (Math.abs(vector[i]) > Math.abs(vector[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
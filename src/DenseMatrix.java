@@ -0,0 +1,112 @@
+/**
+ * Dense matrix stored in a single contiguous row-major double array
+ * Element (i, j) lives at data[offset + i * stride + j], where stride is the leading dimension
+ */
+public class DenseMatrix {
+    private final double[] data;
+    private final int rows;
+    private final int cols;
+    private final int stride;
+    private final int offset;
+
+    public DenseMatrix(int rows, int cols) {
+        this(new double[rows * cols], rows, cols, cols, 0);
+    }
+
+    /**
+     * Wraps an existing array without copying it
+     */
+    public DenseMatrix(double[] data, int rows, int cols, int stride, int offset) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions must be non-negative");
+        }
+        if (stride < cols) {
+            throw new IllegalArgumentException("Stride " + stride + " is smaller than the column count " + cols);
+        }
+        if (rows > 0 && offset + (long) (rows - 1) * stride + cols > data.length) {
+            throw new IllegalArgumentException("Backing array is too small for a " + rows + "x" + cols + " matrix");
+        }
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = stride;
+        this.offset = offset;
+    }
+
+    /**
+     * Copies a jagged double[][] into contiguous storage
+     */
+    public static DenseMatrix fromArray(double[][] matrix) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            if (matrix[i].length != cols) {
+                throw new IllegalArgumentException("Row " + (i + 1) + " has " + matrix[i].length
+                        + " entries, expected " + cols);
+            }
+            System.arraycopy(matrix[i], 0, result.data, i * cols, cols);
+        }
+        return result;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Distance in the backing array between the starts of two consecutive rows
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the backing array; callers indexing it directly must honour offset and stride
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Index of the first element of the given row in the backing array
+     */
+    public int rowStart(int row) {
+        return offset + row * stride;
+    }
+
+    public double get(int row, int col) {
+        return data[offset + row * stride + col];
+    }
+
+    public void set(int row, int col, double value) {
+        data[offset + row * stride + col] = value;
+    }
+
+    /**
+     * Returns a compact copy (stride equal to the column count)
+     */
+    public DenseMatrix copy() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(data, rowStart(i), result.data, i * cols, cols);
+        }
+        return result;
+    }
+
+    public double[][] toArray() {
+        double[][] result = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(data, rowStart(i), result[i], 0, cols);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,296 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Compact binary log of the row operations performed by Gaussian elimination
+ * Recording only stores integers and factors; the human-readable transcript is rebuilt on demand
+ */
+public class EliminationTrace {
+    private static final int OP_SWAP = 1;
+    private static final int OP_SKIP = 2;
+    private static final int OP_ELIMINATE = 3;
+    private static final int OP_BACK_SUBSTITUTION = 4;
+
+    // Each operation occupies three ints: opcode and two row/column indices
+    private static final int INTS_PER_OP = 3;
+
+    private final TraceLevel level;
+    private final DenseMatrix initialMatrix;
+    private final int variables;
+
+    private int[] ops = new int[INTS_PER_OP * 16];
+    private int opCount;
+    private double[] values = new double[16];
+    private int valueCount;
+
+    private double[][] solutions;
+    private boolean finished;
+
+    /**
+     * Creates a trace for an augmented matrix whose first variables columns are coefficients
+     */
+    public EliminationTrace(TraceLevel level, DenseMatrix matrix, int variables) {
+        this(level, matrix, null, variables);
+    }
+
+    /**
+     * Creates a trace for a matrix whose logical row i is physical row rowOrder[i], as left by an earlier solve
+     * The FULL snapshot is taken in logical order, which is the order the recorded operations refer to
+     */
+    public EliminationTrace(TraceLevel level, DenseMatrix matrix, int[] rowOrder, int variables) {
+        this.level = level;
+        this.initialMatrix = level.includes(TraceLevel.FULL) ? logicalCopy(matrix, rowOrder) : null;
+        this.variables = variables;
+    }
+
+    private static DenseMatrix logicalCopy(DenseMatrix matrix, int[] rowOrder) {
+        if (rowOrder == null) {
+            return matrix.copy();
+        }
+        DenseMatrix copy = new DenseMatrix(matrix.getRows(), matrix.getCols());
+        for (int i = 0; i < rowOrder.length; i++) {
+            System.arraycopy(matrix.getData(), matrix.rowStart(rowOrder[i]),
+                    copy.getData(), copy.rowStart(i), matrix.getCols());
+        }
+        return copy;
+    }
+
+    public TraceLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Number of row operations recorded so far
+     */
+    public int getOperationCount() {
+        return opCount;
+    }
+
+    public void recordSwap(int row1, int row2) {
+        addOp(OP_SWAP, row1, row2);
+    }
+
+    public void recordSkip(int col) {
+        addOp(OP_SKIP, col, 0);
+    }
+
+    /**
+     * Records row = row - factor * pivotRow
+     * The pivot column is pivotRow plus the number of columns skipped so far, so it is not stored
+     */
+    public void recordEliminate(int row, int pivotRow, double factor) {
+        addOp(OP_ELIMINATE, row, pivotRow);
+        addValue(factor);
+    }
+
+    public void recordBackSubstitution(int variableIndex, double constantTerm, double sum,
+                                       double coefficient, double result) {
+        addOp(OP_BACK_SUBSTITUTION, variableIndex, 0);
+        addValue(constantTerm);
+        addValue(sum);
+        addValue(coefficient);
+        addValue(result);
+    }
+
+    /**
+     * Records the outcome for each right-hand side, using the same encoding as GaussianElimination.solveAll()
+     */
+    public void recordResult(double[][] solutions) {
+        this.solutions = new double[solutions.length][];
+        for (int c = 0; c < solutions.length; c++) {
+            this.solutions[c] = solutions[c] == null ? null : solutions[c].clone();
+        }
+        this.finished = true;
+    }
+
+    private void addOp(int opcode, int a, int b) {
+        if ((opCount + 1) * INTS_PER_OP > ops.length) {
+            ops = Arrays.copyOf(ops, ops.length * 2);
+        }
+        int base = opCount * INTS_PER_OP;
+        ops[base] = opcode;
+        ops[base + 1] = a;
+        ops[base + 2] = b;
+        opCount++;
+    }
+
+    private void addValue(double value) {
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[valueCount++] = value;
+    }
+
+    /**
+     * Applies the logged swaps and eliminations to a copy of the original matrix
+     * Returns the row echelon form with rows in their final logical order
+     */
+    public DenseMatrix replay(DenseMatrix original) {
+        DenseMatrix work = original.copy();
+        int[] rowOrder = identityOrder(work.getRows());
+        int valueIndex = 0;
+        int skipped = 0;
+        for (int op = 0; op < opCount; op++) {
+            int base = op * INTS_PER_OP;
+            switch (ops[base]) {
+                case OP_SKIP:
+                    skipped++;
+                    break;
+                case OP_SWAP:
+                    swap(rowOrder, ops[base + 1], ops[base + 2]);
+                    break;
+                case OP_ELIMINATE:
+                    applyEliminate(work, rowOrder, ops[base + 1], ops[base + 2], ops[base + 2] + skipped,
+                            values[valueIndex]);
+                    valueIndex++;
+                    break;
+                case OP_BACK_SUBSTITUTION:
+                    valueIndex += 4;
+                    break;
+                default:
+                    break;
+            }
+        }
+        DenseMatrix result = new DenseMatrix(work.getRows(), work.getCols());
+        for (int i = 0; i < rowOrder.length; i++) {
+            System.arraycopy(work.getData(), work.rowStart(rowOrder[i]),
+                    result.getData(), result.rowStart(i), work.getCols());
+        }
+        return result;
+    }
+
+    /**
+     * Streams the step-by-step transcript for the recorded level of detail to the given sink
+     * Nothing beyond the operation log is kept in memory, so large traces can go straight to a file
+     */
+    public void writeTo(Appendable sink) throws IOException {
+        if (level == TraceLevel.OFF) {
+            return;
+        }
+
+        TraceWriter out = new TraceWriter(sink);
+        boolean showOps = level.includes(TraceLevel.OPS);
+        boolean showMatrices = initialMatrix != null;
+        DenseMatrix work = showMatrices ? initialMatrix.copy() : null;
+        int[] rowOrder = showMatrices ? identityOrder(work.getRows()) : null;
+
+        out.text("Starting Gaussian Elimination\n");
+        out.text("----------------------------\n\n");
+        if (showMatrices) {
+            out.text("Initial augmented matrix:\n");
+            out.matrix(work, rowOrder, variables);
+        }
+
+        int valueIndex = 0;
+        int skipped = 0;
+        boolean backSubstitutionStarted = false;
+        if (showOps) {
+            out.text("\nForward Elimination:\n");
+            out.text("--------------------\n");
+        }
+        for (int op = 0; op < opCount && showOps; op++) {
+            int base = op * INTS_PER_OP;
+            int a = ops[base + 1];
+            int b = ops[base + 2];
+            switch (ops[base]) {
+                case OP_SKIP:
+                    out.text("\nSkipping column ").number(a + 1).text(" (pivot element is zero).\n");
+                    skipped++;
+                    break;
+                case OP_SWAP:
+                    out.text("\nSwap row ").number(a + 1).text(" with row ").number(b + 1).text(":\n");
+                    if (showMatrices) {
+                        swap(rowOrder, a, b);
+                        out.matrix(work, rowOrder, variables);
+                    }
+                    break;
+                case OP_ELIMINATE:
+                    double factor = values[valueIndex++];
+                    out.text("\nEliminate in row ").number(a + 1).text(" using row ").number(b + 1).text(":\n");
+                    out.text("R").number(a + 1).text(" = R").number(a + 1).text(" - ")
+                            .number(factor).text(" * R").number(b + 1).text("\n");
+                    if (showMatrices) {
+                        applyEliminate(work, rowOrder, a, b, b + skipped, factor);
+                        out.matrix(work, rowOrder, variables);
+                    }
+                    break;
+                case OP_BACK_SUBSTITUTION:
+                    if (!backSubstitutionStarted) {
+                        writeRowEchelonForm(out, work, rowOrder);
+                        out.text("\nBack Substitution:\n");
+                        out.text("-----------------\n");
+                        backSubstitutionStarted = true;
+                    }
+                    out.backSubstitutionStep(a, values[valueIndex], values[valueIndex + 1],
+                            values[valueIndex + 2], values[valueIndex + 3]);
+                    valueIndex += 4;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (showOps && !backSubstitutionStarted && finished) {
+            writeRowEchelonForm(out, work, rowOrder);
+        }
+
+        if (!finished) {
+            return;
+        }
+        for (int c = 0; c < solutions.length; c++) {
+            if (solutions.length > 1) {
+                out.text("\nRight-hand side ").number(c + 1).text(":\n");
+            }
+            writeOutcome(out, solutions[c]);
+        }
+    }
+
+    private void writeOutcome(TraceWriter out, double[] solution) throws IOException {
+        if (solution == null) {
+            out.text("\nThe system has infinitely many solutions.\n");
+        } else if (solution.length == 0) {
+            out.text("\nThe system is inconsistent and has no solution.\n");
+        } else {
+            out.finalSolution(solution);
+        }
+    }
+
+    private void writeRowEchelonForm(TraceWriter out, DenseMatrix work, int[] rowOrder) throws IOException {
+        if (work != null) {
+            out.text("\nRow Echelon Form:\n");
+            out.matrix(work, rowOrder, variables);
+        }
+    }
+
+    private static void applyEliminate(DenseMatrix work, int[] rowOrder, int row, int pivotRow, int pivotColumn,
+                                       double factor) {
+        GaussianElimination.subtractRow(work.getData(), work.rowStart(rowOrder[row]),
+                work.rowStart(rowOrder[pivotRow]), pivotColumn, work.getCols(), factor);
+    }
+
+    private static int[] identityOrder(int rows) {
+        int[] order = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static void swap(int[] order, int i, int j) {
+        int temp = order[i];
+        order[i] = order[j];
+        order[j] = temp;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder steps = new StringBuilder();
+        try {
+            writeTo(steps);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(e);
+        }
+        return steps.toString();
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Solution set of A x = b in exact rational arithmetic, as found by ExactSolver
+ * Same layout as SolveResult: a particular solution plus a combination of null-space basis vectors
+ * Rank and consistency are exact decisions, with no tolerance involved
+ */
+public class ExactResult {
+    private final SolveResult.Status status;
+    private final int variables;
+    private final int[] pivotColumns;
+    private final BigRational[] particularSolution;
+    private final BigRational[][] nullSpaceBasis;
+
+    ExactResult(SolveResult.Status status, int variables, int[] pivotColumns, BigRational[] particularSolution,
+                BigRational[][] nullSpaceBasis) {
+        this.status = status;
+        this.variables = variables;
+        this.pivotColumns = pivotColumns;
+        this.particularSolution = particularSolution;
+        this.nullSpaceBasis = nullSpaceBasis;
+    }
+
+    public SolveResult.Status getStatus() {
+        return status;
+    }
+
+    public boolean isUnique() {
+        return status == SolveResult.Status.UNIQUE;
+    }
+
+    /**
+     * Exact rank of the coefficient matrix
+     */
+    public int getRank() {
+        return pivotColumns.length;
+    }
+
+    /**
+     * Columns (0-based variable indices) that received a pivot, in increasing order
+     */
+    public int[] getPivotColumns() {
+        return pivotColumns.clone();
+    }
+
+    /**
+     * The solution with every free variable set to zero, or null if the system is inconsistent
+     */
+    public BigRational[] getParticularSolution() {
+        return particularSolution;
+    }
+
+    /**
+     * Basis of the null space of A, one vector per free variable; vector k has a 1 for free variable k
+     * and 0 for the other free variables
+     */
+    public BigRational[][] getNullSpaceBasis() {
+        return nullSpaceBasis;
+    }
+
+    public int getNullity() {
+        return variables - pivotColumns.length;
+    }
+
+    /**
+     * Follows the GaussianElimination.solve() contract: the solution rounded to doubles, an empty array if the
+     * system is inconsistent, or null if it has infinitely many solutions
+     */
+    public double[] toDoubleArray() {
+        switch (status) {
+            case INCONSISTENT:
+                return new double[0];
+            case INFINITE:
+                return null;
+            default:
+                double[] x = new double[variables];
+                for (int j = 0; j < variables; j++) {
+                    x[j] = particularSolution[j].doubleValue();
+                }
+                return x;
+        }
+    }
+}
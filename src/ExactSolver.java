@@ -0,0 +1,665 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solves A x = b in exact rational arithmetic: rank, consistency and every solution entry are exact
+ * Doubles are read as the decimals they print as (0.1 is 1/10); each row is scaled to integers first
+ * Small systems use Bareiss fraction-free elimination over BigInteger
+ * Larger ones are solved modulo many 26-bit primes, in parallel, and the reduced row
+ * echelon form is rebuilt by Chinese remaindering and rational reconstruction; the result is then checked
+ * against the integer system, so it is certified rather than probable
+ */
+public class ExactSolver {
+
+    /**
+     * How solve() computes the answer
+     */
+    public enum Method {
+        /** Bareiss for small systems, multi-modular otherwise */
+        AUTO,
+        /** Fraction-free elimination over BigInteger */
+        BAREISS,
+        /** Elimination modulo many primes, Chinese remaindering and rational reconstruction */
+        MULTI_MODULAR
+    }
+
+    // AUTO uses Bareiss up to this many unknowns; past it the multi-modular path is faster
+    private static final int BAREISS_LIMIT = 8;
+    // Primes stay below 2^26 so that residue products are exact in a double
+    private static final long PRIME_LIMIT = (1L << 26) - 1;
+    // Primes found so far, in decreasing order, shared by every solver
+    private static long[] primes = new long[0];
+
+    private final int rows;
+    private final int variables;
+    private final int cols;
+    // Row-major integer augmented matrix [A | b]
+    private final BigInteger[] matrix;
+    // The same entries when they all fit in a long, for fast reduction modulo a prime
+    private final long[] smallMatrix;
+    private Method method = Method.AUTO;
+    private ForkJoinPool pool;
+    private int primeCount;
+
+    /**
+     * Creates a solver for the augmented matrix [A | b]
+     */
+    public ExactSolver(double[][] augmentedMatrix) {
+        this(toRationals(augmentedMatrix));
+    }
+
+    /**
+     * Creates a solver for the augmented matrix [A | b] with rational entries
+     */
+    public ExactSolver(BigRational[][] augmentedMatrix) {
+        if (augmentedMatrix.length == 0 || augmentedMatrix[0].length < 2) {
+            throw new IllegalArgumentException("Augmented matrix needs at least one row and two columns");
+        }
+        this.rows = augmentedMatrix.length;
+        this.cols = augmentedMatrix[0].length;
+        this.variables = cols - 1;
+        this.matrix = new BigInteger[rows * cols];
+        boolean small = true;
+        for (int i = 0; i < rows; i++) {
+            BigRational[] row = augmentedMatrix[i];
+            if (row.length != cols) {
+                throw new IllegalArgumentException("Row " + (i + 1) + " has " + row.length + " entries, expected " + cols);
+            }
+            // Scaling a row by the lcm of its denominators leaves the solution set unchanged
+            BigInteger scale = BigInteger.ONE;
+            for (BigRational value : row) {
+                BigInteger denominator = value.getDenominator();
+                scale = scale.divide(scale.gcd(denominator)).multiply(denominator);
+            }
+            for (int j = 0; j < cols; j++) {
+                BigInteger value = row[j].getNumerator().multiply(scale.divide(row[j].getDenominator()));
+                matrix[i * cols + j] = value;
+                small &= value.bitLength() < 63;
+            }
+        }
+        if (small) {
+            smallMatrix = new long[matrix.length];
+            for (int k = 0; k < matrix.length; k++) {
+                smallMatrix[k] = matrix[k].longValue();
+            }
+        } else {
+            smallMatrix = null;
+        }
+    }
+
+    private static BigRational[][] toRationals(double[][] augmentedMatrix) {
+        BigRational[][] rationals = new BigRational[augmentedMatrix.length][];
+        for (int i = 0; i < augmentedMatrix.length; i++) {
+            rationals[i] = new BigRational[augmentedMatrix[i].length];
+            for (int j = 0; j < augmentedMatrix[i].length; j++) {
+                rationals[i][j] = BigRational.valueOf(augmentedMatrix[i][j]);
+            }
+        }
+        return rationals;
+    }
+
+    /**
+     * Chooses the algorithm; defaults to AUTO
+     */
+    public void setMethod(Method method) {
+        this.method = method;
+    }
+
+    /**
+     * Solves modulo several primes at once on the given pool; null (the default) works on the calling thread
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Number of primes the last multi-modular solve used, 0 after a Bareiss solve
+     */
+    public int getPrimeCount() {
+        return primeCount;
+    }
+
+    /**
+     * Returns the exact solution set
+     */
+    public ExactResult solve() {
+        primeCount = 0;
+        boolean modular = method == Method.MULTI_MODULAR || method == Method.AUTO && variables > BAREISS_LIMIT;
+        if (modular) {
+            ExactResult result = solveMultiModular();
+            if (result != null) {
+                return result;
+            }
+        }
+        return solveBareiss();
+    }
+
+    // ========== BAREISS ELIMINATION ==========
+
+    /**
+     * Fraction-free elimination: after step k every entry is a (k+1) x (k+1) minor of [A | b], so the division
+     * by the previous pivot is exact (Sylvester's identity) and entries grow only linearly in bit length
+     */
+    private ExactResult solveBareiss() {
+        BigInteger[][] a = new BigInteger[rows][];
+        for (int i = 0; i < rows; i++) {
+            a[i] = Arrays.copyOfRange(matrix, i * cols, (i + 1) * cols);
+        }
+        int[] pivots = new int[Math.min(rows, variables)];
+        int rank = 0;
+        BigInteger previous = BigInteger.ONE;
+        for (int c = 0; c < variables && rank < rows; c++) {
+            // The shortest nonzero entry keeps the next round of products short
+            int pivotRow = -1;
+            for (int i = rank; i < rows; i++) {
+                if (a[i][c].signum() != 0 && (pivotRow < 0 || a[i][c].bitLength() < a[pivotRow][c].bitLength())) {
+                    pivotRow = i;
+                }
+            }
+            if (pivotRow < 0) continue;
+
+            BigInteger[] temp = a[rank];
+            a[rank] = a[pivotRow];
+            a[pivotRow] = temp;
+            BigInteger[] pivotRowValues = a[rank];
+            BigInteger pivot = pivotRowValues[c];
+            for (int i = rank + 1; i < rows; i++) {
+                BigInteger[] row = a[i];
+                BigInteger factor = row[c];
+                for (int j = c + 1; j < cols; j++) {
+                    BigInteger value = pivot.multiply(row[j]);
+                    if (factor.signum() != 0) {
+                        value = value.subtract(factor.multiply(pivotRowValues[j]));
+                    }
+                    row[j] = value.divide(previous);
+                }
+                row[c] = BigInteger.ZERO;
+            }
+            previous = pivot;
+            pivots[rank++] = c;
+        }
+
+        pivots = Arrays.copyOf(pivots, rank);
+        for (int i = rank; i < rows; i++) {
+            if (a[i][variables].signum() != 0) {
+                return new ExactResult(SolveResult.Status.INCONSISTENT, variables, pivots, null, new BigRational[0][]);
+            }
+        }
+        BigRational[] particular = backSubstitute(a, pivots, variables, -1);
+        int[] free = freeColumns(pivots);
+        BigRational[][] nullSpace = new BigRational[free.length][];
+        for (int k = 0; k < free.length; k++) {
+            nullSpace[k] = backSubstitute(a, pivots, free[k], free[k]);
+        }
+        return new ExactResult(rank == variables ? SolveResult.Status.UNIQUE : SolveResult.Status.INFINITE,
+                variables, pivots, particular, nullSpace);
+    }
+
+    /**
+     * Solves the echelon rows for the pivot variables with the given column as right-hand side
+     * For a null-space vector the column is the free variable set to 1, moved to the right with a minus sign
+     */
+    private BigRational[] backSubstitute(BigInteger[][] a, int[] pivots, int column, int freeVariable) {
+        BigRational[] x = new BigRational[variables];
+        Arrays.fill(x, BigRational.ZERO);
+        if (freeVariable >= 0) {
+            x[freeVariable] = BigRational.ONE;
+        }
+        for (int i = pivots.length - 1; i >= 0; i--) {
+            BigInteger[] row = a[i];
+            BigRational sum = BigRational.of(freeVariable >= 0 ? row[column].negate() : row[column]);
+            for (int k = i + 1; k < pivots.length; k++) {
+                if (row[pivots[k]].signum() != 0) {
+                    sum = sum.subtract(x[pivots[k]].multiply(BigRational.of(row[pivots[k]])));
+                }
+            }
+            x[pivots[i]] = sum.divide(BigRational.of(row[pivots[i]]));
+        }
+        return x;
+    }
+
+    private int[] freeColumns(int[] pivots) {
+        int[] free = new int[variables - pivots.length];
+        int next = 0;
+        int p = 0;
+        for (int j = 0; j < variables; j++) {
+            if (p < pivots.length && pivots[p] == j) {
+                p++;
+            } else {
+                free[next++] = j;
+            }
+        }
+        return free;
+    }
+
+    // ========== MULTI-MODULAR ELIMINATION ==========
+
+    /**
+     * Reduced row echelon form of [A | b] modulo one prime: the pivot columns and, for every non-pivot
+     * column t and pivot row i, entry i of that column at values[t * rank + i]
+     */
+    private static final class ModularImage {
+        final int[] pivots;
+        final int[] nonPivotColumns;
+        final long[] values;
+
+        ModularImage(int[] pivots, int[] nonPivotColumns, long[] values) {
+            this.pivots = pivots;
+            this.nonPivotColumns = nonPivotColumns;
+            this.values = values;
+        }
+    }
+
+    /**
+     * The reduced row echelon form over Q is unique, and modulo all but finitely many primes it maps to the
+     * one computed modulo p; unlucky primes show up as a lower rank or later pivot columns and are dropped
+     * Returns null if no certified answer was found within the Hadamard bound, which sends solve() to Bareiss
+     */
+    private ExactResult solveMultiModular() {
+        // Every entry of the rational echelon form is a ratio of minors, each at most the product of row norms
+        double hadamardBits = 0;
+        for (int i = 0; i < rows; i++) {
+            int widest = 0;
+            for (int j = 0; j < cols; j++) {
+                widest = Math.max(widest, matrix[i * cols + j].bitLength());
+            }
+            // |entry| < 2^bits, so the row norm is below sqrt(cols) * 2^widest
+            hadamardBits += widest == 0 ? 0 : widest + 0.5 * Math.log(cols) / Math.log(2);
+        }
+        // Reconstruction is guaranteed once the modulus exceeds 2 * H^2; allow a few primes more
+        long bitLimit = (long) Math.ceil(2 * hadamardBits) + 2 + 4 * 26;
+
+        int parallelism = pool == null ? 1 : pool.getParallelism();
+        long flopsPerPrime = 2L * rows * cols * Math.min(rows, cols);
+        ModularImage best = null;
+        BigInteger[] residues = null;
+        BigInteger modulus = BigInteger.ONE;
+        int next = 0;
+        while (modulus.bitLength() <= bitLimit) {
+            int batch = Math.max(parallelism, next / 4);
+            long[] batchPrimes = primes(next, batch);
+            next += batch;
+            ModularImage[] images = new ModularImage[batch];
+            RowRangeTask.run(pool, 0, batch, flopsPerPrime, (from, to) -> {
+                for (int k = from; k < to; k++) {
+                    images[k] = reduce(batchPrimes[k]);
+                }
+            });
+
+            for (int k = 0; k < batch; k++) {
+                int comparison = best == null ? 1 : compareProfiles(images[k].pivots, best.pivots);
+                if (comparison > 0) {
+                    // A better profile shows every earlier prime was unlucky
+                    best = images[k];
+                    residues = null;
+                    modulus = BigInteger.ONE;
+                }
+                if (comparison >= 0) {
+                    BigInteger prime = BigInteger.valueOf(batchPrimes[k]);
+                    residues = combine(residues, modulus, images[k].values, batchPrimes[k]);
+                    modulus = modulus.multiply(prime);
+                }
+            }
+            primeCount = next;
+
+            ExactResult result = reconstruct(best, residues, modulus);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Higher rank wins, then pivots further left; the rational profile beats every unlucky one
+     */
+    private static int compareProfiles(int[] candidate, int[] current) {
+        if (candidate.length != current.length) {
+            return Integer.compare(candidate.length, current.length);
+        }
+        for (int i = 0; i < candidate.length; i++) {
+            if (candidate[i] != current[i]) {
+                return Integer.compare(current[i], candidate[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Forward elimination modulo p with normalized pivot rows, then back substitution for the non-pivot columns
+     * Residues are held in doubles: with p below 2^26 every product of two residues is exact, and the row
+     * update vectorizes where a long remainder would not
+     */
+    private ModularImage reduce(long p) {
+        double[] a = new double[rows * cols];
+        if (smallMatrix != null) {
+            for (int k = 0; k < a.length; k++) {
+                a[k] = Math.floorMod(smallMatrix[k], p);
+            }
+        } else {
+            BigInteger prime = BigInteger.valueOf(p);
+            for (int k = 0; k < a.length; k++) {
+                a[k] = matrix[k].mod(prime).longValue();
+            }
+        }
+        double prime = p;
+        double inversePrime = 1.0 / p;
+
+        int[] pivots = new int[Math.min(rows, cols)];
+        int rank = 0;
+        for (int c = 0; c < cols && rank < rows; c++) {
+            // Row updates leave entries only roughly reduced; the pivot column is normalized before the zero test
+            int pivotRow = -1;
+            for (int i = rank; i < rows; i++) {
+                double value = normalize(a[i * cols + c], prime, inversePrime);
+                a[i * cols + c] = value;
+                if (value != 0 && pivotRow < 0) {
+                    pivotRow = i;
+                }
+            }
+            if (pivotRow < 0) continue;
+
+            int pivotStart = rank * cols;
+            if (pivotRow != rank) {
+                int otherStart = pivotRow * cols;
+                for (int j = c; j < cols; j++) {
+                    double temp = a[pivotStart + j];
+                    a[pivotStart + j] = a[otherStart + j];
+                    a[otherStart + j] = temp;
+                }
+            }
+            long inverse = modPow((long) a[pivotStart + c], p - 2, p);
+            for (int j = c; j < cols; j++) {
+                a[pivotStart + j] = (long) normalize(a[pivotStart + j], prime, inversePrime) * inverse % p;
+            }
+            for (int i = rank + 1; i < rows; i++) {
+                int rowStart = i * cols;
+                double factor = a[rowStart + c];
+                if (factor == 0) continue;
+                subtractRowMod(a, rowStart, pivotStart, c + 1, cols, prime - factor, prime, inversePrime);
+                a[rowStart + c] = 0;
+            }
+            pivots[rank++] = c;
+        }
+        pivots = Arrays.copyOf(pivots, rank);
+
+        // Column j of the reduced form solves U[:, pivots] y = U[:, j]; U has a unit diagonal
+        int[] nonPivot = new int[cols - rank];
+        int next = 0;
+        int q = 0;
+        for (int j = 0; j < cols; j++) {
+            if (q < rank && pivots[q] == j) {
+                q++;
+            } else {
+                nonPivot[next++] = j;
+            }
+        }
+        long[] values = new long[nonPivot.length * rank];
+        for (int t = 0; t < nonPivot.length; t++) {
+            int j = nonPivot[t];
+            int base = t * rank;
+            for (int i = rank - 1; i >= 0; i--) {
+                int rowStart = i * cols;
+                long sum = (long) normalize(a[rowStart + j], prime, inversePrime);
+                for (int k = i + 1; k < rank && pivots[k] < j; k++) {
+                    sum = (sum + (p - (long) a[rowStart + pivots[k]]) * values[base + k]) % p;
+                }
+                values[base + i] = sum;
+            }
+        }
+        return new ModularImage(pivots, nonPivot, values);
+    }
+
+    /**
+     * target[j] = target[j] + factor * source[j] reduced to (-p, 2p), over [fromCol, toCol)
+     * The source row and the factor are in [0, p), so the sum stays below 2^53 and is exact; the quotient
+     * from the rounded reciprocal is off by at most one, which only widens the range of the remainder
+     */
+    private static void subtractRowMod(double[] a, int targetStart, int sourceStart, int fromCol, int toCol,
+                                       double factor, double p, double inverse) {
+        for (int j = fromCol; j < toCol; j++) {
+            double value = a[targetStart + j] + factor * a[sourceStart + j];
+            a[targetStart + j] = value - Math.floor(value * inverse) * p;
+        }
+    }
+
+    /**
+     * Exact representative in [0, p) of a roughly reduced residue
+     */
+    private static double normalize(double value, double p, double inverse) {
+        value -= Math.floor(value * inverse) * p;
+        if (value < 0) {
+            value += p;
+        } else if (value >= p) {
+            value -= p;
+        }
+        return value;
+    }
+
+    /**
+     * Adds one prime to the Chinese remainder representation (Garner's incremental form)
+     */
+    private static BigInteger[] combine(BigInteger[] residues, BigInteger modulus, long[] values, long p) {
+        if (residues == null) {
+            residues = new BigInteger[values.length];
+            for (int k = 0; k < values.length; k++) {
+                residues[k] = BigInteger.valueOf(values[k]);
+            }
+            return residues;
+        }
+        BigInteger prime = BigInteger.valueOf(p);
+        long inverse = modPow(modulus.mod(prime).longValue(), p - 2, p);
+        for (int k = 0; k < values.length; k++) {
+            long current = residues[k].mod(prime).longValue();
+            long step = Math.floorMod(values[k] - current, p) * inverse % p;
+            if (step != 0) {
+                residues[k] = residues[k].add(modulus.multiply(BigInteger.valueOf(step)));
+            }
+        }
+        return residues;
+    }
+
+    /**
+     * Rebuilds the rational echelon form from its residues and checks it against the integer system
+     * Returns null if reconstruction or the check fails, meaning more primes are needed
+     */
+    private ExactResult reconstruct(ModularImage image, BigInteger[] residues, BigInteger modulus) {
+        int[] pivots = image.pivots;
+        int rank = pivots.length;
+        BigInteger bound = modulus.shiftRight(1).sqrt();
+        // The entries share the denominator of one pivot minor; multiplying by the denominator found so far
+        // usually leaves an integer small enough to read off without a Euclidean reconstruction
+        BigInteger denominator = BigInteger.ONE;
+        BigInteger[] numerators = new BigInteger[residues.length];
+        BigInteger[] denominators = new BigInteger[residues.length];
+        for (int k = 0; k < residues.length; k++) {
+            BigInteger scaled = symmetric(residues[k].multiply(denominator).mod(modulus), modulus);
+            if (scaled.abs().compareTo(bound) > 0) {
+                BigInteger[] fraction = rationalReconstruction(scaled.mod(modulus), modulus, bound);
+                if (fraction == null) {
+                    return null;
+                }
+                denominator = denominator.multiply(fraction[1]);
+                if (denominator.compareTo(bound) > 0) {
+                    return null;
+                }
+                scaled = fraction[0];
+            }
+            numerators[k] = scaled;
+            denominators[k] = denominator;
+        }
+
+        // Bring every entry onto the final common denominator D: entry k is numerators[k] / D
+        BigInteger[] scaledNumerators = new BigInteger[residues.length];
+        for (int k = 0; k < residues.length; k++) {
+            scaledNumerators[k] = numerators[k].multiply(denominator.divide(denominators[k]));
+        }
+
+        int[] nonPivot = image.nonPivotColumns;
+        boolean inconsistent = rank > 0 && pivots[rank - 1] == variables;
+        int variableRank = inconsistent ? rank - 1 : rank;
+        int[] variablePivots = Arrays.copyOf(pivots, variableRank);
+        int[] free = freeColumns(variablePivots);
+
+        // Every vector below is checked as A * (D * x) == D * b exactly; with the rank lower bound the
+        // primes guarantee, the verified null space pins the rank and the verified solution proves consistency
+        BigInteger[][] nullNumerators = new BigInteger[free.length][];
+        for (int f = 0; f < free.length; f++) {
+            int t = Arrays.binarySearch(nonPivot, free[f]);
+            BigInteger[] x = new BigInteger[variables];
+            Arrays.fill(x, BigInteger.ZERO);
+            x[free[f]] = denominator;
+            for (int i = 0; i < variableRank; i++) {
+                x[pivots[i]] = scaledNumerators[t * rank + i].negate();
+            }
+            if (!satisfies(x, null)) {
+                return null;
+            }
+            nullNumerators[f] = x;
+        }
+        if (inconsistent) {
+            return new ExactResult(SolveResult.Status.INCONSISTENT, variables, variablePivots, null,
+                    new BigRational[0][]);
+        }
+
+        int rhs = nonPivot.length - 1;
+        BigInteger[] particularNumerators = new BigInteger[variables];
+        Arrays.fill(particularNumerators, BigInteger.ZERO);
+        for (int i = 0; i < rank; i++) {
+            particularNumerators[pivots[i]] = scaledNumerators[rhs * rank + i];
+        }
+        if (!satisfies(particularNumerators, denominator)) {
+            return null;
+        }
+
+        BigRational[][] nullSpace = new BigRational[free.length][];
+        for (int f = 0; f < free.length; f++) {
+            nullSpace[f] = toRationals(nullNumerators[f], denominator);
+        }
+        return new ExactResult(rank == variables ? SolveResult.Status.UNIQUE : SolveResult.Status.INFINITE,
+                variables, pivots, toRationals(particularNumerators, denominator), nullSpace);
+    }
+
+    /**
+     * True if A * x == scale * b, or A * x == 0 when scale is null
+     */
+    private boolean satisfies(BigInteger[] x, BigInteger scale) {
+        for (int i = 0; i < rows; i++) {
+            int rowStart = i * cols;
+            BigInteger sum = scale == null ? BigInteger.ZERO : matrix[rowStart + variables].multiply(scale).negate();
+            for (int j = 0; j < variables; j++) {
+                if (x[j].signum() != 0 && matrix[rowStart + j].signum() != 0) {
+                    sum = sum.add(matrix[rowStart + j].multiply(x[j]));
+                }
+            }
+            if (sum.signum() != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BigRational[] toRationals(BigInteger[] numerators, BigInteger denominator) {
+        BigRational[] x = new BigRational[numerators.length];
+        for (int j = 0; j < numerators.length; j++) {
+            x[j] = BigRational.of(numerators[j], denominator);
+        }
+        return x;
+    }
+
+    /**
+     * Representative of value mod m in (-m/2, m/2]
+     */
+    private static BigInteger symmetric(BigInteger value, BigInteger modulus) {
+        return value.shiftLeft(1).compareTo(modulus) > 0 ? value.subtract(modulus) : value;
+    }
+
+    /**
+     * Finds n / d with n = value * d (mod m), |n| <= bound and 0 < d <= bound, or null if there is none
+     * Runs the extended Euclidean algorithm on (m, value) until the remainder drops to the bound
+     */
+    private static BigInteger[] rationalReconstruction(BigInteger value, BigInteger modulus, BigInteger bound) {
+        BigInteger r0 = modulus;
+        BigInteger r1 = value;
+        BigInteger t0 = BigInteger.ZERO;
+        BigInteger t1 = BigInteger.ONE;
+        while (r1.compareTo(bound) > 0) {
+            BigInteger[] division = r0.divideAndRemainder(r1);
+            r0 = r1;
+            r1 = division[1];
+            BigInteger t = t0.subtract(division[0].multiply(t1));
+            t0 = t1;
+            t1 = t;
+        }
+        if (t1.signum() == 0 || t1.abs().compareTo(bound) > 0 || !r1.gcd(t1).equals(BigInteger.ONE)) {
+            return null;
+        }
+        return t1.signum() > 0 ? new BigInteger[] {r1, t1} : new BigInteger[] {r1.negate(), t1.negate()};
+    }
+
+    // ========== PRIMES ==========
+
+    /**
+     * The primes from index from to from + count - 1, counting down from 2^26
+     */
+    private static synchronized long[] primes(int from, int count) {
+        if (primes.length < from + count) {
+            long[] grown = Arrays.copyOf(primes, Math.max(from + count, 2 * primes.length));
+            long candidate = primes.length == 0 ? PRIME_LIMIT : primes[primes.length - 1] - 2;
+            for (int k = primes.length; k < grown.length; k++) {
+                while (!isPrime(candidate)) {
+                    candidate -= 2;
+                }
+                grown[k] = candidate;
+                candidate -= 2;
+            }
+            primes = grown;
+        }
+        return Arrays.copyOfRange(primes, from, from + count);
+    }
+
+    /**
+     * Deterministic Miller-Rabin; bases 2, 7 and 61 decide every n below 4,759,123,141
+     */
+    static boolean isPrime(long n) {
+        if (n < 2) return false;
+        for (long base : new long[] {2, 7, 61}) {
+            if (n == base) return true;
+            if (n % base == 0) return false;
+        }
+        long d = n - 1;
+        int shifts = 0;
+        while ((d & 1) == 0) {
+            d >>= 1;
+            shifts++;
+        }
+        for (long base : new long[] {2, 7, 61}) {
+            long x = modPow(base, d, n);
+            if (x == 1 || x == n - 1) continue;
+            boolean composite = true;
+            for (int s = 1; s < shifts && composite; s++) {
+                x = x * x % n;
+                composite = x != n - 1;
+            }
+            if (composite) return false;
+        }
+        return true;
+    }
+
+    /**
+     * base^exponent mod m for m below 2^31
+     */
+    private static long modPow(long base, long exponent, long m) {
+        long result = 1;
+        base %= m;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = result * base % m;
+            }
+            base = base * base % m;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
@@ -1,111 +1,488 @@
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleSupplier;
 
 /**
  * Class to perform Gaussian elimination on an augmented matrix
+ * The matrix is held in contiguous row-major storage and row swaps only touch a permutation vector
+ * The augmented part may hold several right-hand side columns, which are all reduced in the same sweep
  */
 public class GaussianElimination {
-    private final double[][] matrix;
+    private final DenseMatrix matrix;
+    private final double[] data;
+    private final int stride;
     private final int rows;
     private final int cols;
-    private final StringBuilder steps;
-    private final DisplayUtilities display;
+    // Number of coefficient columns; the remaining cols - variables columns are right-hand sides
+    private final int variables;
+    // rowOrder[i] is the physical row of the matrix currently acting as logical row i
+    private final int[] rowOrder;
+    private TraceLevel traceLevel;
+    private EliminationTrace trace;
+    private ForkJoinPool pool;
+    private SolveStatistics statistics;
+    // Pivot structure found by the last forward elimination
+    private int rank;
+    private int[] pivotColumns;
+    // Square systems keep their multipliers below the pivots, so the working matrix holds P * A = L * U
+    private final boolean storeMultipliers;
+    private double coefficientNorm = Double.NaN;
+    // Largest magnitude in the coefficient block of A, measured with its norm before the first solve
+    private double largestCoefficient = Double.NaN;
+    private ConditionEstimate conditionEstimate;
+    // Copy of the system for residual checks, made by setResidualCheck(true)
+    private DenseMatrix original;
+    private boolean solved;
+    // Counters of the solve in progress
+    private int swapCount;
+    private int skippedColumns;
+    private double minimumPivot;
+    private double largestEchelonCoefficient;
+    private long flopCount;
 
     // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
     private static final double EPSILON = 1e-10;  // 0.0000000001
 
+    private static final RowKernel KERNEL = RowKernels.get();
+
     public GaussianElimination(double[][] matrix) {
-        this.matrix = deepCopy(matrix);
-        this.rows = matrix.length;
-        this.cols = matrix[0].length;
-        this.steps = new StringBuilder();
-        this.display = DisplayUtilities.getInstance();
+        this(DenseMatrix.fromArray(matrix), matrix[0].length - 1);
+    }
+
+    /**
+     * Creates a solver working on a copy of the given augmented matrix
+     */
+    public GaussianElimination(DenseMatrix matrix) {
+        this(matrix.copy(), matrix.getCols() - 1);
+    }
+
+    /**
+     * Creates a solver for A * X = B where B holds one right-hand side per column (n x k)
+     */
+    public GaussianElimination(double[][] coefficients, double[][] rightHandSides) {
+        this(augment(coefficients, rightHandSides), coefficients[0].length);
     }
 
-    private double[][] deepCopy(double[][] original) {
-        double[][] copy = new double[original.length][];
-        for (int i = 0; i < original.length; i++) {
-            copy[i] = Arrays.copyOf(original[i], original[i].length);
+    private GaussianElimination(DenseMatrix working, int variables) {
+        this.matrix = working;
+        this.data = working.getData();
+        this.stride = working.getStride();
+        this.rows = working.getRows();
+        this.cols = working.getCols();
+        this.variables = variables;
+        this.rowOrder = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            rowOrder[i] = i;
         }
-        return copy;
+        this.traceLevel = TraceLevel.FULL;
+        this.storeMultipliers = rows == variables;
     }
 
+    private static DenseMatrix augment(double[][] coefficients, double[][] rightHandSides) {
+        if (coefficients.length != rightHandSides.length) {
+            throw new IllegalArgumentException("Coefficient matrix has " + coefficients.length
+                    + " rows but the right-hand side block has " + rightHandSides.length);
+        }
+        int rows = coefficients.length;
+        int variables = coefficients[0].length;
+        int rhsCount = rightHandSides[0].length;
+        DenseMatrix augmented = new DenseMatrix(rows, variables + rhsCount);
+        double[] data = augmented.getData();
+        for (int i = 0; i < rows; i++) {
+            if (coefficients[i].length != variables || rightHandSides[i].length != rhsCount) {
+                throw new IllegalArgumentException("Row " + (i + 1) + " has the wrong number of entries");
+            }
+            System.arraycopy(coefficients[i], 0, data, augmented.rowStart(i), variables);
+            System.arraycopy(rightHandSides[i], 0, data, augmented.rowStart(i) + variables, rhsCount);
+        }
+        return augmented;
+    }
+
+    /**
+     * Sets how much of the process solve() records; defaults to FULL
+     * Use OFF for production solves where the transcript is never read
+     */
+    public void setTraceLevel(TraceLevel traceLevel) {
+        this.traceLevel = traceLevel;
+    }
+
+    public TraceLevel getTraceLevel() {
+        return traceLevel;
+    }
+
+    /**
+     * Runs the row updates of each pivot step on the given pool; null (the default) keeps everything
+     * on the calling thread. Pivots, trace and solution bits are identical either way
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Also computes the residual ||b - A x|| and the normwise backward error of every solution
+     * Keeps a copy of the system, so it costs O(n^2) memory and time; enable it before the first solve
+     */
+    public void setResidualCheck(boolean enabled) {
+        if (solved) {
+            throw new IllegalStateException("Residual checks must be enabled before the first solve");
+        }
+        original = enabled ? matrix.copy() : null;
+    }
+
+    /**
+     * Solves a system with a single right-hand side
+     * Returns the solution, an empty array if the system is inconsistent, or null if it has infinitely many solutions
+     * Use solveDetailed() to get the rank and a parametric description of infinite solution sets
+     */
     public double[] solve() {
-        steps.append("Starting Gaussian Elimination\n");
-        steps.append("----------------------------\n\n");
-        steps.append("Initial augmented matrix:\n");
-        appendMatrix();
+        if (getRightHandSideCount() != 1) {
+            throw new IllegalStateException("The system has " + getRightHandSideCount()
+                    + " right-hand sides; use solveAll()");
+        }
+        return solveAll()[0];
+    }
+
+    /**
+     * Solves for every right-hand side column with a single forward elimination
+     * Entry c of the result follows the conventions of solve() for right-hand side c
+     */
+    public double[][] solveAll() {
+        return legacySolutions(run(false));
+    }
+
+    /**
+     * Solves a system with a single right-hand side and describes its whole solution set:
+     * status, rank, pivot columns, a particular solution and a null-space basis
+     */
+    public SolveResult solveDetailed() {
+        if (getRightHandSideCount() != 1) {
+            throw new IllegalStateException("The system has " + getRightHandSideCount()
+                    + " right-hand sides; use solveAllDetailed()");
+        }
+        return run(true)[0];
+    }
+
+    /**
+     * Describes the solution set for every right-hand side column after a single forward elimination
+     * The rank, pivot columns and null-space basis depend only on A, so the results share them
+     */
+    public SolveResult[] solveAllDetailed() {
+        return run(true);
+    }
+
+    private SolveResult[] run(boolean describeSolutionSets) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        if (solved && storeMultipliers) {
+            // Results of the last solve still read the multipliers; settle their estimate, then restore echelon form
+            // before the trace snapshots the matrix
+            // Only the first solve factors A itself, so its estimate is kept for every later one
+            if (conditionEstimate != null) {
+                conditionEstimate.getAsDouble();
+            }
+            clearMultipliers();
+        }
+        trace = new EliminationTrace(traceLevel, matrix, rowOrder, variables);
+        SolveResult[] results = eliminate(describeSolutionSets);
+        if (traceLevel != TraceLevel.OFF) {
+            trace.recordResult(legacySolutions(results));
+        }
+        if (event.shouldCommit()) {
+            event.set(statistics, results[0].getStatus().name().toLowerCase(Locale.ROOT));
+            event.commit();
+        }
+        return results;
+    }
+
+    /**
+     * Encodes results the way solve() reports them: the solution, an empty array or null
+     */
+    private static double[][] legacySolutions(SolveResult[] results) {
+        double[][] solutions = new double[results.length][];
+        for (int c = 0; c < results.length; c++) {
+            switch (results[c].getStatus()) {
+                case UNIQUE:
+                    solutions[c] = results[c].getParticularSolution();
+                    break;
+                case INCONSISTENT:
+                    solutions[c] = new double[0];
+                    break;
+                default:
+                    break;
+            }
+        }
+        return solutions;
+    }
+
+    public int getRightHandSideCount() {
+        return cols - variables;
+    }
+
+    /**
+     * Eliminates, classifies every right-hand side and back-substitutes where needed
+     * Particular solutions and the null-space basis of infinite systems are only built on request
+     */
+    private SolveResult[] eliminate(boolean describeSolutionSets) {
+        if (Double.isNaN(largestCoefficient)) {
+            measureCoefficients();
+        }
+        solved = true;
+        swapCount = 0;
+        skippedColumns = 0;
+        minimumPivot = Double.POSITIVE_INFINITY;
+        largestEchelonCoefficient = 0;
+        flopCount = 0;
 
         // Forward elimination
+        long start = System.nanoTime();
         forwardElimination();
+        long eliminated = System.nanoTime();
 
-        // Check if the system is inconsistent
-        if (isInconsistent()) {
-            steps.append("\nThe system is inconsistent and has no solution.\n");
-            return new double[0];
-        }
+        // Rows below the rank have no coefficients left, so their constants decide consistency
+        boolean[] inconsistent = findInconsistentColumns();
+        boolean unique = rank == variables;
 
-        // Check if the system has infinite solutions
-        if (hasInfiniteSolutions()) {
-            steps.append("\nThe system has infinitely many solutions.\n");
-            return null;
+        boolean anyConsistent = false;
+        for (boolean columnInconsistent : inconsistent) {
+            anyConsistent |= !columnInconsistent;
         }
 
         // Back substitution
-        return backSubstitution();
+        long checked = System.nanoTime();
+        double[][] solutions = null;
+        double[][] nullSpace = new double[0][];
+        long finished = checked;
+        if (anyConsistent && (unique || describeSolutionSets)) {
+            solutions = backSubstitution();
+            if (!unique) {
+                nullSpace = nullSpaceBasis();
+            }
+            finished = System.nanoTime();
+        }
+
+        double growthFactor = largestCoefficient == 0 ? 1 : largestEchelonCoefficient / largestCoefficient;
+        statistics = new SolveStatistics(rows, variables, getRightHandSideCount(), eliminated - start,
+                checked - eliminated, finished - checked, swapCount, skippedColumns,
+                minimumPivot == Double.POSITIVE_INFINITY ? Double.NaN : minimumPivot, growthFactor, flopCount);
+
+        SolveResult[] results = new SolveResult[getRightHandSideCount()];
+        for (int c = 0; c < results.length; c++) {
+            if (inconsistent[c]) {
+                results[c] = new SolveResult(SolveResult.Status.INCONSISTENT, variables, rank, pivotColumns,
+                        null, new double[0][]);
+            } else if (unique) {
+                results[c] = new SolveResult(SolveResult.Status.UNIQUE, variables, rank, pivotColumns,
+                        solutions[c], nullSpace);
+            } else {
+                results[c] = new SolveResult(SolveResult.Status.INFINITE, variables, rank, pivotColumns,
+                        solutions == null ? null : solutions[c], nullSpace);
+            }
+        }
+        attachQuality(results);
+        return results;
     }
 
+    /**
+     * Gives every result the condition estimate of A and, with residual checks on, its residual
+     */
+    private void attachQuality(SolveResult[] results) {
+        DoubleSupplier condition;
+        if (!storeMultipliers) {
+            condition = () -> Double.NaN;
+        } else if (rank < variables) {
+            condition = () -> Double.POSITIVE_INFINITY;
+        } else if (conditionEstimate != null) {
+            // A repeated solve eliminates the stored echelon form, whose factors are not those of A
+            condition = conditionEstimate;
+        } else {
+            int[] rowStarts = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                rowStarts[i] = rowStart(i);
+            }
+            conditionEstimate = new ConditionEstimate(data, rowStarts, rowOrder.clone(), coefficientNorm);
+            condition = conditionEstimate;
+        }
+
+        double[] rowSums = original == null ? null : new double[rows];
+        double norm = 0;
+        if (original != null) {
+            for (int i = 0; i < rows; i++) {
+                int rowStart = original.rowStart(i);
+                for (int j = 0; j < variables; j++) {
+                    rowSums[i] += Math.abs(original.getData()[rowStart + j]);
+                }
+                norm = Math.max(norm, rowSums[i]);
+            }
+        }
+        for (int c = 0; c < results.length; c++) {
+            results[c].setConditionEstimate(condition);
+            double[] x = results[c].getParticularSolution();
+            if (original != null && x != null) {
+                setResidual(results[c], x, c, norm);
+            }
+        }
+    }
+
+    /**
+     * Residual max |b - A x| against the original system and the normwise backward error
+     * ||b - A x|| / (||A|| ||x|| + ||b||) in the infinity norm: the smallest relative change to A and b
+     * for which x is an exact solution
+     */
+    private void setResidual(SolveResult result, double[] x, int rhs, double norm) {
+        double[] originalData = original.getData();
+        double residual = 0;
+        double rhsNorm = 0;
+        double solutionNorm = 0;
+        for (int i = 0; i < rows; i++) {
+            int rowStart = original.rowStart(i);
+            double b = originalData[rowStart + variables + rhs];
+            double sum = b - KERNEL.dot(originalData, rowStart, x, 0, variables);
+            residual = Math.max(residual, Math.abs(sum));
+            rhsNorm = Math.max(rhsNorm, Math.abs(b));
+        }
+        for (double value : x) {
+            solutionNorm = Math.max(solutionNorm, Math.abs(value));
+        }
+        double scale = norm * solutionNorm + rhsNorm;
+        result.setResidual(residual, scale == 0 ? residual : residual / scale);
+    }
+
+    /**
+     * Zeroes the multipliers stored below the pivots, leaving the plain row echelon form
+     */
+    private void clearMultipliers() {
+        for (int i = 0; i < rows; i++) {
+            int rowStart = rowStart(i);
+            for (int k = 0; k < Math.min(i, rank); k++) {
+                data[rowStart + pivotColumns[k]] = 0;
+            }
+        }
+    }
+
+    /**
+     * Reduces the matrix to row echelon form, recording the pivot column of every pivot row
+     * A column without a usable pivot is skipped and the same row is tried against the next column,
+     * so the number of pivots found is the rank of the coefficient block
+     */
     private void forwardElimination() {
-        steps.append("\nForward Elimination:\n");
-        steps.append("--------------------\n");
+        boolean logOps = traceLevel.includes(TraceLevel.OPS);
+        // Elimination factor used for each row in the current pivot step
+        double[] factors = new double[rows];
+        int[] pivots = new int[Math.min(rows, variables)];
+        int pivotRow = 0;
 
-        for (int pivot = 0; pivot < Math.min(rows, cols - 1); pivot++) {
+        for (int pivotColumn = 0; pivotColumn < variables && pivotRow < rows; pivotColumn++) {
             // Find the pivot row
-            int maxRow = findPivotRow(pivot);
+            int maxRow = findPivotRow(pivotRow, pivotColumn);
 
             // If the pivot element is zero, skip this column
-            if (Math.abs(matrix[maxRow][pivot]) < EPSILON) {
-                steps.append("\nSkipping column ").append(pivot + 1).append(" (pivot element is zero).\n");
+            double pivotMagnitude = Math.abs(data[rowStart(maxRow) + pivotColumn]);
+            if (pivotMagnitude < EPSILON) {
+                skippedColumns++;
+                if (logOps) {
+                    trace.recordSkip(pivotColumn);
+                }
                 continue;
             }
+            minimumPivot = Math.min(minimumPivot, pivotMagnitude);
 
             // Swap rows if necessary
-            if (maxRow != pivot) {
-                swapRows(pivot, maxRow);
-                steps.append("\nSwap row ").append(pivot + 1).append(" with row ").append(maxRow + 1).append(":\n");
-                appendMatrix();
+            if (maxRow != pivotRow) {
+                swapRows(pivotRow, maxRow);
+                swapCount++;
+                if (logOps) {
+                    trace.recordSwap(pivotRow, maxRow);
+                }
             }
 
-            // Eliminate below
-            for (int i = pivot + 1; i < rows; i++) {
-                double factor = matrix[i][pivot] / matrix[pivot][pivot];
-                if (Math.abs(factor) < EPSILON) continue;
-
-                steps.append("\nEliminate in row ").append(i + 1).append(" using row ").append(pivot + 1).append(":\n");
-                steps.append("R").append(i + 1).append(" = R").append(i + 1).append(" - ")
-                        .append(display.formatNumber(factor)).append(" * R").append(pivot + 1).append("\n");
-
-                for (int j = pivot; j < cols; j++) {
-                    matrix[i][j] -= factor * matrix[pivot][j];
-                    if (Math.abs(matrix[i][j]) < EPSILON) {
-                        matrix[i][j] = 0;
+            // Eliminate below; rows are independent, so large sweeps are split across the pool
+            int column = pivotColumn;
+            int pivotStart = rowStart(pivotRow);
+            double pivotValue = data[pivotStart + column];
+            // The pivot row is final from here on and about to be read by every update, so its growth is measured now
+            for (int j = column; j < variables; j++) {
+                largestEchelonCoefficient = Math.max(largestEchelonCoefficient, Math.abs(data[pivotStart + j]));
+            }
+            RowRangeTask.run(pool, pivotRow + 1, rows, 2L * (cols - column), (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int rowStart = rowStart(i);
+                    double factor = data[rowStart + column] / pivotValue;
+                    factors[i] = factor;
+                    if (Math.abs(factor) >= EPSILON) {
+                        subtractRow(data, rowStart, pivotStart, column, cols, factor);
+                    }
+                    if (storeMultipliers) {
+                        data[rowStart + column] = factor;
+                    }
+                }
+            });
+
+            int updatedRows = 0;
+            for (int i = pivotRow + 1; i < rows; i++) {
+                if (Math.abs(factors[i]) >= EPSILON) {
+                    updatedRows++;
+                    if (logOps) {
+                        trace.recordEliminate(i, pivotRow, factors[i]);
                     }
                 }
+            }
+            // One division per row, then a multiply and a subtract per updated entry
+            flopCount += (rows - pivotRow - 1) + 2L * updatedRows * (cols - column);
+            pivots[pivotRow++] = column;
+        }
 
-                appendMatrix();
+        rank = pivotRow;
+        pivotColumns = Arrays.copyOf(pivots, rank);
+    }
+
+    /**
+     * One pass over the coefficients of A for both its 1-norm (for the condition estimate) and its largest
+     * magnitude (for the growth factor); later solves work on the echelon form and keep these values
+     */
+    private void measureCoefficients() {
+        double[] columnSums = new double[variables];
+        double largest = 0;
+        for (int i = 0; i < rows; i++) {
+            int rowStart = rowStart(i);
+            for (int j = 0; j < variables; j++) {
+                double magnitude = Math.abs(data[rowStart + j]);
+                columnSums[j] += magnitude;
+                largest = Math.max(largest, magnitude);
             }
         }
+        double norm = 0;
+        for (double sum : columnSums) {
+            norm = Math.max(norm, sum);
+        }
+        coefficientNorm = norm;
+        largestCoefficient = largest;
+    }
+
+    /**
+     * Performs target = target - factor * source over columns [fromCol, toCol) of two rows
+     * starting at the given array indices, snapping results below EPSILON to zero
+     */
+    static void subtractRow(double[] data, int targetStart, int sourceStart, int fromCol, int toCol, double factor) {
+        KERNEL.subtractRow(data, targetStart, sourceStart, fromCol, toCol, factor, EPSILON);
+    }
 
-        steps.append("\nRow Echelon Form:\n");
-        appendMatrix();
+    /**
+     * Index in the backing array where the given logical row starts
+     */
+    private int rowStart(int row) {
+        return matrix.getOffset() + rowOrder[row] * stride;
     }
 
-    private int findPivotRow(int col) {
-        int maxRow = col;
-        double maxVal = Math.abs(matrix[col][col]);
+    private int findPivotRow(int startRow, int col) {
+        int maxRow = startRow;
+        double maxVal = Math.abs(data[rowStart(startRow) + col]);
 
-        for (int i = col + 1; i < rows; i++) {
-            if (Math.abs(matrix[i][col]) > maxVal) {
-                maxVal = Math.abs(matrix[i][col]);
+        for (int i = startRow + 1; i < rows; i++) {
+            double value = Math.abs(data[rowStart(i) + col]);
+            if (value > maxVal) {
+                maxVal = value;
                 maxRow = i;
             }
         }
@@ -114,73 +491,156 @@ public class GaussianElimination {
     }
 
     private void swapRows(int row1, int row2) {
-        double[] temp = matrix[row1];
-        matrix[row1] = matrix[row2];
-        matrix[row2] = temp;
+        int temp = rowOrder[row1];
+        rowOrder[row1] = rowOrder[row2];
+        rowOrder[row2] = temp;
     }
 
-    private boolean isInconsistent() {
-        for (int i = 0; i < rows; i++) {
-            boolean allZeros = true;
-            for (int j = 0; j < cols - 1; j++) {
-                if (Math.abs(matrix[i][j]) >= EPSILON) {
-                    allZeros = false;
-                    break;
+    private boolean[] findInconsistentColumns() {
+        boolean[] inconsistent = new boolean[getRightHandSideCount()];
+        for (int i = rank; i < rows; i++) {
+            int rowStart = rowStart(i);
+            for (int c = 0; c < inconsistent.length; c++) {
+                if (Math.abs(data[rowStart + variables + c]) >= EPSILON) {
+                    inconsistent[c] = true;
                 }
             }
-            if (allZeros && Math.abs(matrix[i][cols - 1]) >= EPSILON) {
-                return true;
-            }
         }
-        return false;
+        return inconsistent;
     }
 
-    private boolean hasInfiniteSolutions() {
-        int rank = 0;
-        for (int i = 0; i < rows; i++) {
-            boolean nonZeroRow = false;
-            for (int j = 0; j < cols - 1; j++) {
-                if (Math.abs(matrix[i][j]) >= EPSILON) {
-                    nonZeroRow = true;
-                    break;
+    /**
+     * Triangular solve over the whole right-hand side block, with every free variable set to zero
+     * Pivot row i is streamed once per pass, with all columns updated together
+     */
+    private double[][] backSubstitution() {
+        int rhsCount = getRightHandSideCount();
+        boolean logOps = rhsCount == 1 && traceLevel.includes(TraceLevel.OPS);
+        // Row-major variables x rhsCount block of unknowns
+        double[] x = new double[variables * rhsCount];
+        double[] sums = new double[rhsCount];
+
+        for (int i = rank - 1; i >= 0; i--) {
+            int rowStart = rowStart(i);
+            int p = pivotColumns[i];
+            if (rhsCount == 1) {
+                // A single right-hand side is a plain dot product over the rest of the row
+                sums[0] = KERNEL.dot(data, rowStart + p + 1, x, p + 1, variables - p - 1);
+            } else {
+                Arrays.fill(sums, 0.0);
+                for (int j = p + 1; j < variables; j++) {
+                    double coefficient = data[rowStart + j];
+                    int xRow = j * rhsCount;
+                    for (int c = 0; c < rhsCount; c++) {
+                        sums[c] += coefficient * x[xRow + c];
+                    }
                 }
             }
-            if (nonZeroRow) {
-                rank++;
+
+            double coefficient = data[rowStart + p];
+            int xRow = p * rhsCount;
+            for (int c = 0; c < rhsCount; c++) {
+                double constant = data[rowStart + variables + c];
+                x[xRow + c] = (constant - sums[c]) / coefficient;
             }
-        }
 
-        return rank < cols - 1;
-    }
+            flopCount += rhsCount * (2L * (variables - p - 1) + 2);
 
-    private double[] backSubstitution() {
-        steps.append("\nBack Substitution:\n");
-        steps.append("-----------------\n");
+            if (logOps) {
+                trace.recordBackSubstitution(p, data[rowStart + variables], sums[0], coefficient, x[xRow]);
+            }
+        }
 
-        int variables = cols - 1;
-        double[] solution = new double[variables];
+        double[][] solutions = new double[rhsCount][variables];
+        for (int i = 0; i < variables; i++) {
+            for (int c = 0; c < rhsCount; c++) {
+                solutions[c][i] = x[i * rhsCount + c];
+            }
+        }
+        return solutions;
+    }
 
-        for (int i = Math.min(rows, variables) - 1; i >= 0; i--) {
-            double sum = 0.0;
-            for (int j = i + 1; j < variables; j++) {
-                sum += matrix[i][j] * solution[j];
+    /**
+     * One null-space vector per free variable: that variable is 1, the other free variables are 0 and
+     * the pivot variables follow from back substitution against a zero right-hand side
+     */
+    private double[][] nullSpaceBasis() {
+        double[][] basis = new double[variables - rank][];
+        int next = 0;
+        int p = 0;
+        for (int free = 0; free < variables; free++) {
+            if (p < rank && pivotColumns[p] == free) {
+                p++;
+                continue;
             }
+            double[] v = new double[variables];
+            v[free] = 1;
+            for (int i = p - 1; i >= 0; i--) {
+                int rowStart = rowStart(i);
+                int column = pivotColumns[i];
+                double sum = KERNEL.dot(data, rowStart + column + 1, v, column + 1, free - column);
+                v[column] = -sum / data[rowStart + column];
+            }
+            basis[next++] = v;
+        }
+        return basis;
+    }
 
-            solution[i] = (matrix[i][variables] - sum) / matrix[i][i];
+    /**
+     * Returns timings and pivoting statistics of the last solve, or null if solve() has not been called
+     */
+    public SolveStatistics getStatistics() {
+        return statistics;
+    }
 
-            display.appendBackSubstitutionStep(steps, i, matrix[i][variables], sum, matrix[i][i], solution[i]);
+    /**
+     * Lazy condition estimate from the packed factors, computed once and shared by the results of one solve
+     */
+    private static final class ConditionEstimate implements DoubleSupplier {
+        private final double[] data;
+        private final int[] rowStarts;
+        private final int[] rowOrder;
+        private final double norm;
+        private double value = Double.NaN;
+
+        ConditionEstimate(double[] data, int[] rowStarts, int[] rowOrder, double norm) {
+            this.data = data;
+            this.rowStarts = rowStarts;
+            this.rowOrder = rowOrder;
+            this.norm = norm;
         }
 
-        display.appendFinalSolution(steps, solution);
-
-        return solution;
+        @Override
+        public synchronized double getAsDouble() {
+            if (Double.isNaN(value)) {
+                value = norm * ConditionEstimator.estimateInverseNorm(rowStarts.length,
+                        b -> ConditionEstimator.solve(data, rowStarts, rowOrder, b),
+                        b -> ConditionEstimator.solveTranspose(data, rowStarts, rowOrder, b));
+            }
+            return value;
+        }
     }
 
-    private void appendMatrix() {
-        display.appendMatrix(steps, matrix, rows, cols);
+    /**
+     * Returns the operation log of the last solve, or null if solve() has not been called
+     */
+    public EliminationTrace getTrace() {
+        return trace;
     }
 
+    /**
+     * Rebuilds the step-by-step transcript of the last solve from its operation log
+     */
     public String getSteps() {
-        return steps.toString();
+        return trace == null ? "" : trace.toString();
+    }
+
+    /**
+     * Streams the transcript of the last solve to the given sink instead of building it in memory
+     */
+    public void writeSteps(Appendable out) throws IOException {
+        if (trace != null) {
+            trace.writeTo(out);
+        }
     }
 }
\ No newline at end of file
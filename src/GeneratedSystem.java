@@ -0,0 +1,62 @@
+/**
+ * Test system A x = b produced by MatrixGenerator, together with the solution x* it was built from
+ * M is the storage of A: DenseMatrix, BandedMatrix or SparseMatrix
+ */
+public class GeneratedSystem<M> {
+    private final M matrix;
+    private final DenseMatrix augmentedMatrix;
+    private final double[] rightHandSide;
+    private final double[] solution;
+
+    GeneratedSystem(M matrix, DenseMatrix augmentedMatrix, double[] rightHandSide, double[] solution) {
+        this.matrix = matrix;
+        this.augmentedMatrix = augmentedMatrix;
+        this.rightHandSide = rightHandSide;
+        this.solution = solution;
+    }
+
+    /**
+     * The coefficient matrix A
+     */
+    public M getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * [A | b] sharing storage with getMatrix() for dense systems, ready for GaussianElimination; null otherwise
+     */
+    public DenseMatrix getAugmentedMatrix() {
+        return augmentedMatrix;
+    }
+
+    public double[] getRightHandSide() {
+        return rightHandSide;
+    }
+
+    /**
+     * The planted solution x*
+     */
+    public double[] getSolution() {
+        return solution;
+    }
+
+    public int size() {
+        return solution.length;
+    }
+
+    /**
+     * Relative error max |x - x*| / max |x*| of a computed solution
+     */
+    public double solutionError(double[] x) {
+        if (x.length != solution.length) {
+            throw new IllegalArgumentException("Expected " + solution.length + " unknowns, got " + x.length);
+        }
+        double error = 0;
+        double norm = 0;
+        for (int i = 0; i < x.length; i++) {
+            error = Math.max(error, Math.abs(x[i] - solution[i]));
+            norm = Math.max(norm, Math.abs(solution[i]));
+        }
+        return norm == 0 ? error : error / norm;
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+/**
+ * ILU(0) preconditioner: an LU factorization that keeps only the nonzero pattern of A
+ * L (unit diagonal) and U share one copy of the CSR values, so it costs exactly nnz extra doubles
+ */
+public class IncompleteLU implements Preconditioner {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    private final int n;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+    private final int[] diagonal;
+
+    public IncompleteLU(SparseMatrix matrix) {
+        if (matrix.getRows() != matrix.getCols()) {
+            throw new IllegalArgumentException("ILU(0) needs a square matrix");
+        }
+        this.n = matrix.getRows();
+        this.rowPointers = matrix.getRowPointers();
+        this.columnIndices = matrix.getColumnIndices();
+        this.values = matrix.getValues().clone();
+        this.diagonal = matrix.diagonalPositions();
+        factor();
+    }
+
+    /**
+     * Row-by-row (IKJ) elimination, dropping every update that falls outside the pattern
+     */
+    private void factor() {
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; i++) {
+            if (diagonal[i] < 0) {
+                throw new IllegalArgumentException("ILU(0) needs every diagonal entry stored, row "
+                        + (i + 1) + " has none");
+            }
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                position[columnIndices[p]] = p;
+            }
+            for (int p = rowPointers[i]; p < diagonal[i]; p++) {
+                int k = columnIndices[p];
+                double factor = values[p] / values[diagonal[k]];
+                values[p] = factor;
+                for (int q = diagonal[k] + 1; q < rowPointers[k + 1]; q++) {
+                    int target = position[columnIndices[q]];
+                    if (target >= 0) {
+                        values[target] -= factor * values[q];
+                    }
+                }
+            }
+            if (Math.abs(values[diagonal[i]]) < EPSILON) {
+                throw new IllegalArgumentException("Zero pivot in ILU(0) at row " + (i + 1));
+            }
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                position[columnIndices[p]] = -1;
+            }
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        // Forward substitution with unit-lower L
+        for (int i = 0; i < n; i++) {
+            double sum = r[i];
+            for (int p = rowPointers[i]; p < diagonal[i]; p++) {
+                sum -= values[p] * z[columnIndices[p]];
+            }
+            z[i] = sum;
+        }
+        // Back substitution with U
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = z[i];
+            for (int p = diagonal[i] + 1; p < rowPointers[i + 1]; p++) {
+                sum -= values[p] * z[columnIndices[p]];
+            }
+            z[i] = sum / values[diagonal[i]];
+        }
+    }
+}
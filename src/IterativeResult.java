@@ -0,0 +1,56 @@
+/**
+ * Outcome of an iterative solve: the last iterate plus how the iteration went
+ */
+public class IterativeResult {
+
+    /**
+     * How an iterative solve ended
+     */
+    public enum Status {
+        /** The relative residual dropped below the tolerance */
+        CONVERGED,
+        /** The iteration limit was reached first */
+        MAX_ITERATIONS,
+        /** A division by (nearly) zero stopped the method; the iterate is the last good one */
+        BREAKDOWN
+    }
+
+    private final double[] solution;
+    private final Status status;
+    private final int iterations;
+    private final double[] residualHistory;
+
+    IterativeResult(double[] solution, Status status, int iterations, double[] residualHistory) {
+        this.solution = solution;
+        this.status = status;
+        this.iterations = iterations;
+        this.residualHistory = residualHistory;
+    }
+
+    public double[] getSolution() {
+        return solution;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isConverged() {
+        return status == Status.CONVERGED;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Relative residual ||b - A x|| / ||b|| before the first iteration and after each one
+     */
+    public double[] getResidualHistory() {
+        return residualHistory.clone();
+    }
+
+    public double getFinalResidual() {
+        return residualHistory[residualHistory.length - 1];
+    }
+}
@@ -0,0 +1,446 @@
+import java.util.Arrays;
+
+/**
+ * Iterative solvers for large square systems A * x = b: Jacobi, Gauss-Seidel, conjugate gradient,
+ * BiCGSTAB and restarted GMRES
+ * Each iteration costs one or two products with A, so a solve is O(nnz * iterations) instead of O(n^3)
+ * The Krylov methods only see A through a LinearOperator and accept a Preconditioner; all stop once
+ * ||b - A x|| / ||b|| is at most the tolerance or the iteration limit is reached
+ */
+public class IterativeSolver {
+    // Below this magnitude a Krylov scalar is treated as a breakdown
+    private static final double BREAKDOWN = 1e-300;
+
+    private double tolerance = 1e-10;
+    private int maxIterations = 1000;
+    private int restart = 30;
+    private Preconditioner preconditioner = Preconditioner.NONE;
+
+    /**
+     * Relative residual at which an iteration stops (default 1e-10)
+     */
+    public void setTolerance(double tolerance) {
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerance must be positive, got " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Upper bound on iterations; for GMRES every inner Arnoldi step counts (default 1000)
+     */
+    public void setMaxIterations(int maxIterations) {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Iteration limit must be positive, got " + maxIterations);
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Krylov subspace size after which GMRES restarts (default 30)
+     */
+    public void setRestart(int restart) {
+        if (restart < 1) {
+            throw new IllegalArgumentException("Restart length must be positive, got " + restart);
+        }
+        this.restart = restart;
+    }
+
+    public int getRestart() {
+        return restart;
+    }
+
+    /**
+     * Preconditioner used by the Krylov methods (default none)
+     */
+    public void setPreconditioner(Preconditioner preconditioner) {
+        this.preconditioner = preconditioner == null ? Preconditioner.NONE : preconditioner;
+    }
+
+    // ========== STATIONARY METHODS ==========
+
+    /**
+     * Jacobi iteration x <- x + D^-1 (b - A x); converges for strictly diagonally dominant A
+     */
+    public IterativeResult jacobi(SparseMatrix a, double[] b) {
+        int n = checkSize(a, b);
+        JacobiPreconditioner diagonal = new JacobiPreconditioner(a);
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] z = new double[n];
+        double bNorm = norm(b);
+        History history = new History(residual(r, bNorm));
+        if (history.last() <= tolerance) {
+            return history.result(x, IterativeResult.Status.CONVERGED);
+        }
+        for (int k = 1; k <= maxIterations; k++) {
+            diagonal.apply(r, z);
+            for (int i = 0; i < n; i++) {
+                x[i] += z[i];
+            }
+            residualVector(a, x, b, r);
+            if (history.add(residual(r, bNorm)) <= tolerance) {
+                return history.result(x, IterativeResult.Status.CONVERGED);
+            }
+        }
+        return history.result(x, IterativeResult.Status.MAX_ITERATIONS);
+    }
+
+    /**
+     * Forward Gauss-Seidel sweeps, using each updated unknown immediately
+     * Converges for strictly diagonally dominant or symmetric positive definite A
+     */
+    public IterativeResult gaussSeidel(SparseMatrix a, double[] b) {
+        int n = checkSize(a, b);
+        int[] rowPointers = a.getRowPointers();
+        int[] columnIndices = a.getColumnIndices();
+        double[] values = a.getValues();
+        int[] diagonal = a.diagonalPositions();
+        for (int i = 0; i < n; i++) {
+            if (diagonal[i] < 0 || values[diagonal[i]] == 0) {
+                throw new IllegalArgumentException("Gauss-Seidel needs a nonzero diagonal, row " + (i + 1) + " has none");
+            }
+        }
+
+        double[] x = new double[n];
+        double[] r = new double[n];
+        double bNorm = norm(b);
+        History history = new History(residual(b, bNorm));
+        if (history.last() <= tolerance) {
+            return history.result(x, IterativeResult.Status.CONVERGED);
+        }
+        for (int k = 1; k <= maxIterations; k++) {
+            for (int i = 0; i < n; i++) {
+                double sum = b[i];
+                for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                    if (p != diagonal[i]) {
+                        sum -= values[p] * x[columnIndices[p]];
+                    }
+                }
+                x[i] = sum / values[diagonal[i]];
+            }
+            residualVector(a, x, b, r);
+            if (history.add(residual(r, bNorm)) <= tolerance) {
+                return history.result(x, IterativeResult.Status.CONVERGED);
+            }
+        }
+        return history.result(x, IterativeResult.Status.MAX_ITERATIONS);
+    }
+
+    // ========== KRYLOV METHODS ==========
+
+    /**
+     * Preconditioned conjugate gradient; A and the preconditioner must be symmetric positive definite
+     */
+    public IterativeResult conjugateGradient(LinearOperator a, double[] b) {
+        int n = checkSize(a, b);
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] z = new double[n];
+        double[] p = new double[n];
+        double[] q = new double[n];
+        double bNorm = norm(b);
+        History history = new History(residual(r, bNorm));
+        if (history.last() <= tolerance) {
+            return history.result(x, IterativeResult.Status.CONVERGED);
+        }
+
+        preconditioner.apply(r, z);
+        System.arraycopy(z, 0, p, 0, n);
+        double rho = dot(r, z);
+        for (int k = 1; k <= maxIterations; k++) {
+            a.apply(p, q);
+            double curvature = dot(p, q);
+            if (Math.abs(curvature) < BREAKDOWN) {
+                return history.result(x, IterativeResult.Status.BREAKDOWN);
+            }
+            double alpha = rho / curvature;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * q[i];
+            }
+            if (history.add(residual(r, bNorm)) <= tolerance) {
+                return history.result(x, IterativeResult.Status.CONVERGED);
+            }
+
+            preconditioner.apply(r, z);
+            double rhoNext = dot(r, z);
+            if (Math.abs(rho) < BREAKDOWN) {
+                return history.result(x, IterativeResult.Status.BREAKDOWN);
+            }
+            double beta = rhoNext / rho;
+            rho = rhoNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = z[i] + beta * p[i];
+            }
+        }
+        return history.result(x, IterativeResult.Status.MAX_ITERATIONS);
+    }
+
+    /**
+     * Preconditioned BiCGSTAB for general nonsymmetric A; two operator products per iteration
+     */
+    public IterativeResult biCGStab(LinearOperator a, double[] b) {
+        int n = checkSize(a, b);
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[] shadow = b.clone();
+        double[] p = new double[n];
+        double[] v = new double[n];
+        double[] s = new double[n];
+        double[] t = new double[n];
+        double[] pHat = new double[n];
+        double[] sHat = new double[n];
+        double bNorm = norm(b);
+        History history = new History(residual(r, bNorm));
+        if (history.last() <= tolerance) {
+            return history.result(x, IterativeResult.Status.CONVERGED);
+        }
+
+        double rho = 1;
+        double alpha = 1;
+        double omega = 1;
+        for (int k = 1; k <= maxIterations; k++) {
+            double rhoNext = dot(shadow, r);
+            if (Math.abs(rhoNext) < BREAKDOWN || Math.abs(omega) < BREAKDOWN) {
+                return history.result(x, IterativeResult.Status.BREAKDOWN);
+            }
+            double beta = (rhoNext / rho) * (alpha / omega);
+            rho = rhoNext;
+            for (int i = 0; i < n; i++) {
+                p[i] = r[i] + beta * (p[i] - omega * v[i]);
+            }
+            preconditioner.apply(p, pHat);
+            a.apply(pHat, v);
+            double shadowV = dot(shadow, v);
+            if (Math.abs(shadowV) < BREAKDOWN) {
+                return history.result(x, IterativeResult.Status.BREAKDOWN);
+            }
+            alpha = rho / shadowV;
+            for (int i = 0; i < n; i++) {
+                s[i] = r[i] - alpha * v[i];
+            }
+            if (residual(s, bNorm) <= tolerance) {
+                for (int i = 0; i < n; i++) {
+                    x[i] += alpha * pHat[i];
+                }
+                history.add(residual(s, bNorm));
+                return history.result(x, IterativeResult.Status.CONVERGED);
+            }
+
+            preconditioner.apply(s, sHat);
+            a.apply(sHat, t);
+            double tt = dot(t, t);
+            omega = tt < BREAKDOWN ? 0 : dot(t, s) / tt;
+            for (int i = 0; i < n; i++) {
+                x[i] += alpha * pHat[i] + omega * sHat[i];
+                r[i] = s[i] - omega * t[i];
+            }
+            if (history.add(residual(r, bNorm)) <= tolerance) {
+                return history.result(x, IterativeResult.Status.CONVERGED);
+            }
+        }
+        return history.result(x, IterativeResult.Status.MAX_ITERATIONS);
+    }
+
+    /**
+     * Restarted GMRES(m) with right preconditioning, so the monitored residual is the true one
+     * Arnoldi uses modified Gram-Schmidt; Givens rotations keep the least-squares residual up to date
+     */
+    public IterativeResult gmres(LinearOperator a, double[] b) {
+        int n = checkSize(a, b);
+        int m = Math.min(restart, Math.max(1, n));
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double[][] basis = new double[m + 1][n];
+        double[][] hessenberg = new double[m + 1][m];
+        double[] cosines = new double[m];
+        double[] sines = new double[m];
+        double[] g = new double[m + 1];
+        double[] w = new double[n];
+        double[] z = new double[n];
+        double bNorm = norm(b);
+        History history = new History(residual(r, bNorm));
+        if (history.last() <= tolerance) {
+            return history.result(x, IterativeResult.Status.CONVERGED);
+        }
+
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            double beta = norm(r);
+            for (int i = 0; i < n; i++) {
+                basis[0][i] = r[i] / beta;
+            }
+            Arrays.fill(g, 0);
+            g[0] = beta;
+
+            int steps = 0;
+            boolean breakdown = false;
+            while (steps < m && iterations < maxIterations) {
+                int j = steps;
+                preconditioner.apply(basis[j], z);
+                a.apply(z, w);
+                for (int i = 0; i <= j; i++) {
+                    double h = dot(w, basis[i]);
+                    hessenberg[i][j] = h;
+                    for (int l = 0; l < n; l++) {
+                        w[l] -= h * basis[i][l];
+                    }
+                }
+                double h = norm(w);
+                hessenberg[j + 1][j] = h;
+
+                // Apply the earlier rotations to the new column, then zero its subdiagonal entry
+                for (int i = 0; i < j; i++) {
+                    double temp = cosines[i] * hessenberg[i][j] + sines[i] * hessenberg[i + 1][j];
+                    hessenberg[i + 1][j] = -sines[i] * hessenberg[i][j] + cosines[i] * hessenberg[i + 1][j];
+                    hessenberg[i][j] = temp;
+                }
+                double radius = Math.hypot(hessenberg[j][j], hessenberg[j + 1][j]);
+                if (radius < BREAKDOWN) {
+                    breakdown = true;
+                    break;
+                }
+                cosines[j] = hessenberg[j][j] / radius;
+                sines[j] = hessenberg[j + 1][j] / radius;
+                hessenberg[j][j] = radius;
+                hessenberg[j + 1][j] = 0;
+                g[j + 1] = -sines[j] * g[j];
+                g[j] = cosines[j] * g[j];
+
+                steps++;
+                iterations++;
+                double relative = Math.abs(g[j + 1]) / (bNorm == 0 ? 1 : bNorm);
+                history.add(relative);
+                if (relative <= tolerance) {
+                    break;
+                }
+                // A lucky breakdown (h == 0) means the Krylov space already holds the solution
+                if (h < BREAKDOWN) {
+                    break;
+                }
+                for (int l = 0; l < n; l++) {
+                    basis[j + 1][l] = w[l] / h;
+                }
+            }
+
+            updateSolution(x, basis, hessenberg, g, steps, z, w);
+            if (breakdown) {
+                return history.result(x, IterativeResult.Status.BREAKDOWN);
+            }
+            // Restart from the true residual; the rotated estimate can drift from it in floating point
+            residualVector(a, x, b, r);
+            double trueResidual = residual(r, bNorm);
+            if (steps > 0) {
+                history.replaceLast(trueResidual);
+            }
+            if (trueResidual <= tolerance) {
+                return history.result(x, IterativeResult.Status.CONVERGED);
+            }
+        }
+        return history.result(x, IterativeResult.Status.MAX_ITERATIONS);
+    }
+
+    /**
+     * x += M^-1 * V * y, where y solves the rotated triangular least-squares system
+     */
+    private void updateSolution(double[] x, double[][] basis, double[][] hessenberg, double[] g, int steps,
+                                double[] z, double[] w) {
+        if (steps == 0) {
+            return;
+        }
+        double[] y = new double[steps];
+        for (int i = steps - 1; i >= 0; i--) {
+            double sum = g[i];
+            for (int j = i + 1; j < steps; j++) {
+                sum -= hessenberg[i][j] * y[j];
+            }
+            y[i] = sum / hessenberg[i][i];
+        }
+        Arrays.fill(w, 0);
+        for (int j = 0; j < steps; j++) {
+            for (int l = 0; l < w.length; l++) {
+                w[l] += y[j] * basis[j][l];
+            }
+        }
+        preconditioner.apply(w, z);
+        for (int l = 0; l < x.length; l++) {
+            x[l] += z[l];
+        }
+    }
+
+    // ========== VECTOR HELPERS ==========
+
+    private static int checkSize(LinearOperator a, double[] b) {
+        if (b.length != a.size()) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + a.size());
+        }
+        return b.length;
+    }
+
+    /**
+     * r = b - A * x
+     */
+    private static void residualVector(LinearOperator a, double[] x, double[] b, double[] r) {
+        a.apply(x, r);
+        for (int i = 0; i < r.length; i++) {
+            r[i] = b[i] - r[i];
+        }
+    }
+
+    private static double residual(double[] r, double bNorm) {
+        return norm(r) / (bNorm == 0 ? 1 : bNorm);
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static double norm(double[] a) {
+        return Math.sqrt(dot(a, a));
+    }
+
+    /**
+     * Growable residual log; the first entry is the initial residual, so iterations = count - 1
+     */
+    private static final class History {
+        private double[] values = new double[16];
+        private int count;
+
+        History(double initial) {
+            add(initial);
+        }
+
+        double add(double value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, 2 * count);
+            }
+            values[count++] = value;
+            return value;
+        }
+
+        double last() {
+            return values[count - 1];
+        }
+
+        void replaceLast(double value) {
+            values[count - 1] = value;
+        }
+
+        IterativeResult result(double[] x, IterativeResult.Status status) {
+            return new IterativeResult(x, status, count - 1, Arrays.copyOf(values, count));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Diagonal (Jacobi) preconditioner: M = diag(A)
+ */
+public class JacobiPreconditioner implements Preconditioner {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    private final double[] inverseDiagonal;
+
+    public JacobiPreconditioner(SparseMatrix matrix) {
+        int n = matrix.getRows();
+        int[] diagonal = matrix.diagonalPositions();
+        double[] values = matrix.getValues();
+        inverseDiagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (diagonal[i] < 0 || Math.abs(values[diagonal[i]]) < EPSILON) {
+                throw new IllegalArgumentException("Jacobi preconditioning needs a nonzero diagonal, row "
+                        + (i + 1) + " has none");
+            }
+            inverseDiagonal[i] = 1.0 / values[diagonal[i]];
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < inverseDiagonal.length; i++) {
+            z[i] = r[i] * inverseDiagonal[i];
+        }
+    }
+}
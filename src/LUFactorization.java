@@ -0,0 +1,399 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * LU factorization with partial pivoting of a square coefficient matrix: P * A = L * U
+ * Factor once in O(n^3), then solve for any number of right-hand sides in O(n^2) each
+ * The factorization is blocked (right-looking): a panel of columns is factored, then the trailing
+ * matrix is updated tile by tile so each tile of U stays in cache while many rows stream past it
+ * Given a ForkJoinPool, row ranges of the panel and trailing updates run in parallel; pivots and
+ * result bits are the same as the serial path whatever the number of threads
+ */
+public class LUFactorization {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // Assumed per-core L2 size, overridable with -Dlinearsolver.l2CacheKB=...
+    private static final int L2_CACHE_KB = Integer.getInteger("linearsolver.l2CacheKB", 256);
+
+    /**
+     * Default panel width: three nb x nb tiles of doubles (L, U and the updated tile) fit in L2
+     */
+    public static final int DEFAULT_BLOCK_SIZE = defaultBlockSize(L2_CACHE_KB);
+
+    // Narrow panels still update the trailing matrix in tiles wide enough for the inner loop to vectorize
+    private static final int MIN_TILE_WIDTH = 32;
+
+    // Packed factors: U on and above the diagonal, the multipliers of unit-lower L below it
+    private final DenseMatrix lu;
+    private final double[] data;
+    // rowOrder[i] is the physical row of lu acting as row i of the factors (the permutation P)
+    private final int[] rowOrder;
+    private final int n;
+    private final int blockSize;
+    private final ForkJoinPool pool;
+    private final boolean singular;
+    // 1-norm of the original matrix, for the condition estimate
+    private final double norm;
+    private int swapCount;
+
+    private LUFactorization(DenseMatrix lu, int blockSize, ForkJoinPool pool) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        }
+        this.lu = lu;
+        this.blockSize = blockSize;
+        this.pool = pool;
+        this.data = lu.getData();
+        this.n = lu.getRows();
+        this.rowOrder = new int[n];
+        for (int i = 0; i < n; i++) {
+            rowOrder[i] = i;
+        }
+        this.norm = ConditionEstimator.norm1(data, lu.getOffset(), lu.getStride(), n, n);
+        this.singular = !decompose();
+    }
+
+    /**
+     * Factors a square coefficient matrix (without the constant column)
+     */
+    public static LUFactorization factor(double[][] coefficients) {
+        return new LUFactorization(requireSquare(DenseMatrix.fromArray(coefficients)), DEFAULT_BLOCK_SIZE, null);
+    }
+
+    /**
+     * Factors a copy of a square coefficient matrix
+     */
+    public static LUFactorization factor(DenseMatrix coefficients) {
+        return factor(coefficients, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Factors a copy of a square coefficient matrix using panels of the given width
+     * A block size of 1 gives the classic unblocked elimination
+     */
+    public static LUFactorization factor(DenseMatrix coefficients, int blockSize) {
+        return factor(coefficients, blockSize, null);
+    }
+
+    /**
+     * Factors a copy of a square coefficient matrix, splitting row updates across the given pool
+     * Small matrices, or a null pool, take the serial path
+     */
+    public static LUFactorization factor(DenseMatrix coefficients, int blockSize, ForkJoinPool pool) {
+        return new LUFactorization(requireSquare(coefficients).copy(), blockSize, pool);
+    }
+
+    private static DenseMatrix requireSquare(DenseMatrix matrix) {
+        if (matrix.getRows() != matrix.getCols()) {
+            throw new IllegalArgumentException("LU factorization needs a square matrix, got "
+                    + matrix.getRows() + "x" + matrix.getCols());
+        }
+        return matrix;
+    }
+
+    static int defaultBlockSize(int l2CacheKB) {
+        int size = (int) Math.sqrt(l2CacheKB * 1024.0 / (3 * Double.BYTES));
+        // Round down to a multiple of 8 so tiles line up with cache lines
+        return Math.max(8, size / 8 * 8);
+    }
+
+    /**
+     * Blocked right-looking elimination; returns false as soon as a column has no usable pivot
+     */
+    private boolean decompose() {
+        for (int k0 = 0; k0 < n; k0 += blockSize) {
+            int k1 = Math.min(k0 + blockSize, n);
+            if (!factorPanel(k0, k1)) {
+                return false;
+            }
+            if (k1 < n) {
+                solveUpperPanel(k0, k1);
+                int panelStart = k0;
+                int panelEnd = k1;
+                RowRangeTask.run(pool, k1, n, 2L * (k1 - k0) * (n - k1),
+                        (from, to) -> updateTrailing(panelStart, panelEnd, from, to, panelEnd, n));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Unblocked elimination of columns [k0, k1) over all remaining rows
+     * Row swaps only reorder rowOrder, so they apply to the whole row (already factored L included)
+     */
+    private boolean factorPanel(int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int pivotRow = findPivotRow(k);
+            if (Math.abs(data[rowStart(pivotRow) + k]) < EPSILON) {
+                return false;
+            }
+            if (pivotRow != k) {
+                int temp = rowOrder[k];
+                rowOrder[k] = rowOrder[pivotRow];
+                rowOrder[pivotRow] = temp;
+                swapCount++;
+            }
+
+            int column = k;
+            int pivotStart = rowStart(k);
+            double pivotValue = data[pivotStart + k];
+            RowRangeTask.run(pool, k + 1, n, 2L * (k1 - k), (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int rowStart = rowStart(i);
+                    double factor = data[rowStart + column] / pivotValue;
+                    data[rowStart + column] = factor;
+                    if (factor == 0) continue;
+                    for (int j = column + 1; j < k1; j++) {
+                        data[rowStart + j] -= factor * data[pivotStart + j];
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Computes the U12 block (rows [k0, k1), columns [k1, n)) by forward substitution with the unit-lower L11
+     */
+    private void solveUpperPanel(int k0, int k1) {
+        for (int i = k0 + 1; i < k1; i++) {
+            int rowStart = rowStart(i);
+            for (int p = k0; p < i; p++) {
+                double factor = data[rowStart + p];
+                if (factor == 0) continue;
+                int sourceStart = rowStart(p);
+                for (int j = k1; j < n; j++) {
+                    data[rowStart + j] -= factor * data[sourceStart + j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Trailing update A22 -= L21 * U12 over rows [rowFrom, rowTo) and columns [colFrom, colTo)
+     * Columns are processed in tiles so the U12 tile is reused by every row of the range
+     */
+    private void updateTrailing(int k0, int k1, int rowFrom, int rowTo, int colFrom, int colTo) {
+        int tileWidth = Math.max(blockSize, MIN_TILE_WIDTH);
+        for (int j0 = colFrom; j0 < colTo; j0 += tileWidth) {
+            int j1 = Math.min(j0 + tileWidth, colTo);
+            for (int i = rowFrom; i < rowTo; i++) {
+                int rowStart = rowStart(i);
+                for (int p = k0; p < k1; p++) {
+                    double factor = data[rowStart + p];
+                    if (factor == 0) continue;
+                    int sourceStart = rowStart(p);
+                    for (int j = j0; j < j1; j++) {
+                        data[rowStart + j] -= factor * data[sourceStart + j];
+                    }
+                }
+            }
+        }
+    }
+
+    private int findPivotRow(int col) {
+        int maxRow = col;
+        double maxVal = Math.abs(data[rowStart(col) + col]);
+        for (int i = col + 1; i < n; i++) {
+            double value = Math.abs(data[rowStart(i) + col]);
+            if (value > maxVal) {
+                maxVal = value;
+                maxRow = i;
+            }
+        }
+        return maxRow;
+    }
+
+    private int rowStart(int row) {
+        return lu.getOffset() + rowOrder[row] * lu.getStride();
+    }
+
+    /**
+     * Returns true if a pivot smaller than EPSILON was met; such a factorization cannot solve systems
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Solves A * x = b using the stored factors in O(n^2)
+     */
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        if (singular) {
+            throw new IllegalStateException("Matrix is singular; the system has no unique solution");
+        }
+
+        // Forward substitution with unit-lower L, applying the row permutation on the fly
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            int rowStart = rowStart(i);
+            double sum = b[rowOrder[i]];
+            for (int j = 0; j < i; j++) {
+                sum -= data[rowStart + j] * x[j];
+            }
+            x[i] = sum;
+        }
+
+        // Back substitution with U
+        for (int i = n - 1; i >= 0; i--) {
+            int rowStart = rowStart(i);
+            double sum = x[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= data[rowStart + j] * x[j];
+            }
+            x[i] = sum / data[rowStart + i];
+        }
+        return x;
+    }
+
+    /**
+     * Solves A' * x = b using the stored factors in O(n^2)
+     */
+    public double[] solveTranspose(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        if (singular) {
+            throw new IllegalStateException("Matrix is singular; the system has no unique solution");
+        }
+        return ConditionEstimator.solveTranspose(data, rowStarts(), rowOrder, b);
+    }
+
+    /**
+     * Estimate of the 1-norm condition number ||A||_1 * ||A^-1||_1 in O(n^2), infinite for a singular matrix
+     * Roughly log10 of it is the number of decimal digits a solve may lose
+     */
+    public double conditionEstimate() {
+        if (singular) {
+            return Double.POSITIVE_INFINITY;
+        }
+        int[] rowStarts = rowStarts();
+        return norm * ConditionEstimator.estimateInverseNorm(n,
+                b -> ConditionEstimator.solve(data, rowStarts, rowOrder, b),
+                b -> ConditionEstimator.solveTranspose(data, rowStarts, rowOrder, b));
+    }
+
+    private int[] rowStarts() {
+        int[] rowStarts = new int[n];
+        for (int i = 0; i < n; i++) {
+            rowStarts[i] = rowStart(i);
+        }
+        return rowStarts;
+    }
+
+    /**
+     * Solves A * X = B for an n x k block of right-hand sides (one per column)
+     * Each sweep streams a row of the block once and updates all k columns together
+     */
+    public double[][] solve(double[][] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side block has " + b.length + " rows, expected " + n);
+        }
+        if (singular) {
+            throw new IllegalStateException("Matrix is singular; the system has no unique solution");
+        }
+        int k = n == 0 ? 0 : b[0].length;
+
+        // Row-major n x k working block, rows taken in pivot order
+        double[] x = new double[n * k];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(b[rowOrder[i]], 0, x, i * k, k);
+        }
+
+        // Forward substitution with unit-lower L
+        for (int i = 0; i < n; i++) {
+            int rowStart = rowStart(i);
+            int xRow = i * k;
+            for (int j = 0; j < i; j++) {
+                double factor = data[rowStart + j];
+                if (factor == 0) continue;
+                int xSource = j * k;
+                for (int c = 0; c < k; c++) {
+                    x[xRow + c] -= factor * x[xSource + c];
+                }
+            }
+        }
+
+        // Back substitution with U
+        for (int i = n - 1; i >= 0; i--) {
+            int rowStart = rowStart(i);
+            int xRow = i * k;
+            for (int j = i + 1; j < n; j++) {
+                double factor = data[rowStart + j];
+                if (factor == 0) continue;
+                int xSource = j * k;
+                for (int c = 0; c < k; c++) {
+                    x[xRow + c] -= factor * x[xSource + c];
+                }
+            }
+            double pivot = data[rowStart + i];
+            for (int c = 0; c < k; c++) {
+                x[xRow + c] /= pivot;
+            }
+        }
+
+        double[][] result = new double[n][k];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(x, i * k, result[i], 0, k);
+        }
+        return result;
+    }
+
+    public double determinant() {
+        if (singular) {
+            return 0;
+        }
+        double det = swapCount % 2 == 0 ? 1 : -1;
+        for (int i = 0; i < n; i++) {
+            det *= data[rowStart(i) + i];
+        }
+        return det;
+    }
+
+    /**
+     * Returns the permutation: row i of L * U corresponds to row getPivot()[i] of the original matrix
+     */
+    public int[] getPivot() {
+        return rowOrder.clone();
+    }
+
+    /**
+     * Unit lower-triangular factor L
+     */
+    public DenseMatrix getL() {
+        DenseMatrix l = new DenseMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            int rowStart = rowStart(i);
+            for (int j = 0; j < i; j++) {
+                l.set(i, j, data[rowStart + j]);
+            }
+            l.set(i, i, 1);
+        }
+        return l;
+    }
+
+    /**
+     * Upper-triangular factor U
+     */
+    public DenseMatrix getU() {
+        DenseMatrix u = new DenseMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            int rowStart = rowStart(i);
+            for (int j = i; j < n; j++) {
+                u.set(i, j, data[rowStart + j]);
+            }
+        }
+        return u;
+    }
+}
@@ -0,0 +1,240 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Least-squares solver for overdetermined systems: finds the x minimizing ||A * x - b|| from rows of
+ * [A | b] streamed in one at a time, without ever forming A' * A (whose condition number is squared)
+ * Rows are buffered into blocks; each block is reduced to the triangle R of its own QR factorization of
+ * [A | b] by blocked Householder QR, and the triangles are merged pairwise (tall-skinny QR, TSQR) into one
+ * running triangle. Its last column holds Q' * b and its last diagonal entry the residual norm, so neither
+ * Q nor the rows are kept: memory is O(block rows * n) and time linear in the number of rows
+ * Given a ForkJoinPool the blocks of a batch and the merges of each tree level run in parallel; the tree
+ * does not depend on the pool, so neither do the result bits
+ */
+public class LeastSquaresSolver {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // Blocks reduced by one tree; fixed so the merge order, and with it the result, does not depend on the pool
+    private static final int BATCH_BLOCKS = 16;
+
+    // Blocks are at least this tall, and at least four times as tall as wide, so merges stay a small share of the work
+    private static final int MIN_BLOCK_ROWS = 256;
+
+    private final int variables;
+    // Width of [A | b]
+    private final int cols;
+    private int blockRows;
+    private ForkJoinPool pool;
+    private double[] buffer;
+    private int bufferedRows;
+    // Running cols x cols triangle, null until the first batch is reduced
+    private double[] triangle;
+    private long rowCount;
+    private double residualNorm = Double.NaN;
+
+    public LeastSquaresSolver(int variables) {
+        if (variables < 1) {
+            throw new IllegalArgumentException("A least-squares problem needs at least one variable, got " + variables);
+        }
+        this.variables = variables;
+        this.cols = variables + 1;
+        this.blockRows = Math.max(MIN_BLOCK_ROWS, 4 * cols);
+    }
+
+    /**
+     * Solves an augmented matrix [A | b] in the least-squares sense; null when the columns of A are dependent
+     */
+    public static double[] solve(double[][] augmentedMatrix) {
+        return solve(augmentedMatrix, null);
+    }
+
+    /**
+     * Same as solve(augmentedMatrix), reducing row blocks in parallel on the pool
+     */
+    public static double[] solve(double[][] augmentedMatrix, ForkJoinPool pool) {
+        if (augmentedMatrix.length == 0) {
+            throw new IllegalArgumentException("Matrix has no rows");
+        }
+        LeastSquaresSolver solver = new LeastSquaresSolver(augmentedMatrix[0].length - 1);
+        solver.setForkJoinPool(pool);
+        solver.addRows(augmentedMatrix);
+        return solver.solve();
+    }
+
+    /**
+     * Sets how many rows are reduced together by one blocked QR; must be called before the first row
+     */
+    public void setBlockRows(int blockRows) {
+        if (blockRows < 1) {
+            throw new IllegalArgumentException("Block rows must be positive, got " + blockRows);
+        }
+        if (rowCount > 0) {
+            throw new IllegalStateException("Block rows must be set before adding rows");
+        }
+        this.blockRows = blockRows;
+    }
+
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ========== ROW INPUT ==========
+
+    /**
+     * Adds one equation: the coefficients followed by the constant
+     */
+    public void addRow(double[] augmentedRow) {
+        if (augmentedRow.length != cols) {
+            throw new IllegalArgumentException("Row has " + augmentedRow.length + " entries, expected " + cols);
+        }
+        if (buffer == null) {
+            buffer = new double[Math.toIntExact((long) blockRows * BATCH_BLOCKS * cols)];
+        }
+        System.arraycopy(augmentedRow, 0, buffer, bufferedRows * cols, cols);
+        bufferedRows++;
+        rowCount++;
+        if (bufferedRows == blockRows * BATCH_BLOCKS) {
+            reduceBuffer();
+        }
+    }
+
+    public void addRows(double[][] augmentedRows) {
+        for (double[] row : augmentedRows) {
+            addRow(row);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    // ========== REDUCTION ==========
+
+    /**
+     * Factors each buffered block, merges the triangles as a binary tree and folds the root into the running triangle
+     */
+    private void reduceBuffer() {
+        int blocks = (bufferedRows + blockRows - 1) / blockRows;
+        double[][] triangles = new double[blocks][];
+        RowRangeTask.run(pool, 0, blocks, 2L * blockRows * cols * cols, (from, to) -> {
+            for (int b = from; b < to; b++) {
+                triangles[b] = reduceBlock(b);
+            }
+        });
+        for (int step = 1; step < blocks; step *= 2) {
+            int distance = step;
+            int pairs = (blocks - step + 2 * step - 1) / (2 * step);
+            RowRangeTask.run(pool, 0, pairs, 2L * cols * cols * cols / 3, (from, to) -> {
+                for (int p = from; p < to; p++) {
+                    int left = 2 * distance * p;
+                    merge(triangles[left], triangles[left + distance]);
+                }
+            });
+        }
+        if (triangle == null) {
+            triangle = triangles[0];
+        } else {
+            merge(triangle, triangles[0]);
+        }
+        bufferedRows = 0;
+    }
+
+    private double[] reduceBlock(int block) {
+        int first = block * blockRows;
+        int rows = Math.min(blockRows, bufferedRows - first);
+        DenseMatrix rowsOfBlock = new DenseMatrix(buffer, rows, cols, cols, first * cols);
+        double[] result = new double[cols * cols];
+        QRFactorization.factorInPlace(rowsOfBlock, QRFactorization.DEFAULT_BLOCK_SIZE, null).copyR(result);
+        return result;
+    }
+
+    /**
+     * Replaces top with the triangle of the QR factorization of [top; bottom], destroying bottom
+     * Reflector j only has to reach rows 0 ... j of the bottom triangle, which keeps the merge at 2n^3 / 3 flops
+     */
+    private void merge(double[] top, double[] bottom) {
+        double[] w = new double[cols];
+        for (int j = 0; j < cols; j++) {
+            double sumSquares = 0;
+            for (int i = 0; i <= j; i++) {
+                double value = bottom[i * cols + j];
+                sumSquares += value * value;
+            }
+            if (sumSquares == 0) continue;
+            int pivotRow = j * cols;
+            double alpha = top[pivotRow + j];
+            double beta = -Math.copySign(Math.sqrt(alpha * alpha + sumSquares), alpha);
+            double tau = (beta - alpha) / beta;
+            double scale = 1.0 / (alpha - beta);
+            top[pivotRow + j] = beta;
+
+            // w = tau * (top row j + v' * bottom), then both take away their share of v * w
+            System.arraycopy(top, pivotRow + j + 1, w, j + 1, cols - j - 1);
+            for (int i = 0; i <= j; i++) {
+                int rowStart = i * cols;
+                double v = bottom[rowStart + j] * scale;
+                bottom[rowStart + j] = v;
+                if (v == 0) continue;
+                for (int k = j + 1; k < cols; k++) {
+                    w[k] += v * bottom[rowStart + k];
+                }
+            }
+            for (int k = j + 1; k < cols; k++) {
+                w[k] *= tau;
+                top[pivotRow + k] -= w[k];
+            }
+            for (int i = 0; i <= j; i++) {
+                int rowStart = i * cols;
+                double v = bottom[rowStart + j];
+                bottom[rowStart + j] = 0;
+                if (v == 0) continue;
+                for (int k = j + 1; k < cols; k++) {
+                    bottom[rowStart + k] -= v * w[k];
+                }
+            }
+        }
+    }
+
+    // ========== SOLVING ==========
+
+    /**
+     * Returns the least-squares solution of the rows added so far, or null when the columns of A are
+     * (numerically) linearly dependent and infinitely many x reach the minimum; more rows may follow
+     */
+    public double[] solve() {
+        if (bufferedRows > 0) {
+            reduceBuffer();
+        }
+        residualNorm = Double.NaN;
+        if (triangle == null) {
+            return null;
+        }
+        double largest = 0;
+        for (int j = 0; j < variables; j++) {
+            largest = Math.max(largest, Math.abs(triangle[j * cols + j]));
+        }
+        for (int j = 0; j < variables; j++) {
+            if (!(Math.abs(triangle[j * cols + j]) > EPSILON * largest)) {
+                return null;
+            }
+        }
+        double[] x = new double[variables];
+        for (int i = variables - 1; i >= 0; i--) {
+            int rowStart = i * cols;
+            double sum = triangle[rowStart + variables];
+            for (int j = i + 1; j < variables; j++) {
+                sum -= triangle[rowStart + j] * x[j];
+            }
+            x[i] = sum / triangle[rowStart + i];
+        }
+        residualNorm = Math.abs(triangle[variables * cols + variables]);
+        return x;
+    }
+
+    /**
+     * ||A * x - b|| for the x returned by the last solve(), or NaN if it returned null or has not run
+     */
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Matrix-free view of a square matrix: iterative solvers only ever need y = A * x
+ */
+public interface LinearOperator {
+    /**
+     * Number of rows (and columns) of the operator
+     */
+    int size();
+
+    /**
+     * Computes y = A * x; y is overwritten and never aliases x
+     */
+    void apply(double[] x, double[] y);
+}
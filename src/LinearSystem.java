@@ -0,0 +1,88 @@
+/**
+ * One parsed system of equations: either a dense augmented matrix or sparse coefficients plus constants
+ */
+public class LinearSystem {
+    private final int equations;
+    private final int variables;
+    private final double[][] augmentedMatrix;
+    private final SparseMatrix coefficients;
+    private final double[] constants;
+
+    private LinearSystem(int equations, int variables, double[][] augmentedMatrix,
+                         SparseMatrix coefficients, double[] constants) {
+        this.equations = equations;
+        this.variables = variables;
+        this.augmentedMatrix = augmentedMatrix;
+        this.coefficients = coefficients;
+        this.constants = constants;
+    }
+
+    /**
+     * Wraps an augmented matrix [A | b] without copying it
+     */
+    public static LinearSystem dense(double[][] augmentedMatrix) {
+        int equations = augmentedMatrix.length;
+        int variables = equations == 0 ? 0 : augmentedMatrix[0].length - 1;
+        return new LinearSystem(equations, variables, augmentedMatrix, null, null);
+    }
+
+    public static LinearSystem sparse(SparseMatrix coefficients, double[] constants) {
+        if (constants.length != coefficients.getRows()) {
+            throw new IllegalArgumentException("Expected " + coefficients.getRows() + " constants, got " + constants.length);
+        }
+        return new LinearSystem(coefficients.getRows(), coefficients.getCols(), null, coefficients, constants);
+    }
+
+    public int getEquationCount() {
+        return equations;
+    }
+
+    public int getVariableCount() {
+        return variables;
+    }
+
+    public boolean isSparse() {
+        return coefficients != null;
+    }
+
+    /**
+     * Sparse coefficients, or null for a dense system
+     */
+    public SparseMatrix getCoefficients() {
+        return coefficients;
+    }
+
+    /**
+     * Constant column b, copied out of the augmented matrix for dense systems
+     */
+    public double[] getConstants() {
+        if (constants != null) {
+            return constants;
+        }
+        double[] b = new double[equations];
+        for (int i = 0; i < equations; i++) {
+            b[i] = augmentedMatrix[i][variables];
+        }
+        return b;
+    }
+
+    /**
+     * The augmented matrix [A | b], expanded to dense storage for sparse systems
+     */
+    public double[][] getAugmentedMatrix() {
+        if (augmentedMatrix != null) {
+            return augmentedMatrix;
+        }
+        double[][] dense = new double[equations][variables + 1];
+        int[] rowPointers = coefficients.getRowPointers();
+        int[] columnIndices = coefficients.getColumnIndices();
+        double[] values = coefficients.getValues();
+        for (int i = 0; i < equations; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                dense[i][columnIndices[p]] = values[p];
+            }
+            dense[i][variables] = constants[i];
+        }
+        return dense;
+    }
+}
@@ -1,7 +1,9 @@
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
  * Command Line Interface for solving linear systems using Gaussian Elimination
+ * Run without arguments for the interactive mode; with file arguments it runs BatchCommand instead
  */
 public class LinearSystemSolverCLI {
     private static final int MAX_VARIABLES = 10;
@@ -9,6 +11,15 @@ public class LinearSystemSolverCLI {
     private static final DisplayUtilities display = DisplayUtilities.getInstance();
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            try {
+                System.exit(BatchCommand.run(args, System.in, System.out, System.err));
+            } catch (IOException e) {
+                System.err.println("Error writing results: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         System.out.println("=== Linear System Solver ===");
@@ -29,7 +40,10 @@ public class LinearSystemSolverCLI {
                 inputMatrixManually(scanner, augmentedMatrix, numEquations, numVariables);
                 break;
             case 2:
+                System.out.println("\nGenerating basic random matrix with coefficients between -100 and 100...");
+                System.out.println("Warning: This may not have a unique solution!");
                 MatrixGenerator.generateBasicRandom(augmentedMatrix, numEquations, numVariables);
+                System.out.println("Basic random matrix generated successfully!");
                 break;
         }
 
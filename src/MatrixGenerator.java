@@ -1,38 +1,408 @@
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Matrix generator for linear systems
+ * Test systems are built around a planted solution x*, with b = A x*, so a solver can be checked against x*
+ * Rows are generated in blocks, each drawing from its own SplittableRandom split from the seed in a fixed
+ * order: a system depends only on the seed and its shape, whether it is filled serially, on a pool or streamed
  */
 public class MatrixGenerator {
-    private static final Random random = new Random();
     private static final int RANDOM_RANGE_MIN = -100;
     private static final int RANDOM_RANGE_MAX = 100;
-    private static final DisplayUtilities display = DisplayUtilities.getInstance();
+    // Rows per random stream; large enough to amortise a split, small enough to balance threads
+    private static final int BLOCK_ROWS = 64;
+    private static final double DEFAULT_CONDITION_NUMBER = 1e6;
 
     /**
-     * Generates a basic random matrix (may not have unique solution)
+     * Structure of a dense test matrix
      */
-    public static void generateBasicRandom(double[][] matrix, int numEquations, int numVariables) {
-        System.out.println("\nGenerating basic random matrix with coefficients between " + RANDOM_RANGE_MIN + " and " + RANDOM_RANGE_MAX + "...");
+    public enum Structure {
+        /** Non-zero integer coefficients between -100 and 100 */
+        RANDOM,
+        /** Strictly diagonally dominant by rows, so elimination needs no row swaps */
+        DIAGONALLY_DOMINANT,
+        /** Symmetric and strictly diagonally dominant with a positive diagonal, hence positive definite */
+        SYMMETRIC_POSITIVE_DEFINITE,
+        /** U * S * V with orthogonal U, V and singular values spread geometrically from 1 to 1 / conditionNumber */
+        CONDITIONED
+    }
 
-        System.out.println("Warning: This may not have a unique solution!");
+    private final long seed;
+    private double conditionNumber = DEFAULT_CONDITION_NUMBER;
+    private ForkJoinPool pool;
 
+    public MatrixGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a basic random matrix (may not have unique solution)
+     * Coefficients are non-zero integers between -100 and 100; constants may be zero
+     */
+    public static void generateBasicRandom(double[][] matrix, int numEquations, int numVariables) {
+        SplittableRandom random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
         for (int i = 0; i < numEquations; i++) {
-            // Generate random coefficients (excluding zero to avoid trivial cases)
             for (int j = 0; j < numVariables; j++) {
-                int coefficient;
-                do {
-                    coefficient = random.nextInt(RANDOM_RANGE_MAX - RANDOM_RANGE_MIN + 1) + RANDOM_RANGE_MIN;
-                } while (coefficient == 0); // Avoid zero coefficients for cleaner equations
+                matrix[i][j] = nonZeroCoefficient(random);
+            }
+            matrix[i][numVariables] = random.nextInt(RANDOM_RANGE_MIN, RANDOM_RANGE_MAX + 1);
+        }
+    }
+
+    /**
+     * Uniform over [-100, -1] and [1, 100] with a single draw; no rejection of zero
+     */
+    private static int nonZeroCoefficient(SplittableRandom random) {
+        int value = random.nextInt(RANDOM_RANGE_MAX - RANDOM_RANGE_MIN) + RANDOM_RANGE_MIN;
+        return value >= 0 ? value + 1 : value;
+    }
+
+    /**
+     * Condition number (2-norm) of CONDITIONED matrices; defaults to 1e6
+     */
+    public void setConditionNumber(double conditionNumber) {
+        if (!(conditionNumber >= 1)) {
+            throw new IllegalArgumentException("Condition number must be at least 1, got " + conditionNumber);
+        }
+        this.conditionNumber = conditionNumber;
+    }
+
+    /**
+     * Fills row blocks on the given pool; null (the default) generates on the calling thread
+     * The generated numbers are the same either way
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
 
-                matrix[i][j] = coefficient;
+    /**
+     * The planted solution x* shared by every n-unknown system of this generator, uniform in [-1, 1)
+     */
+    public double[] plantedSolution(int n) {
+        SplittableRandom random = new SplittableRandom(seed).split();
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 2 * random.nextDouble() - 1;
+        }
+        return x;
+    }
+
+    // ========== DENSE ==========
+
+    /**
+     * Builds an n x n dense system with the given structure
+     * The matrix is stored as [A | b] so that it can go straight to GaussianElimination
+     */
+    public GeneratedSystem<DenseMatrix> dense(Structure structure, int n) {
+        requirePositive(n);
+        RowSource source = rowSource(structure, n);
+        double[] x = plantedSolution(n);
+        int width = n + 1;
+        DenseMatrix augmented = new DenseMatrix(n, width);
+        double[] data = augmented.getData();
+        SplittableRandom[] randoms = blockRandoms(n);
+
+        RowRangeTask.run(pool, 0, randoms.length, 3L * BLOCK_ROWS * n, (from, to) -> {
+            for (int block = from; block < to; block++) {
+                SplittableRandom random = randoms[block];
+                for (int i = block * BLOCK_ROWS; i < Math.min(n, (block + 1) * BLOCK_ROWS); i++) {
+                    int start = i * width;
+                    source.fill(i, random, data, start);
+                    data[start + n] = dot(data, start, x, n);
+                }
             }
+        });
 
-            // Generate random constant term (can be zero)
-            int constantTerm = random.nextInt(RANDOM_RANGE_MAX - RANDOM_RANGE_MIN + 1) + RANDOM_RANGE_MIN;
-            matrix[i][numVariables] = constantTerm;
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = data[i * width + n];
         }
+        DenseMatrix coefficients = new DenseMatrix(data, n, n, width, 0);
+        return new GeneratedSystem<>(coefficients, augmented, b, x);
+    }
 
-        System.out.println("Basic random matrix generated successfully!");
+    /**
+     * Streams the rows [a_i0 ... a_i(n-1) | b_i] of the system dense(structure, n) would build, in order,
+     * without ever holding the matrix; a parallel stream generates row blocks concurrently
+     */
+    public Stream<double[]> rows(Structure structure, int n) {
+        requirePositive(n);
+        RowSource source = rowSource(structure, n);
+        double[] x = plantedSolution(n);
+        SplittableRandom[] randoms = blockRandoms(n);
+        return IntStream.range(0, randoms.length).boxed().flatMap(block -> {
+            SplittableRandom random = randoms[block];
+            return IntStream.range(block * BLOCK_ROWS, Math.min(n, (block + 1) * BLOCK_ROWS)).mapToObj(i -> {
+                double[] row = new double[n + 1];
+                source.fill(i, random, row, 0);
+                row[n] = dot(row, 0, x, n);
+                return row;
+            });
+        });
+    }
+
+    /**
+     * Writes the n coefficients of one row
+     */
+    private interface RowSource {
+        void fill(int row, SplittableRandom random, double[] target, int offset);
+    }
+
+    private RowSource rowSource(Structure structure, int n) {
+        switch (structure) {
+            case RANDOM:
+                return (row, random, target, offset) -> {
+                    for (int j = 0; j < n; j++) {
+                        target[offset + j] = nonZeroCoefficient(random);
+                    }
+                };
+            case DIAGONALLY_DOMINANT:
+                return (row, random, target, offset) -> {
+                    double offDiagonal = 0;
+                    for (int j = 0; j < n; j++) {
+                        double value = 2 * random.nextDouble() - 1;
+                        target[offset + j] = value;
+                        offDiagonal += Math.abs(value);
+                    }
+                    target[offset + row] = offDiagonal - Math.abs(target[offset + row]) + 1;
+                };
+            case SYMMETRIC_POSITIVE_DEFINITE:
+                return symmetricSource(n);
+            case CONDITIONED:
+                return conditionedSource(n);
+            default:
+                throw new IllegalArgumentException("Unknown structure " + structure);
+        }
+    }
+
+    /**
+     * Entry (i, j) = (j, i) comes from hashing the pair, so each row can be generated on its own
+     */
+    private RowSource symmetricSource(int n) {
+        long key = structureRandom().nextLong();
+        return (row, random, target, offset) -> {
+            double offDiagonal = 0;
+            for (int j = 0; j < n; j++) {
+                if (j == row) continue;
+                long pair = (long) Math.min(row, j) * n + Math.max(row, j);
+                double value = 2 * unitDouble(mix(key + pair * 0x9E3779B97F4A7C15L)) - 1;
+                target[offset + j] = value;
+                offDiagonal += Math.abs(value);
+            }
+            target[offset + row] = offDiagonal + 1;
+        };
+    }
+
+    /**
+     * A = (I - 2 u u') S (I - 2 v v') for unit vectors u, v and S = diag(s_0 ... s_(n-1))
+     * Expanding the product gives every entry in closed form:
+     * a_ij = s_i [i == j] - 2 s_i v_i v_j - 2 s_j u_i u_j + 4 c u_i v_j with c = sum_k u_k s_k v_k
+     */
+    private RowSource conditionedSource(int n) {
+        SplittableRandom random = structureRandom();
+        double[] u = randomUnitVector(n, random);
+        double[] v = randomUnitVector(n, random);
+        double[] s = new double[n];
+        double c = 0;
+        for (int k = 0; k < n; k++) {
+            s[k] = n == 1 ? 1 : Math.pow(conditionNumber, -(double) k / (n - 1));
+            c += u[k] * s[k] * v[k];
+        }
+        double cross = 4 * c;
+        return (row, unused, target, offset) -> {
+            double ui = u[row];
+            double si = s[row];
+            for (int j = 0; j < n; j++) {
+                target[offset + j] = -2 * si * v[row] * v[j] - 2 * s[j] * ui * u[j] + cross * ui * v[j];
+            }
+            target[offset + row] += si;
+        };
+    }
+
+    private static double[] randomUnitVector(int n, SplittableRandom random) {
+        double[] vector = new double[n];
+        double norm = 0;
+        for (int i = 0; i < n; i++) {
+            vector[i] = 2 * random.nextDouble() - 1;
+            norm += vector[i] * vector[i];
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < n; i++) {
+            vector[i] /= norm;
+        }
+        return vector;
+    }
+
+    // ========== BANDED AND SPARSE ==========
+
+    /**
+     * Builds a diagonally dominant band matrix with the given lower and upper bandwidths
+     */
+    public GeneratedSystem<BandedMatrix> banded(int n, int lower, int upper) {
+        requirePositive(n);
+        BandedMatrix matrix = new BandedMatrix(n, lower, upper);
+        double[] x = plantedSolution(n);
+        double[] b = new double[n];
+        SplittableRandom[] randoms = blockRandoms(n);
+
+        RowRangeTask.run(pool, 0, randoms.length, 3L * BLOCK_ROWS * (lower + upper + 1), (from, to) -> {
+            for (int block = from; block < to; block++) {
+                SplittableRandom random = randoms[block];
+                for (int i = block * BLOCK_ROWS; i < Math.min(n, (block + 1) * BLOCK_ROWS); i++) {
+                    double offDiagonal = 0;
+                    double sum = 0;
+                    for (int j = Math.max(0, i - lower); j <= Math.min(n - 1, i + upper); j++) {
+                        if (j == i) continue;
+                        double value = 2 * random.nextDouble() - 1;
+                        matrix.set(i, j, value);
+                        offDiagonal += Math.abs(value);
+                        sum += value * x[j];
+                    }
+                    matrix.set(i, i, offDiagonal + 1);
+                    b[i] = sum + (offDiagonal + 1) * x[i];
+                }
+            }
+        });
+        return new GeneratedSystem<>(matrix, null, b, x);
+    }
+
+    /**
+     * Builds a diagonally dominant sparse matrix where each off-diagonal entry is present with the given
+     * probability; the diagonal is always stored
+     * Column positions are drawn by geometric skips, so the cost is proportional to the nonzeros, not to n^2
+     */
+    public GeneratedSystem<SparseMatrix> sparse(int n, double density) {
+        requirePositive(n);
+        if (!(density >= 0 && density <= 1)) {
+            throw new IllegalArgumentException("Density must be between 0 and 1, got " + density);
+        }
+        double[] x = plantedSolution(n);
+        double[] b = new double[n];
+        SplittableRandom[] randoms = blockRandoms(n);
+        int[][] blockColumns = new int[randoms.length][];
+        double[][] blockValues = new double[randoms.length][];
+        int[] rowCounts = new int[n + 1];
+        // log(1 - density) turns a uniform draw into the gap to the next stored column
+        double logMiss = Math.log1p(-Math.min(density, 1 - 1e-16));
+
+        long entriesPerBlock = (long) Math.ceil(BLOCK_ROWS * (density * n + 1));
+        RowRangeTask.run(pool, 0, randoms.length, 3 * entriesPerBlock, (from, to) -> {
+            for (int block = from; block < to; block++) {
+                SplittableRandom random = randoms[block];
+                int capacity = (int) Math.min(Integer.MAX_VALUE - 8, entriesPerBlock + 16);
+                int[] columns = new int[capacity];
+                double[] values = new double[capacity];
+                int count = 0;
+                for (int i = block * BLOCK_ROWS; i < Math.min(n, (block + 1) * BLOCK_ROWS); i++) {
+                    int rowStart = count;
+                    int diagonal = -1;
+                    double offDiagonal = 0;
+                    double sum = 0;
+                    int j = density > 0 ? nextColumn(-1, random, logMiss) : n;
+                    while (j < n || diagonal < 0) {
+                        if (count + 1 >= columns.length) {
+                            columns = Arrays.copyOf(columns, 2 * columns.length);
+                            values = Arrays.copyOf(values, 2 * values.length);
+                        }
+                        if (diagonal < 0 && j >= i) {
+                            // Reserve the diagonal slot in column order; its value is set once the row is known
+                            diagonal = count;
+                            columns[count++] = i;
+                            if (j == i) {
+                                j = density > 0 ? nextColumn(j, random, logMiss) : n;
+                            }
+                            continue;
+                        }
+                        double value = 2 * random.nextDouble() - 1;
+                        columns[count] = j;
+                        values[count++] = value;
+                        offDiagonal += Math.abs(value);
+                        sum += value * x[j];
+                        j = nextColumn(j, random, logMiss);
+                    }
+                    values[diagonal] = offDiagonal + 1;
+                    b[i] = sum + (offDiagonal + 1) * x[i];
+                    rowCounts[i + 1] = count - rowStart;
+                }
+                blockColumns[block] = columns;
+                blockValues[block] = values;
+            }
+        });
+
+        for (int i = 0; i < n; i++) {
+            rowCounts[i + 1] += rowCounts[i];
+        }
+        int[] columnIndices = new int[rowCounts[n]];
+        double[] values = new double[rowCounts[n]];
+        for (int block = 0; block < randoms.length; block++) {
+            int start = rowCounts[block * BLOCK_ROWS];
+            int length = rowCounts[Math.min(n, (block + 1) * BLOCK_ROWS)] - start;
+            System.arraycopy(blockColumns[block], 0, columnIndices, start, length);
+            System.arraycopy(blockValues[block], 0, values, start, length);
+        }
+        return new GeneratedSystem<>(new SparseMatrix(n, n, rowCounts, columnIndices, values), null, b, x);
+    }
+
+    private static int nextColumn(int column, SplittableRandom random, double logMiss) {
+        if (logMiss == Double.NEGATIVE_INFINITY) {
+            return column + 1;
+        }
+        double gap = Math.floor(Math.log(1 - random.nextDouble()) / logMiss);
+        return gap >= Integer.MAX_VALUE - column - 1 ? Integer.MAX_VALUE : column + 1 + (int) gap;
+    }
+
+    // ========== HELPERS ==========
+
+    /**
+     * Streams are split from the seed in a fixed order: x*, structure-wide data such as symmetric keys or
+     * singular vectors, then one stream per block of BLOCK_ROWS rows
+     */
+    private SplittableRandom structureRandom() {
+        SplittableRandom root = new SplittableRandom(seed);
+        root.split();
+        return root.split();
+    }
+
+    private SplittableRandom[] blockRandoms(int n) {
+        SplittableRandom root = new SplittableRandom(seed);
+        root.split();
+        root.split();
+        SplittableRandom[] randoms = new SplittableRandom[(n + BLOCK_ROWS - 1) / BLOCK_ROWS];
+        for (int block = 0; block < randoms.length; block++) {
+            randoms[block] = root.split();
+        }
+        return randoms;
+    }
+
+    private static double dot(double[] row, int offset, double[] x, int n) {
+        double sum = 0;
+        for (int j = 0; j < n; j++) {
+            sum += row[offset + j] * x[j];
+        }
+        return sum;
+    }
+
+    /**
+     * 64-bit finaliser from SplittableRandom / MurmurHash3, a bijection that scrambles all bits
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double unitDouble(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+
+    private static void requirePositive(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("System size must be positive, got " + n);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,320 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * LU factorization computed in float and refined to double accuracy
+ * The O(n^3) factorization runs on float data: half the memory traffic and twice the SIMD lanes of double
+ * Each solve starts from the float solution and applies iterative refinement with residuals
+ * r = b - A * x computed in double against the original matrix, correcting x by the float-factor solve of r
+ * If refinement stalls (A too ill-conditioned for float, roughly condition number above 1e7) or the float
+ * factors are singular, the solve falls back to a double LUFactorization computed on first use
+ */
+public class MixedPrecisionLU {
+    // Float pivots below this are treated as zero; float resolves far smaller values, but refinement would not converge
+    private static final float PIVOT_TOLERANCE = 1e-10f;
+    private static final int MAX_ITERATIONS = 30;
+    private static final double UNIT_ROUNDOFF = Math.ulp(1.0) / 2;
+
+    private final DenseMatrix matrix;
+    private final int n;
+    private final int blockSize;
+    private final ForkJoinPool pool;
+    // Packed float factors in row-major order: U on and above the diagonal, unit-lower L below it
+    private final float[] lu;
+    // rowOrder[i] is the row of lu acting as row i of the factors
+    private final int[] rowOrder;
+    private final boolean singular;
+    private final double normInf;
+    private LUFactorization fallback;
+    private int lastIterations;
+    private boolean lastFellBack;
+
+    private MixedPrecisionLU(DenseMatrix matrix, int blockSize, ForkJoinPool pool) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        }
+        this.matrix = matrix;
+        this.n = matrix.getRows();
+        this.blockSize = blockSize;
+        this.pool = pool;
+        this.lu = new float[n * n];
+        this.rowOrder = new int[n];
+        double norm = 0;
+        double[] data = matrix.getData();
+        for (int i = 0; i < n; i++) {
+            rowOrder[i] = i;
+            int rowStart = matrix.rowStart(i);
+            double rowSum = 0;
+            for (int j = 0; j < n; j++) {
+                lu[i * n + j] = (float) data[rowStart + j];
+                rowSum += Math.abs(data[rowStart + j]);
+            }
+            norm = Math.max(norm, rowSum);
+        }
+        this.normInf = norm;
+        this.singular = !decompose();
+    }
+
+    /**
+     * Factors a square coefficient matrix in single precision
+     * The matrix is not copied: residuals are computed against it, so it must not change while this is in use
+     */
+    public static MixedPrecisionLU factor(DenseMatrix coefficients) {
+        return factor(coefficients, LUFactorization.DEFAULT_BLOCK_SIZE, null);
+    }
+
+    public static MixedPrecisionLU factor(double[][] coefficients) {
+        return factor(DenseMatrix.fromArray(coefficients));
+    }
+
+    /**
+     * Factors with panels of the given width, splitting row updates across the pool when there is one
+     */
+    public static MixedPrecisionLU factor(DenseMatrix coefficients, int blockSize, ForkJoinPool pool) {
+        if (coefficients.getRows() != coefficients.getCols()) {
+            throw new IllegalArgumentException("LU factorization needs a square matrix, got "
+                    + coefficients.getRows() + "x" + coefficients.getCols());
+        }
+        return new MixedPrecisionLU(coefficients, blockSize, pool);
+    }
+
+    // ========== FLOAT FACTORIZATION ==========
+
+    /**
+     * Blocked right-looking elimination in float, the same scheme as LUFactorization
+     */
+    private boolean decompose() {
+        for (int k0 = 0; k0 < n; k0 += blockSize) {
+            int k1 = Math.min(k0 + blockSize, n);
+            if (!factorPanel(k0, k1)) {
+                return false;
+            }
+            if (k1 < n) {
+                solveUpperPanel(k0, k1);
+                int panelStart = k0;
+                int panelEnd = k1;
+                RowRangeTask.run(pool, k1, n, 2L * (k1 - k0) * (n - k1),
+                        (from, to) -> updateTrailing(panelStart, panelEnd, from, to));
+            }
+        }
+        return true;
+    }
+
+    private boolean factorPanel(int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int pivotRow = k;
+            float maxVal = Math.abs(lu[rowStart(k) + k]);
+            for (int i = k + 1; i < n; i++) {
+                float value = Math.abs(lu[rowStart(i) + k]);
+                if (value > maxVal) {
+                    maxVal = value;
+                    pivotRow = i;
+                }
+            }
+            if (maxVal < PIVOT_TOLERANCE) {
+                return false;
+            }
+            int temp = rowOrder[k];
+            rowOrder[k] = rowOrder[pivotRow];
+            rowOrder[pivotRow] = temp;
+
+            int column = k;
+            int pivotStart = rowStart(k);
+            float pivotValue = lu[pivotStart + k];
+            RowRangeTask.run(pool, k + 1, n, 2L * (k1 - k), (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int rowStart = rowStart(i);
+                    float factor = lu[rowStart + column] / pivotValue;
+                    lu[rowStart + column] = factor;
+                    if (factor == 0) continue;
+                    for (int j = column + 1; j < k1; j++) {
+                        lu[rowStart + j] -= factor * lu[pivotStart + j];
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    private void solveUpperPanel(int k0, int k1) {
+        for (int i = k0 + 1; i < k1; i++) {
+            int rowStart = rowStart(i);
+            for (int p = k0; p < i; p++) {
+                float factor = lu[rowStart + p];
+                if (factor == 0) continue;
+                int sourceStart = rowStart(p);
+                for (int j = k1; j < n; j++) {
+                    lu[rowStart + j] -= factor * lu[sourceStart + j];
+                }
+            }
+        }
+    }
+
+    private void updateTrailing(int k0, int k1, int rowFrom, int rowTo) {
+        // Float tiles hold twice the columns of double tiles in the same cache space
+        int tileWidth = 2 * Math.max(blockSize, 32);
+        for (int j0 = k1; j0 < n; j0 += tileWidth) {
+            int j1 = Math.min(j0 + tileWidth, n);
+            for (int i = rowFrom; i < rowTo; i++) {
+                int rowStart = rowStart(i);
+                int p = k0;
+                // Four rows of U12 per pass: the target row is loaded and stored once per four updates
+                for (; p + 4 <= k1; p += 4) {
+                    float f0 = lu[rowStart + p];
+                    float f1 = lu[rowStart + p + 1];
+                    float f2 = lu[rowStart + p + 2];
+                    float f3 = lu[rowStart + p + 3];
+                    int s0 = rowStart(p);
+                    int s1 = rowStart(p + 1);
+                    int s2 = rowStart(p + 2);
+                    int s3 = rowStart(p + 3);
+                    for (int j = j0; j < j1; j++) {
+                        lu[rowStart + j] -= f0 * lu[s0 + j] + f1 * lu[s1 + j] + f2 * lu[s2 + j] + f3 * lu[s3 + j];
+                    }
+                }
+                for (; p < k1; p++) {
+                    float factor = lu[rowStart + p];
+                    if (factor == 0) continue;
+                    int sourceStart = rowStart(p);
+                    for (int j = j0; j < j1; j++) {
+                        lu[rowStart + j] -= factor * lu[sourceStart + j];
+                    }
+                }
+            }
+        }
+    }
+
+    private int rowStart(int row) {
+        return rowOrder[row] * n;
+    }
+
+    // ========== SOLVING ==========
+
+    /**
+     * Solves A * x = b to double accuracy
+     * Throws IllegalStateException if A is singular in double precision too
+     */
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        lastIterations = 0;
+        lastFellBack = false;
+        if (!singular) {
+            double[] x = refine(b);
+            if (x != null) {
+                return x;
+            }
+        }
+        lastFellBack = true;
+        return doubleFactorization().solve(b);
+    }
+
+    /**
+     * Iterative refinement; returns null if it does not reach double accuracy
+     * Stops once ||r|| <= ||x|| * ||A|| * eps * sqrt(n), the criterion of LAPACK's dsgesv
+     */
+    private double[] refine(double[] b) {
+        double[] x = floatSolve(b);
+        double[] r = new double[n];
+        double tolerance = normInf * UNIT_ROUNDOFF * Math.sqrt(n);
+        double previousResidual = Double.POSITIVE_INFINITY;
+        double[] data = matrix.getData();
+        for (int iteration = 0; iteration <= MAX_ITERATIONS; iteration++) {
+            double residualNorm = 0;
+            double solutionNorm = 0;
+            for (int i = 0; i < n; i++) {
+                int rowStart = matrix.rowStart(i);
+                double sum = b[i];
+                for (int j = 0; j < n; j++) {
+                    sum -= data[rowStart + j] * x[j];
+                }
+                r[i] = sum;
+                residualNorm = Math.max(residualNorm, Math.abs(sum));
+                solutionNorm = Math.max(solutionNorm, Math.abs(x[i]));
+            }
+            if (!Double.isFinite(residualNorm)) {
+                return null;
+            }
+            if (residualNorm <= tolerance * solutionNorm) {
+                lastIterations = iteration;
+                return x;
+            }
+            // Refinement contracts by about cond(A) * float epsilon per step; no progress means it never will
+            if (iteration == MAX_ITERATIONS || residualNorm > 0.5 * previousResidual) {
+                lastIterations = iteration;
+                return null;
+            }
+            previousResidual = residualNorm;
+            double[] correction = floatSolve(r);
+            for (int i = 0; i < n; i++) {
+                x[i] += correction[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forward and back substitution with the float factors, accumulating in double
+     */
+    private double[] floatSolve(double[] b) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            int rowStart = rowStart(i);
+            double sum = b[rowOrder[i]];
+            for (int j = 0; j < i; j++) {
+                sum -= lu[rowStart + j] * x[j];
+            }
+            x[i] = sum;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int rowStart = rowStart(i);
+            double sum = x[i];
+            for (int j = i + 1; j < n; j++) {
+                sum -= lu[rowStart + j] * x[j];
+            }
+            x[i] = sum / lu[rowStart + i];
+        }
+        return x;
+    }
+
+    private LUFactorization doubleFactorization() {
+        if (fallback == null) {
+            fallback = LUFactorization.factor(matrix, blockSize, pool);
+        }
+        return fallback;
+    }
+
+    // ========== ACCESSORS ==========
+
+    /**
+     * True if the matrix is singular in double precision; may compute the double factors to find out
+     */
+    public boolean isSingular() {
+        return singular && doubleFactorization().isSingular();
+    }
+
+    /**
+     * True if the float factors are singular, so every solve falls back to double
+     */
+    public boolean isFloatSingular() {
+        return singular;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Refinement steps taken by the last solve
+     */
+    public int getLastIterationCount() {
+        return lastIterations;
+    }
+
+    /**
+     * True if the last solve had to use the double factorization
+     */
+    public boolean lastSolveFellBack() {
+        return lastFellBack;
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formats numbers the way the solver displays them ("0.##": at most 2 decimals, no trailing zeros)
+ * Digits are written into a reusable char buffer, so formatting a value does not allocate
+ * Not thread-safe: use one instance per thread
+ */
+public class NumberFormatter {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // Above this magnitude value * 100 no longer has a reliable fractional part in a double
+    private static final double FAST_PATH_LIMIT = 1e13;
+
+    private char[] buffer = new char[32];
+
+    /**
+     * Formats the number into the internal buffer and returns the number of chars written
+     */
+    public int format(double number) {
+        if (Double.isNaN(number)) {
+            return copyIntoBuffer("NaN");
+        }
+        if (Double.isInfinite(number)) {
+            return copyIntoBuffer(number > 0 ? "Infinity" : "-Infinity");
+        }
+
+        long rounded = Math.round(number);
+        if (Math.abs(number - rounded) < EPSILON) {
+            return writeLong(rounded, 0);
+        }
+
+        double magnitude = Math.abs(number);
+        if (magnitude >= FAST_PATH_LIMIT) {
+            return formatSlow(number);
+        }
+
+        // Values whose hundredths sit (almost) exactly on a rounding boundary are rounded from their
+        // shortest decimal representation, matching String.format("%.2f")
+        double scaled = magnitude * 100;
+        double fraction = scaled - Math.floor(scaled);
+        if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            return formatSlow(number);
+        }
+
+        long hundredths = Math.round(scaled);
+        int length = 0;
+        if (number < 0) {
+            buffer[length++] = '-';
+        }
+        length = writeLong(hundredths / 100, length);
+        return writeDecimals((int) (hundredths % 100), length);
+    }
+
+    /**
+     * Returns the chars written by the last call to format()
+     */
+    public char[] getBuffer() {
+        return buffer;
+    }
+
+    public void appendTo(Appendable out, double number) throws IOException {
+        int length = format(number);
+        for (int i = 0; i < length; i++) {
+            out.append(buffer[i]);
+        }
+    }
+
+    /**
+     * Appends the number right-aligned in a field of the given width, like String.format("%10s", ...)
+     */
+    public void appendPadded(Appendable out, double number, int width) throws IOException {
+        int length = format(number);
+        for (int i = length; i < width; i++) {
+            out.append(' ');
+        }
+        for (int i = 0; i < length; i++) {
+            out.append(buffer[i]);
+        }
+    }
+
+    public String toString(double number) {
+        return new String(buffer, 0, format(number));
+    }
+
+    private int writeLong(long value, int start) {
+        if (value == Long.MIN_VALUE) {
+            return copyIntoBuffer(Long.toString(value));
+        }
+        int length = start;
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int digitsStart = length;
+        do {
+            buffer[length++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        reverse(digitsStart, length - 1);
+        return length;
+    }
+
+    private int writeDecimals(int hundredths, int length) {
+        if (hundredths == 0) {
+            return length;
+        }
+        buffer[length++] = '.';
+        buffer[length++] = (char) ('0' + hundredths / 10);
+        if (hundredths % 10 != 0) {
+            buffer[length++] = (char) ('0' + hundredths % 10);
+        }
+        return length;
+    }
+
+    private int formatSlow(double number) {
+        BigDecimal hundredths = BigDecimal.valueOf(Math.abs(number)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal[] parts = hundredths.divideAndRemainder(BigDecimal.ONE);
+        String integerPart = parts[0].toBigInteger().toString();
+        ensureCapacity(integerPart.length() + 4);
+        int length = 0;
+        if (number < 0) {
+            buffer[length++] = '-';
+        }
+        integerPart.getChars(0, integerPart.length(), buffer, length);
+        length += integerPart.length();
+        return writeDecimals(parts[1].movePointRight(2).intValue(), length);
+    }
+
+    private int copyIntoBuffer(String text) {
+        ensureCapacity(text.length());
+        text.getChars(0, text.length(), buffer, 0);
+        return text.length();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = new char[Math.max(capacity, buffer.length * 2)];
+        }
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            char temp = buffer[from];
+            buffer[from++] = buffer[to];
+            buffer[to--] = temp;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * LU factorization with partial pivoting of a matrix that lives in a TiledMatrixFile, P * A = L * U
+ * Right-looking by tile columns: the panel strip k is factored in memory, then every strip to its
+ * right is read, swapped, updated and written back in place, one after the other
+ * Only two strips (2 * n * tileSize doubles) are on the heap at any time, and each strip is a
+ * contiguous run of the file, so I/O is sequential; the next strip is paged in while the current
+ * one is updated
+ * Row swaps are not applied to strips left of the panel, which saves rewriting them; solve() replays the
+ * swaps panel by panel as it applies L, like LAPACK's gbtrf (getrf instead swaps the left columns too)
+ */
+public class OutOfCoreLU {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    private final TiledMatrixFile file;
+    private final int tileSize;
+    private final int tileCount;
+    // Padded matrix size and doubles per strip, both checked to fit in a Java array
+    private final int paddedSize;
+    private final int stripLength;
+    private final ForkJoinPool pool;
+    // pivot[g] is the row swapped with row g when column g was factored (padded indices)
+    private final int[] pivot;
+    private final boolean singular;
+    private ExecutorService prefetcher;
+    private Future<?> pendingPrefetch;
+
+    private OutOfCoreLU(TiledMatrixFile file, ForkJoinPool pool) throws IOException {
+        this.file = file;
+        this.tileSize = file.getTileSize();
+        this.tileCount = file.getTileCount();
+        this.pool = pool;
+        this.paddedSize = arrayLength((long) tileCount * tileSize, "Padded matrix size");
+        this.stripLength = arrayLength((long) tileCount * tileSize * tileSize, "A strip of tiles");
+        this.pivot = new int[paddedSize];
+        startPrefetcher();
+        try {
+            this.singular = !decompose();
+            file.force();
+        } finally {
+            stopPrefetcher();
+        }
+    }
+
+    /**
+     * Factors the matrix in place: afterwards the file holds L (below the diagonal) and U
+     */
+    public static OutOfCoreLU factor(TiledMatrixFile file) throws IOException {
+        return new OutOfCoreLU(file, null);
+    }
+
+    /**
+     * Factors in place, splitting the rows of each strip update across the pool
+     */
+    public static OutOfCoreLU factor(TiledMatrixFile file, ForkJoinPool pool) throws IOException {
+        return new OutOfCoreLU(file, pool);
+    }
+
+    /**
+     * Narrows an array length computed in long, rejecting matrices whose strips cannot be held in one array
+     */
+    private static int arrayLength(long length, String what) {
+        try {
+            return Math.toIntExact(length);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(what + " needs " + length
+                    + " entries, more than a Java array can hold; use a smaller tile size", e);
+        }
+    }
+
+    private boolean decompose() throws IOException {
+        double[] panel = new double[stripLength];
+        double[] strip = new double[stripLength];
+        for (int k = 0; k < tileCount; k++) {
+            int rows = (tileCount - k) * tileSize;
+            file.readStrip(k, k, tileCount, panel);
+            if (k + 1 < tileCount) {
+                prefetch(k + 1, k, tileCount);
+            }
+            if (!factorPanel(panel, rows, k)) {
+                return false;
+            }
+            file.writeStrip(k, k, tileCount, panel);
+
+            for (int tileCol = k + 1; tileCol < tileCount; tileCol++) {
+                file.readStrip(tileCol, k, tileCount, strip);
+                if (tileCol + 1 < tileCount) {
+                    prefetch(tileCol + 1, k, tileCount);
+                }
+                updateStrip(panel, strip, rows, k);
+                file.writeStrip(tileCol, k, tileCount, strip);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Unblocked elimination of the rows x tileSize panel strip starting at tile row k
+     */
+    private boolean factorPanel(double[] panel, int rows, int k) {
+        int t = tileSize;
+        for (int c = 0; c < t; c++) {
+            int pivotRow = c;
+            double maxVal = Math.abs(panel[c * t + c]);
+            for (int r = c + 1; r < rows; r++) {
+                double value = Math.abs(panel[r * t + c]);
+                if (value > maxVal) {
+                    maxVal = value;
+                    pivotRow = r;
+                }
+            }
+            if (maxVal < EPSILON) {
+                return false;
+            }
+            pivot[k * t + c] = k * t + pivotRow;
+            swapRows(panel, c, pivotRow);
+
+            double pivotValue = panel[c * t + c];
+            for (int r = c + 1; r < rows; r++) {
+                double factor = panel[r * t + c] / pivotValue;
+                panel[r * t + c] = factor;
+                if (factor == 0) continue;
+                for (int j = c + 1; j < t; j++) {
+                    panel[r * t + j] -= factor * panel[c * t + j];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies the panel's swaps to a strip, solves for its U block, then updates the rows below
+     */
+    private void updateStrip(double[] panel, double[] strip, int rows, int k) {
+        int t = tileSize;
+        for (int c = 0; c < t; c++) {
+            swapRows(strip, c, pivot[k * t + c] - k * t);
+        }
+
+        // U12 = L11^-1 * A12 with the unit-lower top tile of the panel
+        for (int i = 1; i < t; i++) {
+            for (int c = 0; c < i; c++) {
+                double factor = panel[i * t + c];
+                if (factor == 0) continue;
+                for (int j = 0; j < t; j++) {
+                    strip[i * t + j] -= factor * strip[c * t + j];
+                }
+            }
+        }
+
+        // A22 -= L21 * U12
+        RowRangeTask.run(pool, t, rows, 2L * t * t, (from, to) -> {
+            for (int r = from; r < to; r++) {
+                for (int c = 0; c < t; c++) {
+                    double factor = panel[r * t + c];
+                    if (factor == 0) continue;
+                    for (int j = 0; j < t; j++) {
+                        strip[r * t + j] -= factor * strip[c * t + j];
+                    }
+                }
+            }
+        });
+    }
+
+    private void swapRows(double[] strip, int row1, int row2) {
+        if (row1 == row2) {
+            return;
+        }
+        int start1 = row1 * tileSize;
+        int start2 = row2 * tileSize;
+        for (int j = 0; j < tileSize; j++) {
+            double temp = strip[start1 + j];
+            strip[start1 + j] = strip[start2 + j];
+            strip[start2 + j] = temp;
+        }
+    }
+
+    /**
+     * Returns true if a pivot smaller than EPSILON was met; the file then holds a partial factorization
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public int size() {
+        return file.size();
+    }
+
+    /**
+     * Solves A * x = b by streaming the factors from the file twice (L forwards, U backwards)
+     */
+    public double[] solve(double[] b) throws IOException {
+        int n = file.size();
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        if (singular) {
+            throw new IllegalStateException("Matrix is singular; the system has no unique solution");
+        }
+        int t = tileSize;
+        double[] x = new double[paddedSize];
+        System.arraycopy(b, 0, x, 0, n);
+        double[] strip = new double[stripLength];
+
+        startPrefetcher();
+        try {
+            // Forward substitution: each panel's swaps, then its unit-lower columns
+            for (int k = 0; k < tileCount; k++) {
+                int rows = (tileCount - k) * t;
+                file.readStrip(k, k, tileCount, strip);
+                if (k + 1 < tileCount) {
+                    prefetch(k + 1, k + 1, tileCount);
+                }
+                for (int c = 0; c < t; c++) {
+                    int g = k * t + c;
+                    double temp = x[g];
+                    x[g] = x[pivot[g]];
+                    x[pivot[g]] = temp;
+                }
+                for (int c = 0; c < t; c++) {
+                    double xc = x[k * t + c];
+                    if (xc == 0) continue;
+                    for (int r = c + 1; r < rows; r++) {
+                        x[k * t + r] -= strip[r * t + c] * xc;
+                    }
+                }
+            }
+
+            // Back substitution with U, one column of tiles at a time from the right
+            for (int tileCol = tileCount - 1; tileCol >= 0; tileCol--) {
+                file.readStrip(tileCol, 0, tileCol + 1, strip);
+                if (tileCol > 0) {
+                    prefetch(tileCol - 1, 0, tileCol);
+                }
+                for (int c = t - 1; c >= 0; c--) {
+                    int g = tileCol * t + c;
+                    x[g] /= strip[g * t + c];
+                    double xg = x[g];
+                    if (xg == 0) continue;
+                    for (int r = 0; r < g; r++) {
+                        x[r] -= strip[r * t + c] * xg;
+                    }
+                }
+            }
+        } finally {
+            stopPrefetcher();
+        }
+
+        double[] result = new double[n];
+        System.arraycopy(x, 0, result, 0, n);
+        return result;
+    }
+
+    // ========== PREFETCHING ==========
+
+    private void startPrefetcher() {
+        prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tile-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Pages in the next strip on the background thread; at most one request is in flight
+     */
+    private void prefetch(int tileCol, int fromRow, int toRow) throws IOException {
+        awaitPrefetch();
+        pendingPrefetch = prefetcher.submit(() -> {
+            file.prefetchStrip(tileCol, fromRow, toRow);
+            return null;
+        });
+    }
+
+    private void awaitPrefetch() throws IOException {
+        if (pendingPrefetch == null) {
+            return;
+        }
+        try {
+            pendingPrefetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while prefetching tiles", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Prefetching tiles failed", e.getCause());
+        } finally {
+            pendingPrefetch = null;
+        }
+    }
+
+    private void stopPrefetcher() throws IOException {
+        try {
+            awaitPrefetch();
+        } finally {
+            prefetcher.shutdown();
+        }
+    }
+}
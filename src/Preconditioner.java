@@ -0,0 +1,12 @@
+/**
+ * Approximate inverse M^-1 of a matrix, applied to speed up Krylov convergence
+ */
+public interface Preconditioner {
+    /** Leaves vectors unchanged */
+    Preconditioner NONE = (r, z) -> System.arraycopy(r, 0, z, 0, r.length);
+
+    /**
+     * Computes z = M^-1 * r; z is overwritten and never aliases r
+     */
+    void apply(double[] r, double[] z);
+}
@@ -0,0 +1,407 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Householder QR factorization A = Q * R of an m x n matrix, for least-squares solutions when m > n
+ * Q is never formed: the Householder vectors are kept below the diagonal of R, with their scalars in tau
+ * The factorization is blocked: a panel of columns is reduced by single reflectors, which are then
+ * combined into the compact WY form I - Y * T * Y' and applied to the trailing columns at once, so the
+ * bulk of the work is matrix-matrix products that stream each row once per panel
+ * Given a ForkJoinPool, the trailing update is split across threads by columns and then by rows; every
+ * entry is still computed by the same arithmetic, so results do not depend on the number of threads
+ */
+public class QRFactorization {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    /**
+     * Default panel width: wide enough for W = Y' * C to reuse each row of C, narrow enough that the
+     * reflector-by-reflector panel work (which grows with the width) stays small
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 16;
+
+    // Columns per task when Y' * C is split across threads, so each task still reads long row segments
+    private static final int MIN_TASK_COLUMNS = 32;
+
+    private static final RowKernel KERNEL = RowKernels.get();
+
+    private final DenseMatrix qr;
+    private final double[] data;
+    private final int rows;
+    private final int cols;
+    private final double[] tau;
+    private final int blockSize;
+    private final ForkJoinPool pool;
+    private final boolean rankDeficient;
+
+    private QRFactorization(DenseMatrix qr, int blockSize, ForkJoinPool pool) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        }
+        this.qr = qr;
+        this.data = qr.getData();
+        this.rows = qr.getRows();
+        this.cols = qr.getCols();
+        this.tau = new double[Math.min(rows, cols)];
+        this.blockSize = blockSize;
+        this.pool = pool;
+        decompose();
+        this.rankDeficient = detectRankDeficiency();
+    }
+
+    /**
+     * Factors a coefficient matrix (without the constant column)
+     */
+    public static QRFactorization factor(double[][] coefficients) {
+        return new QRFactorization(DenseMatrix.fromArray(coefficients), DEFAULT_BLOCK_SIZE, null);
+    }
+
+    /**
+     * Factors a copy of a coefficient matrix
+     */
+    public static QRFactorization factor(DenseMatrix coefficients) {
+        return factor(coefficients, DEFAULT_BLOCK_SIZE, null);
+    }
+
+    /**
+     * Factors a copy using panels of the given width, splitting the trailing updates across the pool
+     * A block size of 1 applies one reflector at a time
+     */
+    public static QRFactorization factor(DenseMatrix coefficients, int blockSize, ForkJoinPool pool) {
+        return new QRFactorization(coefficients.copy(), blockSize, pool);
+    }
+
+    /**
+     * Factors the matrix in its own storage, which then holds R and the Householder vectors
+     */
+    static QRFactorization factorInPlace(DenseMatrix matrix, int blockSize, ForkJoinPool pool) {
+        return new QRFactorization(matrix, blockSize, pool);
+    }
+
+    // ========== FACTORIZATION ==========
+
+    private void decompose() {
+        int steps = tau.length;
+        for (int k0 = 0; k0 < steps; k0 += blockSize) {
+            int k1 = Math.min(k0 + blockSize, steps);
+            double[] t = factorPanel(k0, k1);
+            if (k1 < cols) {
+                applyBlockReflector(k0, k1, t);
+            }
+        }
+    }
+
+    /**
+     * Reduces columns k0 ... k1 - 1 one reflector at a time, applying each only within the panel
+     * The panel is copied to column-major order first, so every reflector works on contiguous columns
+     * Returns the triangular factor T of the panel's block reflector
+     */
+    private double[] factorPanel(int k0, int k1) {
+        int nb = k1 - k0;
+        int height = rows - k0;
+        double[] panel = new double[nb * height];
+        for (int i = 0; i < height; i++) {
+            int rowStart = qr.rowStart(k0 + i) + k0;
+            for (int p = 0; p < nb; p++) {
+                panel[p * height + i] = data[rowStart + p];
+            }
+        }
+        for (int p = 0; p < nb; p++) {
+            int column = p * height;
+            int below = height - p - 1;
+            double sumSquares = KERNEL.dot(panel, column + p + 1, panel, column + p + 1, below);
+            if (sumSquares == 0) {
+                tau[k0 + p] = 0;
+                continue;
+            }
+            double alpha = panel[column + p];
+            // beta takes the sign opposite to alpha so that alpha - beta does not cancel
+            double beta = -Math.copySign(Math.sqrt(alpha * alpha + sumSquares), alpha);
+            double scale = 1.0 / (alpha - beta);
+            double factor = (beta - alpha) / beta;
+            tau[k0 + p] = factor;
+            for (int i = column + p + 1; i < column + height; i++) {
+                panel[i] *= scale;
+            }
+            panel[column + p] = beta;
+
+            // H = I - tau * v * v' with v = (1, panel below the diagonal) applied to the later panel columns
+            for (int q = p + 1; q < nb; q++) {
+                int other = q * height;
+                double w = factor * (panel[other + p] + KERNEL.dot(panel, column + p + 1, panel, other + p + 1, below));
+                panel[other + p] -= w;
+                for (int i = p + 1; i < height; i++) {
+                    panel[other + i] -= w * panel[column + i];
+                }
+            }
+        }
+        for (int i = 0; i < height; i++) {
+            int rowStart = qr.rowStart(k0 + i) + k0;
+            for (int p = 0; p < nb; p++) {
+                data[rowStart + p] = panel[p * height + i];
+            }
+        }
+        return k1 < cols ? triangularFactor(k0, panel, nb, height) : null;
+    }
+
+    /**
+     * Upper-triangular T with H_k0 * ... * H_(k1 - 1) = I - Y * T * Y', built column by column from
+     * T_j = [[T, -tau_j * T * Y' * v_j], [0, tau_j]]; Y' * v_j comes from the column-major panel, where
+     * column p of Y is 1 at row p followed by the stored vector
+     */
+    private double[] triangularFactor(int k0, double[] panel, int nb, int height) {
+        double[] z = new double[nb];
+        double[] t = new double[nb * nb];
+        for (int j = 0; j < nb; j++) {
+            double tj = tau[k0 + j];
+            t[j * nb + j] = tj;
+            if (tj == 0) continue;
+            int column = j * height;
+            for (int p = 0; p < j; p++) {
+                int other = p * height;
+                z[p] = panel[other + j] + KERNEL.dot(panel, other + j + 1, panel, column + j + 1, height - j - 1);
+            }
+            for (int p = 0; p < j; p++) {
+                double sum = 0;
+                for (int q = p; q < j; q++) {
+                    sum += t[p * nb + q] * z[q];
+                }
+                t[p * nb + j] = -tj * sum;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * C = (I - Y * T' * Y') * C for the trailing columns: W = Y' * C, W = T' * W, C -= Y * W
+     */
+    private void applyBlockReflector(int k0, int k1, double[] t) {
+        int nb = k1 - k0;
+        int width = cols - k1;
+        double[] w = new double[nb * width];
+        int chunks = (width + MIN_TASK_COLUMNS - 1) / MIN_TASK_COLUMNS;
+        RowRangeTask.run(pool, 0, chunks, 2L * nb * MIN_TASK_COLUMNS * (rows - k0),
+                (from, to) -> multiplyTransposed(k0, k1, k1 + from * MIN_TASK_COLUMNS,
+                        Math.min(cols, k1 + to * MIN_TASK_COLUMNS), w));
+
+        // T' is lower triangular, so going up the rows of W only reads rows not yet overwritten
+        for (int p = nb - 1; p >= 0; p--) {
+            int target = p * width;
+            double diagonal = t[p * nb + p];
+            for (int c = 0; c < width; c++) {
+                w[target + c] *= diagonal;
+            }
+            for (int q = 0; q < p; q++) {
+                double factor = t[q * nb + p];
+                if (factor == 0) continue;
+                int source = q * width;
+                for (int c = 0; c < width; c++) {
+                    w[target + c] += factor * w[source + c];
+                }
+            }
+        }
+
+        RowRangeTask.run(pool, k0, rows, 2L * nb * width,
+                (from, to) -> subtractProduct(k0, k1, from, to, w));
+    }
+
+    /**
+     * W[:, colFrom - k1 ... colTo - k1) = Y' * C for the given trailing columns, reading every row once
+     * Four rows per pass: each row of W is loaded and stored once per four rows of C
+     */
+    private void multiplyTransposed(int k0, int k1, int colFrom, int colTo, double[] w) {
+        int nb = k1 - k0;
+        int width = cols - k1;
+        double[] y = new double[4 * nb];
+        int i = k0;
+        // The first rows of Y are mostly the zeros above its unit diagonal
+        for (; i < Math.min(k1, rows); i++) {
+            accumulateRow(i, k0, k1, colFrom, colTo, w, y);
+        }
+        for (; i + 4 <= rows; i += 4) {
+            for (int r = 0; r < 4; r++) {
+                System.arraycopy(data, qr.rowStart(i + r) + k0, y, r * nb, nb);
+            }
+            int s0 = qr.rowStart(i);
+            int s1 = qr.rowStart(i + 1);
+            int s2 = qr.rowStart(i + 2);
+            int s3 = qr.rowStart(i + 3);
+            for (int p = 0; p < nb; p++) {
+                double y0 = y[p];
+                double y1 = y[nb + p];
+                double y2 = y[2 * nb + p];
+                double y3 = y[3 * nb + p];
+                int target = p * width - k1;
+                for (int c = colFrom; c < colTo; c++) {
+                    w[target + c] += y0 * data[s0 + c] + y1 * data[s1 + c] + y2 * data[s2 + c] + y3 * data[s3 + c];
+                }
+            }
+        }
+        for (; i < rows; i++) {
+            accumulateRow(i, k0, k1, colFrom, colTo, w, y);
+        }
+    }
+
+    private void accumulateRow(int i, int k0, int k1, int colFrom, int colTo, double[] w, double[] y) {
+        int width = cols - k1;
+        loadReflectorRow(i, k0, k1, y);
+        int rowStart = qr.rowStart(i);
+        for (int p = 0; p < k1 - k0; p++) {
+            double yp = y[p];
+            if (yp == 0) continue;
+            int target = p * width - k1;
+            for (int c = colFrom; c < colTo; c++) {
+                w[target + c] += yp * data[rowStart + c];
+            }
+        }
+    }
+
+    /**
+     * C[i] -= Y[i] * W for rows [rowFrom, rowTo), four reflectors per pass over the row
+     */
+    private void subtractProduct(int k0, int k1, int rowFrom, int rowTo, double[] w) {
+        int nb = k1 - k0;
+        int width = cols - k1;
+        double[] y = new double[nb];
+        for (int i = rowFrom; i < rowTo; i++) {
+            loadReflectorRow(i, k0, k1, y);
+            int target = qr.rowStart(i) + k1;
+            int p = 0;
+            for (; p + 4 <= nb; p += 4) {
+                double y0 = y[p];
+                double y1 = y[p + 1];
+                double y2 = y[p + 2];
+                double y3 = y[p + 3];
+                int s0 = p * width;
+                int s1 = s0 + width;
+                int s2 = s1 + width;
+                int s3 = s2 + width;
+                for (int c = 0; c < width; c++) {
+                    data[target + c] -= y0 * w[s0 + c] + y1 * w[s1 + c] + y2 * w[s2 + c] + y3 * w[s3 + c];
+                }
+            }
+            for (; p < nb; p++) {
+                double yp = y[p];
+                if (yp == 0) continue;
+                int source = p * width;
+                for (int c = 0; c < width; c++) {
+                    data[target + c] -= yp * w[source + c];
+                }
+            }
+        }
+    }
+
+    /**
+     * Row i of Y for the panel: the stored vector entries below the diagonal, the implicit 1 on it, 0 above
+     */
+    private void loadReflectorRow(int i, int k0, int k1, double[] y) {
+        int rowStart = qr.rowStart(i);
+        for (int p = 0; p < k1 - k0; p++) {
+            int col = k0 + p;
+            y[p] = i > col ? data[rowStart + col] : i == col ? 1 : 0;
+        }
+    }
+
+    /**
+     * Columns are dependent when some diagonal entry of R is negligible next to the largest one
+     */
+    private boolean detectRankDeficiency() {
+        if (rows < cols) {
+            return true;
+        }
+        double largest = 0;
+        for (int j = 0; j < cols; j++) {
+            largest = Math.max(largest, Math.abs(data[qr.rowStart(j) + j]));
+        }
+        for (int j = 0; j < cols; j++) {
+            if (!(Math.abs(data[qr.rowStart(j) + j]) > EPSILON * largest)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========== SOLVING ==========
+
+    /**
+     * Returns the x minimizing ||A * x - b||, which solves A * x = b exactly when the system is consistent
+     * Throws IllegalStateException if the columns of A are linearly dependent
+     */
+    public double[] solve(double[] b) {
+        if (rankDeficient) {
+            throw new IllegalStateException("Columns are linearly dependent; the least-squares solution is not unique");
+        }
+        double[] y = applyQTranspose(b);
+        double[] x = new double[cols];
+        for (int i = cols - 1; i >= 0; i--) {
+            int rowStart = qr.rowStart(i);
+            double sum = y[i];
+            for (int j = i + 1; j < cols; j++) {
+                sum -= data[rowStart + j] * x[j];
+            }
+            x[i] = sum / data[rowStart + i];
+        }
+        return x;
+    }
+
+    /**
+     * Computes Q' * b; its entries past the first n are the residual of the least-squares solution
+     */
+    public double[] applyQTranspose(double[] b) {
+        if (b.length != rows) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + rows);
+        }
+        double[] y = b.clone();
+        for (int j = 0; j < tau.length; j++) {
+            if (tau[j] == 0) continue;
+            double sum = y[j];
+            for (int i = j + 1; i < rows; i++) {
+                sum += data[qr.rowStart(i) + j] * y[i];
+            }
+            sum *= tau[j];
+            y[j] -= sum;
+            for (int i = j + 1; i < rows; i++) {
+                y[i] -= sum * data[qr.rowStart(i) + j];
+            }
+        }
+        return y;
+    }
+
+    // ========== ACCESSORS ==========
+
+    /**
+     * True if the columns of A are (numerically) linearly dependent, including when rows < cols
+     */
+    public boolean isRankDeficient() {
+        return rankDeficient;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Upper-trapezoidal factor R, min(m, n) x n
+     */
+    public DenseMatrix getR() {
+        DenseMatrix r = new DenseMatrix(tau.length, cols);
+        copyR(r.getData());
+        return r;
+    }
+
+    /**
+     * Writes R into a row-major array with n columns, leaving entries below the diagonal untouched
+     */
+    void copyR(double[] target) {
+        for (int i = 0; i < tau.length; i++) {
+            System.arraycopy(data, qr.rowStart(i) + i, target, i * cols + i, cols - i);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Inner loops of the elimination engines, kept behind an interface so a SIMD implementation
+ * can be chosen at runtime (see RowKernels)
+ */
+public interface RowKernel {
+    /**
+     * Performs target = target - factor * source over columns [fromCol, toCol) of two rows
+     * starting at the given array indices, snapping results whose magnitude is below epsilon to zero
+     */
+    void subtractRow(double[] data, int targetStart, int sourceStart, int fromCol, int toCol,
+                     double factor, double epsilon);
+
+    /**
+     * Returns the dot product of a[aStart ... aStart + length) and b[bStart ... bStart + length)
+     */
+    double dot(double[] a, int aStart, double[] b, int bStart, int length);
+}
@@ -0,0 +1,35 @@
+/**
+ * Picks the row kernel once per JVM: the Vector API kernel when jdk.incubator.vector is resolved
+ * (run with --add-modules jdk.incubator.vector), the scalar kernel otherwise
+ * -Dlinearsolver.vector=false forces the scalar kernel
+ */
+public final class RowKernels {
+    private static final RowKernel KERNEL = select();
+
+    private RowKernels() {
+    }
+
+    public static RowKernel get() {
+        return KERNEL;
+    }
+
+    /**
+     * Returns true if the SIMD kernel is in use
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarRowKernel);
+    }
+
+    private static RowKernel select() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("linearsolver.vector", "true"));
+        if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively so that this class never links against the incubator module
+                return (RowKernel) Class.forName("VectorRowKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernel
+            }
+        }
+        return new ScalarRowKernel();
+    }
+}
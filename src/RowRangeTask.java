@@ -0,0 +1,56 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that splits a range of rows in halves until each piece is small enough to run serially
+ * Every row is still processed by exactly the same arithmetic, so results do not depend on the thread count
+ * Any range of independent items works the same way, e.g. the systems of a BatchSolver
+ */
+public class RowRangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    // Below this many floating-point operations per task, forking costs more than it saves
+    static final long MIN_TASK_FLOPS = 1L << 16;
+
+    /**
+     * Work applied to the rows [from, to)
+     */
+    public interface Body {
+        void run(int from, int to);
+    }
+
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final Body body;
+
+    private RowRangeTask(int from, int to, int grain, Body body) {
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.body = body;
+    }
+
+    /**
+     * Runs body over [from, to), in parallel on the pool when there is enough work
+     * flopsPerRow is used to size tasks; a null pool always runs serially on the calling thread
+     */
+    public static void run(ForkJoinPool pool, int from, int to, long flopsPerRow, Body body) {
+        int grain = (int) Math.max(1, Math.min(Integer.MAX_VALUE, MIN_TASK_FLOPS / Math.max(1, flopsPerRow)));
+        if (pool == null || pool.getParallelism() < 2 || to - from <= grain) {
+            body.run(from, to);
+        } else {
+            pool.invoke(new RowRangeTask(from, to, grain, body));
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            body.run(from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new RowRangeTask(from, middle, grain, body), new RowRangeTask(middle, to, grain, body));
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Plain Java row kernel, used whenever the Vector API is not available
+ */
+public class ScalarRowKernel implements RowKernel {
+
+    @Override
+    public void subtractRow(double[] data, int targetStart, int sourceStart, int fromCol, int toCol,
+                            double factor, double epsilon) {
+        for (int j = fromCol; j < toCol; j++) {
+            double value = data[targetStart + j] - factor * data[sourceStart + j];
+            data[targetStart + j] = Math.abs(value) < epsilon ? 0 : value;
+        }
+    }
+
+    @Override
+    public double dot(double[] a, int aStart, double[] b, int bStart, int length) {
+        double sum = 0.0;
+        for (int j = 0; j < length; j++) {
+            sum += a[aStart + j] * b[bStart + j];
+        }
+        return sum;
+    }
+}
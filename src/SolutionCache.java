@@ -0,0 +1,644 @@
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Content-addressed cache in front of the solvers, for callers that send the same systems again and again
+ * Matrices are found by a 128-bit hash of their bits, so equal contents hit whatever array they arrive in
+ * Every entry keeps a copy of the contents it was computed from and a hit must match it entry by entry, so a
+ * hash collision costs a miss, never a wrong answer; the copies count against the budget
+ * The copy of a coefficient matrix is shared by its factorization and all its results, which copy only b
+ * Two levels share one least-recently-used budget measured in bytes:
+ * - factorizations keyed by the coefficient block, so a known matrix with a new right-hand side costs O(n^2)
+ * - results keyed by coefficients and right-hand side, so a repeated system costs its hash and one comparison
+ * Safe for concurrent use; threads missing on the same key wait for one factorization instead of repeating it
+ */
+public class SolutionCache {
+    // Approximate per-entry cost of the key, the entry and the map node, added to the payload size
+    private static final long ENTRY_OVERHEAD = 128;
+
+    private static final int FACTORIZATION = 0;
+    // Results of solve(DenseMatrix, double[]), which are always solutions
+    private static final int RESULT = 1;
+    // Results of solve(double[][]), which may also be null or empty; kept apart so neither entry point
+    // is served a value under the other's contract
+    private static final int AUGMENTED_RESULT = 2;
+
+    private final long capacityBytes;
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Coefficient copies held by the stored keys, by matrix key; each is charged once while referenced
+    private final HashMap<Key, SharedMatrix> matrices = new HashMap<>();
+    private long weightBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a cache holding at most capacityBytes of factors and solutions
+     */
+    public SolutionCache(long capacityBytes) {
+        if (capacityBytes <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive, got " + capacityBytes);
+        }
+        this.capacityBytes = capacityBytes;
+    }
+
+    /**
+     * Pool used for the factorizations computed on a miss; null (the default) factors serially
+     */
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ========== LOOKUPS ==========
+
+    /**
+     * Returns the LU factorization of a square coefficient matrix, computing it on a miss
+     * The returned factorization is shared and must be treated as read-only
+     */
+    public LUFactorization factor(DenseMatrix coefficients) {
+        if (coefficients.getRows() != coefficients.getCols()) {
+            throw new IllegalArgumentException("LU factorization needs a square matrix, got "
+                    + coefficients.getRows() + "x" + coefficients.getCols());
+        }
+        ForkJoinPool factorPool = pool;
+        Key key = matrixKey(coefficients, coefficients.getCols(), null);
+        return (LUFactorization) lookup(key,
+                () -> LUFactorization.factor(coefficients, LUFactorization.DEFAULT_BLOCK_SIZE, factorPool),
+                SolutionCache::factorizationWeight);
+    }
+
+    /**
+     * Solves A * x = b for a square, nonsingular A through the cached factorization
+     * Throws IllegalStateException if A is singular
+     */
+    public double[] solve(DenseMatrix coefficients, double[] b) {
+        int n = coefficients.getRows();
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        Fingerprint rhs = new Fingerprint();
+        for (double value : b) {
+            rhs.add(value);
+        }
+        Key key = resultKey(RESULT, matrixKey(coefficients, coefficients.getCols(), b), rhs);
+        double[] solution = (double[]) lookup(key, () -> factor(coefficients).solve(b), SolutionCache::resultWeight);
+        return solution.clone();
+    }
+
+    /**
+     * Solves an augmented matrix with the GaussianElimination.solve() contract: the solution, an empty
+     * array when the system is inconsistent, or null when it has infinitely many solutions
+     * Square systems with a nonsingular cached factorization are solved from it; the rest are eliminated
+     */
+    public double[] solve(double[][] augmentedMatrix) {
+        int rows = augmentedMatrix.length;
+        int variables = rows == 0 ? 0 : augmentedMatrix[0].length - 1;
+        if (variables < 1) {
+            throw new IllegalArgumentException("An augmented matrix needs at least one row and two columns");
+        }
+        // Hash straight from the caller's rows; the matrix is only copied on a miss
+        Fingerprint rhs = new Fingerprint();
+        for (double[] row : augmentedMatrix) {
+            if (row.length != variables + 1) {
+                throw new IllegalArgumentException("Every row needs " + (variables + 1) + " entries");
+            }
+            rhs.add(row[variables]);
+        }
+        Key key = resultKey(AUGMENTED_RESULT, matrixKey(augmentedMatrix, variables), rhs);
+
+        double[] solution = (double[]) lookup(key, () -> {
+            DenseMatrix augmented = DenseMatrix.fromArray(augmentedMatrix);
+            if (rows == variables) {
+                DenseMatrix coefficients = new DenseMatrix(augmented.getData(), rows, variables, variables + 1, 0);
+                LUFactorization lu = factor(coefficients);
+                if (!lu.isSingular()) {
+                    double[] b = new double[rows];
+                    for (int i = 0; i < rows; i++) {
+                        b[i] = augmentedMatrix[i][variables];
+                    }
+                    return lu.solve(b);
+                }
+            }
+            // Singular or rectangular: elimination tells inconsistent from infinitely many solutions
+            GaussianElimination solver = new GaussianElimination(augmented);
+            solver.setTraceLevel(TraceLevel.OFF);
+            return solver.solve();
+        }, SolutionCache::resultWeight);
+        return solution == null ? null : solution.clone();
+    }
+
+    /**
+     * Returns the cached value for key, computing it without holding the cache lock on a miss
+     */
+    private Object lookup(Key key, Supplier<Object> compute, ToLongFunction<Object> weigher) {
+        while (true) {
+            Entry entry;
+            boolean owner = false;
+            synchronized (this) {
+                entry = entries.get(key);
+                if (entry == null) {
+                    // The lookup key only views the caller's arrays, which may change once we return
+                    entry = new Entry(store(key));
+                    entries.put(entry.key, entry);
+                    owner = true;
+                    misses++;
+                } else {
+                    hits++;
+                }
+            }
+
+            if (!owner) {
+                if (entry.await()) {
+                    return entry.value;
+                }
+                // The owner failed and removed the entry; try again, computing it ourselves if need be
+                continue;
+            }
+
+            Object value;
+            try {
+                value = compute.get();
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    if (entries.remove(key, entry)) {
+                        release(entry.key);
+                    }
+                }
+                entry.fail();
+                throw e;
+            }
+            // The matrix copy was charged when it was stored; a result key adds only its right-hand side
+            long weight = weigher.applyAsLong(value) + (key.kind != FACTORIZATION ? key.contentBytes() : 0) + ENTRY_OVERHEAD;
+            synchronized (this) {
+                // clear() may have dropped the entry while it was being computed
+                if (entries.get(key) == entry) {
+                    entry.weight = weight;
+                    weightBytes += weight;
+                    evict();
+                }
+            }
+            entry.complete(value);
+            return value;
+        }
+    }
+
+    /**
+     * Drops least recently used entries until the cache fits its budget; caller holds the lock
+     */
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (weightBytes > capacityBytes && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            // Entries still being computed have no weight yet
+            if (entry.weight == 0) continue;
+            iterator.remove();
+            weightBytes -= entry.weight;
+            release(entry.key);
+            evictions++;
+        }
+    }
+
+    /**
+     * Returns the key to keep in the map for a lookup key, sharing the stored copy of its matrix if there
+     * is one and copying and charging it otherwise; caller holds the lock
+     */
+    private Key store(Key key) {
+        Key matrixKey = key.matrixKey();
+        SharedMatrix shared = matrices.get(matrixKey);
+        if (shared == null) {
+            CopiedContents copy = CopiedContents.of(key.contents, key.rows, key.cols);
+            shared = new SharedMatrix(copy);
+            matrices.put(matrixKey.withContents(copy), shared);
+            weightBytes += matrixKey.contentBytes();
+        }
+        shared.references++;
+        if (key.kind == FACTORIZATION) {
+            return key.withContents(shared.contents);
+        }
+        return key.withContents(shared.contents.withConstants(key.contents, key.rows));
+    }
+
+    /**
+     * Drops a stored key's hold on its matrix copy, uncharging the copy once nothing holds it; caller holds the lock
+     */
+    private void release(Key stored) {
+        Key matrixKey = stored.matrixKey();
+        SharedMatrix shared = matrices.get(matrixKey);
+        if (--shared.references == 0) {
+            matrices.remove(matrixKey);
+            weightBytes -= matrixKey.contentBytes();
+        }
+    }
+
+    private static long factorizationWeight(Object value) {
+        long n = ((LUFactorization) value).size();
+        return Double.BYTES * n * n + Integer.BYTES * n;
+    }
+
+    private static long resultWeight(Object value) {
+        return value == null ? 0 : Double.BYTES * (long) ((double[]) value).length;
+    }
+
+    // ========== METRICS ==========
+
+    /**
+     * Lookups answered from the cache, at either level
+     * A known matrix with a new right-hand side counts a result miss and a factorization hit
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Lookups that had to compute their value
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Approximate bytes held by the cached factorizations and solutions
+     */
+    public synchronized long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * Number of cached factorizations and results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes every entry; metrics are kept
+     */
+    public synchronized void clear() {
+        entries.clear();
+        matrices.clear();
+        weightBytes = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT,
+                "SolutionCache[entries=%d, bytes=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f]",
+                entries.size(), weightBytes, capacityBytes, hits, misses, evictions, getHitRate());
+    }
+
+    // ========== HASHING ==========
+
+    /**
+     * Key of a matrix; its contents also carry b, used only once the key is turned into a result key
+     */
+    private static Key matrixKey(DenseMatrix matrix, int cols, double[] b) {
+        double[] data = matrix.getData();
+        Fingerprint fingerprint = new Fingerprint();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            int rowStart = matrix.rowStart(i);
+            for (int j = rowStart; j < rowStart + cols; j++) {
+                fingerprint.add(data[j]);
+            }
+        }
+        return new Key(FACTORIZATION, matrix.getRows(), cols, fingerprint.first(), fingerprint.second(), 0, 0,
+                new MatrixContents(matrix, b));
+    }
+
+    /**
+     * Key of the first cols columns of an augmented matrix, whose column cols is the right-hand side
+     */
+    private static Key matrixKey(double[][] matrix, int cols) {
+        Fingerprint fingerprint = new Fingerprint();
+        for (double[] row : matrix) {
+            for (int j = 0; j < cols; j++) {
+                fingerprint.add(row[j]);
+            }
+        }
+        return new Key(FACTORIZATION, matrix.length, cols, fingerprint.first(), fingerprint.second(), 0, 0,
+                new ArrayContents(matrix, cols));
+    }
+
+    private static Key resultKey(int kind, Key matrixKey, Fingerprint rhs) {
+        return new Key(kind, matrixKey.rows, matrixKey.cols, matrixKey.hash1, matrixKey.hash2, rhs.first(), rhs.second(),
+                matrixKey.contents);
+    }
+
+    /**
+     * Equality under the fingerprint's rules: -0.0 matches 0.0 and every NaN matches every other
+     */
+    private static boolean same(double a, double b) {
+        return a == b || Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    /**
+     * 128-bit fingerprint of a sequence of doubles, built from two independent multiply-rotate lanes
+     * Not cryptographic, so it only locates entries; Key.equals compares the contents before a hit is served
+     */
+    private static final class Fingerprint {
+        private long h1 = 0x243F6A8885A308D3L;
+        private long h2 = 0x13198A2E03707344L;
+
+        void add(double value) {
+            // Fold -0.0 into 0.0 (doubleToLongBits already folds every NaN into one) so equal systems match
+            long bits = value == 0 ? 0 : Double.doubleToLongBits(value);
+            h1 = Long.rotateLeft(h1 ^ bits * 0x9E3779B97F4A7C15L, 29) * 0xBF58476D1CE4E5B9L;
+            h2 = Long.rotateLeft(h2 + bits * 0xC2B2AE3D27D4EB4FL, 37) * 0x94D049BB133111EBL;
+        }
+
+        long first() {
+            return mix(h1);
+        }
+
+        long second() {
+            return mix(h2 ^ h1);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    /**
+     * Shape and fingerprint of a matrix, plus the right-hand side fingerprint for result entries
+     * Lookup keys view the caller's arrays; keys stored in the map hold their own copy of the contents
+     */
+    private static final class Key {
+        final int kind;
+        final int rows;
+        final int cols;
+        final long hash1;
+        final long hash2;
+        final long rhsHash1;
+        final long rhsHash2;
+        final Contents contents;
+
+        Key(int kind, int rows, int cols, long hash1, long hash2, long rhsHash1, long rhsHash2, Contents contents) {
+            this.kind = kind;
+            this.rows = rows;
+            this.cols = cols;
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+            this.rhsHash1 = rhsHash1;
+            this.rhsHash2 = rhsHash2;
+            this.contents = contents;
+        }
+
+        /**
+         * Same key over other contents
+         */
+        Key withContents(Contents contents) {
+            return new Key(kind, rows, cols, hash1, hash2, rhsHash1, rhsHash2, contents);
+        }
+
+        /**
+         * Factorization key of the coefficient matrix; a factorization key is its own matrix key
+         */
+        Key matrixKey() {
+            return kind == FACTORIZATION ? this : new Key(FACTORIZATION, rows, cols, hash1, hash2, 0, 0, contents);
+        }
+
+        /**
+         * Bytes copied for this key alone: the coefficients for a matrix key, the right-hand side for a result
+         */
+        long contentBytes() {
+            return Double.BYTES * (long) rows * (kind != FACTORIZATION ? 1 : cols);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return kind == key.kind && rows == key.rows && cols == key.cols && hash1 == key.hash1
+                    && hash2 == key.hash2 && rhsHash1 == key.rhsHash1 && rhsHash2 == key.rhsHash2 && sameContents(key);
+        }
+
+        private boolean sameContents(Key key) {
+            if (contents == key.contents) {
+                return true;
+            }
+            for (int i = 0; i < rows; i++) {
+                double[] row = contents.rowArray(i);
+                double[] otherRow = key.contents.rowArray(i);
+                int start = contents.rowStart(i);
+                int otherStart = key.contents.rowStart(i);
+                // Stored keys of one matrix share its copy
+                boolean sameRow = row == otherRow && start == otherStart;
+                for (int j = 0; !sameRow && j < cols; j++) {
+                    if (!same(row[start + j], otherRow[otherStart + j])) {
+                        return false;
+                    }
+                }
+                if (kind != FACTORIZATION && !same(contents.constant(i), key.contents.constant(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash1 ^ rhsHash1 * 31);
+        }
+    }
+
+    /**
+     * Row-by-row access to the coefficients and right-hand side behind a key, wherever they are stored
+     */
+    private interface Contents {
+        /**
+         * Array holding row i, which starts at rowStart(i)
+         */
+        double[] rowArray(int i);
+
+        int rowStart(int i);
+
+        double constant(int i);
+    }
+
+    /**
+     * A DenseMatrix of coefficients with a separate right-hand side, which is null for factorization lookups
+     */
+    private static final class MatrixContents implements Contents {
+        private final DenseMatrix matrix;
+        private final double[] b;
+
+        MatrixContents(DenseMatrix matrix, double[] b) {
+            this.matrix = matrix;
+            this.b = b;
+        }
+
+        @Override
+        public double[] rowArray(int i) {
+            return matrix.getData();
+        }
+
+        @Override
+        public int rowStart(int i) {
+            return matrix.rowStart(i);
+        }
+
+        @Override
+        public double constant(int i) {
+            return b[i];
+        }
+    }
+
+    /**
+     * Rows of an augmented matrix, the right-hand side in column cols
+     */
+    private static final class ArrayContents implements Contents {
+        private final double[][] rows;
+        private final int cols;
+
+        ArrayContents(double[][] rows, int cols) {
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        @Override
+        public double[] rowArray(int i) {
+            return rows[i];
+        }
+
+        @Override
+        public int rowStart(int i) {
+            return 0;
+        }
+
+        @Override
+        public double constant(int i) {
+            return rows[i][cols];
+        }
+    }
+
+    /**
+     * Row-major copy of the coefficients, shared by the stored keys of one matrix, and a result key's own b
+     */
+    private static final class CopiedContents implements Contents {
+        private final double[] data;
+        private final int cols;
+        private final double[] constants;
+
+        private CopiedContents(double[] data, int cols, double[] constants) {
+            this.data = data;
+            this.cols = cols;
+            this.constants = constants;
+        }
+
+        /**
+         * Same coefficients, sharing this copy's array, with a copy of source's right-hand side
+         */
+        CopiedContents withConstants(Contents source, int rows) {
+            double[] constants = new double[rows];
+            for (int i = 0; i < rows; i++) {
+                constants[i] = source.constant(i);
+            }
+            return new CopiedContents(data, cols, constants);
+        }
+
+        static CopiedContents of(Contents source, int rows, int cols) {
+            double[] data = new double[Math.toIntExact((long) rows * cols)];
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(source.rowArray(i), source.rowStart(i), data, i * cols, cols);
+            }
+            return new CopiedContents(data, cols, null);
+        }
+
+        @Override
+        public double[] rowArray(int i) {
+            return data;
+        }
+
+        @Override
+        public int rowStart(int i) {
+            return i * cols;
+        }
+
+        @Override
+        public double constant(int i) {
+            return constants[i];
+        }
+    }
+
+    /**
+     * Copy of a coefficient matrix and the number of stored keys holding it
+     */
+    private static final class SharedMatrix {
+        final CopiedContents contents;
+        int references;
+
+        SharedMatrix(CopiedContents contents) {
+            this.contents = contents;
+        }
+    }
+
+    /**
+     * A cached value, or the promise of one while its first requester computes it
+     */
+    private static final class Entry {
+        // The key this entry is stored under, holding its copy of the contents
+        final Key key;
+        Object value;
+        long weight;
+        private boolean done;
+        private boolean failed;
+
+        Entry(Key key) {
+            this.key = key;
+        }
+
+        synchronized void complete(Object value) {
+            this.value = value;
+            done = true;
+            notifyAll();
+        }
+
+        synchronized void fail() {
+            failed = true;
+            notifyAll();
+        }
+
+        /**
+         * Waits for the value; returns false if its computation failed
+         */
+        synchronized boolean await() {
+            boolean interrupted = false;
+            while (!done && !failed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return done;
+        }
+    }
+}
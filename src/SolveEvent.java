@@ -0,0 +1,75 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event committed by every GaussianElimination solve
+ * Enabled by default in JFR recordings (e.g. -XX:StartFlightRecording); the event duration covers the whole solve
+ */
+@Name("linearsolver.Solve")
+@Label("Linear System Solve")
+@Category("Linear System Solver")
+@Description("Gaussian elimination of one augmented matrix, with phase timings and pivoting statistics")
+public class SolveEvent extends Event {
+
+    @Label("Equations")
+    int equations;
+
+    @Label("Variables")
+    int variables;
+
+    @Label("Right-Hand Sides")
+    int rightHandSides;
+
+    @Label("Status")
+    @Description("unique, inconsistent or infinite for the first right-hand side")
+    String status;
+
+    @Label("Elimination Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long eliminationTime;
+
+    @Label("Consistency Check Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long consistencyCheckTime;
+
+    @Label("Back Substitution Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long backSubstitutionTime;
+
+    @Label("Row Swaps")
+    int rowSwaps;
+
+    @Label("Skipped Pivot Columns")
+    int skippedPivotColumns;
+
+    @Label("Minimum Pivot")
+    double minimumPivot;
+
+    @Label("Growth Factor")
+    double growthFactor;
+
+    @Label("Floating-Point Operations")
+    long flops;
+
+    /**
+     * Copies the statistics of a finished solve into the event fields
+     */
+    void set(SolveStatistics statistics, String status) {
+        this.equations = statistics.getEquations();
+        this.variables = statistics.getVariables();
+        this.rightHandSides = statistics.getRightHandSides();
+        this.status = status;
+        this.eliminationTime = statistics.getEliminationNanos();
+        this.consistencyCheckTime = statistics.getConsistencyCheckNanos();
+        this.backSubstitutionTime = statistics.getBackSubstitutionNanos();
+        this.rowSwaps = statistics.getRowSwaps();
+        this.skippedPivotColumns = statistics.getSkippedPivotColumns();
+        this.minimumPivot = statistics.getMinimumPivot();
+        this.growthFactor = statistics.getGrowthFactor();
+        this.flops = statistics.getFlops();
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.function.DoubleSupplier;
+
+/**
+ * Solution set of A x = b as found by one Gaussian elimination
+ * Every solution is the particular solution plus a linear combination of the null-space basis vectors
+ */
+public class SolveResult {
+
+    /**
+     * What kind of solution set the system has
+     */
+    public enum Status {
+        /** Exactly one solution */
+        UNIQUE,
+        /** Infinitely many solutions, one for each choice of the free variables */
+        INFINITE,
+        /** No solution: some equation reduces to 0 = c with c != 0 */
+        INCONSISTENT
+    }
+
+    private final Status status;
+    private final int variables;
+    private final int rank;
+    private final int[] pivotColumns;
+    private final double[] particularSolution;
+    private final double[][] nullSpaceBasis;
+    private DoubleSupplier conditionEstimate = () -> Double.NaN;
+    private double residualNorm = Double.NaN;
+    private double backwardError = Double.NaN;
+
+    SolveResult(Status status, int variables, int rank, int[] pivotColumns, double[] particularSolution,
+                double[][] nullSpaceBasis) {
+        this.status = status;
+        this.variables = variables;
+        this.rank = rank;
+        this.pivotColumns = pivotColumns;
+        this.particularSolution = particularSolution;
+        this.nullSpaceBasis = nullSpaceBasis;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isUnique() {
+        return status == Status.UNIQUE;
+    }
+
+    /**
+     * Rank of the coefficient matrix (number of pivots)
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Columns (0-based variable indices) that received a pivot, in increasing order
+     */
+    public int[] getPivotColumns() {
+        return pivotColumns.clone();
+    }
+
+    /**
+     * Variables without a pivot; each one is a free parameter of an infinite solution set
+     */
+    public int[] getFreeVariables() {
+        int[] free = new int[variables - rank];
+        int next = 0;
+        int p = 0;
+        for (int j = 0; j < variables; j++) {
+            if (p < rank && pivotColumns[p] == j) {
+                p++;
+            } else {
+                free[next++] = j;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * The solution with every free variable set to zero, or null if the system is inconsistent
+     */
+    public double[] getParticularSolution() {
+        return particularSolution;
+    }
+
+    /**
+     * Basis of the null space of A, one vector per free variable (empty unless the status is INFINITE)
+     * Vector k has a 1 for free variable k, 0 for the other free variables, and solves A v = 0
+     */
+    public double[][] getNullSpaceBasis() {
+        return nullSpaceBasis;
+    }
+
+    /**
+     * Number of free parameters in the solution set
+     */
+    public int getNullity() {
+        return nullSpaceBasis.length;
+    }
+
+    void setConditionEstimate(DoubleSupplier conditionEstimate) {
+        this.conditionEstimate = conditionEstimate;
+    }
+
+    void setResidual(double residualNorm, double backwardError) {
+        this.residualNorm = residualNorm;
+        this.backwardError = backwardError;
+    }
+
+    /**
+     * Estimate of the 1-norm condition number of A, computed in O(n^2) from the factors on first call
+     * Infinite for a singular square matrix and NaN for a rectangular one
+     * A solution may lose about log10 of it in correct digits; compare it with 1 / 1e-16 to judge a result
+     */
+    public double getConditionEstimate() {
+        return conditionEstimate.getAsDouble();
+    }
+
+    /**
+     * Largest entry of |b - A x| for the particular solution, or NaN unless residual checks were enabled
+     */
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+
+    /**
+     * Normwise backward error ||b - A x|| / (||A|| ||x|| + ||b||) in the infinity norm, or NaN unless
+     * residual checks were enabled; values near 1e-16 mean x solves a system within rounding of the given one
+     */
+    public double getBackwardError() {
+        return backwardError;
+    }
+
+    /**
+     * Returns the solution particular + sum of parameters[k] * basis[k]
+     * With no parameters this is the particular solution
+     */
+    public double[] evaluate(double... parameters) {
+        if (status == Status.INCONSISTENT) {
+            throw new IllegalStateException("The system is inconsistent and has no solution");
+        }
+        if (parameters.length != nullSpaceBasis.length) {
+            throw new IllegalArgumentException("Expected " + nullSpaceBasis.length + " parameters, got "
+                    + parameters.length);
+        }
+        double[] x = particularSolution.clone();
+        for (int k = 0; k < parameters.length; k++) {
+            double[] direction = nullSpaceBasis[k];
+            for (int j = 0; j < variables; j++) {
+                x[j] += parameters[k] * direction[j];
+            }
+        }
+        return x;
+    }
+}
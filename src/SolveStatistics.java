@@ -0,0 +1,121 @@
+/**
+ * Measurements of one GaussianElimination solve: phase timings, pivoting behaviour and work done
+ */
+public class SolveStatistics {
+    private final int equations;
+    private final int variables;
+    private final int rightHandSides;
+    private final long eliminationNanos;
+    private final long consistencyCheckNanos;
+    private final long backSubstitutionNanos;
+    private final int rowSwaps;
+    private final int skippedPivotColumns;
+    private final double minimumPivot;
+    private final double growthFactor;
+    private final long flops;
+
+    SolveStatistics(int equations, int variables, int rightHandSides, long eliminationNanos,
+                    long consistencyCheckNanos, long backSubstitutionNanos, int rowSwaps,
+                    int skippedPivotColumns, double minimumPivot, double growthFactor, long flops) {
+        this.equations = equations;
+        this.variables = variables;
+        this.rightHandSides = rightHandSides;
+        this.eliminationNanos = eliminationNanos;
+        this.consistencyCheckNanos = consistencyCheckNanos;
+        this.backSubstitutionNanos = backSubstitutionNanos;
+        this.rowSwaps = rowSwaps;
+        this.skippedPivotColumns = skippedPivotColumns;
+        this.minimumPivot = minimumPivot;
+        this.growthFactor = growthFactor;
+        this.flops = flops;
+    }
+
+    public int getEquations() {
+        return equations;
+    }
+
+    public int getVariables() {
+        return variables;
+    }
+
+    public int getRightHandSides() {
+        return rightHandSides;
+    }
+
+    /**
+     * Time spent in forward elimination, in nanoseconds
+     */
+    public long getEliminationNanos() {
+        return eliminationNanos;
+    }
+
+    /**
+     * Time spent deciding consistency and uniqueness, in nanoseconds
+     */
+    public long getConsistencyCheckNanos() {
+        return consistencyCheckNanos;
+    }
+
+    /**
+     * Time spent in back substitution (zero when it was not needed), in nanoseconds
+     */
+    public long getBackSubstitutionNanos() {
+        return backSubstitutionNanos;
+    }
+
+    public long getTotalNanos() {
+        return eliminationNanos + consistencyCheckNanos + backSubstitutionNanos;
+    }
+
+    public int getRowSwaps() {
+        return rowSwaps;
+    }
+
+    /**
+     * Columns left without a pivot because every candidate was below the zero tolerance
+     */
+    public int getSkippedPivotColumns() {
+        return skippedPivotColumns;
+    }
+
+    /**
+     * Smallest pivot magnitude used, or NaN if no pivot was found
+     * A value many orders of magnitude below the matrix entries signals an ill-conditioned system
+     */
+    public double getMinimumPivot() {
+        return minimumPivot;
+    }
+
+    /**
+     * max |U| / max |A| over the coefficient block, the usual cheap estimate of the pivot growth factor
+     * Partial pivoting keeps it small in practice; large values mean the computed solution may be inaccurate
+     */
+    public double getGrowthFactor() {
+        return growthFactor;
+    }
+
+    /**
+     * Floating-point operations actually performed, counting skipped zero multipliers as free
+     */
+    public long getFlops() {
+        return flops;
+    }
+
+    /**
+     * Achieved rate in GFLOP/s over the whole solve
+     */
+    public double getGflopsPerSecond() {
+        long nanos = getTotalNanos();
+        return nanos == 0 ? 0 : (double) flops / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.ROOT,
+                "%dx%d, %d rhs: elimination %.3f ms, checks %.3f ms, back substitution %.3f ms, "
+                        + "%d swaps, %d skipped columns, min pivot %.3g, growth %.3g, %d flops (%.2f GFLOP/s)",
+                equations, variables, rightHandSides, eliminationNanos / 1e6, consistencyCheckNanos / 1e6,
+                backSubstitutionNanos / 1e6, rowSwaps, skippedPivotColumns, minimumPivot, growthFactor,
+                flops, getGflopsPerSecond());
+    }
+}
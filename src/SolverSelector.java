@@ -0,0 +1,154 @@
+/**
+ * Picks a solver from the structure of an augmented matrix
+ * Square systems whose band is narrow go to the banded engines, dense symmetric ones to Cholesky (or LDL'
+ * when the quick positive definiteness probe fails), everything else to GaussianElimination
+ * Results follow the GaussianElimination.solve() contract: the solution, an empty array when the system
+ * is inconsistent, or null when it has infinitely many solutions
+ * solveLeastSquares() instead sends overdetermined systems to LeastSquaresSolver for the best fit
+ */
+public final class SolverSelector {
+
+    /**
+     * Solver engines the selector can route to
+     */
+    public enum Engine {
+        /** Thomas algorithm for diagonally dominant tridiagonal systems */
+        TRIDIAGONAL,
+        /** Band-limited LU with partial pivoting */
+        BANDED,
+        /** Packed Cholesky for symmetric matrices that look positive definite */
+        CHOLESKY,
+        /** Packed Bunch-Kaufman LDL' for symmetric indefinite matrices */
+        SYMMETRIC,
+        /** Dense Gaussian elimination */
+        DENSE
+    }
+
+    private SolverSelector() {
+    }
+
+    /**
+     * Chooses the engine for an augmented matrix (coefficients followed by one constant column)
+     */
+    public static Engine select(double[][] augmentedMatrix) {
+        if (!isSquareSystem(augmentedMatrix)) {
+            return Engine.DENSE;
+        }
+        int n = augmentedMatrix.length;
+        return select(augmentedMatrix, BandedMatrix.detectBandwidth(augmentedMatrix, n));
+    }
+
+    private static Engine select(double[][] augmentedMatrix, int[] bandwidth) {
+        int n = augmentedMatrix.length;
+        int lower = bandwidth[0];
+        int upper = bandwidth[1];
+        if (lower <= 1 && upper <= 1 && isDiagonallyDominantTridiagonal(augmentedMatrix)) {
+            return Engine.TRIDIAGONAL;
+        }
+        // The banded working rows (2 * lower + upper + 1 wide) must be narrower than a dense row
+        if (2 * lower + upper + 1 < n) {
+            return Engine.BANDED;
+        }
+        if (SymmetricMatrix.isSymmetric(augmentedMatrix, n)) {
+            return SymmetricMatrix.mayBePositiveDefinite(augmentedMatrix, n) ? Engine.CHOLESKY : Engine.SYMMETRIC;
+        }
+        return Engine.DENSE;
+    }
+
+    private static boolean isSquareSystem(double[][] augmentedMatrix) {
+        int rows = augmentedMatrix.length;
+        return rows >= 3 && augmentedMatrix[0].length == rows + 1;
+    }
+
+    /**
+     * Solves an augmented matrix with the engine chosen by select()
+     * Singular square systems fall back to GaussianElimination to tell inconsistent from infinite
+     */
+    public static double[] solve(double[][] augmentedMatrix) {
+        if (!isSquareSystem(augmentedMatrix)) {
+            return eliminate(augmentedMatrix);
+        }
+        int n = augmentedMatrix.length;
+        int[] bandwidth = BandedMatrix.detectBandwidth(augmentedMatrix, n);
+        Engine engine = select(augmentedMatrix, bandwidth);
+        double[] rhs = new double[n];
+        for (int i = 0; i < n; i++) {
+            rhs[i] = augmentedMatrix[i][n];
+        }
+
+        if (engine == Engine.TRIDIAGONAL) {
+            double[] lower = new double[n];
+            double[] diagonal = new double[n];
+            double[] upper = new double[n];
+            extractTridiagonal(augmentedMatrix, lower, diagonal, upper);
+            try {
+                return TridiagonalSolver.solve(lower, diagonal, upper, rhs);
+            } catch (IllegalStateException e) {
+                // Weak dominance allowed a zero pivot; pivoting may still find a solution
+                engine = Engine.BANDED;
+            }
+        }
+        if (engine == Engine.BANDED) {
+            BandedLU lu = BandedLU.factor(BandedMatrix.fromArray(augmentedMatrix, bandwidth[0], bandwidth[1]));
+            if (!lu.isSingular()) {
+                return lu.solve(rhs);
+            }
+        }
+        if (engine == Engine.CHOLESKY) {
+            CholeskyFactorization cholesky = CholeskyFactorization.factor(augmentedMatrix);
+            if (cholesky.isPositiveDefinite()) {
+                return cholesky.solve(rhs);
+            }
+            // The probe only checks necessary conditions; an indefinite matrix is still symmetric
+            engine = Engine.SYMMETRIC;
+        }
+        if (engine == Engine.SYMMETRIC) {
+            LDLTFactorization ldlt = LDLTFactorization.factor(augmentedMatrix);
+            if (!ldlt.isSingular()) {
+                return ldlt.solve(rhs);
+            }
+        }
+        return eliminate(augmentedMatrix);
+    }
+
+    /**
+     * Like solve(), except that a system with more equations than unknowns gets the x minimizing
+     * ||A * x - b|| from Householder QR rather than being declared inconsistent; null when its columns are dependent
+     */
+    public static double[] solveLeastSquares(double[][] augmentedMatrix) {
+        int rows = augmentedMatrix.length;
+        int variables = rows == 0 ? 0 : augmentedMatrix[0].length - 1;
+        if (variables > 0 && rows > variables) {
+            return LeastSquaresSolver.solve(augmentedMatrix);
+        }
+        return solve(augmentedMatrix);
+    }
+
+    /**
+     * Dense elimination without the step-by-step trace, which only the CLI displays
+     */
+    private static double[] eliminate(double[][] augmentedMatrix) {
+        GaussianElimination solver = new GaussianElimination(augmentedMatrix);
+        solver.setTraceLevel(TraceLevel.OFF);
+        return solver.solve();
+    }
+
+    private static boolean isDiagonallyDominantTridiagonal(double[][] augmentedMatrix) {
+        int n = augmentedMatrix.length;
+        double[] lower = new double[n];
+        double[] diagonal = new double[n];
+        double[] upper = new double[n];
+        extractTridiagonal(augmentedMatrix, lower, diagonal, upper);
+        return TridiagonalSolver.isDiagonallyDominant(lower, diagonal, upper);
+    }
+
+    private static void extractTridiagonal(double[][] augmentedMatrix, double[] lower, double[] diagonal,
+                                           double[] upper) {
+        int n = augmentedMatrix.length;
+        for (int i = 0; i < n; i++) {
+            lower[i] = i > 0 ? augmentedMatrix[i][i - 1] : 0;
+            diagonal[i] = augmentedMatrix[i][i];
+            upper[i] = i < n - 1 ? augmentedMatrix[i][i + 1] : 0;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+import java.util.Arrays;
+
+/**
+ * Sparse LU factorization P * A * Q = L * U that only touches structural nonzeros
+ * Left-looking (Gilbert-Peierls): column k of L and U comes from a sparse triangular solve with the
+ * columns already factored, and a depth-first search finds its nonzero pattern before any arithmetic
+ * Q is a fill-reducing column ordering; P comes from threshold partial pivoting, which keeps the
+ * diagonal of the reordered matrix whenever it is within pivotTolerance of the largest candidate
+ * Memory and work scale with the nonzeros of the factors, never with n^2
+ */
+public class SparseLU {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    /**
+     * Default pivot threshold: the diagonal is kept unless another row is ten times larger
+     */
+    public static final double DEFAULT_PIVOT_TOLERANCE = 0.1;
+
+    private final int n;
+    private final int matrixNonZeros;
+    // q[k] is the original column factored at step k
+    private final int[] columnOrder;
+    // pinv[i] is the step at which original row i became a pivot row
+    private final int[] rowPivot;
+
+    // L by columns, unit diagonal stored first in each column, row indices in pivot order
+    private final int[] lowerPointers;
+    private int[] lowerIndices;
+    private double[] lowerValues;
+    // U by columns, diagonal stored last in each column
+    private final int[] upperPointers;
+    private int[] upperIndices;
+    private double[] upperValues;
+
+    private boolean singular;
+
+    private SparseLU(SparseMatrix matrix, int[] columnOrder, double pivotTolerance) {
+        if (matrix.getRows() != matrix.getCols()) {
+            throw new IllegalArgumentException("LU factorization needs a square matrix, got "
+                    + matrix.getRows() + "x" + matrix.getCols());
+        }
+        if (pivotTolerance <= 0 || pivotTolerance > 1) {
+            throw new IllegalArgumentException("Pivot tolerance must be in (0, 1], got " + pivotTolerance);
+        }
+        this.n = matrix.getRows();
+        this.matrixNonZeros = matrix.nonZeroCount();
+        this.columnOrder = columnOrder;
+        this.rowPivot = new int[n];
+        this.lowerPointers = new int[n + 1];
+        this.upperPointers = new int[n + 1];
+        int capacity = 4 * matrixNonZeros + n;
+        this.lowerIndices = new int[capacity];
+        this.lowerValues = new double[capacity];
+        this.upperIndices = new int[capacity];
+        this.upperValues = new double[capacity];
+        this.singular = !decompose(matrix.transpose(), pivotTolerance);
+    }
+
+    /**
+     * Factors a square matrix after a reverse Cuthill-McKee column ordering
+     */
+    public static SparseLU factor(SparseMatrix matrix) {
+        return factor(matrix, SparseOrdering.REVERSE_CUTHILL_MCKEE);
+    }
+
+    public static SparseLU factor(SparseMatrix matrix, SparseOrdering ordering) {
+        return factor(matrix, ordering, DEFAULT_PIVOT_TOLERANCE);
+    }
+
+    /**
+     * Factors a square matrix; a pivot tolerance of 1 gives classic partial pivoting
+     */
+    public static SparseLU factor(SparseMatrix matrix, SparseOrdering ordering, double pivotTolerance) {
+        return new SparseLU(matrix, ordering.order(matrix), pivotTolerance);
+    }
+
+    /**
+     * Column-by-column factorization; returns false as soon as a column has no usable pivot
+     * The CSC form of A is read through its transpose in CSR form
+     */
+    private boolean decompose(SparseMatrix columns, double pivotTolerance) {
+        int[] colPointers = columns.getRowPointers();
+        int[] rowIndices = columns.getColumnIndices();
+        double[] values = columns.getValues();
+
+        Arrays.fill(rowPivot, -1);
+        double[] x = new double[n];
+        int[] pattern = new int[n];
+        int[] stack = new int[n];
+        int[] stackPosition = new int[n];
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+
+        int lowerCount = 0;
+        int upperCount = 0;
+        for (int k = 0; k < n; k++) {
+            lowerPointers[k] = lowerCount;
+            upperPointers[k] = upperCount;
+            ensureLowerCapacity(lowerCount + n);
+            ensureUpperCapacity(upperCount + n);
+
+            // x = L \ A(:, col), restricted to the rows reachable from the nonzeros of A(:, col)
+            int col = columnOrder[k];
+            int top = reach(colPointers, rowIndices, col, k, pattern, stack, stackPosition, mark);
+            for (int p = colPointers[col]; p < colPointers[col + 1]; p++) {
+                x[rowIndices[p]] = values[p];
+            }
+            for (int t = top; t < n; t++) {
+                int j = pattern[t];
+                int step = rowPivot[j];
+                if (step < 0) continue;
+                double xj = x[j];
+                if (xj == 0) continue;
+                // Skip the unit diagonal stored first
+                for (int p = lowerPointers[step] + 1; p < lowerPointers[step + 1]; p++) {
+                    x[lowerIndices[p]] -= lowerValues[p] * xj;
+                }
+            }
+
+            // Pivoted rows go to U; the largest unpivoted entry is the pivot candidate
+            int pivotRow = -1;
+            double largest = -1;
+            for (int t = top; t < n; t++) {
+                int i = pattern[t];
+                if (rowPivot[i] < 0) {
+                    if (Math.abs(x[i]) > largest) {
+                        largest = Math.abs(x[i]);
+                        pivotRow = i;
+                    }
+                } else if (x[i] != 0) {
+                    upperIndices[upperCount] = rowPivot[i];
+                    upperValues[upperCount++] = x[i];
+                }
+            }
+            if (pivotRow < 0 || largest < EPSILON) {
+                return false;
+            }
+            if (rowPivot[col] < 0 && Math.abs(x[col]) >= pivotTolerance * largest) {
+                pivotRow = col;
+            }
+
+            double pivot = x[pivotRow];
+            upperIndices[upperCount] = k;
+            upperValues[upperCount++] = pivot;
+            rowPivot[pivotRow] = k;
+            lowerIndices[lowerCount] = pivotRow;
+            lowerValues[lowerCount++] = 1;
+            for (int t = top; t < n; t++) {
+                int i = pattern[t];
+                if (rowPivot[i] < 0 && x[i] != 0) {
+                    lowerIndices[lowerCount] = i;
+                    lowerValues[lowerCount++] = x[i] / pivot;
+                }
+                // Clear x for the next column
+                x[i] = 0;
+            }
+        }
+        lowerPointers[n] = lowerCount;
+        upperPointers[n] = upperCount;
+
+        // L row indices were original rows while factoring; switch them to pivot order
+        for (int p = 0; p < lowerCount; p++) {
+            lowerIndices[p] = rowPivot[lowerIndices[p]];
+        }
+        lowerIndices = Arrays.copyOf(lowerIndices, lowerCount);
+        lowerValues = Arrays.copyOf(lowerValues, lowerCount);
+        upperIndices = Arrays.copyOf(upperIndices, upperCount);
+        upperValues = Arrays.copyOf(upperValues, upperCount);
+        return true;
+    }
+
+    /**
+     * Nonzero pattern of L \ A(:, col) in topological order, returned as pattern[top ... n)
+     * Non-recursive depth-first search through the columns of L; mark[i] == k flags rows already visited
+     */
+    private int reach(int[] colPointers, int[] rowIndices, int col, int k,
+                      int[] pattern, int[] stack, int[] stackPosition, int[] mark) {
+        int top = n;
+        for (int p = colPointers[col]; p < colPointers[col + 1]; p++) {
+            int start = rowIndices[p];
+            if (mark[start] == k) continue;
+
+            int head = 0;
+            stack[0] = start;
+            while (head >= 0) {
+                int j = stack[head];
+                int step = rowPivot[j];
+                if (mark[j] != k) {
+                    mark[j] = k;
+                    stackPosition[head] = step < 0 ? 0 : lowerPointers[step] + 1;
+                }
+                int end = step < 0 ? 0 : lowerPointers[step + 1];
+                boolean done = true;
+                for (int q = stackPosition[head]; q < end; q++) {
+                    int i = lowerIndices[q];
+                    if (mark[i] == k) continue;
+                    // Resume j's column from here once i is finished
+                    stackPosition[head] = q + 1;
+                    stack[++head] = i;
+                    done = false;
+                    break;
+                }
+                if (done) {
+                    head--;
+                    pattern[--top] = j;
+                }
+            }
+        }
+        return top;
+    }
+
+    private void ensureLowerCapacity(int required) {
+        if (required > lowerIndices.length) {
+            int capacity = Math.max(required, 2 * lowerIndices.length);
+            lowerIndices = Arrays.copyOf(lowerIndices, capacity);
+            lowerValues = Arrays.copyOf(lowerValues, capacity);
+        }
+    }
+
+    private void ensureUpperCapacity(int required) {
+        if (required > upperIndices.length) {
+            int capacity = Math.max(required, 2 * upperIndices.length);
+            upperIndices = Arrays.copyOf(upperIndices, capacity);
+            upperValues = Arrays.copyOf(upperValues, capacity);
+        }
+    }
+
+    /**
+     * Returns true if a column had no pivot of magnitude EPSILON or more; such factors cannot solve systems
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Solves A * x = b with one sparse forward and one sparse backward substitution
+     */
+    public double[] solve(double[] b) {
+        if (b.length != n) {
+            throw new IllegalArgumentException("Right-hand side has " + b.length + " entries, expected " + n);
+        }
+        if (singular) {
+            throw new IllegalStateException("Matrix is singular; the system has no unique solution");
+        }
+
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            y[rowPivot[i]] = b[i];
+        }
+
+        // Forward substitution with unit-lower L
+        for (int j = 0; j < n; j++) {
+            double yj = y[j];
+            if (yj == 0) continue;
+            for (int p = lowerPointers[j] + 1; p < lowerPointers[j + 1]; p++) {
+                y[lowerIndices[p]] -= lowerValues[p] * yj;
+            }
+        }
+
+        // Back substitution with U, diagonal last in each column
+        for (int j = n - 1; j >= 0; j--) {
+            int diagonal = upperPointers[j + 1] - 1;
+            y[j] /= upperValues[diagonal];
+            double yj = y[j];
+            if (yj == 0) continue;
+            for (int p = upperPointers[j]; p < diagonal; p++) {
+                y[upperIndices[p]] -= upperValues[p] * yj;
+            }
+        }
+
+        double[] x = new double[n];
+        for (int k = 0; k < n; k++) {
+            x[columnOrder[k]] = y[k];
+        }
+        return x;
+    }
+
+    /**
+     * Returns the column ordering Q: column k of L * U is column getColumnOrder()[k] of A
+     */
+    public int[] getColumnOrder() {
+        return columnOrder.clone();
+    }
+
+    /**
+     * Returns the row ordering P: row k of L * U is row getRowOrder()[k] of A
+     */
+    public int[] getRowOrder() {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[rowPivot[i]] = i;
+        }
+        return order;
+    }
+
+    public int getMatrixNonZeros() {
+        return matrixNonZeros;
+    }
+
+    /**
+     * Stored entries of L, unit diagonal included
+     */
+    public int getLowerNonZeros() {
+        return singular ? 0 : lowerPointers[n];
+    }
+
+    /**
+     * Stored entries of U, diagonal included
+     */
+    public int getUpperNonZeros() {
+        return singular ? 0 : upperPointers[n];
+    }
+
+    /**
+     * Entries of L + U (counting the diagonal once) that were zero in A
+     */
+    public int getFillIn() {
+        return getLowerNonZeros() + getUpperNonZeros() - n - matrixNonZeros;
+    }
+
+    /**
+     * Nonzeros of L + U relative to the nonzeros of A
+     */
+    public double getFillRatio() {
+        return (double) (getLowerNonZeros() + getUpperNonZeros() - n) / Math.max(1, matrixNonZeros);
+    }
+}
@@ -0,0 +1,215 @@
+import java.util.Arrays;
+
+/**
+ * Sparse matrix in compressed sparse row (CSR) format
+ * Row i holds columnIndices/values[rowPointers[i] ... rowPointers[i + 1]), with column indices sorted
+ * The same arrays read as compressed sparse column (CSC) describe the transpose, see transpose()
+ */
+public class SparseMatrix implements LinearOperator {
+    private final int rows;
+    private final int cols;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    /**
+     * Wraps CSR arrays without copying them; column indices must be sorted within each row
+     */
+    public SparseMatrix(int rows, int cols, int[] rowPointers, int[] columnIndices, double[] values) {
+        if (rowPointers.length != rows + 1) {
+            throw new IllegalArgumentException("Row pointer array needs " + (rows + 1) + " entries");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Builds a matrix from (row, column, value) triplets; duplicate entries are summed
+     */
+    public static SparseMatrix fromTriplets(int rows, int cols, int[] tripletRows, int[] tripletCols,
+                                            double[] tripletValues, int count) {
+        int[] rowCounts = new int[rows + 1];
+        for (int t = 0; t < count; t++) {
+            if (tripletRows[t] < 0 || tripletRows[t] >= rows || tripletCols[t] < 0 || tripletCols[t] >= cols) {
+                throw new IllegalArgumentException("Entry (" + tripletRows[t] + ", " + tripletCols[t]
+                        + ") is outside a " + rows + "x" + cols + " matrix");
+            }
+            rowCounts[tripletRows[t] + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowCounts[i + 1] += rowCounts[i];
+        }
+
+        // Counting sort by column first, then a stable pass by row leaves every row sorted by column
+        int[] colCounts = new int[cols + 1];
+        for (int t = 0; t < count; t++) {
+            colCounts[tripletCols[t] + 1]++;
+        }
+        for (int j = 0; j < cols; j++) {
+            colCounts[j + 1] += colCounts[j];
+        }
+        int[] byColumn = new int[count];
+        for (int t = 0; t < count; t++) {
+            byColumn[colCounts[tripletCols[t]]++] = t;
+        }
+
+        int[] next = Arrays.copyOf(rowCounts, rows);
+        int[] sortedCols = new int[count];
+        double[] sortedValues = new double[count];
+        for (int t : byColumn) {
+            int position = next[tripletRows[t]]++;
+            sortedCols[position] = tripletCols[t];
+            sortedValues[position] = tripletValues[t];
+        }
+
+        // Merge duplicates in place
+        int[] rowPointers = new int[rows + 1];
+        int nnz = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowCounts[i]; p < rowCounts[i + 1]; p++) {
+                if (nnz > rowPointers[i] && sortedCols[nnz - 1] == sortedCols[p]) {
+                    sortedValues[nnz - 1] += sortedValues[p];
+                } else {
+                    sortedCols[nnz] = sortedCols[p];
+                    sortedValues[nnz] = sortedValues[p];
+                    nnz++;
+                }
+            }
+            rowPointers[i + 1] = nnz;
+        }
+        return new SparseMatrix(rows, cols, rowPointers, Arrays.copyOf(sortedCols, nnz), Arrays.copyOf(sortedValues, nnz));
+    }
+
+    /**
+     * Keeps the entries of a dense matrix whose magnitude is at least dropTolerance
+     */
+    public static SparseMatrix fromDense(double[][] matrix, double dropTolerance) {
+        int rows = matrix.length;
+        int cols = rows == 0 ? 0 : matrix[0].length;
+        int[] rowPointers = new int[rows + 1];
+        int nnz = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (Math.abs(matrix[i][j]) >= dropTolerance && matrix[i][j] != 0) {
+                    nnz++;
+                }
+            }
+            rowPointers[i + 1] = nnz;
+        }
+        int[] columnIndices = new int[nnz];
+        double[] values = new double[nnz];
+        int p = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (Math.abs(matrix[i][j]) >= dropTolerance && matrix[i][j] != 0) {
+                    columnIndices[p] = j;
+                    values[p++] = matrix[i][j];
+                }
+            }
+        }
+        return new SparseMatrix(rows, cols, rowPointers, columnIndices, values);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int nonZeroCount() {
+        return rowPointers[rows];
+    }
+
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public double get(int row, int col) {
+        int position = Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], col);
+        return position >= 0 ? values[position] : 0.0;
+    }
+
+    /**
+     * Computes y = A * x touching only the stored entries
+     */
+    public void multiply(double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            double sum = 0.0;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                sum += values[p] * x[columnIndices[p]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    @Override
+    public int size() {
+        return rows;
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        multiply(x, y);
+    }
+
+    /**
+     * Index of the diagonal entry of each row, or -1 where the diagonal is not stored
+     */
+    public int[] diagonalPositions() {
+        int[] positions = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            int position = Arrays.binarySearch(columnIndices, rowPointers[i], rowPointers[i + 1], i);
+            positions[i] = position >= 0 ? position : -1;
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the transpose in CSR form, which is also this matrix in CSC form
+     */
+    public SparseMatrix transpose() {
+        int nnz = nonZeroCount();
+        int[] pointers = new int[cols + 1];
+        for (int p = 0; p < nnz; p++) {
+            pointers[columnIndices[p] + 1]++;
+        }
+        for (int j = 0; j < cols; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+        int[] next = Arrays.copyOf(pointers, cols);
+        int[] indices = new int[nnz];
+        double[] transposedValues = new double[nnz];
+        // Visiting rows in order keeps the row indices sorted inside every column
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                int position = next[columnIndices[p]]++;
+                indices[position] = i;
+                transposedValues[position] = values[p];
+            }
+        }
+        return new SparseMatrix(cols, rows, pointers, indices, transposedValues);
+    }
+
+    public double[][] toDense() {
+        double[][] dense = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                dense[i][columnIndices[p]] = values[p];
+            }
+        }
+        return dense;
+    }
+}
@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+/**
+ * Square symmetric matrix storing only its upper triangle, packed row by row
+ * Row i holds columns i ... n - 1 contiguously starting at i * n - i * (i - 1) / 2, so the matrix takes
+ * n * (n + 1) / 2 doubles instead of n^2 (this is LAPACK's lower packed layout read column by column)
+ */
+public class SymmetricMatrix implements LinearOperator {
+    private final int n;
+    private final double[] data;
+
+    public SymmetricMatrix(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Size must be non-negative, got " + n);
+        }
+        this.n = n;
+        this.data = new double[Math.toIntExact((long) n * (n + 1) / 2)];
+    }
+
+    /**
+     * Copies the upper triangle of the first n columns of a matrix with n rows (a trailing constant
+     * column is ignored); the lower triangle is assumed to mirror it
+     */
+    public static SymmetricMatrix fromArray(double[][] matrix) {
+        int n = matrix.length;
+        SymmetricMatrix result = new SymmetricMatrix(n);
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(matrix[i], i, result.data, result.rowStart(i), n - i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the first n columns of the n rows are exactly symmetric
+     * Stops at the first mismatch, so non-symmetric input usually costs a handful of comparisons
+     */
+    public static boolean isSymmetric(double[][] matrix, int n) {
+        if (matrix.length != n) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (matrix[i][j] != matrix[j][i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cheap necessary conditions for a symmetric matrix to be positive definite: a positive diagonal
+     * and positive 2 x 2 principal minors (|a_ij| < sqrt(a_ii * a_jj)); O(n^2) with an early exit
+     * Passing does not prove definiteness; a Cholesky factorization does, stopping at the first bad pivot
+     */
+    public static boolean mayBePositiveDefinite(double[][] matrix, int n) {
+        for (int i = 0; i < n; i++) {
+            if (!(matrix[i][i] > 0)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            double[] row = matrix[i];
+            for (int j = i + 1; j < n; j++) {
+                if (row[j] * row[j] >= row[i] * matrix[j][j]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Backing array, row i starting at rowStart(i) and holding columns i ... n - 1
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    public int rowStart(int row) {
+        return (int) ((long) row * n - (long) row * (row - 1) / 2);
+    }
+
+    public double get(int row, int col) {
+        return row <= col ? data[rowStart(row) + col - row] : data[rowStart(col) + row - col];
+    }
+
+    /**
+     * Sets both (row, col) and (col, row)
+     */
+    public void set(int row, int col, double value) {
+        if (row <= col) {
+            data[rowStart(row) + col - row] = value;
+        } else {
+            data[rowStart(col) + row - col] = value;
+        }
+    }
+
+    public SymmetricMatrix copy() {
+        SymmetricMatrix result = new SymmetricMatrix(n);
+        System.arraycopy(data, 0, result.data, 0, data.length);
+        return result;
+    }
+
+    /**
+     * Computes y = A * x, using each stored entry for both of its positions
+     */
+    public void multiply(double[] x, double[] y) {
+        Arrays.fill(y, 0.0);
+        for (int i = 0; i < n; i++) {
+            int start = rowStart(i) - i;
+            double xi = x[i];
+            double sum = data[start + i] * xi;
+            for (int j = i + 1; j < n; j++) {
+                double value = data[start + j];
+                sum += value * x[j];
+                y[j] += value * xi;
+            }
+            y[i] += sum;
+        }
+    }
+
+    @Override
+    public void apply(double[] x, double[] y) {
+        multiply(x, y);
+    }
+}
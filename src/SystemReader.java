@@ -0,0 +1,175 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Reads a stream of linear systems, each stored as its augmented matrix [A | b]
+ * Two formats may be mixed freely in one stream:
+ * - Matrix Market: a "%%MatrixMarket matrix array|coordinate real|integer general" header, optional
+ *   % comments, the size line and the entries (array: column-major values; coordinate: 1-based
+ *   "row col value" triplets, read into sparse storage)
+ * - CSV: one equation per line, numbers separated by commas; a blank line or a new Matrix Market
+ *   header ends the system, and lines starting with # are comments
+ */
+public class SystemReader implements Closeable {
+    private final ByteParser parser;
+
+    public SystemReader(ByteParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Returns the next system, or null once the input is exhausted
+     */
+    public LinearSystem next() throws IOException {
+        while (true) {
+            parser.skipWhitespace();
+            int c = parser.peek();
+            if (c < 0) {
+                return null;
+            }
+            if (c == '#') {
+                parser.skipLine();
+            } else if (c == '%') {
+                return readMatrixMarket();
+            } else {
+                return readCsv();
+            }
+        }
+    }
+
+    // ========== MATRIX MARKET ==========
+
+    private LinearSystem readMatrixMarket() throws IOException {
+        String header = parser.readLine().trim();
+        String[] words = header.toLowerCase(Locale.ROOT).split("\\s+");
+        if (words.length < 5 || !words[0].equals("%%matrixmarket") || !words[1].equals("matrix")) {
+            throw parser.error("Expected a %%MatrixMarket matrix header, got '" + header + "'");
+        }
+        boolean coordinate = words[2].equals("coordinate");
+        if (!coordinate && !words[2].equals("array")) {
+            throw parser.error("Unsupported Matrix Market format '" + words[2] + "'");
+        }
+        if (!words[3].equals("real") && !words[3].equals("integer") && !words[3].equals("double")) {
+            throw parser.error("Unsupported Matrix Market field '" + words[3] + "'");
+        }
+        if (!words[4].equals("general")) {
+            throw parser.error("Only general Matrix Market matrices are supported, got '" + words[4] + "'");
+        }
+
+        // Comments and blank lines may precede the size line
+        while (true) {
+            parser.skipWhitespace();
+            if (parser.peek() != '%') break;
+            parser.skipLine();
+        }
+        int rows = parser.readInt();
+        int cols = parser.readInt();
+        if (rows < 1 || cols < 2) {
+            throw parser.error("An augmented matrix needs at least one row and two columns, got " + rows + "x" + cols);
+        }
+        return coordinate ? readCoordinate(rows, cols, parser.readInt()) : readArray(rows, cols);
+    }
+
+    private LinearSystem readArray(int rows, int cols) throws IOException {
+        double[][] matrix = new double[rows][cols];
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rows; i++) {
+                parser.skipWhitespace();
+                matrix[i][j] = parser.readDouble();
+            }
+        }
+        return LinearSystem.dense(matrix);
+    }
+
+    private LinearSystem readCoordinate(int rows, int cols, int entries) throws IOException {
+        int variables = cols - 1;
+        int[] tripletRows = new int[entries];
+        int[] tripletCols = new int[entries];
+        double[] tripletValues = new double[entries];
+        double[] constants = new double[rows];
+        int count = 0;
+        for (int e = 0; e < entries; e++) {
+            parser.skipWhitespace();
+            int i = parser.readInt() - 1;
+            int j = parser.readInt() - 1;
+            double value = parser.readDouble();
+            if (i < 0 || i >= rows || j < 0 || j >= cols) {
+                throw parser.error("Entry (" + (i + 1) + ", " + (j + 1) + ") is outside a " + rows + "x" + cols + " matrix");
+            }
+            if (j == variables) {
+                constants[i] += value;
+            } else {
+                tripletRows[count] = i;
+                tripletCols[count] = j;
+                tripletValues[count++] = value;
+            }
+        }
+        SparseMatrix coefficients = SparseMatrix.fromTriplets(rows, variables, tripletRows, tripletCols,
+                tripletValues, count);
+        return LinearSystem.sparse(coefficients, constants);
+    }
+
+    // ========== CSV ==========
+
+    private LinearSystem readCsv() throws IOException {
+        double[] values = new double[64];
+        int count = 0;
+        int cols = -1;
+        int rows = 0;
+        while (true) {
+            int c = parser.peek();
+            if (c < 0 || c == '%') break;
+            if (c == '#') {
+                parser.skipLine();
+                continue;
+            }
+            if (parser.atLineEnd()) {
+                // A blank line ends the system
+                parser.skipLine();
+                if (rows > 0) break;
+                continue;
+            }
+
+            int rowLength = 0;
+            while (true) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, 2 * count);
+                }
+                values[count++] = parser.readDouble();
+                rowLength++;
+                parser.skipBlanks();
+                c = parser.peek();
+                if (c == ',' || c == ';') {
+                    parser.skip(c);
+                } else if (c == '\n' || c < 0) {
+                    break;
+                } else {
+                    throw parser.error("Expected ',' between values");
+                }
+            }
+            if (cols < 0) {
+                cols = rowLength;
+            } else if (rowLength != cols) {
+                throw parser.error("Row has " + rowLength + " values, expected " + cols);
+            }
+            parser.skipLine();
+            rows++;
+        }
+        if (cols < 2) {
+            throw parser.error("An augmented matrix needs at least two columns");
+        }
+
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(values, i * cols, matrix[i], 0, cols);
+        }
+        return LinearSystem.dense(matrix);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
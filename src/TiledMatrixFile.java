@@ -0,0 +1,234 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Square matrix stored on disk as tileSize x tileSize tiles and accessed through memory mapping
+ * Tiles are laid out column of tiles by column of tiles (tile (I, J) is number J * tileCount + I), each
+ * tile row-major, so a vertical strip of tiles is one contiguous stretch of the file
+ * The size is padded up to a whole number of tiles; padded rows and columns hold the identity
+ * Doubles are little-endian after a one-page header holding a magic number, n and the tile size
+ * Each tile column is mapped once (in pieces of at most 2 GB) and the mappings are reused, so the
+ * heap only ever holds what callers copy out; the OS pages the file in and out behind them
+ */
+public class TiledMatrixFile implements Closeable {
+    private static final int MAGIC = 0x4C53544D;  // "LSTM"
+    private static final int HEADER_BYTES = 4096;
+
+    private final FileChannel channel;
+    private final int n;
+    private final int tileSize;
+    private final int tileCount;
+    private final long tileBytes;
+    // Tiles per mapping, limited by the 2 GB size of a MappedByteBuffer
+    private final int tilesPerMapping;
+    // mappings[tileCol][piece], created on first use; null once the file is closed; guarded by this, since
+    // OutOfCoreLU's prefetch thread maps tile columns while the solving thread reads them
+    private MappedByteBuffer[][] mappings;
+
+    private TiledMatrixFile(FileChannel channel, int n, int tileSize) {
+        this.channel = channel;
+        this.n = n;
+        this.tileSize = tileSize;
+        this.tileCount = (int) (((long) n + tileSize - 1) / tileSize);
+        this.tileBytes = (long) tileSize * tileSize * Double.BYTES;
+        this.tilesPerMapping = (int) Math.min(tileCount, Integer.MAX_VALUE / tileBytes);
+        this.mappings = new MappedByteBuffer[tileCount][(tileCount + tilesPerMapping - 1) / tilesPerMapping];
+    }
+
+    /**
+     * Creates (or truncates) a file for an n x n matrix of zeros
+     */
+    public static TiledMatrixFile create(Path path, int n, int tileSize) throws IOException {
+        if (n < 1 || tileSize < 1 || (long) tileSize * tileSize * Double.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid size " + n + " or tile size " + tileSize);
+        }
+        if (((long) n + tileSize - 1) / tileSize * tileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Size " + n + " padded to whole tiles of " + tileSize + " exceeds Integer.MAX_VALUE");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        TiledMatrixFile file = new TiledMatrixFile(channel, n, tileSize);
+        ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(n).putInt(tileSize).flip();
+        channel.write(header, 0);
+        // Extending the file leaves a sparse run of zeros
+        long length = HEADER_BYTES + (long) file.tileCount * file.tileCount * file.tileBytes;
+        channel.write(ByteBuffer.allocate(1), length - 1);
+        for (int i = n; i < file.tileCount * tileSize; i++) {
+            file.set(i, i, 1);
+        }
+        return file;
+    }
+
+    /**
+     * Opens a file written by create()
+     */
+    public static TiledMatrixFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < 12 || header.getInt() != MAGIC) {
+            channel.close();
+            throw new IOException(path + " is not a tiled matrix file");
+        }
+        return new TiledMatrixFile(channel, header.getInt(), header.getInt());
+    }
+
+    /**
+     * Copies the first n columns of an n-row (possibly augmented) matrix into a new file
+     */
+    public static TiledMatrixFile fromArray(Path path, double[][] matrix, int tileSize) throws IOException {
+        int n = matrix.length;
+        TiledMatrixFile file = create(path, n, tileSize);
+        double[] tile = new double[tileSize * tileSize];
+        for (int tileCol = 0; tileCol < file.tileCount; tileCol++) {
+            for (int tileRow = 0; tileRow < file.tileCount; tileRow++) {
+                file.readTile(tileRow, tileCol, tile, 0);
+                for (int r = 0; r < tileSize; r++) {
+                    int i = tileRow * tileSize + r;
+                    if (i >= n) break;
+                    int from = tileCol * tileSize;
+                    int count = Math.max(0, Math.min(tileSize, n - from));
+                    System.arraycopy(matrix[i], from, tile, r * tileSize, count);
+                }
+                file.writeTile(tileRow, tileCol, tile, 0);
+            }
+        }
+        return file;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Number of tiles along each side, padding included
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Mapping holding tile (tileRow, tileCol); the tile starts at tileIndex(tileRow) doubles into it
+     * Synchronized so two threads never map the same region twice or see a buffer before it is published
+     */
+    private synchronized MappedByteBuffer mapping(int tileRow, int tileCol) throws IOException {
+        if (mappings == null) {
+            throw new IllegalStateException("Tiled matrix file is closed");
+        }
+        int piece = tileRow / tilesPerMapping;
+        MappedByteBuffer buffer = mappings[tileCol][piece];
+        if (buffer == null) {
+            int firstTile = piece * tilesPerMapping;
+            int tiles = Math.min(tilesPerMapping, tileCount - firstTile);
+            long position = HEADER_BYTES + ((long) tileCol * tileCount + firstTile) * tileBytes;
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, tiles * tileBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            mappings[tileCol][piece] = buffer;
+        }
+        return buffer;
+    }
+
+    private DoubleBuffer doubles(int tileRow, int tileCol) throws IOException {
+        return mapping(tileRow, tileCol).asDoubleBuffer();
+    }
+
+    private int tileIndex(int tileRow) {
+        return (tileRow % tilesPerMapping) * tileSize * tileSize;
+    }
+
+    /**
+     * Copies tile (tileRow, tileCol) into dest starting at offset
+     */
+    public void readTile(int tileRow, int tileCol, double[] dest, int offset) throws IOException {
+        doubles(tileRow, tileCol).get(tileIndex(tileRow), dest, offset, tileSize * tileSize);
+    }
+
+    /**
+     * Writes tile (tileRow, tileCol) from source starting at offset
+     */
+    public void writeTile(int tileRow, int tileCol, double[] source, int offset) throws IOException {
+        doubles(tileRow, tileCol).put(tileIndex(tileRow), source, offset, tileSize * tileSize);
+    }
+
+    /**
+     * Reads tiles fromRow ... toRow - 1 of one tile column as a row-major (rows x tileSize) strip
+     */
+    public void readStrip(int tileCol, int fromRow, int toRow, double[] dest) throws IOException {
+        int tileLength = tileSize * tileSize;
+        for (int tileRow = fromRow; tileRow < toRow; tileRow++) {
+            readTile(tileRow, tileCol, dest, (tileRow - fromRow) * tileLength);
+        }
+    }
+
+    /**
+     * Writes a strip read by readStrip() back in place
+     */
+    public void writeStrip(int tileCol, int fromRow, int toRow, double[] source) throws IOException {
+        int tileLength = tileSize * tileSize;
+        for (int tileRow = fromRow; tileRow < toRow; tileRow++) {
+            writeTile(tileRow, tileCol, source, (tileRow - fromRow) * tileLength);
+        }
+    }
+
+    /**
+     * Asks the OS to page in a strip ahead of use; the strip is contiguous, so this is a sequential read
+     */
+    public void prefetchStrip(int tileCol, int fromRow, int toRow) throws IOException {
+        for (int tileRow = fromRow; tileRow < toRow; tileRow++) {
+            int start = tileIndex(tileRow) * Double.BYTES;
+            mapping(tileRow, tileCol).slice(start, (int) tileBytes).load();
+        }
+    }
+
+    public double get(int row, int col) throws IOException {
+        int tileRow = row / tileSize;
+        return doubles(tileRow, col / tileSize).get(tileIndex(tileRow) + (row % tileSize) * tileSize + col % tileSize);
+    }
+
+    public void set(int row, int col, double value) throws IOException {
+        int tileRow = row / tileSize;
+        doubles(tileRow, col / tileSize).put(tileIndex(tileRow) + (row % tileSize) * tileSize + col % tileSize, value);
+    }
+
+    /**
+     * Flushes written tiles to the storage device
+     */
+    public synchronized void force() throws IOException {
+        if (mappings == null) {
+            throw new IllegalStateException("Tiled matrix file is closed");
+        }
+        for (MappedByteBuffer[] column : mappings) {
+            for (MappedByteBuffer buffer : column) {
+                if (buffer != null) {
+                    buffer.force();
+                }
+            }
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Closes the channel and drops the mappings; Java has no way to unmap a MappedByteBuffer, so the regions
+     * stay mapped (and count against address space) until the buffers are garbage collected
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            mappings = null;
+        }
+        channel.close();
+    }
+}
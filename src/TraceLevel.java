@@ -0,0 +1,17 @@
+/**
+ * How much of the elimination process a solver records for later display
+ */
+public enum TraceLevel {
+    /** Nothing is recorded and getSteps() returns an empty string */
+    OFF,
+    /** Only the outcome of the solve (final solution or failure reason) */
+    SUMMARY,
+    /** A compact log of row swaps, skipped columns, elimination factors and back substitution */
+    OPS,
+    /** The operation log plus a snapshot of the input, so every intermediate matrix can be replayed */
+    FULL;
+
+    public boolean includes(TraceLevel other) {
+        return compareTo(other) >= 0;
+    }
+}
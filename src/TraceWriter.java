@@ -0,0 +1,81 @@
+import java.io.IOException;
+
+/**
+ * Writes the step-by-step transcript of an elimination straight to an Appendable (Writer, StringBuilder, ...)
+ * Numbers go through a reusable NumberFormatter, so streaming a large trace does not build Strings per value
+ */
+public class TraceWriter {
+    private static final int COLUMN_WIDTH = 10;
+
+    private final Appendable out;
+    private final NumberFormatter formatter;
+    private final DisplayUtilities display;
+
+    public TraceWriter(Appendable out) {
+        this.out = out;
+        this.formatter = new NumberFormatter();
+        this.display = DisplayUtilities.getInstance();
+    }
+
+    public TraceWriter text(CharSequence text) throws IOException {
+        out.append(text);
+        return this;
+    }
+
+    public TraceWriter number(int value) throws IOException {
+        formatter.appendTo(out, value);
+        return this;
+    }
+
+    public TraceWriter number(double value) throws IOException {
+        formatter.appendTo(out, value);
+        return this;
+    }
+
+    /**
+     * Writes the matrix in augmented format, visiting its rows in the given order
+     * The separator is placed before the first of the trailing constant columns
+     */
+    public void matrix(DenseMatrix matrix, int[] rowOrder, int variables) throws IOException {
+        double[] data = matrix.getData();
+        int cols = matrix.getCols();
+        out.append('\n');
+        for (int row : rowOrder) {
+            int rowStart = matrix.rowStart(row);
+            out.append("[ ");
+            for (int j = 0; j < cols; j++) {
+                if (j == variables) {
+                    out.append("  | ");
+                }
+                formatter.appendPadded(out, data[rowStart + j], COLUMN_WIDTH);
+                if (j < cols - 1) {
+                    out.append("  ");
+                }
+            }
+            out.append(" ]\n");
+        }
+        out.append('\n');
+    }
+
+    public void backSubstitutionStep(int variableIndex, double constantTerm, double sum,
+                                     double coefficient, double result) throws IOException {
+        out.append(display.getVariableName(variableIndex)).append(" = (");
+        formatter.appendTo(out, constantTerm);
+        out.append(" - ");
+        formatter.appendTo(out, sum);
+        out.append(") / ");
+        formatter.appendTo(out, coefficient);
+        out.append(" = ");
+        formatter.appendTo(out, result);
+        out.append('\n');
+    }
+
+    public void finalSolution(double[] solution) throws IOException {
+        out.append("\nFinal Solution:\n");
+        for (int i = 0; i < solution.length; i++) {
+            out.append(display.getVariableName(i)).append(" = ");
+            formatter.appendTo(out, solution[i]);
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Thomas algorithm for tridiagonal systems: one forward sweep and one backward sweep, O(n) time
+ * It does not pivot, so it is only used when the matrix is diagonally dominant (then it is stable)
+ */
+public final class TridiagonalSolver {
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    private TridiagonalSolver() {
+    }
+
+    /**
+     * Solves the system with sub-diagonal lower[1 ... n), diagonal, and super-diagonal upper[0 ... n - 1)
+     * lower[0] and upper[n - 1] are ignored
+     */
+    public static double[] solve(double[] lower, double[] diagonal, double[] upper, double[] rhs) {
+        int n = diagonal.length;
+        if (lower.length != n || upper.length != n || rhs.length != n) {
+            throw new IllegalArgumentException("All diagonals and the right-hand side need " + n + " entries");
+        }
+        double[] modifiedUpper = new double[n];
+        double[] x = new double[n];
+
+        // Forward sweep: eliminate the sub-diagonal
+        double previousUpper = 0.0;
+        double previousX = 0.0;
+        for (int i = 0; i < n; i++) {
+            double l = i == 0 ? 0.0 : lower[i];
+            double denominator = diagonal[i] - l * previousUpper;
+            if (Math.abs(denominator) < EPSILON) {
+                throw new IllegalStateException("Zero pivot in row " + (i + 1) + "; use BandedLU, which pivots");
+            }
+            previousUpper = i == n - 1 ? 0.0 : upper[i] / denominator;
+            previousX = (rhs[i] - l * previousX) / denominator;
+            modifiedUpper[i] = previousUpper;
+            x[i] = previousX;
+        }
+
+        // Backward sweep
+        for (int i = n - 2; i >= 0; i--) {
+            x[i] -= modifiedUpper[i] * x[i + 1];
+        }
+        return x;
+    }
+
+    /**
+     * Returns true if every |diagonal[i]| is at least the sum of the off-diagonal magnitudes in its row
+     */
+    public static boolean isDiagonallyDominant(double[] lower, double[] diagonal, double[] upper) {
+        int n = diagonal.length;
+        for (int i = 0; i < n; i++) {
+            double offDiagonal = (i > 0 ? Math.abs(lower[i]) : 0) + (i < n - 1 ? Math.abs(upper[i]) : 0);
+            if (Math.abs(diagonal[i]) < offDiagonal) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,334 @@
+import java.util.Arrays;
+
+/**
+ * LU factorization of a square matrix that absorbs low-rank changes without refactoring
+ * After k rank-1 updates A = A0 + U * V', solves use the Sherman-Morrison-Woodbury formula
+ * x = y - Z * C^-1 * V' * y with y = A0^-1 * b, Z = A0^-1 * U and the k x k capacitance matrix C = I + V' * Z
+ * An update costs one O(n^2) solve with the base factors, a solve gains O(n * k) work
+ * The matrix is refactored from scratch once the extra work caused by the pending updates (longer solves,
+ * refactoring C) reaches the cost of a factorization, once k reaches the rank limit, or when C becomes
+ * too ill-conditioned
+ */
+public class UpdatableLU {
+    // Smallest pivot of C relative to its largest before the update is judged unstable
+    private static final double CAPACITANCE_TOLERANCE = 1e-8;
+    private static final int DEFAULT_MAX_RANK = 64;
+
+    private final int n;
+    // Current matrix A0 + U * V', kept for refactoring
+    private final DenseMatrix matrix;
+    private final double[] data;
+    private int maxRank = DEFAULT_MAX_RANK;
+
+    private LUFactorization base;
+    // Column t of Z = A0^-1 * U and of V; vIndex[t] >= 0 marks v_t as the unit vector e_vIndex[t]
+    private double[][] z = new double[4][];
+    private double[][] v = new double[4][];
+    private int[] vIndex = new int[4];
+    private int rank;
+    private DenseMatrix capacitance;
+    private LUFactorization capacitanceLU;
+    // Extra work done since the last factorization, weighed against the cost of a new one
+    private double overheadFlops;
+    private int refactorCount;
+    private boolean stale;
+
+    private UpdatableLU(DenseMatrix matrix) {
+        this.n = matrix.getRows();
+        this.matrix = matrix;
+        this.data = matrix.getData();
+        refactor();
+        refactorCount = 0;
+    }
+
+    /**
+     * Factors a copy of a square coefficient matrix
+     */
+    public static UpdatableLU factor(DenseMatrix coefficients) {
+        if (coefficients.getRows() != coefficients.getCols()) {
+            throw new IllegalArgumentException("LU factorization needs a square matrix, got "
+                    + coefficients.getRows() + "x" + coefficients.getCols());
+        }
+        return new UpdatableLU(coefficients.copy());
+    }
+
+    public static UpdatableLU factor(double[][] coefficients) {
+        return factor(DenseMatrix.fromArray(coefficients));
+    }
+
+    /**
+     * Largest number of pending rank-1 updates before a refactorization; defaults to 64
+     */
+    public void setMaxRank(int maxRank) {
+        if (maxRank < 0) {
+            throw new IllegalArgumentException("Rank limit must be non-negative, got " + maxRank);
+        }
+        this.maxRank = maxRank;
+        if (rank > maxRank) {
+            stale = true;
+        }
+    }
+
+    // ========== UPDATES ==========
+
+    /**
+     * Sets entry (row, col) to value: a rank-1 change
+     */
+    public void setEntry(int row, int col, double value) {
+        checkIndex(row);
+        checkIndex(col);
+        addToEntry(row, col, value - data[matrix.rowStart(row) + col]);
+    }
+
+    /**
+     * Adds delta to entry (row, col)
+     */
+    public void addToEntry(int row, int col, double delta) {
+        checkIndex(row);
+        checkIndex(col);
+        if (delta == 0) return;
+        data[matrix.rowStart(row) + col] += delta;
+        double[] u = new double[n];
+        u[row] = delta;
+        absorb(u, null, col);
+    }
+
+    /**
+     * Replaces a row of the matrix: A += e_row * (newRow - oldRow)'
+     */
+    public void replaceRow(int row, double[] newRow) {
+        checkIndex(row);
+        checkLength(newRow);
+        int rowStart = matrix.rowStart(row);
+        double[] difference = new double[n];
+        boolean changed = false;
+        for (int j = 0; j < n; j++) {
+            difference[j] = newRow[j] - data[rowStart + j];
+            changed |= difference[j] != 0;
+            data[rowStart + j] = newRow[j];
+        }
+        if (!changed) return;
+        double[] u = new double[n];
+        u[row] = 1;
+        absorb(u, difference, -1);
+    }
+
+    /**
+     * Replaces a column of the matrix: A += (newColumn - oldColumn) * e_col'
+     */
+    public void replaceColumn(int col, double[] newColumn) {
+        checkIndex(col);
+        checkLength(newColumn);
+        double[] difference = new double[n];
+        boolean changed = false;
+        for (int i = 0; i < n; i++) {
+            int index = matrix.rowStart(i) + col;
+            difference[i] = newColumn[i] - data[index];
+            changed |= difference[i] != 0;
+            data[index] = newColumn[i];
+        }
+        if (!changed) return;
+        absorb(difference, null, col);
+    }
+
+    /**
+     * General rank-1 update A += u * v'
+     */
+    public void update(double[] u, double[] v) {
+        checkLength(u);
+        checkLength(v);
+        for (int i = 0; i < n; i++) {
+            if (u[i] == 0) continue;
+            int rowStart = matrix.rowStart(i);
+            for (int j = 0; j < n; j++) {
+                data[rowStart + j] += u[i] * v[j];
+            }
+        }
+        absorb(u, v.clone(), -1);
+    }
+
+    /**
+     * Rank-k update A += U * V' given the k columns of U and of V
+     */
+    public void update(double[][] uColumns, double[][] vColumns) {
+        if (uColumns.length != vColumns.length) {
+            throw new IllegalArgumentException("U has " + uColumns.length + " columns but V has " + vColumns.length);
+        }
+        for (int t = 0; t < uColumns.length; t++) {
+            update(uColumns[t], vColumns[t]);
+        }
+    }
+
+    /**
+     * Adds the term u * v' (or u * e_unitColumn' when v is null) to the Woodbury representation
+     * The caller has already applied it to the stored matrix
+     */
+    private void absorb(double[] u, double[] vColumn, int unitColumn) {
+        if (stale || base.isSingular() || rank >= maxRank) {
+            // A singular base has no inverse to update; the next solve refactors the current matrix
+            stale = true;
+            return;
+        }
+        double[] zColumn = base.solve(u);
+        if (rank == z.length) {
+            int capacity = 2 * rank;
+            z = Arrays.copyOf(z, capacity);
+            v = Arrays.copyOf(v, capacity);
+            vIndex = Arrays.copyOf(vIndex, capacity);
+        }
+        z[rank] = zColumn;
+        v[rank] = vColumn;
+        vIndex[rank] = vColumn == null ? unitColumn : -1;
+        rank++;
+
+        // C = I + V' * Z grows by one row and one column; factoring it is O(k^3) with k small
+        DenseMatrix grown = new DenseMatrix(rank, rank);
+        for (int s = 0; s < rank; s++) {
+            for (int t = 0; t < rank; t++) {
+                double value = s < rank - 1 && t < rank - 1 ? capacitance.get(s, t) : dotV(s, z[t]) + (s == t ? 1 : 0);
+                grown.set(s, t, value);
+            }
+        }
+        capacitance = grown;
+        capacitanceLU = LUFactorization.factor(capacitance, rank);
+        // The O(n^2) solve for z is paid whatever the state of the base; only the work that grows with k counts
+        overheadFlops += 4.0 * n * rank + 2.0 / 3.0 * rank * (double) rank * rank;
+
+        if (capacitanceLU.isSingular() || !isWellConditioned(capacitanceLU) || overheadFlops >= factorFlops()) {
+            stale = true;
+        }
+    }
+
+    /**
+     * Pivot ratio of the capacitance factors; a tiny ratio means A is close to singular or the
+     * Woodbury correction would lose most of its digits to cancellation
+     */
+    private static boolean isWellConditioned(LUFactorization lu) {
+        DenseMatrix u = lu.getU();
+        double smallest = Double.MAX_VALUE;
+        double largest = 0;
+        for (int i = 0; i < u.getRows(); i++) {
+            double pivot = Math.abs(u.get(i, i));
+            smallest = Math.min(smallest, pivot);
+            largest = Math.max(largest, pivot);
+        }
+        return smallest >= CAPACITANCE_TOLERANCE * largest;
+    }
+
+    /**
+     * v_s' * x
+     */
+    private double dotV(int s, double[] x) {
+        if (vIndex[s] >= 0) {
+            return x[vIndex[s]];
+        }
+        double[] column = v[s];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += column[i] * x[i];
+        }
+        return sum;
+    }
+
+    // ========== SOLVING ==========
+
+    /**
+     * Solves A * x = b for the current matrix, refactoring first if an update asked for it
+     */
+    public double[] solve(double[] b) {
+        checkLength(b);
+        if (stale) {
+            refactor();
+        }
+        double[] x = base.solve(b);
+        if (rank == 0) {
+            return x;
+        }
+        double[] w = new double[rank];
+        for (int s = 0; s < rank; s++) {
+            w[s] = dotV(s, x);
+        }
+        double[] coefficients = capacitanceLU.solve(w);
+        for (int t = 0; t < rank; t++) {
+            double factor = coefficients[t];
+            double[] column = z[t];
+            for (int i = 0; i < n; i++) {
+                x[i] -= factor * column[i];
+            }
+        }
+        overheadFlops += 4.0 * n * rank;
+        if (overheadFlops >= factorFlops()) {
+            stale = true;
+        }
+        return x;
+    }
+
+    /**
+     * Factors the current matrix from scratch and drops the pending updates
+     */
+    public void refactor() {
+        base = LUFactorization.factor(matrix);
+        Arrays.fill(z, null);
+        Arrays.fill(v, null);
+        rank = 0;
+        capacitance = null;
+        capacitanceLU = null;
+        overheadFlops = 0;
+        stale = false;
+        refactorCount++;
+    }
+
+    private double factorFlops() {
+        return 2.0 / 3.0 * n * (double) n * n;
+    }
+
+    /**
+     * True if the current matrix has no unique solution; refactors first if updates are pending
+     */
+    public boolean isSingular() {
+        if (stale) {
+            refactor();
+        }
+        // Pending updates always leave C well conditioned, so A is singular exactly when A0 is
+        return base.isSingular();
+    }
+
+    // ========== ACCESSORS ==========
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Number of rank-1 updates applied since the last factorization
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Number of refactorizations triggered by updates or by refactor(), not counting the first factorization
+     */
+    public int getRefactorCount() {
+        return refactorCount;
+    }
+
+    /**
+     * Copy of the current matrix including every update
+     */
+    public DenseMatrix getMatrix() {
+        return matrix.copy();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= n) {
+            throw new IllegalArgumentException("Index " + index + " is outside a " + n + "x" + n + " matrix");
+        }
+    }
+
+    private void checkLength(double[] vector) {
+        if (vector.length != n) {
+            throw new IllegalArgumentException("Vector has " + vector.length + " entries, expected " + n);
+        }
+    }
+}
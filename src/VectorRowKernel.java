@@ -0,0 +1,52 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Row kernel built on the incubating Vector API (jdk.incubator.vector)
+ * The snap-to-zero test becomes a lane mask instead of a per-element branch, so the whole update vectorizes
+ * Only loaded through RowKernels when the module is present at runtime
+ */
+public class VectorRowKernel implements RowKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void subtractRow(double[] data, int targetStart, int sourceStart, int fromCol, int toCol,
+                            double factor, double epsilon) {
+        int length = toCol - fromCol;
+        int target = targetStart + fromCol;
+        int source = sourceStart + fromCol;
+        int upper = SPECIES.loopBound(length);
+        int j = 0;
+        for (; j < upper; j += SPECIES.length()) {
+            DoubleVector sourceLanes = DoubleVector.fromArray(SPECIES, data, source + j);
+            DoubleVector targetLanes = DoubleVector.fromArray(SPECIES, data, target + j);
+            // Separate multiply and subtract (no fused multiply-add) to round exactly like the scalar kernel
+            DoubleVector value = targetLanes.sub(sourceLanes.mul(factor));
+            VectorMask<Double> tiny = value.abs().compare(VectorOperators.LT, epsilon);
+            value.blend(0.0, tiny).intoArray(data, target + j);
+        }
+        for (; j < length; j++) {
+            double value = data[target + j] - factor * data[source + j];
+            data[target + j] = Math.abs(value) < epsilon ? 0 : value;
+        }
+    }
+
+    @Override
+    public double dot(double[] a, int aStart, double[] b, int bStart, int length) {
+        int upper = SPECIES.loopBound(length);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int j = 0;
+        for (; j < upper; j += SPECIES.length()) {
+            DoubleVector aLanes = DoubleVector.fromArray(SPECIES, a, aStart + j);
+            DoubleVector bLanes = DoubleVector.fromArray(SPECIES, b, bStart + j);
+            sums = aLanes.fma(bLanes, sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; j < length; j++) {
+            sum += a[aStart + j] * b[bStart + j];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,180 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BandedMatrix, BandedLU, TridiagonalSolver and SolverSelector
+ * Checks banded results against dense elimination and the automatic routing between engines
+ */
+public class BandedSolverTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // ========== BANDWIDTH DETECTION TESTS ==========
+
+    @Test
+    @DisplayName("Bandwidth Detection Ignores the Constant Column")
+    void testDetectBandwidth() {
+        double[][] augmentedMatrix = {
+            {4, 1, 0, 0, 9},
+            {2, 4, 1, 0, 9},
+            {1, 2, 4, 1, 9},
+            {0, 0, 2, 4, 9}
+        };
+
+        int[] bandwidth = BandedMatrix.detectBandwidth(augmentedMatrix, 4);
+
+        assertEquals(2, bandwidth[0], "Lower bandwidth should be 2");
+        assertEquals(1, bandwidth[1], "Upper bandwidth should be 1");
+    }
+
+    @Test
+    @DisplayName("Bandwidth Detection Keeps Tiny Entries in the Band")
+    void testDetectTinyEntries() {
+        double[][] augmentedMatrix = {
+            {4, 1, 0, 0, 1e-11, 9},
+            {1, 4, 1, 0, 0, 9},
+            {0, 1, 4, 1, 0, 9},
+            {0, 0, 1, 4, 1, 9},
+            {1e-11, 0, 0, 1, 4, 9}
+        };
+        assertArrayEquals(new int[] {4, 4}, BandedMatrix.detectBandwidth(augmentedMatrix, 5));
+        assertNotEquals(SolverSelector.Engine.TRIDIAGONAL, SolverSelector.select(augmentedMatrix),
+                "Routing must not change the system being solved");
+
+        // A system with only tiny coefficients is still dense, not diagonal
+        double[][] tiny = {
+            {1e-12, 2e-12, 3e-12, 1},
+            {4e-12, 5e-12, 6e-12, 1},
+            {7e-12, 8e-12, 1e-11, 1}
+        };
+        assertArrayEquals(new int[] {2, 2}, BandedMatrix.detectBandwidth(tiny, 3));
+    }
+
+    // ========== TRIDIAGONAL TESTS ==========
+
+    @Test
+    @DisplayName("Thomas Algorithm Solves a Large Tridiagonal System")
+    void testThomasLarge() {
+        int n = 1_000_000;
+        double[] lower = new double[n];
+        double[] diagonal = new double[n];
+        double[] upper = new double[n];
+        double[] expected = new double[n];
+        double[] rhs = new double[n];
+        for (int i = 0; i < n; i++) {
+            lower[i] = -1;
+            diagonal[i] = 4;
+            upper[i] = -1;
+            expected[i] = Math.cos(i);
+        }
+        for (int i = 0; i < n; i++) {
+            rhs[i] = 4 * expected[i] - (i > 0 ? expected[i - 1] : 0) - (i < n - 1 ? expected[i + 1] : 0);
+        }
+
+        double[] x = TridiagonalSolver.solve(lower, diagonal, upper, rhs);
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected[i], x[i], EPSILON, "Solution should match at unknown " + i);
+        }
+    }
+
+    // ========== BANDED LU TESTS ==========
+
+    @Test
+    @DisplayName("Banded LU Matches Dense LU Including Row Swaps")
+    void testBandedMatchesDense() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 3 + random.nextInt(20);
+            int lower = random.nextInt(4);
+            int upper = random.nextInt(4);
+            double[][] a = new double[n][n];
+            BandedMatrix band = new BandedMatrix(n, lower, upper);
+            for (int i = 0; i < n; i++) {
+                for (int j = Math.max(0, i - lower); j <= Math.min(n - 1, i + upper); j++) {
+                    // Small diagonals force pivoting inside the band
+                    a[i][j] = random.nextInt(19) - 9 + (i == j ? 0.5 : 0);
+                    band.set(i, j, a[i][j]);
+                }
+            }
+            double[] b = new double[n];
+            for (int i = 0; i < n; i++) {
+                b[i] = random.nextInt(19) - 9;
+            }
+
+            LUFactorization dense = LUFactorization.factor(a);
+            BandedLU banded = BandedLU.factor(band);
+            assertEquals(dense.isSingular(), banded.isSingular(), "Both should agree on singularity");
+            if (dense.isSingular()) continue;
+
+            assertEquals(dense.determinant(), banded.determinant(), 1e-8 * Math.abs(dense.determinant()));
+            double[] expected = dense.solve(b);
+            double[] actual = banded.solve(b);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[i], actual[i], 1e-8 * Math.max(1, Math.abs(expected[i])),
+                        "Solutions should agree, trial " + trial);
+            }
+        }
+    }
+
+    // ========== SOLVER SELECTION TESTS ==========
+
+    @Test
+    @DisplayName("Selector Routes by Structure")
+    void testSelectEngine() {
+        double[][] tridiagonal = {
+            {4, 1, 0, 0, 5},
+            {1, 4, 1, 0, 6},
+            {0, 1, 4, 1, 6},
+            {0, 0, 1, 4, 5}
+        };
+        double[][] banded = {
+            {0, 1, 0, 0, 0, 1},
+            {1, 0, 1, 0, 0, 2},
+            {0, 1, 0, 1, 0, 2},
+            {0, 0, 1, 0, 1, 2},
+            {0, 0, 0, 1, 1, 2}
+        };
+        double[][] dense = {
+            {1, 1, 1, 6},
+            {2, 1, -1, 1},
+            {1, -1, 1, 2}
+        };
+
+        assertEquals(SolverSelector.Engine.TRIDIAGONAL, SolverSelector.select(tridiagonal));
+        assertEquals(SolverSelector.Engine.BANDED, SolverSelector.select(banded));
+        assertEquals(SolverSelector.Engine.DENSE, SolverSelector.select(dense));
+
+        double[] solution = SolverSelector.solve(tridiagonal);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1.0, solution[i], EPSILON, "Every unknown should be 1.0");
+        }
+        solution = SolverSelector.solve(banded);
+        double[] expected = new GaussianElimination(banded).solve();
+        assertArrayEquals(expected, solution, EPSILON, "Banded result should match elimination");
+    }
+
+    @Test
+    @DisplayName("Singular Banded Systems Are Classified by Elimination")
+    void testSingularFallback() {
+        double[][] dependent = {
+            {1, -1, 0, 0, 0},
+            {-1, 2, -1, 0, 0},
+            {0, -1, 2, -1, 0},
+            {0, 0, -1, 1, 0}
+        };
+        double[][] inconsistent = {
+            {1, -1, 0, 0, 1},
+            {-1, 2, -1, 0, 0},
+            {0, -1, 2, -1, 0},
+            {0, 0, -1, 1, 0}
+        };
+
+        assertEquals(SolverSelector.Engine.TRIDIAGONAL, SolverSelector.select(dependent));
+        assertNull(SolverSelector.solve(dependent), "Dependent rows should give infinite solutions");
+        assertEquals(0, SolverSelector.solve(inconsistent).length, "Contradictory rows should give no solution");
+    }
+}
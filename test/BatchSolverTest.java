@@ -0,0 +1,80 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchSolver
+ * Packed batches must give the same answers and statuses as solving each system with GaussianElimination
+ */
+public class BatchSolverTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    @Test
+    @DisplayName("Batch Reports Unique, Inconsistent and Infinite Systems")
+    void testStatuses() {
+        double[] systems = {
+            1, 1, 3, 2, -1, 0,   // x + y = 3, 2x - y = 0
+            1, 1, 1, 1, 1, 2,    // x + y = 1, x + y = 2
+            1, 1, 3, 2, 2, 6     // x + y = 3, 2x + 2y = 6
+        };
+        double[] solutions = new double[6];
+        byte[] status = new byte[3];
+
+        new BatchSolver(2, 2).solve(systems, 3, solutions, status);
+
+        assertEquals(BatchSolver.UNIQUE, status[0]);
+        assertEquals(1.0, solutions[0], EPSILON, "X should be 1.0");
+        assertEquals(2.0, solutions[1], EPSILON, "Y should be 2.0");
+        assertEquals(BatchSolver.INCONSISTENT, status[1]);
+        assertTrue(Double.isNaN(solutions[2]));
+        assertEquals(BatchSolver.INFINITE, status[2]);
+    }
+
+    @Test
+    @DisplayName("Parallel Batch Matches GaussianElimination")
+    void testMatchesGaussianElimination() {
+        int count = 5000;
+        int n = 4;
+        BatchSolver solver = new BatchSolver(n, n);
+        Random random = new Random(5);
+        double[] systems = new double[count * solver.getSystemSize()];
+        for (int i = 0; i < systems.length; i++) {
+            // Small integer range so that singular systems show up too
+            systems[i] = random.nextInt(5) - 2;
+        }
+        double[] solutions = new double[count * n];
+        byte[] status = new byte[count];
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            solver.solve(systems, count, solutions, status, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int s = 0; s < count; s++) {
+            double[][] matrix = new double[n][n + 1];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(systems, s * solver.getSystemSize() + i * (n + 1), matrix[i], 0, n + 1);
+            }
+            GaussianElimination reference = new GaussianElimination(matrix);
+            reference.setTraceLevel(TraceLevel.OFF);
+            double[] expected = reference.solve();
+
+            if (expected == null) {
+                assertEquals(BatchSolver.INFINITE, status[s], "System " + s);
+            } else if (expected.length == 0) {
+                assertEquals(BatchSolver.INCONSISTENT, status[s], "System " + s);
+            } else {
+                assertEquals(BatchSolver.UNIQUE, status[s], "System " + s);
+                for (int j = 0; j < n; j++) {
+                    assertEquals(expected[j], solutions[s * n + j], EPSILON, "System " + s);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BigRational and the Bareiss and multi-modular paths of ExactSolver
+ */
+public class ExactSolverTest {
+
+    // ========== RATIONAL ARITHMETIC TESTS ==========
+
+    @Test
+    @DisplayName("Fractions Stay in Lowest Terms and Read Decimals as Written")
+    void testBigRational() {
+        BigRational third = BigRational.of(BigInteger.valueOf(-2), BigInteger.valueOf(-6));
+        assertEquals("1/3", third.toString());
+        assertEquals(BigRational.ONE, third.add(third).add(third));
+        assertEquals("1/10", BigRational.valueOf(0.1).toString());
+        assertEquals("-5/2", BigRational.valueOf(-2.5).toString());
+        assertEquals("12", BigRational.valueOf(12.0).toString());
+        assertEquals(0.1, BigRational.valueOf(0.1).doubleValue());
+        assertTrue(third.compareTo(BigRational.valueOf(0.33)) > 0);
+        assertThrows(ArithmeticException.class, () -> third.divide(BigRational.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> BigRational.valueOf(Double.NaN));
+    }
+
+    // ========== SOLUTION TESTS ==========
+
+    @Test
+    @DisplayName("Unique Solutions Come Back as Exact Fractions")
+    void testExactFractions() {
+        double[][] matrix = {
+            {2, 1, 1},
+            {1, 3, 2}
+        };
+        for (ExactSolver.Method method : ExactSolver.Method.values()) {
+            ExactSolver solver = new ExactSolver(matrix);
+            solver.setMethod(method);
+            ExactResult result = solver.solve();
+
+            assertTrue(result.isUnique());
+            assertEquals("1/5", result.getParticularSolution()[0].toString(), method.name());
+            assertEquals("3/5", result.getParticularSolution()[1].toString(), method.name());
+            assertArrayEquals(new double[] {0.2, 0.6}, result.toDoubleArray());
+        }
+
+        // 0.1 x = 0.3 is exactly x = 3, which floating point misses by a rounding error
+        ExactResult decimal = new ExactSolver(new double[][] {{0.1, 0.3}}).solve();
+        assertEquals(BigRational.valueOf(3), decimal.getParticularSolution()[0]);
+    }
+
+    @Test
+    @DisplayName("Rank and Consistency Need No Tolerance")
+    void testNoEpsilon() {
+        // GaussianElimination snaps the 1e-11 pivot to zero and reports an inconsistent system
+        double[][] tiny = {
+            {1e-11, 1, 1},
+            {0, 1, 1}
+        };
+        ExactResult unique = new ExactSolver(tiny).solve();
+        assertTrue(unique.isUnique());
+        assertEquals(BigRational.ZERO, unique.getParticularSolution()[0]);
+
+        double[][] inconsistent = {
+            {1, 2, 3},
+            {2, 4, 7}
+        };
+        ExactResult none = new ExactSolver(inconsistent).solve();
+        assertEquals(SolveResult.Status.INCONSISTENT, none.getStatus());
+        assertNull(none.getParticularSolution());
+        assertArrayEquals(new double[0], none.toDoubleArray());
+
+        double[][] dependent = {
+            {1, 2, 3, 6},
+            {2, 4, 6, 12}
+        };
+        ExactResult infinite = new ExactSolver(dependent).solve();
+        assertEquals(SolveResult.Status.INFINITE, infinite.getStatus());
+        assertEquals(1, infinite.getRank());
+        assertArrayEquals(new int[] {0}, infinite.getPivotColumns());
+        assertEquals(2, infinite.getNullity());
+        assertEquals("[-2, 1, 0]", Arrays.toString(infinite.getNullSpaceBasis()[0]));
+        assertEquals("[-3, 0, 1]", Arrays.toString(infinite.getNullSpaceBasis()[1]));
+        assertNull(infinite.toDoubleArray());
+    }
+
+    @Test
+    @DisplayName("Hilbert System Is Solved Exactly Where Floating Point Fails")
+    void testHilbert() {
+        // H x = H * 1 has the solution x = 1; the 12 x 12 Hilbert matrix has condition number near 1e16
+        int n = 12;
+        BigRational[][] matrix = new BigRational[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            BigRational sum = BigRational.ZERO;
+            for (int j = 0; j < n; j++) {
+                matrix[i][j] = BigRational.of(BigInteger.ONE, BigInteger.valueOf(i + j + 1));
+                sum = sum.add(matrix[i][j]);
+            }
+            matrix[i][n] = sum;
+        }
+        for (ExactSolver.Method method : new ExactSolver.Method[] {ExactSolver.Method.BAREISS, ExactSolver.Method.MULTI_MODULAR}) {
+            ExactSolver solver = new ExactSolver(matrix);
+            solver.setMethod(method);
+            ExactResult result = solver.solve();
+            assertTrue(result.isUnique(), method.name());
+            for (BigRational value : result.getParticularSolution()) {
+                assertEquals(BigRational.ONE, value, method.name());
+            }
+        }
+    }
+
+    // ========== MULTI-MODULAR TESTS ==========
+
+    @Test
+    @DisplayName("Bareiss and Multi-Modular Paths Agree on Random Integer Systems")
+    void testMethodsAgree() {
+        Random random = new Random(31);
+        for (int trial = 0; trial < 300; trial++) {
+            int rows = 1 + random.nextInt(6);
+            int variables = 1 + random.nextInt(6);
+            int range = 1 + random.nextInt(4);
+            double[][] matrix = new double[rows][variables + 1];
+            for (double[] row : matrix) {
+                for (int j = 0; j <= variables; j++) {
+                    row[j] = random.nextInt(2 * range + 1) - range;
+                }
+            }
+            if (rows > 2 && random.nextBoolean()) {
+                // A dependent last row, sometimes with a contradicting constant
+                for (int j = 0; j <= variables; j++) {
+                    matrix[rows - 1][j] = 2 * matrix[0][j] - matrix[1][j];
+                }
+                matrix[rows - 1][variables] += random.nextInt(2);
+            }
+
+            ExactSolver bareiss = new ExactSolver(matrix);
+            bareiss.setMethod(ExactSolver.Method.BAREISS);
+            ExactSolver modular = new ExactSolver(matrix);
+            modular.setMethod(ExactSolver.Method.MULTI_MODULAR);
+            ExactResult expected = bareiss.solve();
+            ExactResult actual = modular.solve();
+
+            String context = "Trial " + trial + ": " + Arrays.deepToString(matrix);
+            assertEquals(expected.getStatus(), actual.getStatus(), context);
+            assertArrayEquals(expected.getPivotColumns(), actual.getPivotColumns(), context);
+            assertArrayEquals(expected.getParticularSolution(), actual.getParticularSolution(), context);
+            assertArrayEquals(expected.getNullSpaceBasis(), actual.getNullSpaceBasis(), context);
+            assertEquals(new GaussianElimination(matrix).solveDetailed().getStatus(), expected.getStatus(), context);
+        }
+    }
+
+    @Test
+    @DisplayName("Large System Is Rebuilt From Many Primes and Satisfies A x = b Exactly")
+    void testLargeSystem() {
+        int n = 60;
+        Random random = new Random(37);
+        double[][] matrix = new double[n][n + 1];
+        for (double[] row : matrix) {
+            for (int j = 0; j <= n; j++) {
+                row[j] = random.nextInt(201) - 100;
+            }
+        }
+
+        ExactSolver serial = new ExactSolver(matrix);
+        ExactResult result = serial.solve();
+        assertTrue(result.isUnique());
+        assertTrue(serial.getPrimeCount() > 10, "Entries of hundreds of bits need many primes");
+
+        BigRational[] x = result.getParticularSolution();
+        for (int i = 0; i < n; i++) {
+            BigRational sum = BigRational.ZERO;
+            for (int j = 0; j < n; j++) {
+                sum = sum.add(BigRational.valueOf(matrix[i][j]).multiply(x[j]));
+            }
+            assertEquals(BigRational.valueOf(matrix[i][n]), sum, "Equation " + i);
+        }
+
+        double[] approximate = new GaussianElimination(matrix).solve();
+        assertArrayEquals(approximate, result.toDoubleArray(), 1e-9);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ExactSolver parallel = new ExactSolver(matrix);
+            parallel.setForkJoinPool(pool);
+            assertArrayEquals(x, parallel.solve().getParticularSolution());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Miller-Rabin Agrees With BigInteger on Candidate Primes")
+    void testPrimality() {
+        for (long n = (1L << 26) - 3000; n < (1L << 26); n++) {
+            assertEquals(BigInteger.valueOf(n).isProbablePrime(50), ExactSolver.isPrime(n), "n = " + n);
+        }
+        assertFalse(ExactSolver.isPrime(1));
+        assertTrue(ExactSolver.isPrime(2));
+        assertTrue(ExactSolver.isPrime(61));
+        assertFalse(ExactSolver.isPrime(3215031751L), "Strong pseudoprime to bases 2, 3, 5 and 7");
+    }
+}
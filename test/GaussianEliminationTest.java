@@ -1,6 +1,15 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -461,4 +470,470 @@ public class GaussianEliminationTest {
         assertTrue(steps.contains("Forward Elimination"), "Steps should contain forward elimination");
         assertTrue(steps.contains("Back Substitution"), "Steps should contain back substitution");
     }
-}
\ No newline at end of file
+
+    // ========== TRACE LEVEL TESTS ==========
+
+    @Test
+    @DisplayName("Full Trace of a Repeated Solve Shows Rows in Logical Order")
+    void testRepeatedSolveFullTrace() {
+        GaussianElimination solver = new GaussianElimination(new double[][] {{2, 1, 5}, {4, 3, 11}});
+        solver.setTraceLevel(TraceLevel.FULL);
+        assertArrayEquals(new double[] {2, 1}, solver.solve(), EPSILON);
+        assertArrayEquals(new double[] {2, 1}, solver.solve(), EPSILON);
+        String steps = solver.getSteps();
+
+        // The first solve swapped the rows and left [4 3 | 11] above [0 -0.5 | -0.5]; its multiplier 0.5 is cleared
+        String initial = steps.substring(steps.indexOf("Initial augmented matrix"), steps.indexOf("Forward Elimination"));
+        String echelon = steps.substring(steps.indexOf("Row Echelon Form"), steps.indexOf("Back Substitution"));
+        for (String block : new String[] {initial, echelon}) {
+            String[] rows = block.lines().filter(line -> line.startsWith("[")).toArray(String[]::new);
+            assertEquals(2, rows.length);
+            assertArrayEquals(new String[] {"4", "3", "|", "11"}, rows[0].replaceAll("[\\[\\]]", "").trim().split("\\s+"));
+            assertArrayEquals(new String[] {"0", "-0.5", "|", "-0.5"}, rows[1].replaceAll("[\\[\\]]", "").trim().split("\\s+"));
+        }
+    }
+
+    @Test
+    @DisplayName("Trace Level OFF Records Nothing")
+    void testTraceLevelOff() {
+        double[][] matrix = {
+            {0, 1, 2},
+            {1, 1, 3}
+        };
+
+        GaussianElimination solver = new GaussianElimination(matrix);
+        solver.setTraceLevel(TraceLevel.OFF);
+        double[] solution = solver.solve();
+
+        assertNotNull(solution);
+        assertEquals(1.0, solution[0], EPSILON, "X should be 1.0");
+        assertEquals(2.0, solution[1], EPSILON, "Y should be 2.0");
+        assertEquals("", solver.getSteps(), "No steps should be recorded when tracing is off");
+        assertEquals(0, solver.getTrace().getOperationCount());
+    }
+
+    @Test
+    @DisplayName("Trace Level OPS Logs Operations Without Matrices")
+    void testTraceLevelOps() {
+        double[][] matrix = {
+            {0, 1, 2},
+            {1, 1, 3}
+        };
+
+        GaussianElimination solver = new GaussianElimination(matrix);
+        solver.setTraceLevel(TraceLevel.OPS);
+        solver.solve();
+        String steps = solver.getSteps();
+
+        assertTrue(steps.contains("Swap row 1 with row 2"), "Steps should contain the row swap");
+        assertTrue(steps.contains("Back Substitution"), "Steps should contain back substitution");
+        assertTrue(steps.contains("Final Solution"), "Steps should contain the final solution");
+        assertFalse(steps.contains("["), "OPS level should not render matrices");
+    }
+
+    @Test
+    @DisplayName("Trace Replay Reproduces Row Echelon Form")
+    void testTraceReplay() {
+        double[][] matrix = {
+            {1, 1, 1, 6},
+            {2, 1, -1, 1},
+            {1, -1, 1, 2}
+        };
+
+        GaussianElimination solver = new GaussianElimination(matrix);
+        solver.setTraceLevel(TraceLevel.OPS);
+        solver.solve();
+        DenseMatrix echelon = solver.getTrace().replay(DenseMatrix.fromArray(matrix));
+
+        // Row echelon form: everything below the diagonal has been eliminated
+        for (int i = 1; i < 3; i++) {
+            for (int j = 0; j < i; j++) {
+                assertEquals(0.0, echelon.get(i, j), EPSILON, "Entry below the diagonal should be zero");
+            }
+        }
+        assertEquals(2.0, echelon.get(0, 0), EPSILON, "Largest pivot should have been swapped to the top");
+    }
+
+    // ========== SOLVE RESULT TESTS ==========
+
+    @Test
+    @DisplayName("Underdetermined System Gives Rank, Free Variables and Null Space")
+    void testSolveResultUnderdetermined() {
+        // System: x + y + z = 5, 2x - y + z = 3
+        double[][] matrix = {
+            {1, 1, 1, 5},
+            {2, -1, 1, 3}
+        };
+
+        GaussianElimination solver = new GaussianElimination(matrix);
+        SolveResult result = solver.solveDetailed();
+
+        assertEquals(SolveResult.Status.INFINITE, result.getStatus());
+        assertEquals(2, result.getRank());
+        assertArrayEquals(new int[] {0, 1}, result.getPivotColumns());
+        assertArrayEquals(new int[] {2}, result.getFreeVariables());
+        assertEquals(1, result.getNullity());
+        assertEquals(1.0, result.getNullSpaceBasis()[0][2], EPSILON, "The free variable is the parameter");
+        assertEquals(0.0, result.getParticularSolution()[2], EPSILON, "Free variables are zero in the particular solution");
+
+        // Every choice of the parameter must satisfy both equations
+        for (double t : new double[] {0, 1, -2.5, 10}) {
+            double[] x = result.evaluate(t);
+            for (double[] row : matrix) {
+                assertEquals(row[3], row[0] * x[0] + row[1] * x[1] + row[2] * x[2], EPSILON, "t = " + t);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> result.evaluate());
+    }
+
+    @Test
+    @DisplayName("Skipped Pivot Column Does Not Hide the Next Pivot")
+    void testSolveResultSkippedColumn() {
+        // The first column is zero, so the pivot for y must come from row 1 as well: y = 1 and 2y = 3
+        double[][] inconsistent = {
+            {0, 1, 1},
+            {0, 2, 3}
+        };
+        double[][] dependent = {
+            {0, 1, 1},
+            {0, 2, 2}
+        };
+
+        assertEquals(0, new GaussianElimination(inconsistent).solve().length, "System should be inconsistent");
+
+        GaussianElimination solver = new GaussianElimination(dependent);
+        solver.setTraceLevel(TraceLevel.OPS);
+        SolveResult result = solver.solveDetailed();
+        assertEquals(SolveResult.Status.INFINITE, result.getStatus());
+        assertEquals(1, result.getRank());
+        assertArrayEquals(new int[] {1}, result.getPivotColumns());
+        assertArrayEquals(new double[] {0, 1}, result.getParticularSolution(), EPSILON);
+        assertArrayEquals(new double[] {1, 0}, result.getNullSpaceBasis()[0], EPSILON);
+
+        // Replaying the log must eliminate in column 2, not in the skipped column 1
+        DenseMatrix echelon = solver.getTrace().replay(DenseMatrix.fromArray(dependent));
+        assertEquals(2.0, echelon.get(0, 1), EPSILON);
+        assertEquals(0.0, echelon.get(1, 1), EPSILON);
+        assertEquals(0.0, echelon.get(1, 2), EPSILON);
+    }
+
+    @Test
+    @DisplayName("Detailed Results Agree With solve() on Random Systems")
+    void testSolveResultMatchesSolve() {
+        Random random = new Random(11);
+        for (int t = 0; t < 500; t++) {
+            int rows = 1 + random.nextInt(5);
+            int variables = 1 + random.nextInt(5);
+            double[][] matrix = new double[rows][variables + 1];
+            for (double[] row : matrix) {
+                for (int j = 0; j <= variables; j++) {
+                    row[j] = random.nextInt(4) == 0 ? 0 : random.nextInt(7) - 3;
+                }
+            }
+
+            double[] legacy = new GaussianElimination(matrix).solve();
+            SolveResult result = new GaussianElimination(matrix).solveDetailed();
+            if (legacy == null) {
+                assertEquals(SolveResult.Status.INFINITE, result.getStatus());
+                assertEquals(variables - result.getRank(), result.getNullity());
+                for (double[] v : result.getNullSpaceBasis()) {
+                    for (double[] row : matrix) {
+                        double sum = 0;
+                        for (int j = 0; j < variables; j++) {
+                            sum += row[j] * v[j];
+                        }
+                        assertEquals(0.0, sum, 1e-9, "Null-space vector must solve A v = 0");
+                    }
+                }
+            } else if (legacy.length == 0) {
+                assertEquals(SolveResult.Status.INCONSISTENT, result.getStatus());
+                assertNull(result.getParticularSolution());
+            } else {
+                assertTrue(result.isUnique());
+                assertArrayEquals(legacy, result.getParticularSolution(), 0.0);
+            }
+        }
+    }
+
+    // ========== MULTIPLE RIGHT-HAND SIDE TESTS ==========
+
+    @Test
+    @DisplayName("Block of Right-Hand Sides Solved in One Elimination")
+    void testMultipleRightHandSides() {
+        // Coefficients of x + y + z, 2x + y - z, x - y + z with two right-hand sides
+        double[][] coefficients = {
+            {1, 1, 1},
+            {2, 1, -1},
+            {1, -1, 1}
+        };
+        double[][] rightHandSides = {
+            {6, 3},
+            {1, 2},
+            {2, 1}
+        };
+
+        GaussianElimination solver = new GaussianElimination(coefficients, rightHandSides);
+        double[][] solutions = solver.solveAll();
+
+        assertEquals(2, solutions.length);
+        assertArrayEquals(new double[] {1, 2, 3}, solutions[0], EPSILON);
+        assertArrayEquals(new double[] {1, 1, 1}, solutions[1], EPSILON);
+        assertThrows(IllegalStateException.class, solver::solve, "solve() needs a single right-hand side");
+    }
+
+    @Test
+    @DisplayName("Consistency Is Decided per Right-Hand Side")
+    void testMixedConsistencyRightHandSides() {
+        // x + y = b, 2x + 2y = b': consistent only when b' = 2b
+        double[][] coefficients = {
+            {1, 1},
+            {2, 2}
+        };
+        double[][] rightHandSides = {
+            {3, 1},
+            {6, 5}
+        };
+
+        GaussianElimination solver = new GaussianElimination(coefficients, rightHandSides);
+        double[][] solutions = solver.solveAll();
+
+        assertNull(solutions[0], "Consistent dependent system should have infinitely many solutions");
+        assertNotNull(solutions[1]);
+        assertEquals(0, solutions[1].length, "Inconsistent right-hand side should return empty array");
+    }
+
+    // ========== PARALLEL ELIMINATION TESTS ==========
+
+    @Test
+    @DisplayName("Parallel Elimination Matches Serial Elimination Exactly")
+    void testParallelElimination() {
+        int n = 120;
+        Random random = new Random(3);
+        double[][] matrix = new double[n][n + 1];
+        for (double[] row : matrix) {
+            for (int j = 0; j <= n; j++) {
+                row[j] = random.nextInt(201) - 100;
+            }
+        }
+
+        GaussianElimination serial = new GaussianElimination(matrix);
+        serial.setTraceLevel(TraceLevel.OPS);
+        double[] expected = serial.solve();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            GaussianElimination parallel = new GaussianElimination(matrix);
+            parallel.setTraceLevel(TraceLevel.OPS);
+            parallel.setForkJoinPool(pool);
+            assertArrayEquals(expected, parallel.solve(), 0.0, "Parallel solution should match serial bit for bit");
+            assertEquals(serial.getSteps(), parallel.getSteps(), "Operation log should not depend on threads");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // ========== STATISTICS TESTS ==========
+
+    @Test
+    @DisplayName("Statistics Count Swaps, Pivots and Flops")
+    void testSolveStatistics() {
+        double[][] matrix = {
+            {1, 1, 1, 6},
+            {2, 1, -1, 1},
+            {1, -1, 1, 2}
+        };
+
+        GaussianElimination solver = new GaussianElimination(matrix);
+        assertNull(solver.getStatistics(), "No statistics before the first solve");
+        solver.setTraceLevel(TraceLevel.OFF);
+        solver.solve();
+        SolveStatistics statistics = solver.getStatistics();
+
+        assertEquals(2, statistics.getRowSwaps(), "Both pivot steps should swap rows");
+        assertEquals(0, statistics.getSkippedPivotColumns());
+        assertEquals(1.5, statistics.getMinimumPivot(), EPSILON, "Pivots are 2, -1.5 and 2");
+        assertEquals(1.0, statistics.getGrowthFactor(), EPSILON, "No entry of U exceeds max |A| = 2");
+        // Elimination: (2 + 2 * 2 * 4) + (1 + 2 * 1 * 3); back substitution: 2 + 4 + 6
+        assertEquals(37, statistics.getFlops());
+        assertTrue(statistics.getTotalNanos() >= statistics.getEliminationNanos());
+    }
+
+    @Test
+    @DisplayName("Growth Factor Doubles per Step on Wilkinson's Matrix")
+    void testGrowthFactor() {
+        // Ones on the diagonal and in the last column, -1 below the diagonal: the last column doubles every step
+        double[][] matrix = {
+            {1, 0, 0, 1, 1},
+            {-1, 1, 0, 1, 0},
+            {-1, -1, 1, 1, 0},
+            {-1, -1, -1, 1, 0}
+        };
+        GaussianElimination solver = new GaussianElimination(matrix);
+        solver.setTraceLevel(TraceLevel.OFF);
+        solver.solve();
+        assertEquals(8.0, solver.getStatistics().getGrowthFactor(), EPSILON);
+
+        // Repeated solves eliminate the echelon form again but still report growth against A
+        solver.solve();
+        assertEquals(8.0, solver.getStatistics().getGrowthFactor(), EPSILON);
+    }
+
+    @Test
+    @DisplayName("Statistics Report Skipped Pivot Columns")
+    void testStatisticsSkippedColumns() {
+        double[][] matrix = {
+            {1, 2, 3},
+            {2, 4, 6}
+        };
+
+        GaussianElimination solver = new GaussianElimination(matrix);
+        assertNull(solver.solve(), "Dependent rows give infinitely many solutions");
+        SolveStatistics statistics = solver.getStatistics();
+
+        assertEquals(1, statistics.getSkippedPivotColumns(), "The second column has no pivot");
+        assertEquals(0, statistics.getBackSubstitutionNanos(), "Back substitution should not run");
+    }
+
+    @Test
+    @DisplayName("Every Solve Commits a Flight Recorder Event")
+    void testFlightRecorderEvent(@TempDir Path directory) throws IOException {
+        double[][] matrix = {
+            {1, 1, 3},
+            {2, -1, 0}
+        };
+        Path file = directory.resolve("solve.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("linearsolver.Solve");
+            recording.start();
+            new GaussianElimination(matrix).solve();
+            new GaussianElimination(new double[][] {{1, 1, 1}, {1, 1, 2}}).solve();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(2, events.size());
+        assertEquals("unique", events.get(0).getString("status"));
+        assertEquals(2, events.get(0).getInt("variables"));
+        assertEquals(1, events.get(0).getInt("rowSwaps"));
+        assertEquals("inconsistent", events.get(1).getString("status"));
+    }
+
+    // ========== SOLUTION QUALITY TESTS ==========
+
+    @Test
+    @DisplayName("Condition Estimate Is Close to the Exact 1-Norm Condition Number")
+    void testConditionEstimate() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 2 + random.nextInt(8);
+            double[][] matrix = new double[n][n + 1];
+            double[][] coefficients = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= n; j++) {
+                    matrix[i][j] = random.nextInt(19) - 9;
+                    if (j < n) coefficients[i][j] = matrix[i][j];
+                }
+            }
+            LUFactorization lu = LUFactorization.factor(coefficients);
+            if (lu.isSingular()) continue;
+
+            // Exact condition number from an explicit inverse, one column per unit vector
+            double inverseNorm = 0;
+            for (int j = 0; j < n; j++) {
+                double[] unit = new double[n];
+                unit[j] = 1;
+                double columnSum = 0;
+                for (double value : lu.solve(unit)) {
+                    columnSum += Math.abs(value);
+                }
+                inverseNorm = Math.max(inverseNorm, columnSum);
+            }
+            double norm = 0;
+            for (int j = 0; j < n; j++) {
+                double columnSum = 0;
+                for (int i = 0; i < n; i++) {
+                    columnSum += Math.abs(coefficients[i][j]);
+                }
+                norm = Math.max(norm, columnSum);
+            }
+            double exact = norm * inverseNorm;
+
+            SolveResult result = new GaussianElimination(matrix).solveDetailed();
+            double estimate = result.getConditionEstimate();
+            assertTrue(estimate <= exact * (1 + 1e-8), "The estimate is a lower bound: " + estimate + " vs " + exact);
+            assertTrue(estimate >= exact / 3, "The estimate should be within a factor of 3: " + estimate + " vs " + exact);
+            assertEquals(estimate, lu.conditionEstimate(), exact * 1e-8, "Both solvers estimate from the same factors");
+        }
+    }
+
+    @Test
+    @DisplayName("Condition Estimate Flags Ill-Conditioned and Singular Systems")
+    void testConditionEstimateExtremes() {
+        MatrixGenerator generator = new MatrixGenerator(5);
+        generator.setConditionNumber(1e8);
+        GeneratedSystem<DenseMatrix> system = generator.dense(MatrixGenerator.Structure.CONDITIONED, 50);
+        double estimate = new GaussianElimination(system.getAugmentedMatrix()).solveDetailed().getConditionEstimate();
+        // The generator plants a 2-norm condition number; the 1-norm one is within a factor of n of it
+        assertTrue(estimate > 1e8 / (3 * 50) && estimate < 1e8 * 50, "Estimate " + estimate);
+
+        // Large coefficients do not make a system hard; the estimate is independent of scale
+        double[][] scaled = {
+            {1e9, 2e9, 3e9},
+            {3e9, 1e9, 4e9}
+        };
+        double scaledEstimate = new GaussianElimination(scaled).solveDetailed().getConditionEstimate();
+        assertTrue(scaledEstimate < 10, "Scaling should not change the condition number, got " + scaledEstimate);
+
+        double[][] singular = {
+            {1, 2, 3},
+            {2, 4, 6}
+        };
+        GaussianElimination singularSolver = new GaussianElimination(singular);
+        assertEquals(Double.POSITIVE_INFINITY, singularSolver.solveDetailed().getConditionEstimate());
+        assertEquals(Double.POSITIVE_INFINITY, singularSolver.solveDetailed().getConditionEstimate());
+        double[][] rectangular = {
+            {1, 0, 1},
+            {0, 1, 2},
+            {1, 1, 3}
+        };
+        assertTrue(Double.isNaN(new GaussianElimination(rectangular).solveDetailed().getConditionEstimate()));
+    }
+
+    @Test
+    @DisplayName("Residual Check Reports Residual and Backward Error")
+    void testResidualCheck() {
+        double[][] matrix = {
+            {1000, 2000, 5000},
+            {3000, 1000, 7000}
+        };
+
+        GaussianElimination plain = new GaussianElimination(matrix);
+        SolveResult unchecked = plain.solveDetailed();
+        assertTrue(Double.isNaN(unchecked.getResidualNorm()), "Residuals are opt-in");
+        assertTrue(Double.isNaN(unchecked.getBackwardError()));
+        assertThrows(IllegalStateException.class, () -> plain.setResidualCheck(true));
+
+        GaussianElimination solver = new GaussianElimination(matrix);
+        solver.setResidualCheck(true);
+        SolveResult result = solver.solveDetailed();
+        assertTrue(result.getResidualNorm() < 1e-9, "Residual " + result.getResidualNorm());
+        assertTrue(result.getBackwardError() < 1e-15, "Backward error " + result.getBackwardError());
+        assertTrue(result.getConditionEstimate() < 10);
+
+        MatrixGenerator generator = new MatrixGenerator(9);
+        GeneratedSystem<DenseMatrix> system = generator.dense(MatrixGenerator.Structure.RANDOM, 120);
+        GaussianElimination random = new GaussianElimination(system.getAugmentedMatrix());
+        random.setResidualCheck(true);
+        SolveResult first = random.solveDetailed();
+        // Partial pivoting is backward stable in practice: the error stays a small multiple of the unit roundoff
+        assertTrue(first.getBackwardError() < 120 * 1e-16, "Backward error " + first.getBackwardError());
+
+        // Solving again restarts from the stored echelon form; the estimate of the first result stays valid
+        SolveResult second = random.solveDetailed();
+        assertArrayEquals(first.getParticularSolution(), second.getParticularSolution(), 1e-9);
+        assertEquals(first.getConditionEstimate(), second.getConditionEstimate(), first.getConditionEstimate() * 1e-6);
+    }
+}
+
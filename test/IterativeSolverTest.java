@@ -0,0 +1,176 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IterativeSolver and its preconditioners
+ * Uses finite-difference grids: a symmetric Laplacian and a nonsymmetric convection-diffusion operator
+ */
+public class IterativeSolverTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    private static final int SIDE = 30;
+
+    // ========== STATIONARY METHOD TESTS ==========
+
+    @Test
+    @DisplayName("Jacobi and Gauss-Seidel Converge on a Diagonally Dominant System")
+    void testStationaryMethods() {
+        SparseMatrix a = gridOperator(SIDE, 6, 0);
+        double[] expected = expectedSolution(a.size());
+        double[] b = new double[a.size()];
+        a.multiply(expected, b);
+
+        IterativeSolver solver = new IterativeSolver();
+        IterativeResult jacobi = solver.jacobi(a, b);
+        IterativeResult gaussSeidel = solver.gaussSeidel(a, b);
+
+        assertTrue(jacobi.isConverged(), "Jacobi should converge");
+        assertTrue(gaussSeidel.isConverged(), "Gauss-Seidel should converge");
+        assertTrue(gaussSeidel.getIterations() < jacobi.getIterations(),
+                "Gauss-Seidel should need fewer sweeps than Jacobi");
+        assertSolution(expected, gaussSeidel.getSolution());
+    }
+
+    // ========== KRYLOV METHOD TESTS ==========
+
+    @Test
+    @DisplayName("Conjugate Gradient Solves the Laplacian, Faster With ILU(0)")
+    void testConjugateGradient() {
+        SparseMatrix a = gridOperator(SIDE, 4, 0);
+        double[] expected = expectedSolution(a.size());
+        double[] b = new double[a.size()];
+        a.multiply(expected, b);
+
+        IterativeSolver solver = new IterativeSolver();
+        IterativeResult plain = solver.conjugateGradient(a, b);
+        solver.setPreconditioner(new IncompleteLU(a));
+        IterativeResult preconditioned = solver.conjugateGradient(a, b);
+
+        assertTrue(plain.isConverged(), "CG should converge on an SPD matrix");
+        assertTrue(preconditioned.isConverged(), "Preconditioned CG should converge");
+        assertTrue(preconditioned.getIterations() < plain.getIterations(),
+                "ILU(0) should cut the iteration count");
+        assertSolution(expected, preconditioned.getSolution());
+        assertEquals(plain.getIterations() + 1, plain.getResidualHistory().length,
+                "History should hold the initial residual plus one entry per iteration");
+    }
+
+    @Test
+    @DisplayName("BiCGSTAB and GMRES Solve a Nonsymmetric System")
+    void testNonsymmetricMethods() {
+        SparseMatrix a = gridOperator(SIDE, 4, 0.4);
+        double[] expected = expectedSolution(a.size());
+        double[] b = new double[a.size()];
+        a.multiply(expected, b);
+
+        IterativeSolver solver = new IterativeSolver();
+        solver.setPreconditioner(new JacobiPreconditioner(a));
+        IterativeResult biCGStab = solver.biCGStab(a, b);
+        solver.setPreconditioner(new IncompleteLU(a));
+        solver.setRestart(20);
+        IterativeResult gmres = solver.gmres(a, b);
+
+        assertTrue(biCGStab.isConverged(), "BiCGSTAB should converge");
+        assertTrue(gmres.isConverged(), "GMRES should converge");
+        assertSolution(expected, biCGStab.getSolution());
+        assertSolution(expected, gmres.getSolution());
+
+        // GMRES minimizes the residual, so it never grows within a cycle
+        double[] history = gmres.getResidualHistory();
+        for (int i = 1; i < Math.min(history.length, 20); i++) {
+            assertTrue(history[i] <= history[i - 1] * (1 + 1e-12), "GMRES residual should not increase");
+        }
+    }
+
+    @Test
+    @DisplayName("Iteration Limit Is Reported")
+    void testMaxIterations() {
+        SparseMatrix a = gridOperator(SIDE, 4, 0);
+        double[] b = new double[a.size()];
+        Arrays.fill(b, 1);
+
+        IterativeSolver solver = new IterativeSolver();
+        solver.setMaxIterations(5);
+        IterativeResult result = solver.conjugateGradient(a, b);
+
+        assertEquals(IterativeResult.Status.MAX_ITERATIONS, result.getStatus());
+        assertEquals(5, result.getIterations(), "Solver should stop at the limit");
+        assertTrue(result.getFinalResidual() > solver.getTolerance());
+    }
+
+    @Test
+    @DisplayName("Matrix-Free Operator")
+    void testMatrixFreeOperator() {
+        // The 1D Laplacian applied without storing it
+        int n = 200;
+        LinearOperator laplacian = new LinearOperator() {
+            public int size() {
+                return n;
+            }
+
+            public void apply(double[] x, double[] y) {
+                for (int i = 0; i < n; i++) {
+                    y[i] = 2 * x[i] - (i > 0 ? x[i - 1] : 0) - (i < n - 1 ? x[i + 1] : 0);
+                }
+            }
+        };
+        double[] expected = expectedSolution(n);
+        double[] b = new double[n];
+        laplacian.apply(expected, b);
+
+        IterativeResult result = new IterativeSolver().conjugateGradient(laplacian, b);
+
+        assertTrue(result.isConverged());
+        assertTrue(result.getFinalResidual() <= EPSILON, "Default tolerance should be met");
+        assertTrue(result.getIterations() <= n, "CG should finish within n iterations up to rounding");
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected[i], result.getSolution()[i], 1e-6);
+        }
+    }
+
+    /**
+     * diagonal * u - neighbours on a side x side grid, with the east/west pair skewed by convection
+     */
+    private SparseMatrix gridOperator(int side, double diagonal, double convection) {
+        int n = side * side;
+        int[] rows = new int[5 * n];
+        int[] cols = new int[5 * n];
+        double[] values = new double[5 * n];
+        int count = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int node = r * side + c;
+                rows[count] = node;
+                cols[count] = node;
+                values[count++] = diagonal;
+                int[][] neighbours = {{r - 1, c, 0}, {r + 1, c, 0}, {r, c - 1, -1}, {r, c + 1, 1}};
+                for (int[] neighbour : neighbours) {
+                    if (neighbour[0] >= 0 && neighbour[0] < side && neighbour[1] >= 0 && neighbour[1] < side) {
+                        rows[count] = node;
+                        cols[count] = neighbour[0] * side + neighbour[1];
+                        values[count++] = -1 + convection * neighbour[2];
+                    }
+                }
+            }
+        }
+        return SparseMatrix.fromTriplets(n, n, rows, cols, values, count);
+    }
+
+    private double[] expectedSolution(int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.sin(0.1 * i);
+        }
+        return x;
+    }
+
+    private void assertSolution(double[] expected, double[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-6, "Solution should match at unknown " + i);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LUFactorization
+ * Checks that one factorization solves many right-hand sides and agrees with GaussianElimination
+ */
+public class LUFactorizationTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    @Test
+    @DisplayName("Factor Once and Solve Several Right-Hand Sides")
+    void testSolveManyRightHandSides() {
+        // Coefficients of x + y + z, 2x + y - z, x - y + z
+        double[][] coefficients = {
+            {1, 1, 1},
+            {2, 1, -1},
+            {1, -1, 1}
+        };
+
+        LUFactorization lu = LUFactorization.factor(coefficients);
+        assertFalse(lu.isSingular());
+
+        double[] first = lu.solve(new double[] {6, 1, 2});
+        assertEquals(1.0, first[0], EPSILON, "X should be 1.0");
+        assertEquals(2.0, first[1], EPSILON, "Y should be 2.0");
+        assertEquals(3.0, first[2], EPSILON, "Z should be 3.0");
+
+        double[] second = lu.solve(new double[] {3, 2, 1});
+        assertEquals(1.0, second[0], EPSILON, "X should be 1.0");
+        assertEquals(1.0, second[1], EPSILON, "Y should be 1.0");
+        assertEquals(1.0, second[2], EPSILON, "Z should be 1.0");
+    }
+
+    @Test
+    @DisplayName("Factors Reproduce the Permuted Matrix")
+    void testFactorsReproduceMatrix() {
+        double[][] coefficients = {
+            {0, 1, 2},
+            {1, 1, 3},
+            {4, -2, 1}
+        };
+
+        LUFactorization lu = LUFactorization.factor(coefficients);
+        DenseMatrix l = lu.getL();
+        DenseMatrix u = lu.getU();
+        int[] pivot = lu.getPivot();
+
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                double sum = 0;
+                for (int k = 0; k < 3; k++) {
+                    sum += l.get(i, k) * u.get(k, j);
+                }
+                assertEquals(coefficients[pivot[i]][j], sum, EPSILON, "L * U should equal P * A");
+            }
+        }
+        assertEquals(-1.0, lu.determinant(), EPSILON, "Determinant should be -1");
+    }
+
+    @Test
+    @DisplayName("Singular Matrix Is Detected")
+    void testSingularMatrix() {
+        double[][] coefficients = {
+            {1, 1},
+            {2, 2}
+        };
+
+        LUFactorization lu = LUFactorization.factor(coefficients);
+
+        assertTrue(lu.isSingular());
+        assertEquals(0.0, lu.determinant(), EPSILON);
+        assertThrows(IllegalStateException.class, () -> lu.solve(new double[] {3, 6}));
+    }
+
+    @Test
+    @DisplayName("Non-Square Matrix Is Rejected")
+    void testNonSquareMatrix() {
+        double[][] coefficients = {
+            {1, 1, 1},
+            {2, -1, 1}
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> LUFactorization.factor(coefficients));
+    }
+
+    @Test
+    @DisplayName("Block Solve Matches Column-by-Column Solves")
+    void testBlockSolve() {
+        double[][] coefficients = {
+            {4, -2, 1},
+            {3, 6, -4},
+            {2, 1, 8}
+        };
+        double[][] rightHandSides = {
+            {12, 1, 0},
+            {-25, 0, 1},
+            {32, 2, 3}
+        };
+
+        LUFactorization lu = LUFactorization.factor(coefficients);
+        double[][] block = lu.solve(rightHandSides);
+
+        for (int c = 0; c < 3; c++) {
+            double[] column = {rightHandSides[0][c], rightHandSides[1][c], rightHandSides[2][c]};
+            double[] expected = lu.solve(column);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected[i], block[i][c], EPSILON, "Block and single solves should agree");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Blocked Factorization Matches GaussianElimination on Square Systems")
+    void testBlockedMatchesGaussianElimination() {
+        // Square unique-solution systems from GaussianEliminationTest
+        double[][][] systems = {
+            {{1, 1, 3}, {2, -1, 0}},
+            {{1, 1, 1, 6}, {2, 1, -1, 1}, {1, -1, 1, 2}},
+            {{0.5, 0.25, 1.5}, {1.5, -0.75, 0.75}},
+            {{-2, -3, -5}, {-4, -1, -7}},
+            {{1, 1, 1, 1, 10}, {2, 1, 0, 1, 8}, {1, 0, 1, 2, 12}, {0, 1, 1, 1, 9}},
+            {{5, 15}},
+            {{0, 1, 2}, {1, 1, 3}},
+            {{1000, 2000, 5000}, {3000, 1000, 7000}},
+            {{1.0, 0.5, 0.33333333, 1.833333}, {0.5, 0.33333333, 0.25, 1.083333}, {0.33333333, 0.25, 0.2, 0.783333}},
+            {{3, -2, 1, 1}, {1, 1, -1, 3}, {2, -1, 1, 2}}
+        };
+
+        for (double[][] system : systems) {
+            int n = system.length;
+            double[][] coefficients = new double[n][n];
+            double[] constants = new double[n];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(system[i], 0, coefficients[i], 0, n);
+                constants[i] = system[i][n];
+            }
+            double[] expected = new GaussianElimination(system).solve();
+
+            for (int blockSize : new int[] {1, 2, 3, LUFactorization.DEFAULT_BLOCK_SIZE}) {
+                LUFactorization lu = LUFactorization.factor(DenseMatrix.fromArray(coefficients), blockSize);
+                assertArrayEquals(expected, lu.solve(constants), 1e-6, "Block size " + blockSize);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Blocked and Unblocked Factorizations Agree on a Larger System")
+    void testBlockedLargeSystem() {
+        int n = 150;
+        Random random = new Random(7);
+        DenseMatrix coefficients = new DenseMatrix(n, n);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextInt(21) - 10;
+            for (int j = 0; j < n; j++) {
+                coefficients.set(i, j, random.nextDouble() * 2 - 1);
+            }
+        }
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                b[i] += coefficients.get(i, j) * x[j];
+            }
+        }
+
+        double[] unblocked = LUFactorization.factor(coefficients, 1).solve(b);
+        double[] blocked = LUFactorization.factor(coefficients, 16).solve(b);
+
+        assertArrayEquals(x, unblocked, 1e-8);
+        assertArrayEquals(unblocked, blocked, 1e-8);
+    }
+
+    @Test
+    @DisplayName("Parallel Factorization Is Bitwise Identical to Serial")
+    void testParallelDeterminism() {
+        int n = 300;
+        Random random = new Random(11);
+        DenseMatrix coefficients = new DenseMatrix(n, n);
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            b[i] = random.nextDouble();
+            for (int j = 0; j < n; j++) {
+                coefficients.set(i, j, random.nextDouble() * 2 - 1);
+            }
+        }
+
+        double[] serial = LUFactorization.factor(coefficients, 16).solve(b);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            LUFactorization parallel = LUFactorization.factor(coefficients, 16, pool);
+            assertArrayEquals(LUFactorization.factor(coefficients, 16).getPivot(), parallel.getPivot());
+            assertArrayEquals(serial, parallel.solve(b), 0.0, "Parallel result should match serial bit for bit");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Transpose Solve and Condition Estimate Reuse the Factors")
+    void testTransposeAndCondition() {
+        double[][] coefficients = {
+            {4, -2, 1},
+            {3, 6, -4},
+            {2, 1, 8}
+        };
+        LUFactorization lu = LUFactorization.factor(coefficients);
+        double[] x = lu.solveTranspose(new double[] {1, 2, 3});
+        for (int j = 0; j < 3; j++) {
+            double sum = 0;
+            for (int i = 0; i < 3; i++) {
+                sum += coefficients[i][j] * x[i];
+            }
+            assertEquals(j + 1, sum, EPSILON, "A' x should reproduce b");
+        }
+
+        double estimate = lu.conditionEstimate();
+        assertTrue(estimate >= 1 && estimate < 10, "A diagonally dominant matrix is well conditioned, got " + estimate);
+        assertEquals(Double.POSITIVE_INFINITY, LUFactorization.factor(new double[][] {{1, 2}, {2, 4}}).conditionEstimate());
+    }
+}
@@ -0,0 +1,289 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the blocked Householder QRFactorization and the streaming LeastSquaresSolver
+ */
+public class LeastSquaresTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    /**
+     * Random [A | b] with b = A * (1, 2, ..., n) plus noise of the given size
+     */
+    private static double[][] randomSystem(int rows, int variables, double noise, long seed) {
+        Random random = new Random(seed);
+        double[][] matrix = new double[rows][variables + 1];
+        for (double[] row : matrix) {
+            double sum = 0;
+            for (int j = 0; j < variables; j++) {
+                row[j] = 2 * random.nextDouble() - 1;
+                sum += row[j] * (j + 1);
+            }
+            row[variables] = sum + noise * random.nextGaussian();
+        }
+        return matrix;
+    }
+
+    /**
+     * Least-squares solution from the normal equations A' * A * x = A' * b, fine for well-conditioned tests
+     */
+    private static double[] normalEquations(double[][] augmented) {
+        int n = augmented[0].length - 1;
+        double[][] normal = new double[n][n + 1];
+        for (double[] row : augmented) {
+            for (int p = 0; p < n; p++) {
+                for (int q = 0; q <= n; q++) {
+                    normal[p][q] += row[p] * row[q];
+                }
+            }
+        }
+        return new GaussianElimination(normal).solve();
+    }
+
+    private static double[][] coefficients(double[][] augmented) {
+        int n = augmented[0].length - 1;
+        double[][] result = new double[augmented.length][];
+        for (int i = 0; i < augmented.length; i++) {
+            result[i] = Arrays.copyOf(augmented[i], n);
+        }
+        return result;
+    }
+
+    private static double[] constants(double[][] augmented) {
+        int n = augmented[0].length - 1;
+        double[] result = new double[augmented.length];
+        for (int i = 0; i < augmented.length; i++) {
+            result[i] = augmented[i][n];
+        }
+        return result;
+    }
+
+    // ========== QR FACTORIZATION TESTS ==========
+
+    @Test
+    @DisplayName("R' * R Equals A' * A for Any Panel Width")
+    void testFactorization() {
+        double[][] a = coefficients(randomSystem(200, 45, 0, 3));
+        for (int blockSize : new int[] {1, 7, 16, 64}) {
+            DenseMatrix r = QRFactorization.factor(DenseMatrix.fromArray(a), blockSize, null).getR();
+            assertEquals(45, r.getRows());
+            for (int p = 0; p < 45; p++) {
+                for (int q = 0; q <= p; q++) {
+                    double expected = 0;
+                    for (double[] row : a) {
+                        expected += row[p] * row[q];
+                    }
+                    double actual = 0;
+                    for (int i = 0; i <= q; i++) {
+                        actual += r.get(i, p) * r.get(i, q);
+                    }
+                    assertEquals(expected, actual, 1e-10, "Block size " + blockSize + ", entry (" + p + ", " + q + ")");
+                }
+                for (int q = 0; q < p; q++) {
+                    assertEquals(0.0, r.get(p, q), "R is upper triangular");
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("QR Solves Square Systems and Fits Overdetermined Ones")
+    void testSolve() {
+        double[][] square = {
+            {2, 1, -1},
+            {-3, -1, 2},
+            {-2, 1, 2}
+        };
+        assertArrayEquals(LUFactorization.factor(square).solve(new double[] {8, -11, -3}),
+                QRFactorization.factor(square).solve(new double[] {8, -11, -3}), EPSILON);
+
+        double[][] augmented = randomSystem(500, 30, 0.1, 5);
+        QRFactorization qr = QRFactorization.factor(coefficients(augmented));
+        double[] b = constants(augmented);
+        double[] x = qr.solve(b);
+        assertArrayEquals(normalEquations(augmented), x, 1e-12);
+
+        // The tail of Q' * b is the residual, orthogonal to every column of A
+        double[] qtb = qr.applyQTranspose(b);
+        double tail = 0;
+        for (int i = 30; i < 500; i++) {
+            tail += qtb[i] * qtb[i];
+        }
+        double residual = 0;
+        for (double[] row : augmented) {
+            double sum = row[30];
+            for (int j = 0; j < 30; j++) {
+                sum -= row[j] * x[j];
+            }
+            residual += sum * sum;
+        }
+        assertEquals(Math.sqrt(residual), Math.sqrt(tail), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Parallel QR Gives the Same Bits as Serial")
+    void testParallelFactorization() {
+        double[][] augmented = randomSystem(900, 120, 0.01, 7);
+        DenseMatrix a = DenseMatrix.fromArray(coefficients(augmented));
+        double[] b = constants(augmented);
+        double[] serial = QRFactorization.factor(a, 16, null).solve(b);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(serial, QRFactorization.factor(a, 16, pool).solve(b));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Dependent Columns Are Reported Instead of Solved")
+    void testRankDeficient() {
+        double[][] dependent = {
+            {1, 2},
+            {2, 4},
+            {3, 6}
+        };
+        QRFactorization qr = QRFactorization.factor(dependent);
+        assertTrue(qr.isRankDeficient());
+        assertThrows(IllegalStateException.class, () -> qr.solve(new double[] {1, 2, 3}));
+        assertTrue(QRFactorization.factor(new double[][] {{1, 2, 3}}).isRankDeficient(), "Fewer rows than columns");
+        assertThrows(IllegalArgumentException.class, () -> QRFactorization.factor(new double[][] {{1}}).solve(new double[2]));
+    }
+
+    // ========== STREAMING LEAST SQUARES TESTS ==========
+
+    @Test
+    @DisplayName("Line Fit Has the Textbook Coefficients and Residual")
+    void testLineFit() {
+        // y = 1.5 + t through (0, 1), (1, 3), (2, 4), (3, 4), off by 0.5 at every point
+        double[][] points = {
+            {1, 0, 1},
+            {1, 1, 3},
+            {1, 2, 4},
+            {1, 3, 4}
+        };
+        LeastSquaresSolver solver = new LeastSquaresSolver(2);
+        assertTrue(Double.isNaN(solver.getResidualNorm()));
+        solver.addRows(points);
+        assertArrayEquals(new double[] {1.5, 1.0}, solver.solve(), EPSILON);
+        assertEquals(1.0, solver.getResidualNorm(), EPSILON);
+        assertEquals(4, solver.getRowCount());
+
+        // More rows may follow a solve: an exact point on the line keeps the fit and the residual
+        solver.addRow(new double[] {1, 10, 11.5});
+        assertArrayEquals(new double[] {1.5, 1.0}, solver.solve(), EPSILON);
+        assertEquals(1.0, solver.getResidualNorm(), EPSILON);
+    }
+
+    @Test
+    @DisplayName("Consistent Overdetermined System Is Solved Exactly")
+    void testConsistent() {
+        double[][] matrix = {
+            {1, 1, 3},
+            {2, -1, 0},
+            {1, 2, 5}
+        };
+        LeastSquaresSolver solver = new LeastSquaresSolver(2);
+        solver.addRows(matrix);
+        assertArrayEquals(new double[] {1, 2}, solver.solve(), EPSILON);
+        assertEquals(0.0, solver.getResidualNorm(), EPSILON);
+    }
+
+    @Test
+    @DisplayName("Streaming Blocks, Block Size and Pool Do Not Change the Fit")
+    void testStreaming() {
+        double[][] augmented = randomSystem(5000, 25, 0.5, 11);
+        double[] expected = normalEquations(augmented);
+
+        double[] defaults = LeastSquaresSolver.solve(augmented);
+        assertArrayEquals(expected, defaults, 1e-12);
+
+        // Blocks of 7 rows are narrower than the problem, so most leaves are short trapezoids
+        LeastSquaresSolver small = new LeastSquaresSolver(25);
+        small.setBlockRows(7);
+        small.addRows(augmented);
+        assertArrayEquals(expected, small.solve(), 1e-12);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(defaults, LeastSquaresSolver.solve(augmented, pool), "Same tree, same bits");
+            LeastSquaresSolver parallel = new LeastSquaresSolver(25);
+            parallel.setBlockRows(7);
+            parallel.setForkJoinPool(pool);
+            parallel.addRows(augmented);
+            assertArrayEquals(small.solve(), parallel.solve());
+            assertEquals(small.getResidualNorm(), parallel.getResidualNorm());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("QR Keeps Accuracy Where the Normal Equations Lose It")
+    void testIllConditioned() {
+        // Columns t^0 ... t^7 on [0, 1] have condition number near 1e6, so A' * A is near 1e12
+        int rows = 400;
+        int n = 8;
+        double[][] augmented = new double[rows][n + 1];
+        for (int i = 0; i < rows; i++) {
+            double t = i / (rows - 1.0);
+            double power = 1;
+            for (int j = 0; j < n; j++) {
+                augmented[i][j] = power;
+                augmented[i][n] += power;
+                power *= t;
+            }
+        }
+        double[] x = LeastSquaresSolver.solve(augmented);
+        for (int j = 0; j < n; j++) {
+            assertEquals(1.0, x[j], 1e-8, "Coefficient " + j);
+        }
+    }
+
+    @Test
+    @DisplayName("Dependent Columns and Bad Input Are Rejected")
+    void testInvalid() {
+        double[][] dependent = {
+            {1, 2, 1},
+            {2, 4, 2},
+            {3, 6, 4}
+        };
+        LeastSquaresSolver solver = new LeastSquaresSolver(2);
+        solver.addRows(dependent);
+        assertNull(solver.solve(), "Infinitely many x reach the minimum");
+        assertTrue(Double.isNaN(solver.getResidualNorm()));
+        assertNull(new LeastSquaresSolver(2).solve(), "No rows yet");
+
+        assertThrows(IllegalArgumentException.class, () -> new LeastSquaresSolver(0));
+        assertThrows(IllegalArgumentException.class, () -> solver.addRow(new double[] {1, 2}));
+        assertThrows(IllegalStateException.class, () -> solver.setBlockRows(100));
+        assertThrows(IllegalArgumentException.class, () -> new LeastSquaresSolver(2).setBlockRows(0));
+    }
+
+    // ========== SOLVER SELECTION TESTS ==========
+
+    @Test
+    @DisplayName("Selector Fits Overdetermined Systems Only When Asked")
+    void testSelector() {
+        double[][] inconsistent = {
+            {1, 1, 3},
+            {2, -1, 0},
+            {1, 2, 6}
+        };
+        assertEquals(0, SolverSelector.solve(inconsistent).length, "solve() keeps the elimination contract");
+        assertArrayEquals(normalEquations(inconsistent), SolverSelector.solveLeastSquares(inconsistent), EPSILON);
+
+        double[][] square = {
+            {4, 1, 2, 7},
+            {1, 5, 3, 9},
+            {2, 3, 6, 11}
+        };
+        assertArrayEquals(SolverSelector.solve(square), SolverSelector.solveLeastSquares(square));
+    }
+}
@@ -0,0 +1,173 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MatrixGenerator and GeneratedSystem
+ */
+public class MatrixGeneratorTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // ========== DETERMINISM TESTS ==========
+
+    @Test
+    @DisplayName("Same Seed Gives the Same System Serially, in Parallel and Streamed")
+    void testDeterminism() {
+        int n = 300;
+        for (MatrixGenerator.Structure structure : MatrixGenerator.Structure.values()) {
+            double[][] serial = new MatrixGenerator(7).dense(structure, n).getAugmentedMatrix().toArray();
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            double[][] parallel;
+            try {
+                MatrixGenerator generator = new MatrixGenerator(7);
+                generator.setForkJoinPool(pool);
+                parallel = generator.dense(structure, n).getAugmentedMatrix().toArray();
+            } finally {
+                pool.shutdown();
+            }
+            List<double[]> streamed = new MatrixGenerator(7).rows(structure, n).parallel().collect(Collectors.toList());
+
+            assertEquals(n, streamed.size());
+            for (int i = 0; i < n; i++) {
+                assertArrayEquals(serial[i], parallel[i], structure + ": threads must not change the bits");
+                assertArrayEquals(serial[i], streamed.get(i), structure + ": rows() must match dense()");
+            }
+            double[][] other = new MatrixGenerator(8).dense(structure, n).getAugmentedMatrix().toArray();
+            assertNotEquals(serial[0][0], other[0][0], structure + ": another seed should give another system");
+        }
+    }
+
+    @Test
+    @DisplayName("Random Coefficients Are Non-Zero Integers in Range")
+    void testRandomCoefficients() {
+        double[][] matrix = new MatrixGenerator(3).dense(MatrixGenerator.Structure.RANDOM, 100).getMatrix().toArray();
+        for (double[] row : matrix) {
+            for (double value : row) {
+                assertTrue(value != 0 && value >= -100 && value <= 100 && value == Math.rint(value), "Got " + value);
+            }
+        }
+
+        double[][] legacy = new double[20][6];
+        MatrixGenerator.generateBasicRandom(legacy, 20, 5);
+        for (double[] row : legacy) {
+            for (int j = 0; j < 5; j++) {
+                assertNotEquals(0.0, row[j]);
+            }
+        }
+    }
+
+    // ========== PLANTED SOLUTION TESTS ==========
+
+    @Test
+    @DisplayName("Solvers Recover the Planted Solution")
+    void testPlantedSolution() {
+        MatrixGenerator generator = new MatrixGenerator(11);
+        for (MatrixGenerator.Structure structure : MatrixGenerator.Structure.values()) {
+            GeneratedSystem<DenseMatrix> system = generator.dense(structure, 120);
+            double[] solution = new GaussianElimination(system.getAugmentedMatrix()).solve();
+            double tolerance = 1e-12;
+            if (structure == MatrixGenerator.Structure.CONDITIONED) {
+                // The error bound grows with the condition number (1e6 by default); GaussianElimination
+                // zeroes entries below its absolute EPSILON, so check the partial pivoting LU instead
+                solution = LUFactorization.factor(system.getMatrix()).solve(system.getRightHandSide());
+                tolerance = 1e-8;
+            }
+            assertTrue(system.solutionError(solution) < tolerance,
+                    structure + " error " + system.solutionError(solution));
+        }
+
+        GeneratedSystem<BandedMatrix> banded = generator.banded(500, 3, 5);
+        assertFalse(banded.getMatrix().inBand(10, 20));
+        assertTrue(banded.solutionError(BandedLU.factor(banded.getMatrix()).solve(banded.getRightHandSide())) < 1e-12);
+    }
+
+    @Test
+    @DisplayName("Symmetric Positive Definite Matrices Are Symmetric")
+    void testSymmetric() {
+        DenseMatrix matrix = new MatrixGenerator(5).dense(MatrixGenerator.Structure.SYMMETRIC_POSITIVE_DEFINITE, 150).getMatrix();
+        for (int i = 0; i < 150; i++) {
+            assertTrue(matrix.get(i, i) > 1);
+            for (int j = 0; j < i; j++) {
+                assertEquals(matrix.get(i, j), matrix.get(j, i), "Entry (" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Conditioned Matrices Have the Requested Condition Number")
+    void testConditionNumber() {
+        int n = 60;
+        MatrixGenerator generator = new MatrixGenerator(13);
+        generator.setConditionNumber(1e4);
+        DenseMatrix matrix = generator.dense(MatrixGenerator.Structure.CONDITIONED, n).getMatrix();
+
+        // A = U S V with orthogonal U and V, so A' A has eigenvalues s_k^2 and trace sum s_k^2
+        double frobenius = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                frobenius += matrix.get(i, j) * matrix.get(i, j);
+            }
+        }
+        double expected = 0;
+        for (int k = 0; k < n; k++) {
+            expected += Math.pow(1e4, -2.0 * k / (n - 1));
+        }
+        assertEquals(expected, frobenius, EPSILON);
+
+        // Power iteration on the inverse: ||A^-1||_2 is the largest singular value of A^-1, 1e4 here
+        LUFactorization lu = LUFactorization.factor(matrix);
+        DenseMatrix transpose = new DenseMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                transpose.set(i, j, matrix.get(j, i));
+            }
+        }
+        LUFactorization luTranspose = LUFactorization.factor(transpose);
+        double[] x = new double[n];
+        java.util.Arrays.fill(x, 1);
+        double norm = 0;
+        for (int iteration = 0; iteration < 50; iteration++) {
+            double[] y = luTranspose.solve(lu.solve(x));
+            norm = 0;
+            for (double value : y) {
+                norm += value * value;
+            }
+            norm = Math.sqrt(norm);
+            for (int i = 0; i < n; i++) {
+                x[i] = y[i] / norm;
+            }
+        }
+        assertEquals(1e4, Math.sqrt(norm), 1e4 * 1e-6);
+    }
+
+    // ========== SPARSE TESTS ==========
+
+    @Test
+    @DisplayName("Sparse Systems Have the Requested Density")
+    void testSparseDensity() {
+        int n = 2000;
+        GeneratedSystem<SparseMatrix> system = new MatrixGenerator(17).sparse(n, 0.005);
+        SparseMatrix matrix = system.getMatrix();
+        int[] rowPointers = matrix.getRowPointers();
+        int[] columns = matrix.getColumnIndices();
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, columns[matrix.diagonalPositions()[i]], "Diagonal should be stored");
+            for (int p = rowPointers[i] + 1; p < rowPointers[i + 1]; p++) {
+                assertTrue(columns[p - 1] < columns[p], "Columns should be sorted");
+            }
+        }
+        double expected = n + 0.005 * n * (n - 1);
+        assertEquals(expected, matrix.nonZeroCount(), 5 * Math.sqrt(expected));
+
+        SparseLU lu = SparseLU.factor(matrix);
+        assertTrue(system.solutionError(lu.solve(system.getRightHandSide())) < 1e-12);
+        assertEquals(n, new MatrixGenerator(17).sparse(n, 0).getMatrix().nonZeroCount());
+        assertEquals(n * n, new MatrixGenerator(17).sparse(n / 10, 1).getMatrix().nonZeroCount() * 100);
+    }
+}
@@ -0,0 +1,96 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MixedPrecisionLU
+ * Float factors with refinement must give the answers of the double solvers within EPSILON
+ */
+public class MixedPrecisionLUTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // ========== ACCURACY TESTS ==========
+
+    @Test
+    @DisplayName("Small System Matches GaussianElimination")
+    void testSmallSystem() {
+        double[][] augmented = {
+            {2, 1, -1, 8},
+            {-3, -1, 2, -11},
+            {-2, 1, 2, -3}
+        };
+        double[][] coefficients = {{2, 1, -1}, {-3, -1, 2}, {-2, 1, 2}};
+
+        MixedPrecisionLU lu = MixedPrecisionLU.factor(coefficients);
+        double[] expected = new GaussianElimination(augmented).solve();
+        double[] actual = lu.solve(new double[] {8, -11, -3});
+        assertArrayEquals(expected, actual, EPSILON);
+        assertFalse(lu.lastSolveFellBack());
+    }
+
+    @Test
+    @DisplayName("Refinement Reaches Double Accuracy on Large Well-Conditioned Systems")
+    void testRefinedAccuracy() {
+        MatrixGenerator generator = new MatrixGenerator(21);
+        generator.setConditionNumber(1e3);
+        MatrixGenerator.Structure[] structures = {
+            MatrixGenerator.Structure.RANDOM,
+            MatrixGenerator.Structure.DIAGONALLY_DOMINANT,
+            MatrixGenerator.Structure.CONDITIONED
+        };
+        for (MatrixGenerator.Structure structure : structures) {
+            GeneratedSystem<DenseMatrix> system = generator.dense(structure, 300);
+            MixedPrecisionLU lu = MixedPrecisionLU.factor(system.getMatrix());
+            double[] x = lu.solve(system.getRightHandSide());
+            double[] reference = LUFactorization.factor(system.getMatrix()).solve(system.getRightHandSide());
+
+            assertFalse(lu.lastSolveFellBack(), structure + " should not need the double fallback");
+            assertTrue(lu.getLastIterationCount() >= 1, "A float solution alone is not accurate enough");
+            assertArrayEquals(reference, x, EPSILON, structure.toString());
+            assertTrue(system.solutionError(x) < 1e-12, structure + " error " + system.solutionError(x));
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel Float Factorization Gives the Same Solution")
+    void testParallel() {
+        GeneratedSystem<DenseMatrix> system = new MatrixGenerator(3).dense(MatrixGenerator.Structure.RANDOM, 256);
+        double[] serial = MixedPrecisionLU.factor(system.getMatrix()).solve(system.getRightHandSide());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            double[] parallel = MixedPrecisionLU.factor(system.getMatrix(), 32, pool).solve(system.getRightHandSide());
+            assertArrayEquals(serial, parallel, EPSILON);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // ========== FALLBACK TESTS ==========
+
+    @Test
+    @DisplayName("Ill-Conditioned Systems Fall Back to Double LU")
+    void testFallback() {
+        MatrixGenerator generator = new MatrixGenerator(5);
+        generator.setConditionNumber(1e10);
+        GeneratedSystem<DenseMatrix> system = generator.dense(MatrixGenerator.Structure.CONDITIONED, 100);
+
+        MixedPrecisionLU lu = MixedPrecisionLU.factor(system.getMatrix());
+        double[] x = lu.solve(system.getRightHandSide());
+        assertTrue(lu.lastSolveFellBack(), "Float refinement cannot converge at condition number 1e10");
+        assertArrayEquals(LUFactorization.factor(system.getMatrix()).solve(system.getRightHandSide()), x, 0.0);
+    }
+
+    @Test
+    @DisplayName("Singular Matrix Is Detected")
+    void testSingular() {
+        double[][] coefficients = {{1, 2, 3}, {2, 4, 6}, {1, 0, 1}};
+        MixedPrecisionLU lu = MixedPrecisionLU.factor(coefficients);
+        assertTrue(lu.isFloatSingular());
+        assertTrue(lu.isSingular());
+        assertThrows(IllegalStateException.class, () -> lu.solve(new double[] {1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> MixedPrecisionLU.factor(new double[][] {{1, 2}}));
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NumberFormatter
+ * Checks the allocation-free formatter against the String.format based "0.##" formatting
+ */
+public class NumberFormatterTest {
+
+    // Values this close to an integer are printed as integers and skipped by the reference comparison
+    private static final double EPSILON_FOR_INTEGERS = 1e-10;
+
+    private final NumberFormatter formatter = new NumberFormatter();
+
+    /**
+     * Reference implementation: String.format("%.2f") with trailing zeros removed
+     */
+    private static String reference(double number) {
+        String formatted = String.format(Locale.ROOT, "%.2f", number);
+        if (formatted.contains(".")) {
+            while (formatted.endsWith("0")) {
+                formatted = formatted.substring(0, formatted.length() - 1);
+            }
+            if (formatted.endsWith(".")) {
+                formatted = formatted.substring(0, formatted.length() - 1);
+            }
+        }
+        return formatted;
+    }
+
+    @Test
+    @DisplayName("Integers Are Written Without Decimals")
+    void testIntegers() {
+        assertEquals("0", formatter.toString(0));
+        assertEquals("0", formatter.toString(-0.0));
+        assertEquals("42", formatter.toString(42));
+        assertEquals("-7", formatter.toString(-7));
+        assertEquals("1000000000000", formatter.toString(1e12));
+        assertEquals("3", formatter.toString(2.99999999999), "Near-integers should round, not truncate");
+    }
+
+    @Test
+    @DisplayName("Decimals Are Trimmed Like 0.##")
+    void testDecimals() {
+        assertEquals("2.5", formatter.toString(2.5));
+        assertEquals("-1.75", formatter.toString(-1.75));
+        assertEquals("0.33", formatter.toString(1.0 / 3));
+        assertEquals("-0", formatter.toString(-0.001));
+        assertEquals("1.01", formatter.toString(1.005), "Ties round half up on the decimal representation");
+    }
+
+    @Test
+    @DisplayName("Random Values Match String.format Output")
+    void testMatchesReference() {
+        Random random = new Random(12345);
+        for (int i = 0; i < 100000; i++) {
+            double value;
+            switch (i % 4) {
+                case 0:
+                    value = (random.nextDouble() - 0.5) * 200;
+                    break;
+                case 1:
+                    value = (random.nextInt(200001) - 100000) / 1000.0;
+                    break;
+                case 2:
+                    value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20));
+                    break;
+                default:
+                    value = (random.nextInt(2001) - 1000) / 200.0;
+                    break;
+            }
+            if (Math.abs(value - Math.round(value)) < EPSILON_FOR_INTEGERS) {
+                continue;
+            }
+            assertEquals(reference(value), formatter.toString(value), "Formatting " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Padded Output Matches %10s")
+    void testPadding() throws IOException {
+        StringBuilder out = new StringBuilder();
+        formatter.appendPadded(out, -12.345, 10);
+        assertEquals(String.format("%10s", "-12.35"), out.toString());
+    }
+}
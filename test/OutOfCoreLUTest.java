@@ -0,0 +1,134 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TiledMatrixFile and OutOfCoreLU
+ * Factors matrices stored in temporary tile files and compares the results with the in-memory LU
+ */
+public class OutOfCoreLUTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    @TempDir
+    Path directory;
+
+    // ========== TILE FILE TESTS ==========
+
+    @Test
+    @DisplayName("Tile File Round Trip With Padding")
+    void testTileFileRoundTrip() throws IOException {
+        double[][] matrix = randomMatrix(10, new Random(1));
+        Path path = directory.resolve("matrix.tiles");
+
+        try (TiledMatrixFile file = TiledMatrixFile.fromArray(path, matrix, 4)) {
+            assertEquals(3, file.getTileCount(), "10 rows need 3 tiles of 4");
+        }
+        try (TiledMatrixFile file = TiledMatrixFile.open(path)) {
+            assertEquals(10, file.size());
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 10; j++) {
+                    assertEquals(matrix[i][j], file.get(i, j), "Entry should survive the round trip");
+                }
+            }
+            assertEquals(1.0, file.get(11, 11), "Padding should hold the identity");
+            assertEquals(0.0, file.get(11, 3), "Padding should hold the identity");
+        }
+    }
+
+    @Test
+    @DisplayName("Oversized Files Are Rejected and Closed Files Refuse Access")
+    void testTileFileLimits() throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> TiledMatrixFile.create(directory.resolve("huge"), Integer.MAX_VALUE, 3), "Padding overflows an int");
+
+        TiledMatrixFile file = TiledMatrixFile.fromArray(directory.resolve("closed"), randomMatrix(5, new Random(2)), 4);
+        file.close();
+        assertThrows(IllegalStateException.class, () -> file.get(0, 0));
+        assertThrows(IllegalStateException.class, file::force);
+    }
+
+    // ========== OUT-OF-CORE LU TESTS ==========
+
+    @Test
+    @DisplayName("Out-of-Core LU Matches In-Memory LU")
+    void testMatchesInMemoryLU() throws IOException {
+        Random random = new Random(5);
+        int[][] shapes = {{7, 3}, {50, 8}, {130, 32}, {64, 16}};
+        for (int[] shape : shapes) {
+            int n = shape[0];
+            double[][] matrix = randomMatrix(n, random);
+            double[] b = new double[n];
+            for (int i = 0; i < n; i++) {
+                b[i] = random.nextGaussian();
+            }
+            double[] expected = LUFactorization.factor(matrix).solve(b);
+
+            try (TiledMatrixFile file = TiledMatrixFile.fromArray(directory.resolve("lu" + n), matrix, shape[1])) {
+                OutOfCoreLU lu = OutOfCoreLU.factor(file);
+                assertFalse(lu.isSingular());
+                double[] actual = lu.solve(b);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(expected[i], actual[i], 1e-9 * Math.max(1, Math.abs(expected[i])),
+                            "Solutions should agree for n = " + n);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Factors Persist in the File and Parallel Updates Agree")
+    void testReopenAndParallel() throws IOException {
+        double[][] matrix = randomMatrix(96, new Random(9));
+        double[] b = new double[96];
+        b[0] = 1;
+        Path serialPath = directory.resolve("serial");
+        Path parallelPath = directory.resolve("parallel");
+
+        double[] serial;
+        try (TiledMatrixFile file = TiledMatrixFile.fromArray(serialPath, matrix, 16)) {
+            serial = OutOfCoreLU.factor(file).solve(b);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (TiledMatrixFile file = TiledMatrixFile.fromArray(parallelPath, matrix, 16)) {
+            assertArrayEquals(serial, OutOfCoreLU.factor(file, pool).solve(b), "Threads must not change the bits");
+        } finally {
+            pool.shutdown();
+        }
+        try (TiledMatrixFile file = TiledMatrixFile.open(serialPath)) {
+            // Row 0 of U is the pivot row, which is never the untouched original row 0 here
+            assertNotEquals(matrix[0][1], file.get(0, 1), EPSILON, "The file should now hold the factors");
+        }
+    }
+
+    @Test
+    @DisplayName("Singular Matrix Is Detected")
+    void testSingular() throws IOException {
+        double[][] matrix = randomMatrix(20, new Random(3));
+        for (int j = 0; j < 20; j++) {
+            matrix[19][j] = 2 * matrix[4][j];
+        }
+
+        try (TiledMatrixFile file = TiledMatrixFile.fromArray(directory.resolve("singular"), matrix, 8)) {
+            OutOfCoreLU lu = OutOfCoreLU.factor(file);
+            assertTrue(lu.isSingular(), "Dependent rows should make the matrix singular");
+            assertThrows(IllegalStateException.class, () -> lu.solve(new double[20]));
+        }
+    }
+
+    private double[][] randomMatrix(int n, Random random) {
+        double[][] matrix = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                matrix[i][j] = random.nextGaussian();
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,117 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the Vector API row kernel computes what the scalar kernel computes
+ * Both are instantiated directly, so the scalar path is covered even when the suite runs with the vector module
+ */
+public class RowKernelTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    /**
+     * VectorRowKernel, loaded by name like RowKernels does so this class compiles without the incubator module
+     */
+    private static RowKernel vectorKernel() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "Run with --add-modules jdk.incubator.vector to test the vector kernel");
+        try {
+            return (RowKernel) Class.forName("VectorRowKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load VectorRowKernel", e);
+        }
+    }
+
+    // ========== SUBTRACT ROW TESTS ==========
+
+    @Test
+    @DisplayName("Scalar Kernel Subtracts and Snaps Tiny Results to Zero")
+    void testScalarSubtractRow() {
+        double[] data = {
+            1, 2, 3, 4,
+            1, 1, 2, 1
+        };
+        new ScalarRowKernel().subtractRow(data, 0, 4, 1, 4, 2, EPSILON);
+        assertArrayEquals(new double[] {1, 0, -1, 2, 1, 1, 2, 1}, data, "Column 0 is outside the range");
+
+        double[] nearlyEqual = {1 + 1e-12, 5, 1, 2};
+        new ScalarRowKernel().subtractRow(nearlyEqual, 0, 2, 0, 2, 1, EPSILON);
+        assertEquals(0.0, nearlyEqual[0], "A 1e-12 difference is rounding noise");
+        assertEquals(3.0, nearlyEqual[1]);
+    }
+
+    @Test
+    @DisplayName("Vector Kernel Matches the Scalar Kernel Bit for Bit on Every Tail Length")
+    void testSubtractRowEquivalence() {
+        RowKernel vector = vectorKernel();
+        RowKernel scalar = new ScalarRowKernel();
+        Random random = new Random(41);
+        for (int length = 0; length <= 70; length++) {
+            for (int offset = 0; offset < 3; offset++) {
+                int width = length + 5;
+                double[] data = new double[3 * width];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = 2 * random.nextDouble() - 1;
+                }
+                double factor = 2 * random.nextDouble() - 1;
+                int targetStart = width;
+                int sourceStart = 2 * width;
+                // Every third target entry lands within 1e-12 of zero, so snapping is exercised across lanes and tail
+                for (int j = offset; j < offset + length; j += 3) {
+                    data[targetStart + j] = factor * data[sourceStart + j] + 1e-12 * random.nextDouble();
+                }
+
+                double[] expected = data.clone();
+                double[] actual = data.clone();
+                scalar.subtractRow(expected, targetStart, sourceStart, offset, offset + length, factor, EPSILON);
+                vector.subtractRow(actual, targetStart, sourceStart, offset, offset + length, factor, EPSILON);
+                assertArrayEquals(expected, actual, "Length " + length + ", offset " + offset);
+                for (int j = offset; j < offset + length; j += 3) {
+                    assertEquals(0.0, actual[targetStart + j], "Length " + length + ", column " + j);
+                }
+            }
+        }
+    }
+
+    // ========== DOT PRODUCT TESTS ==========
+
+    @Test
+    @DisplayName("Dot Products Agree Within Rounding for Every Length and Offset")
+    void testDotEquivalence() {
+        RowKernel vector = vectorKernel();
+        RowKernel scalar = new ScalarRowKernel();
+        Random random = new Random(43);
+        for (int length = 0; length <= 70; length++) {
+            double[] a = new double[length + 4];
+            double[] b = new double[length + 7];
+            for (int i = 0; i < a.length; i++) {
+                a[i] = 2 * random.nextDouble() - 1;
+            }
+            for (int i = 0; i < b.length; i++) {
+                b[i] = 2 * random.nextDouble() - 1;
+            }
+            for (int aStart = 0; aStart < 4; aStart++) {
+                int bStart = 6 - aStart;
+                double expected = scalar.dot(a, aStart, b, bStart, length);
+                double magnitude = 0;
+                for (int j = 0; j < length; j++) {
+                    magnitude += Math.abs(a[aStart + j] * b[bStart + j]);
+                }
+                // Lane-wise fused multiply-adds sum in a different order than the scalar loop
+                assertEquals(expected, vector.dot(a, aStart, b, bStart, length), 1e-15 * (1 + magnitude),
+                        "Length " + length + ", offsets " + aStart + " and " + bStart);
+            }
+        }
+
+        double[] ones = new double[37];
+        Arrays.fill(ones, 1);
+        assertEquals(37.0, scalar.dot(ones, 0, ones, 0, 37));
+        assertEquals(37.0, vector.dot(ones, 0, ones, 0, 37));
+        assertEquals(0.0, vector.dot(ones, 5, ones, 0, 0));
+    }
+}
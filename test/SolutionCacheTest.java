@@ -0,0 +1,202 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SolutionCache
+ */
+public class SolutionCacheTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // ========== HIT AND MISS TESTS ==========
+
+    @Test
+    @DisplayName("Repeated Matrix Reuses Its Factorization and Repeated System Its Result")
+    void testHitsAndMisses() {
+        SolutionCache cache = new SolutionCache(1 << 20);
+        GeneratedSystem<DenseMatrix> system = new MatrixGenerator(1).dense(MatrixGenerator.Structure.RANDOM, 40);
+        DenseMatrix matrix = system.getMatrix();
+
+        double[] first = cache.solve(matrix, system.getRightHandSide());
+        assertTrue(system.solutionError(first) < 1e-12);
+        assertEquals(2, cache.getMissCount(), "A new system misses on its result and its factorization");
+        assertEquals(0, cache.getHitCount());
+
+        // The same contents in a different array still hit
+        DenseMatrix copy = matrix.copy();
+        first[0] = 12345;
+        assertArrayEquals(cache.solve(matrix, system.getRightHandSide()), cache.solve(copy, system.getRightHandSide()));
+        assertNotEquals(12345, cache.solve(copy, system.getRightHandSide())[0], "Callers must not change cached results");
+        assertEquals(3, cache.getHitCount());
+
+        double[] b = new double[40];
+        b[3] = 1;
+        double[] second = cache.solve(copy, b);
+        assertArrayEquals(LUFactorization.factor(matrix).solve(b), second, EPSILON);
+        assertEquals(3, cache.getMissCount(), "A new right-hand side misses on its result only");
+        assertEquals(4, cache.getHitCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    @DisplayName("Augmented Matrices Follow the GaussianElimination Contract")
+    void testAugmentedContract() {
+        SolutionCache cache = new SolutionCache(1 << 20);
+        double[][] unique = {{2, 1, -1, 8}, {-3, -1, 2, -11}, {-2, 1, 2, -3}};
+        double[][] inconsistent = {{1, 1, 2}, {1, 1, 3}};
+        double[][] infinite = {{1, 1, 2}, {2, 2, 4}};
+
+        assertArrayEquals(new double[] {2, 3, -1}, cache.solve(unique), EPSILON);
+        assertArrayEquals(new double[] {2, 3, -1}, cache.solve(unique), EPSILON);
+        assertEquals(0, cache.solve(inconsistent).length);
+        assertNull(cache.solve(infinite));
+        assertNull(cache.solve(infinite));
+        assertEquals(2, cache.getHitCount());
+
+        // Singular coefficients keep their factorization; a new right-hand side only eliminates
+        assertEquals(0, cache.solve(new double[][] {{1, 1, 3}, {1, 1, 4}}).length);
+        assertEquals(3, cache.getHitCount());
+        assertThrows(IllegalStateException.class, () -> cache.solve(DenseMatrix.fromArray(new double[][] {{1, 1}, {1, 1}}),
+                new double[] {1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> cache.solve(new double[][] {{1, 2}, {3}}));
+    }
+
+    @Test
+    @DisplayName("Both Entry Points Keep Their Contracts on the Same System")
+    void testEntryPointsDoNotShareResults() {
+        SolutionCache cache = new SolutionCache(1 << 20);
+        DenseMatrix singular = DenseMatrix.fromArray(new double[][] {{1, 2}, {2, 4}});
+
+        assertNull(cache.solve(new double[][] {{1, 2, 3}, {2, 4, 6}}));
+        assertThrows(IllegalStateException.class, () -> cache.solve(singular, new double[] {3, 6}));
+        assertEquals(0, cache.solve(new double[][] {{1, 2, 3}, {2, 4, 7}}).length);
+        assertThrows(IllegalStateException.class, () -> cache.solve(singular, new double[] {3, 7}));
+
+        // A solution cached by one entry point is computed again, not served, by the other
+        double[][] unique = {{1, 1, 3}, {2, -1, 0}};
+        assertArrayEquals(new double[] {1, 2}, cache.solve(unique), EPSILON);
+        long misses = cache.getMissCount();
+        assertArrayEquals(new double[] {1, 2}, cache.solve(DenseMatrix.fromArray(new double[][] {{1, 1}, {2, -1}}),
+                new double[] {3, 0}), EPSILON);
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Hits Are Checked Against a Private Copy of the Contents")
+    void testContentsAreCompared() {
+        SolutionCache cache = new SolutionCache(1 << 20);
+        double[][] system = {{2, 1, 5}, {1, 3, 10}};
+        assertArrayEquals(new double[] {1, 3}, cache.solve(system), EPSILON);
+
+        // Changing the caller's array afterwards must neither corrupt the entry nor be served its result
+        system[1][2] = 5;
+        assertArrayEquals(new double[] {2, 1}, cache.solve(system), EPSILON);
+        system[1][2] = 10;
+        long hits = cache.getHitCount();
+        assertArrayEquals(new double[] {1, 3}, cache.solve(system), EPSILON);
+        assertEquals(hits + 1, cache.getHitCount());
+
+        // Signed zeros hash alike and compare alike
+        assertArrayEquals(new double[] {0, 0}, cache.solve(new double[][] {{1, 0, 0}, {0, 1, 0}}));
+        hits = cache.getHitCount();
+        cache.solve(new double[][] {{1, -0.0, 0}, {-0.0, 1, -0.0}});
+        assertEquals(hits + 1, cache.getHitCount());
+    }
+
+    // ========== EVICTION TESTS ==========
+
+    @Test
+    @DisplayName("Least Recently Used Entries Are Evicted to Respect the Budget")
+    void testEviction() {
+        int n = 50;
+        DenseMatrix[] matrices = new DenseMatrix[4];
+        for (int m = 0; m < matrices.length; m++) {
+            matrices[m] = new MatrixGenerator(2 + m).dense(MatrixGenerator.Structure.DIAGONALLY_DOMINANT, n).getMatrix();
+        }
+        // Room for about three factorizations of 50 x 50, each with the copy of A it is checked against
+        SolutionCache cache = new SolutionCache(3 * (16L * n * n + 1024));
+
+        cache.factor(matrices[0]);
+        cache.factor(matrices[1]);
+        cache.factor(matrices[2]);
+        cache.factor(matrices[0]);
+        assertEquals(0, cache.getEvictionCount());
+        cache.factor(matrices[3]);
+        assertEquals(1, cache.getEvictionCount(), "Adding a fourth must evict one");
+        assertTrue(cache.getWeightBytes() <= cache.getCapacityBytes());
+
+        long misses = cache.getMissCount();
+        cache.factor(matrices[0]);
+        assertEquals(misses, cache.getMissCount(), "Matrix 0 was used recently and should have stayed");
+        cache.factor(matrices[1]);
+        assertEquals(misses + 1, cache.getMissCount(), "Matrix 1 was the least recently used");
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeightBytes());
+    }
+
+    @Test
+    @DisplayName("Results on One Matrix Share Its Stored Copy")
+    void testResultsShareMatrixCopy() {
+        int n = 100;
+        int k = 20;
+        DenseMatrix matrix = new MatrixGenerator(7).dense(MatrixGenerator.Structure.DIAGONALLY_DOMINANT, n).getMatrix();
+        SolutionCache cache = new SolutionCache(1L << 30);
+        double[] b = new double[n];
+
+        b[0] = 1;
+        cache.solve(matrix, b);
+        long weight = cache.getWeightBytes();
+        for (int r = 1; r <= k; r++) {
+            b[r] = 1;
+            cache.solve(matrix, b);
+        }
+        assertEquals(2 + k, cache.size());
+        // Each result holds b and x, not another n x n copy of A
+        long growth = cache.getWeightBytes() - weight;
+        assertTrue(growth <= k * (2L * Double.BYTES * n + 256), "Grew by " + growth + " bytes");
+
+        cache.clear();
+        assertEquals(0, cache.getWeightBytes());
+    }
+
+    // ========== CONCURRENCY TESTS ==========
+
+    @Test
+    @DisplayName("Concurrent Requests Factor Each Matrix Once")
+    void testConcurrentUse() throws Exception {
+        int n = 200;
+        GeneratedSystem<DenseMatrix> system = new MatrixGenerator(9).dense(MatrixGenerator.Structure.RANDOM, n);
+        SolutionCache cache = new SolutionCache(1L << 24);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<double[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 64; t++) {
+                double[] b = new double[n];
+                b[t % 4] = 1;
+                DenseMatrix matrix = system.getMatrix().copy();
+                futures.add(executor.submit(() -> cache.solve(matrix, b)));
+            }
+            LUFactorization lu = LUFactorization.factor(system.getMatrix());
+            for (int t = 0; t < futures.size(); t++) {
+                double[] b = new double[n];
+                b[t % 4] = 1;
+                assertArrayEquals(lu.solve(b), futures.get(t).get(), EPSILON);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        // One factorization and four distinct results were computed; every other lookup hit
+        assertEquals(5, cache.getMissCount());
+        assertEquals(5, cache.size());
+        assertEquals(64 + 4, cache.getHitCount() + cache.getMissCount(), "Each result miss looks up the factorization");
+    }
+}
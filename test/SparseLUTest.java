@@ -0,0 +1,198 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SparseMatrix, SparseOrdering and SparseLU
+ * Checks sparse solutions against the dense LU and on a finite-difference grid
+ */
+public class SparseLUTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // ========== SPARSE MATRIX TESTS ==========
+
+    @Test
+    @DisplayName("Triplets Are Sorted and Duplicates Summed")
+    void testFromTriplets() {
+        int[] rows = {1, 0, 1, 0, 1};
+        int[] cols = {2, 1, 0, 1, 2};
+        double[] values = {3, 1, 4, 2, 5};
+
+        SparseMatrix matrix = SparseMatrix.fromTriplets(2, 3, rows, cols, values, 5);
+
+        assertEquals(3, matrix.nonZeroCount(), "Duplicates should be merged");
+        assertEquals(3.0, matrix.get(0, 1), EPSILON, "Duplicate entries should be summed");
+        assertEquals(4.0, matrix.get(1, 0), EPSILON);
+        assertEquals(8.0, matrix.get(1, 2), EPSILON);
+        assertEquals(0.0, matrix.get(0, 0), EPSILON, "Missing entries should read as zero");
+        assertArrayEquals(new double[][] {{0, 4}, {3, 0}, {0, 8}}, matrix.transpose().toDense(),
+                "Transpose should swap rows and columns");
+    }
+
+    // ========== SPARSE LU TESTS ==========
+
+    @Test
+    @DisplayName("Sparse LU Matches Dense LU on Random Systems")
+    void testMatchesDenseLU() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 2 + random.nextInt(12);
+            double[][] a = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i == j || random.nextDouble() < 0.3) {
+                        a[i][j] = random.nextInt(19) - 9;
+                    }
+                }
+            }
+            double[] b = new double[n];
+            for (int i = 0; i < n; i++) {
+                b[i] = random.nextInt(19) - 9;
+            }
+
+            LUFactorization dense = LUFactorization.factor(a);
+            for (SparseOrdering ordering : SparseOrdering.values()) {
+                SparseLU sparse = SparseLU.factor(SparseMatrix.fromDense(a, 0), ordering);
+                assertEquals(dense.isSingular(), sparse.isSingular(), "Both should agree on singularity");
+                if (dense.isSingular()) continue;
+
+                double[] expected = dense.solve(b);
+                double[] actual = sparse.solve(b);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(expected[i], actual[i], 1e-8 * Math.max(1, Math.abs(expected[i])),
+                            "Solutions should agree, trial " + trial + " " + ordering);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Zero Diagonal Needs a Row Pivot")
+    void testOffDiagonalPivot() {
+        double[][] a = {
+            {0, 1, 0},
+            {1, 0, 1},
+            {0, 1, 1}
+        };
+
+        SparseLU lu = SparseLU.factor(SparseMatrix.fromDense(a, 0), SparseOrdering.NATURAL);
+        double[] x = lu.solve(new double[] {2, 4, 5});
+
+        assertFalse(lu.isSingular());
+        assertEquals(1.0, x[0], EPSILON, "X should be 1.0");
+        assertEquals(2.0, x[1], EPSILON, "Y should be 2.0");
+        assertEquals(3.0, x[2], EPSILON, "Z should be 3.0");
+    }
+
+    @Test
+    @DisplayName("Singular Sparse Matrix Is Detected")
+    void testSingular() {
+        double[][] a = {
+            {1, 2, 0},
+            {2, 4, 0},
+            {0, 0, 1}
+        };
+
+        SparseLU lu = SparseLU.factor(SparseMatrix.fromDense(a, 0));
+
+        assertTrue(lu.isSingular(), "Dependent rows should make the matrix singular");
+        assertThrows(IllegalStateException.class, () -> lu.solve(new double[] {1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("Grid Laplacian Solves With Less Fill Under Reverse Cuthill-McKee")
+    void testGridLaplacian() {
+        int side = 40;
+        SparseMatrix laplacian = gridLaplacian(side);
+        int n = side * side;
+        double[] expected = new double[n];
+        for (int i = 0; i < n; i++) {
+            expected[i] = Math.sin(i);
+        }
+        double[] b = new double[n];
+        laplacian.multiply(expected, b);
+
+        // Shuffle the unknowns so the natural order has a wide profile
+        int[] shuffle = new int[n];
+        for (int i = 0; i < n; i++) {
+            shuffle[i] = i;
+        }
+        Random random = new Random(7);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = shuffle[i];
+            shuffle[i] = shuffle[j];
+            shuffle[j] = temp;
+        }
+        SparseMatrix shuffled = permuteSymmetric(laplacian, shuffle);
+        double[] shuffledB = new double[n];
+        for (int i = 0; i < n; i++) {
+            shuffledB[shuffle[i]] = b[i];
+        }
+
+        SparseLU natural = SparseLU.factor(shuffled, SparseOrdering.NATURAL);
+        SparseLU ordered = SparseLU.factor(shuffled, SparseOrdering.REVERSE_CUTHILL_MCKEE);
+
+        assertTrue(ordered.getFillIn() * 2 < natural.getFillIn(),
+                "RCM fill " + ordered.getFillIn() + " should be well below natural fill " + natural.getFillIn());
+        // An RCM profile of about side entries per row bounds the factors
+        assertTrue(ordered.getLowerNonZeros() + ordered.getUpperNonZeros() < 2L * n * (side + 2));
+
+        for (SparseLU lu : new SparseLU[] {natural, ordered}) {
+            double[] x = lu.solve(shuffledB);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[i], x[shuffle[i]], 1e-8, "Solution should match at unknown " + i);
+            }
+        }
+    }
+
+    /**
+     * 5-point finite-difference Laplacian on a side x side grid
+     */
+    private SparseMatrix gridLaplacian(int side) {
+        int n = side * side;
+        int[] rows = new int[5 * n];
+        int[] cols = new int[5 * n];
+        double[] values = new double[5 * n];
+        int count = 0;
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int node = r * side + c;
+                rows[count] = node;
+                cols[count] = node;
+                values[count++] = 4;
+                int[][] neighbours = {{r - 1, c}, {r + 1, c}, {r, c - 1}, {r, c + 1}};
+                for (int[] neighbour : neighbours) {
+                    if (neighbour[0] >= 0 && neighbour[0] < side && neighbour[1] >= 0 && neighbour[1] < side) {
+                        rows[count] = node;
+                        cols[count] = neighbour[0] * side + neighbour[1];
+                        values[count++] = -1;
+                    }
+                }
+            }
+        }
+        return SparseMatrix.fromTriplets(n, n, rows, cols, values, count);
+    }
+
+    /**
+     * Returns B with B[map[i]][map[j]] = A[i][j]
+     */
+    private SparseMatrix permuteSymmetric(SparseMatrix matrix, int[] map) {
+        int nnz = matrix.nonZeroCount();
+        int[] rows = new int[nnz];
+        int[] cols = new int[nnz];
+        double[] values = new double[nnz];
+        int count = 0;
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int p = matrix.getRowPointers()[i]; p < matrix.getRowPointers()[i + 1]; p++) {
+                rows[count] = map[i];
+                cols[count] = map[matrix.getColumnIndices()[p]];
+                values[count++] = matrix.getValues()[p];
+            }
+        }
+        return SparseMatrix.fromTriplets(matrix.getRows(), matrix.getCols(), rows, cols, values, count);
+    }
+}
@@ -0,0 +1,238 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for packed symmetric storage, CholeskyFactorization and LDLTFactorization
+ */
+public class SymmetricSolverTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // ========== STORAGE TESTS ==========
+
+    @Test
+    @DisplayName("Packed Storage Holds the Upper Triangle and Multiplies Like a Dense Matrix")
+    void testPackedStorage() {
+        double[][] matrix = {
+            {4, 1, 2, 9},
+            {1, 5, 3, 9},
+            {2, 3, 6, 9}
+        };
+        SymmetricMatrix packed = SymmetricMatrix.fromArray(matrix);
+        assertEquals(3, packed.size());
+        assertEquals(6, packed.getData().length, "n * (n + 1) / 2 entries");
+        assertEquals(3, packed.get(2, 1));
+        assertEquals(3, packed.get(1, 2));
+
+        double[] y = new double[3];
+        packed.multiply(new double[] {1, 2, 3}, y);
+        assertArrayEquals(new double[] {12, 20, 26}, y);
+
+        packed.set(2, 0, -1);
+        assertEquals(-1, packed.get(0, 2));
+        assertEquals(2, SymmetricMatrix.fromArray(matrix).get(0, 2), "fromArray copies");
+    }
+
+    @Test
+    @DisplayName("Probes Detect Symmetry and Rule Out Obviously Indefinite Matrices")
+    void testProbes() {
+        double[][] spd = {
+            {4, 1, 2, 0},
+            {1, 5, 3, 0},
+            {2, 3, 6, 0}
+        };
+        double[][] indefinite = {
+            {1, 2, 0, 0},
+            {2, 1, 0, 0},
+            {0, 0, 1, 0}
+        };
+        double[][] unsymmetric = {
+            {4, 1, 2, 0},
+            {1, 5, 3, 0},
+            {2, 3.5, 6, 0}
+        };
+        assertTrue(SymmetricMatrix.isSymmetric(spd, 3));
+        assertTrue(SymmetricMatrix.mayBePositiveDefinite(spd, 3));
+        assertTrue(SymmetricMatrix.isSymmetric(indefinite, 3));
+        assertFalse(SymmetricMatrix.mayBePositiveDefinite(indefinite, 3), "2 x 2 minor 1 - 4 is negative");
+        assertFalse(SymmetricMatrix.isSymmetric(unsymmetric, 3));
+        assertFalse(SymmetricMatrix.isSymmetric(spd, 2), "Row count must match");
+    }
+
+    // ========== CHOLESKY TESTS ==========
+
+    @Test
+    @DisplayName("Cholesky Factor Reproduces A and Solves Like LU")
+    void testCholesky() {
+        int n = 150;
+        GeneratedSystem<DenseMatrix> system = new MatrixGenerator(17)
+                .dense(MatrixGenerator.Structure.SYMMETRIC_POSITIVE_DEFINITE, n);
+        double[][] matrix = system.getMatrix().toArray();
+        CholeskyFactorization cholesky = CholeskyFactorization.factor(matrix);
+        assertTrue(cholesky.isPositiveDefinite());
+
+        DenseMatrix u = cholesky.getU();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = 0;
+                for (int p = 0; p <= j; p++) {
+                    sum += u.get(p, i) * u.get(p, j);
+                }
+                assertEquals(matrix[i][j], sum, 1e-12, "Entry (" + i + ", " + j + ")");
+            }
+        }
+
+        double[] x = cholesky.solve(system.getRightHandSide());
+        assertTrue(system.solutionError(x) < 1e-12);
+        double[] expected = LUFactorization.factor(system.getMatrix()).solve(system.getRightHandSide());
+        assertArrayEquals(expected, x, 1e-12);
+    }
+
+    @Test
+    @DisplayName("Blocked Parallel Cholesky Gives the Same Bits for Any Pool")
+    void testCholeskyParallel() {
+        int n = 300;
+        GeneratedSystem<DenseMatrix> system = new MatrixGenerator(19)
+                .dense(MatrixGenerator.Structure.SYMMETRIC_POSITIVE_DEFINITE, n);
+        SymmetricMatrix matrix = SymmetricMatrix.fromArray(system.getMatrix().toArray());
+        double[] serial = CholeskyFactorization.factor(matrix, 16, null).solve(system.getRightHandSide());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            double[] parallel = CholeskyFactorization.factor(matrix, 16, pool).solve(system.getRightHandSide());
+            assertArrayEquals(serial, parallel);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(serial, CholeskyFactorization.factor(matrix, 7, null).solve(system.getRightHandSide()), 1e-12);
+        assertTrue(system.solutionError(serial) < 1e-12);
+    }
+
+    @Test
+    @DisplayName("Cholesky Rejects Indefinite Matrices That Pass the Probe")
+    void testCholeskyNotPositiveDefinite() {
+        // Positive diagonal and 2 x 2 minors, but the determinant is 0.19 - 2 * 1.539 < 0
+        double[][] matrix = {
+            {1, 0.9, -0.9, 0},
+            {0.9, 1, 0.9, 0},
+            {-0.9, 0.9, 1, 0}
+        };
+        assertTrue(SymmetricMatrix.mayBePositiveDefinite(matrix, 3));
+        CholeskyFactorization cholesky = CholeskyFactorization.factor(matrix);
+        assertFalse(cholesky.isPositiveDefinite());
+        assertThrows(IllegalStateException.class, () -> cholesky.solve(new double[3]));
+        assertThrows(IllegalArgumentException.class,
+                () -> CholeskyFactorization.factor(SymmetricMatrix.fromArray(matrix), 0, null));
+    }
+
+    // ========== LDL' TESTS ==========
+
+    @Test
+    @DisplayName("LDL' Solves Symmetric Indefinite Systems With Zero Diagonals")
+    void testLdltIndefinite() {
+        // Every diagonal entry is zero, so only 2 x 2 pivots can make progress
+        double[][] matrix = {
+            {0, 1, 0, 0, 1},
+            {1, 0, 0, 0, 2},
+            {0, 0, 0, 3, 3},
+            {0, 0, 3, 0, 4}
+        };
+        LDLTFactorization ldlt = LDLTFactorization.factor(matrix);
+        assertFalse(ldlt.isSingular());
+        assertArrayEquals(new double[] {2, 1, 4.0 / 3, 1}, ldlt.solve(new double[] {1, 2, 3, 4}), EPSILON);
+        assertArrayEquals(new int[] {2, 2, 0}, ldlt.getInertia());
+    }
+
+    @Test
+    @DisplayName("LDL' Matches Elimination on Random Symmetric Matrices")
+    void testLdltRandom() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(40);
+            double[][] matrix = new double[n][n + 1];
+            for (int i = 0; i < n; i++) {
+                // Some zero diagonals and duplicated rows of magnitude push the pivoting through all of its cases
+                matrix[i][i] = random.nextInt(4) == 0 ? 0 : 2 * random.nextDouble() - 1;
+                for (int j = i + 1; j < n; j++) {
+                    matrix[i][j] = 2 * random.nextDouble() - 1;
+                    matrix[j][i] = matrix[i][j];
+                }
+                matrix[i][n] = random.nextDouble();
+            }
+            double[] rhs = new double[n];
+            for (int i = 0; i < n; i++) {
+                rhs[i] = matrix[i][n];
+            }
+
+            LDLTFactorization ldlt = LDLTFactorization.factor(matrix);
+            if (new GaussianElimination(matrix).solveDetailed().getStatus() != SolveResult.Status.UNIQUE) {
+                // A 1 x 1 zero matrix is as singular here as it is to elimination
+                assertTrue(ldlt.isSingular(), "Trial " + trial);
+                continue;
+            }
+            assertFalse(ldlt.isSingular(), "Trial " + trial);
+            double[] x = ldlt.solve(rhs);
+            for (int i = 0; i < n; i++) {
+                double sum = 0;
+                for (int j = 0; j < n; j++) {
+                    sum += matrix[i][j] * x[j];
+                }
+                assertEquals(rhs[i], sum, 1e-8, "Trial " + trial + ", equation " + i);
+            }
+            assertArrayEquals(new GaussianElimination(matrix).solve(), x, 1e-6, "Trial " + trial);
+
+            int[] inertia = ldlt.getInertia();
+            assertEquals(n, inertia[0] + inertia[1] + inertia[2]);
+        }
+    }
+
+    @Test
+    @DisplayName("LDL' Reports Singular Matrices and Positive Definite Inertia")
+    void testLdltSingularAndInertia() {
+        double[][] singular = {
+            {1, 2, 3},
+            {2, 4, 6},
+            {3, 6, 9}
+        };
+        LDLTFactorization ldlt = LDLTFactorization.factor(singular);
+        assertTrue(ldlt.isSingular());
+        assertThrows(IllegalStateException.class, () -> ldlt.solve(new double[3]));
+        assertArrayEquals(new int[] {1, 0, 2}, ldlt.getInertia());
+
+        double[][] spd = new MatrixGenerator(29).dense(MatrixGenerator.Structure.SYMMETRIC_POSITIVE_DEFINITE, 20)
+                .getMatrix().toArray();
+        assertArrayEquals(new int[] {20, 0, 0}, LDLTFactorization.factor(spd).getInertia());
+    }
+
+    // ========== SOLVER SELECTION TESTS ==========
+
+    @Test
+    @DisplayName("Selector Routes Symmetric Systems to Cholesky or LDL'")
+    void testSelectSymmetric() {
+        double[][] spd = {
+            {4, 1, 2, 7},
+            {1, 5, 3, 9},
+            {2, 3, 6, 11}
+        };
+        double[][] indefinite = {
+            {0, 1, 2, 3},
+            {1, 0, 3, 4},
+            {2, 3, 0, 5}
+        };
+        double[][] singular = {
+            {1, 2, 3, 6},
+            {2, 4, 6, 12},
+            {3, 6, 9, 18}
+        };
+        assertEquals(SolverSelector.Engine.CHOLESKY, SolverSelector.select(spd));
+        assertEquals(SolverSelector.Engine.SYMMETRIC, SolverSelector.select(indefinite));
+        assertEquals(SolverSelector.Engine.SYMMETRIC, SolverSelector.select(singular));
+
+        assertArrayEquals(new GaussianElimination(spd).solve(), SolverSelector.solve(spd), EPSILON);
+        assertArrayEquals(new GaussianElimination(indefinite).solve(), SolverSelector.solve(indefinite), EPSILON);
+        assertNull(SolverSelector.solve(singular), "Singular symmetric systems fall back to elimination");
+    }
+}
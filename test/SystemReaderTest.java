@@ -0,0 +1,234 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ByteParser, SystemReader and the batch mode of the CLI
+ */
+public class SystemReaderTest {
+
+    // EPSILON defines a small tolerance for floating-point comparisons to account for rounding errors.
+    private static final double EPSILON = 1e-10;  // 0.0000000001
+
+    // ========== NUMBER PARSING TESTS ==========
+
+    @Test
+    @DisplayName("Byte Parser Matches Double.parseDouble Bit for Bit")
+    void testNumberParsing() throws IOException {
+        Random random = new Random(17);
+        String[] fixed = {"0", "-0", "1", "-2.5", "0.1", "3.14159", "1e10", "1E-5", "+7", "123456789012345678901",
+            "0.000000000000000000001", "9007199254740993", "4.9e-324", "1.7976931348623157e308", "2.2250738585072014E-308",
+            "1e400", "NaN", "-Infinity", ".5", "5."};
+        StringBuilder input = new StringBuilder();
+        String[] tokens = new String[fixed.length + 2000];
+        System.arraycopy(fixed, 0, tokens, 0, fixed.length);
+        for (int i = fixed.length; i < tokens.length; i++) {
+            switch (i % 4) {
+                case 0:
+                    tokens[i] = Double.toString(random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20));
+                    break;
+                case 1:
+                    tokens[i] = Integer.toString(random.nextInt());
+                    break;
+                case 2:
+                    tokens[i] = String.format(java.util.Locale.ROOT, "%.6f", random.nextDouble() * 1000);
+                    break;
+                default:
+                    tokens[i] = Long.toString(random.nextLong()) + "." + random.nextInt(1000);
+                    break;
+            }
+        }
+        for (int i = 0; i < tokens.length; i++) {
+            input.append(tokens[i]).append(i % 7 == 6 ? '\n' : ' ');
+        }
+
+        ByteParser parser = new ByteParser(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)));
+        for (String token : tokens) {
+            parser.skipWhitespace();
+            double expected = Double.parseDouble(token);
+            double actual = parser.readDouble();
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), "Token " + token);
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed Numbers Report Their Line")
+    void testMalformedNumber() {
+        ByteParser parser = new ByteParser(new ByteArrayInputStream("1,2\n3,4x\n".getBytes(StandardCharsets.US_ASCII)));
+        IOException error = assertThrows(IOException.class, () -> {
+            SystemReader reader = new SystemReader(parser);
+            reader.next();
+        });
+        assertTrue(error.getMessage().startsWith("Line 2"), error.getMessage());
+    }
+
+    // ========== FORMAT TESTS ==========
+
+    @Test
+    @DisplayName("Several Systems in Mixed Formats From One Stream")
+    void testMixedFormats() throws IOException {
+        String input = "%%MatrixMarket matrix array real general\n"
+                + "% x + y = 3, 2x - y = 0\n"
+                + "2 3\n"
+                + "1\n2\n1\n-1\n3\n0\n"
+                + "%%MatrixMarket matrix coordinate real general\n"
+                + "3 4 5\n"
+                + "1 1 2.0\n2 2 4\n3 3 8\n1 4 2\n3 4 -8\n"
+                + "# CSV systems follow\n"
+                + "1, 1, 1, 6\n"
+                + "2, 1, -1, 1\n"
+                + "1, -1, 1, 2\n"
+                + "\n"
+                + "1,1,1\n"
+                + "1,1,2\n";
+
+        SystemReader reader = new SystemReader(new ByteParser(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))));
+
+        LinearSystem first = reader.next();
+        assertArrayEquals(new double[] {2, -1, 0}, first.getAugmentedMatrix()[1], EPSILON);
+        LinearSystem second = reader.next();
+        assertTrue(second.isSparse(), "Coordinate input should stay sparse");
+        assertEquals(3, second.getCoefficients().nonZeroCount());
+        assertArrayEquals(new double[] {2, 0, -8}, second.getConstants(), EPSILON);
+        LinearSystem third = reader.next();
+        assertEquals(3, third.getEquationCount());
+        assertEquals(3, third.getVariableCount());
+        LinearSystem fourth = reader.next();
+        assertEquals(2, fourth.getEquationCount());
+        assertNull(reader.next(), "Input should be exhausted");
+    }
+
+    // ========== BATCH MODE TESTS ==========
+
+    @Test
+    @DisplayName("Batch Mode Writes One JSON Line per System")
+    void testBatchJson() throws IOException {
+        String input = "1,1,3\n2,-1,0\n\n1,1,1\n1,1,2\n\n1,1,3\n2,2,6\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = BatchCommand.run(new String[] {"-"},
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out, new PrintStream(err));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(0, exitCode, err.toString(StandardCharsets.UTF_8));
+        assertEquals(3, lines.length);
+        assertEquals("{\"system\":1,\"source\":\"-\",\"variables\":2,\"status\":\"unique\",\"solution\":[1.0,2.0]}", lines[0]);
+        assertEquals("{\"system\":2,\"source\":\"-\",\"variables\":2,\"status\":\"inconsistent\"}", lines[1]);
+        assertEquals("{\"system\":3,\"source\":\"-\",\"variables\":2,\"status\":\"infinite\"}", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Batch Mode Solves Large Sparse Input and Reports Bad Files")
+    void testBatchSparseCsv() throws IOException {
+        // Tridiagonal 500 x 500 system with solution x = 1
+        int n = 500;
+        StringBuilder input = new StringBuilder("%%MatrixMarket matrix coordinate real general\n");
+        input.append(n).append(' ').append(n + 1).append(' ').append(4 * n - 2).append('\n');
+        for (int i = 1; i <= n; i++) {
+            input.append(i).append(' ').append(i).append(" 4\n");
+            if (i > 1) input.append(i).append(' ').append(i - 1).append(" -1\n");
+            if (i < n) input.append(i).append(' ').append(i + 1).append(" -1\n");
+            input.append(i).append(' ').append(n + 1).append(' ').append(i == 1 || i == n ? 3 : 2).append('\n');
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = BatchCommand.run(new String[] {"--format=csv", "-", "missing-file.csv"},
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)), out, new PrintStream(err));
+
+        String[] fields = out.toString(StandardCharsets.UTF_8).trim().split(",");
+        assertEquals(1, exitCode, "A missing file should fail the run");
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("missing-file.csv"));
+        assertEquals("1", fields[0]);
+        assertEquals("unique", fields[2]);
+        assertEquals(3 + n, fields.length);
+        for (int i = 3; i < fields.length; i++) {
+            assertEquals(1.0, Double.parseDouble(fields[i]), EPSILON);
+        }
+    }
+
+    @Test
+    @DisplayName("Exact Batch Mode Writes Fractions")
+    void testBatchExact() throws IOException {
+        String input = "2,1,1\n1,3,2\n\n1,2,3\n2,4,7\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = BatchCommand.run(new String[] {"--exact", "-"},
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out, new PrintStream(err));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(0, exitCode, err.toString(StandardCharsets.UTF_8));
+        assertEquals("{\"system\":1,\"source\":\"-\",\"variables\":2,\"status\":\"unique\",\"solution\":[\"1/5\",\"3/5\"]}", lines[0]);
+        assertEquals("{\"system\":2,\"source\":\"-\",\"variables\":2,\"status\":\"inconsistent\"}", lines[1]);
+    }
+
+    @Test
+    @DisplayName("Least-Squares Batch Mode Fits Overdetermined Systems")
+    void testBatchLeastSquares() throws IOException {
+        // y = 1.5 + t through (0, 1), (1, 3), (2, 4), (3, 4) with residuals of +-0.5, then a square system
+        String input = "1,0,1\n1,1,3\n1,2,4\n1,3,4\n\n2,1,1\n1,3,2\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = BatchCommand.run(new String[] {"--least-squares", "-"},
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out, new PrintStream(err));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(0, exitCode, err.toString(StandardCharsets.UTF_8));
+        String prefix = "{\"system\":1,\"source\":\"-\",\"variables\":2,\"status\":\"least-squares\",\"solution\":[";
+        assertTrue(lines[0].startsWith(prefix), lines[0]);
+        String[] fields = lines[0].substring(prefix.length(), lines[0].length() - 1).split("\\],\"residual\":");
+        String[] solution = fields[0].split(",");
+        assertEquals(1.5, Double.parseDouble(solution[0]), EPSILON);
+        assertEquals(1.0, Double.parseDouble(solution[1]), EPSILON);
+        assertEquals(1.0, Double.parseDouble(fields[1]), EPSILON);
+        assertTrue(lines[1].contains("\"status\":\"unique\""), "Square systems are solved as before");
+
+        int conflict = BatchCommand.run(new String[] {"--exact", "--least-squares", "-"},
+                new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream(), new PrintStream(err));
+        assertEquals(2, conflict);
+    }
+
+    @Test
+    @DisplayName("A System That Cannot Be Solved Is Reported Without Stopping the Batch")
+    void testBatchErrorInTheMiddle() throws IOException {
+        // The middle system is a 4001 x 4002 sparse system, too large to expand for dense elimination
+        String input = "1,1,3\n2,-1,0\n"
+                + "%%MatrixMarket matrix coordinate real general\n"
+                + "4001 4003 1\n"
+                + "1 1 1\n"
+                + "2,1,1\n1,3,2\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = BatchCommand.run(new String[] {"-"},
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out, new PrintStream(err));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(0, exitCode, err.toString(StandardCharsets.UTF_8));
+        assertEquals(3, lines.length);
+        assertEquals("{\"system\":1,\"source\":\"-\",\"variables\":2,\"status\":\"unique\",\"solution\":[1.0,2.0]}", lines[0]);
+        assertEquals("{\"system\":2,\"source\":\"-\",\"variables\":4002,\"status\":\"error\","
+                + "\"message\":\"System 4001x4002 is too large for dense elimination\"}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"system\":3,\"source\":\"-\",\"variables\":2,\"status\":\"unique\""), lines[2]);
+
+        // Under --exact a NaN coefficient has no fraction, which fails only its own system
+        String exactInput = "1,NaN,1\n1,1,2\n\n2,1,1\n1,3,2\n";
+        ByteArrayOutputStream exactOut = new ByteArrayOutputStream();
+        exitCode = BatchCommand.run(new String[] {"--exact", "--format=csv", "-"},
+                new ByteArrayInputStream(exactInput.getBytes(StandardCharsets.US_ASCII)), exactOut, new PrintStream(err));
+        lines = exactOut.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(0, exitCode, err.toString(StandardCharsets.UTF_8));
+        assertEquals("1,-,error", lines[0]);
+        assertEquals("2,-,unique,1/5,3/5", lines[1]);
+    }
+}
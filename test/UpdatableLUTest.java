@@ -0,0 +1,122 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UpdatableLU
+ * Every update is checked against a fresh LU of the updated matrix
+ */
+public class UpdatableLUTest {
+
+    // ========== UPDATE TESTS ==========
+
+    @Test
+    @DisplayName("Entry, Row, Column and General Updates Match a Fresh Factorization")
+    void testUpdatesMatchRefactoring() {
+        int n = 150;
+        Random random = new Random(4);
+        DenseMatrix matrix = new MatrixGenerator(4).dense(MatrixGenerator.Structure.RANDOM, n).getMatrix();
+        UpdatableLU lu = UpdatableLU.factor(matrix);
+        double[] b = randomVector(n, random);
+
+        for (int step = 0; step < 40; step++) {
+            switch (step % 4) {
+                case 0:
+                    lu.setEntry(random.nextInt(n), random.nextInt(n), random.nextGaussian() * 50);
+                    break;
+                case 1:
+                    lu.replaceRow(random.nextInt(n), randomVector(n, random));
+                    break;
+                case 2:
+                    lu.replaceColumn(random.nextInt(n), randomVector(n, random));
+                    break;
+                default:
+                    lu.update(randomVector(n, random), randomVector(n, random));
+                    break;
+            }
+            double[] expected = LUFactorization.factor(lu.getMatrix()).solve(b);
+            double[] actual = lu.solve(b);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[i], actual[i], 1e-8 * Math.max(1, Math.abs(expected[i])), "Step " + step);
+            }
+        }
+        assertEquals(0, lu.getRefactorCount(), "40 updates of a 150 x 150 matrix should not pay for a refactor");
+        assertEquals(40, lu.getRank());
+    }
+
+    @Test
+    @DisplayName("Rank-k Update Equals k Rank-1 Updates")
+    void testRankK() {
+        int n = 30;
+        Random random = new Random(8);
+        DenseMatrix matrix = new MatrixGenerator(8).dense(MatrixGenerator.Structure.DIAGONALLY_DOMINANT, n).getMatrix();
+        double[][] u = {randomVector(n, random), randomVector(n, random), randomVector(n, random)};
+        double[][] v = {randomVector(n, random), randomVector(n, random), randomVector(n, random)};
+        UpdatableLU lu = UpdatableLU.factor(matrix);
+        lu.update(u, v);
+
+        double[][] updated = matrix.toArray();
+        for (int t = 0; t < 3; t++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    updated[i][j] += u[t][i] * v[t][j];
+                }
+            }
+        }
+        double[] b = randomVector(n, random);
+        assertArrayEquals(LUFactorization.factor(updated).solve(b), lu.solve(b), 1e-9);
+        assertEquals(3, lu.getRank());
+    }
+
+    // ========== REFACTORING TESTS ==========
+
+    @Test
+    @DisplayName("Refactors Automatically When Updates Pile Up")
+    void testAutomaticRefactor() {
+        int n = 20;
+        Random random = new Random(2);
+        UpdatableLU lu = UpdatableLU.factor(new MatrixGenerator(2).dense(MatrixGenerator.Structure.RANDOM, n).getMatrix());
+        double[] b = randomVector(n, random);
+        for (int step = 0; step < 50; step++) {
+            lu.setEntry(random.nextInt(n), random.nextInt(n), random.nextInt(200) - 100);
+            assertArrayEquals(LUFactorization.factor(lu.getMatrix()).solve(b), lu.solve(b), 1e-8);
+        }
+        assertTrue(lu.getRefactorCount() > 0, "Updates on a small matrix should soon cost more than a refactor");
+        assertTrue(lu.getRank() < 50);
+
+        lu.setMaxRank(2);
+        for (int step = 0; step < 5; step++) {
+            lu.replaceRow(step, randomVector(n, random));
+            lu.solve(b);
+            assertTrue(lu.getRank() <= 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Updates Into and Out of a Singular Matrix")
+    void testSingularTransitions() {
+        double[][] matrix = {{2, 1, 0}, {1, 3, 1}, {0, 1, 4}};
+        UpdatableLU lu = UpdatableLU.factor(matrix);
+        assertFalse(lu.isSingular());
+
+        // Row 2 becomes a copy of row 0
+        lu.replaceRow(2, new double[] {2, 1, 0});
+        assertTrue(lu.isSingular());
+        assertThrows(IllegalStateException.class, () -> lu.solve(new double[] {1, 1, 1}));
+
+        // Back to a nonsingular matrix from a singular base
+        lu.replaceRow(2, new double[] {0, 1, 4});
+        assertFalse(lu.isSingular());
+        assertArrayEquals(LUFactorization.factor(matrix).solve(new double[] {1, 2, 3}), lu.solve(new double[] {1, 2, 3}), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> lu.setEntry(3, 0, 1));
+    }
+
+    private double[] randomVector(int n, Random random) {
+        double[] vector = new double[n];
+        for (int i = 0; i < n; i++) {
+            vector[i] = random.nextGaussian();
+        }
+        return vector;
+    }
+}